@@ -4,6 +4,7 @@ plugins {
     id("xyz.jpenilla.run-paper") version "2.3.1"
     id("com.diffplug.spotless") version "6.25.0"
     id("net.ltgt.errorprone") version "3.1.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.github.cybellereaper"
@@ -31,8 +32,10 @@ dependencies {
     testImplementation("org.junit.jupiter:junit-jupiter")
     testImplementation("io.papermc.paper:paper-api:1.21.8-R0.1-SNAPSHOT")
     testImplementation("org.mockito:mockito-core:5.12.0")
+    testRuntimeOnly("org.xerial:sqlite-jdbc:3.46.0.0")
     testImplementation("com.tngtech.archunit:archunit-junit5:1.3.0")
     errorprone("com.google.errorprone:error_prone_core:2.29.2")
+    jmh("io.papermc.paper:paper-api:1.21.8-R0.1-SNAPSHOT")
 }
 
 tasks {
@@ -51,6 +54,13 @@ tasks.build {
     dependsOn("shadowJar")
 }
 
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(2)
+    iterations.set(3)
+}
+
 tasks.test {
     useJUnitPlatform()
 }
@@ -0,0 +1,152 @@
+package com.github.cybellereaper.wizpets.core.combat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares one combat tick of target acquisition using a per-pet scan of every loaded monster
+ * against the shared chunk-bucketed index with per-chunk candidate caching.
+ *
+ * <p>{@code getNearbyEntities} needs a running server, so the per-pet scan stands in for it. The
+ * server already narrows that call to nearby chunk sections, so the gap to {@code sharedIndex} is
+ * an upper bound on the saving. {@code refreshPositions} is the index's upkeep: one re-read of
+ * every monster's chunk, which {@link MonsterSpatialIndex} runs every {@value
+ * MonsterSpatialIndex#REFRESH_TICKS} ticks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MonsterTargetingBenchmark {
+  private static final double HORIZONTAL = 8.0;
+  private static final double VERTICAL = 6.0;
+
+  @Param({"50", "200", "1000"})
+  public int pets;
+
+  @Param({"2000"})
+  public int monsters;
+
+  private final List<Point> monsterList = new ArrayList<>();
+  private final List<Point> petList = new ArrayList<>();
+  private final ChunkBucketIndex<Point> index = new ChunkBucketIndex<>();
+
+  @Setup
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(42);
+    monsterList.clear();
+    petList.clear();
+    index.clear();
+    for (int i = 0; i < monsters; i++) {
+      // Half of the monsters crowd around the hub, the rest are spread over the loaded area.
+      double spread = i % 2 == 0 ? 48.0 : 256.0;
+      Point monster =
+          new Point(
+              random.nextDouble(-spread, spread),
+              random.nextDouble(60.0, 70.0),
+              random.nextDouble(-spread, spread));
+      monsterList.add(monster);
+      index.update(
+          monster,
+          ChunkBucketIndex.chunkCoordinate(monster.x),
+          ChunkBucketIndex.chunkCoordinate(monster.z));
+    }
+    for (int i = 0; i < pets; i++) {
+      petList.add(
+          new Point(
+              random.nextDouble(-40.0, 40.0),
+              random.nextDouble(62.0, 68.0),
+              random.nextDouble(-40.0, 40.0)));
+    }
+  }
+
+  @Benchmark
+  public int perPetScan() {
+    int found = 0;
+    for (Point pet : petList) {
+      if (nearest(pet, monsterList) != null) {
+        found++;
+      }
+    }
+    return found;
+  }
+
+  @Benchmark
+  public int sharedIndex() {
+    Map<Long, List<Point>> regions = new HashMap<>();
+    int radius = (int) Math.ceil(HORIZONTAL / 16.0);
+    int found = 0;
+    for (Point pet : petList) {
+      int chunkX = ChunkBucketIndex.chunkCoordinate(pet.x);
+      int chunkZ = ChunkBucketIndex.chunkCoordinate(pet.z);
+      List<Point> candidates =
+          regions.computeIfAbsent(
+              ChunkBucketIndex.chunkKey(chunkX, chunkZ),
+              ignored -> {
+                List<Point> region = new ArrayList<>();
+                index.collect(chunkX, chunkZ, radius, region);
+                return region;
+              });
+      if (nearest(pet, candidates) != null) {
+        found++;
+      }
+    }
+    return found;
+  }
+
+  @Benchmark
+  public int refreshPositions() {
+    int moved = 0;
+    for (Point monster : index.values()) {
+      if (index.update(
+          monster,
+          ChunkBucketIndex.chunkCoordinate(monster.x),
+          ChunkBucketIndex.chunkCoordinate(monster.z))) {
+        moved++;
+      }
+    }
+    return moved;
+  }
+
+  private static Point nearest(Point origin, List<Point> candidates) {
+    Point closest = null;
+    double closestDistance = Double.MAX_VALUE;
+    for (Point candidate : candidates) {
+      double dx = candidate.x - origin.x;
+      double dy = candidate.y - origin.y;
+      double dz = candidate.z - origin.z;
+      if (Math.abs(dx) > HORIZONTAL || Math.abs(dz) > HORIZONTAL || Math.abs(dy) > VERTICAL) {
+        continue;
+      }
+      double distance = dx * dx + dy * dy + dz * dz;
+      if (distance < closestDistance) {
+        closestDistance = distance;
+        closest = candidate;
+      }
+    }
+    return closest;
+  }
+
+  private static final class Point {
+    private final double x;
+    private final double y;
+    private final double z;
+
+    Point(double x, double y, double z) {
+      this.x = x;
+      this.y = y;
+      this.z = z;
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package com.github.cybellereaper.wizpets.core.model.blockbench;
+
+import com.github.cybellereaper.wizpets.api.math.Vector3;
+import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchBoneTarget;
+import com.github.cybellereaper.wizpets.api.model.blockbench.PoseTransform;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of sampling every bone of an animation once, comparing the old per-tick linear scan over
+ * keyframe lists with the compiled channels walked by cursor or by binary search.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AnimationSamplingBenchmark {
+  private static final double LENGTH = 10.0;
+  private static final double TICK = 0.05;
+
+  @Param({"200", "1000"})
+  public int keyframes;
+
+  private List<List<BlockbenchKeyframe>> lists;
+  private BlockbenchAnimation animation;
+  private int[] cursors;
+  private PoseBuffer pose;
+  private double[] randomTimes;
+  private int randomIndex;
+  private double time;
+
+  @Setup
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(42);
+    lists = new ArrayList<>();
+    List<BlockbenchBoneTrack> tracks = new ArrayList<>();
+    for (BlockbenchBoneTarget target : BlockbenchBoneTarget.values()) {
+      List<BlockbenchKeyframe> frames = new ArrayList<>(keyframes);
+      for (int i = 0; i < keyframes; i++) {
+        double at = LENGTH * i / (keyframes - 1);
+        frames.add(
+            new BlockbenchKeyframe(
+                at,
+                new Vector3(
+                    random.nextDouble(-90, 90),
+                    random.nextDouble(-90, 90),
+                    random.nextDouble(-90, 90))));
+      }
+      lists.add(frames);
+      lists.add(frames);
+      tracks.add(
+          new BlockbenchBoneTrack(target, KeyframeChannel.of(frames), KeyframeChannel.of(frames)));
+    }
+    animation = new BlockbenchAnimation(LENGTH, true, tracks);
+    cursors = new int[animation.cursorCount()];
+    pose = new PoseBuffer();
+    randomTimes = new double[1024];
+    for (int i = 0; i < randomTimes.length; i++) {
+      randomTimes[i] = random.nextDouble(LENGTH);
+    }
+  }
+
+  @Benchmark
+  public Map<BlockbenchBoneTarget, PoseTransform> legacyLinearScan() {
+    double at = nextTick();
+    Map<BlockbenchBoneTarget, PoseTransform> result = new EnumMap<>(BlockbenchBoneTarget.class);
+    BlockbenchBoneTarget[] targets = BlockbenchBoneTarget.values();
+    for (int i = 0; i < targets.length; i++) {
+      result.put(
+          targets[i],
+          new PoseTransform(
+              linearSample(lists.get(i * 2), at), linearSample(lists.get(i * 2 + 1), at)));
+    }
+    return result;
+  }
+
+  @Benchmark
+  public double compiledCursor() {
+    animation.sample(nextTick(), pose, cursors);
+    return pose.rotation[0];
+  }
+
+  @Benchmark
+  public double compiledRandomAccess() {
+    double at = randomTimes[randomIndex++ & (randomTimes.length - 1)];
+    animation.sample(at, pose, cursors);
+    return pose.rotation[0];
+  }
+
+  private double nextTick() {
+    time += TICK;
+    if (time >= LENGTH) {
+      time -= LENGTH;
+    }
+    return time;
+  }
+
+  /** The sampling loop used before channels were compiled, kept here as the baseline. */
+  private static Vector3 linearSample(List<BlockbenchKeyframe> frames, double time) {
+    if (frames.isEmpty()) {
+      return Vector3.ZERO;
+    }
+    if (frames.size() == 1 || time <= frames.getFirst().time()) {
+      return frames.getFirst().value();
+    }
+    BlockbenchKeyframe previous = frames.getFirst();
+    for (int i = 1; i < frames.size(); i++) {
+      BlockbenchKeyframe next = frames.get(i);
+      if (time <= next.time()) {
+        double span = next.time() - previous.time();
+        if (span <= 0.0) {
+          return next.value();
+        }
+        return previous.value().lerp(next.value(), (time - previous.time()) / span);
+      }
+      previous = next;
+    }
+    return frames.getLast().value();
+  }
+}
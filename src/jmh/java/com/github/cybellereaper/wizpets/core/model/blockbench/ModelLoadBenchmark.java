@@ -0,0 +1,108 @@
+package com.github.cybellereaper.wizpets.core.model.blockbench;
+
+import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchBoneTarget;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Load time of a synthetic model with 50 bones, 20 animations and 100 rotation and position
+ * keyframes per bone, through Gson object binding and through the streaming parser.
+ *
+ * <p>Run with {@code -prof gc} to compare allocation per load as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ModelLoadBenchmark {
+  private static final int BONES = 50;
+  private static final int ANIMATIONS = 20;
+  private static final int KEYFRAMES = 100;
+
+  private String json;
+
+  @Setup
+  public void setUp() {
+    json = syntheticModel(new SplittableRandom(42));
+  }
+
+  @Benchmark
+  public ModelData gsonBinding() throws IOException {
+    return new GsonModelParser().parse("bench", new StringReader(json));
+  }
+
+  @Benchmark
+  public ModelData streaming() throws IOException {
+    return new ModelJsonParser().parse("bench", new StringReader(json));
+  }
+
+  @Benchmark
+  public Object headerScan() throws IOException {
+    return ModelJsonParser.animationNames("bench", new StringReader(json));
+  }
+
+  private static String syntheticModel(SplittableRandom random) {
+    BlockbenchBoneTarget[] targets = BlockbenchBoneTarget.values();
+    StringBuilder out = new StringBuilder(1 << 22);
+    out.append("{\"bones\":[");
+    for (int bone = 0; bone < BONES; bone++) {
+      if (bone > 0) {
+        out.append(',');
+      }
+      out.append("{\"name\":\"bone_")
+          .append(bone)
+          .append("\",\"target\":\"")
+          .append(targets[bone % targets.length])
+          .append("\"}");
+    }
+    out.append("],\"animations\":{");
+    for (int animation = 0; animation < ANIMATIONS; animation++) {
+      if (animation > 0) {
+        out.append(',');
+      }
+      out.append("\"anim_")
+          .append(animation)
+          .append("\":{\"length\":5.0,\"loop\":true,\"bones\":{");
+      for (int bone = 0; bone < BONES; bone++) {
+        if (bone > 0) {
+          out.append(',');
+        }
+        out.append("\"bone_").append(bone).append("\":{\"rotation\":");
+        appendChannel(out, random);
+        out.append(",\"position\":");
+        appendChannel(out, random);
+        out.append('}');
+      }
+      out.append("}}");
+    }
+    out.append("}}");
+    return out.toString();
+  }
+
+  private static void appendChannel(StringBuilder out, SplittableRandom random) {
+    out.append('[');
+    for (int i = 0; i < KEYFRAMES; i++) {
+      if (i > 0) {
+        out.append(',');
+      }
+      out.append(
+          String.format(
+              Locale.ROOT,
+              "{\"time\":%.3f,\"vector\":[%.3f,%.3f,%.3f]}",
+              5.0 * i / (KEYFRAMES - 1),
+              random.nextDouble(-90, 90),
+              random.nextDouble(-90, 90),
+              random.nextDouble(-90, 90)));
+    }
+    out.append(']');
+  }
+}
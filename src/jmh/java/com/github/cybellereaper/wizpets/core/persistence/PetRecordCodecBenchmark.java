@@ -0,0 +1,47 @@
+package com.github.cybellereaper.wizpets.core.persistence;
+
+import com.github.cybellereaper.wizpets.api.PetRecord;
+import com.github.cybellereaper.wizpets.api.StatSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Encode and decode cost of the compact pet record blob. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PetRecordCodecBenchmark {
+  private PetRecord record;
+  private byte[] encoded;
+
+  @Setup
+  public void setUp() {
+    record =
+        new PetRecord(
+            "Wisp Familiar",
+            new StatSet(20.0, 15.5, 10.0, 12.5),
+            new StatSet(10.0, 8.0, 6.0, 9.0),
+            List.of("healing_aura", "guardian_shell", "arcane_burst"),
+            3,
+            1,
+            true,
+            false);
+    encoded = PetRecordCodec.encode(record);
+  }
+
+  @Benchmark
+  public byte[] encode() {
+    return PetRecordCodec.encode(record);
+  }
+
+  @Benchmark
+  public PetRecord decode() {
+    return PetRecordCodec.decode(encoded);
+  }
+}
@@ -0,0 +1,128 @@
+package com.github.cybellereaper.wizpets.core.pet;
+
+import com.github.cybellereaper.wizpets.api.ActivePet;
+import com.github.cybellereaper.wizpets.api.PetRecord;
+import com.github.cybellereaper.wizpets.api.StatSet;
+import com.github.cybellereaper.wizpets.api.StatType;
+import com.github.cybellereaper.wizpets.api.talent.PetTalent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Throughput of {@code statValue} lookups with and without the per-pet stat cache. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatValueBenchmark {
+  private static final StatType[] TYPES = StatType.values();
+
+  @Param({"0", "3", "10"})
+  public int talentCount;
+
+  private PetStatCache cache;
+  private ActivePet pet;
+
+  @Setup
+  public void setUp() {
+    List<PetTalent> talents = new ArrayList<>();
+    for (int i = 0; i < talentCount; i++) {
+      talents.add(new ScalingTalent("scaling_" + i, 1.0 + i * 0.01));
+    }
+    PetRecord record =
+        new PetRecord(
+            "Bench",
+            new StatSet(32.0, 16.0, 8.0, 24.0),
+            new StatSet(10.0, 12.0, 6.0, 14.0),
+            talents.stream().map(PetTalent::getId).toList(),
+            1,
+            0,
+            false,
+            false);
+    cache = new PetStatCache(new StatSet(40.0, 6.0, 3.0, 5.0), record, talents);
+    pet = new BenchPet(cache);
+  }
+
+  @Benchmark
+  public void uncached(Blackhole blackhole) {
+    for (StatType type : TYPES) {
+      blackhole.consume(cache.compute(pet, type));
+    }
+  }
+
+  @Benchmark
+  public void cached(Blackhole blackhole) {
+    for (StatType type : TYPES) {
+      blackhole.consume(cache.value(pet, type));
+    }
+  }
+
+  private record ScalingTalent(String id, double factor) implements PetTalent {
+    @Override
+    public String getId() {
+      return id;
+    }
+
+    @Override
+    public String getDisplayName() {
+      return id;
+    }
+
+    @Override
+    public String getDescription() {
+      return id;
+    }
+
+    @Override
+    public double modifyStat(ActivePet pet, StatType stat, double current) {
+      return current * factor;
+    }
+  }
+
+  private record BenchPet(PetStatCache cache) implements ActivePet {
+    @Override
+    public Player getOwner() {
+      return null;
+    }
+
+    @Override
+    public PetRecord getRecord() {
+      return null;
+    }
+
+    @Override
+    public List<PetTalent> getTalents() {
+      return List.of();
+    }
+
+    @Override
+    public boolean isMounted() {
+      return false;
+    }
+
+    @Override
+    public boolean isFlying() {
+      return false;
+    }
+
+    @Override
+    public double statValue(StatType type) {
+      return cache.value(this, type);
+    }
+
+    @Override
+    public void heal(double amount) {}
+
+    @Override
+    public void grantAbsorption(double hearts) {}
+  }
+}
@@ -0,0 +1,86 @@
+package com.github.cybellereaper.wizpets.core.talent;
+
+import com.github.cybellereaper.wizpets.api.talent.PetTalent;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Registry reads from many threads while one thread keeps re-registering a talent.
+ *
+ * <p>The writer group runs one thread against seven readers, which is far more write pressure than
+ * a live server sees.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TalentRegistryContentionBenchmark {
+  private static final int TALENTS = 32;
+
+  private TalentRegistryImpl registry;
+  private List<String> ids;
+
+  @Setup
+  public void setUp() {
+    registry = new TalentRegistryImpl();
+    for (int i = 0; i < TALENTS; i++) {
+      String id = "talent_" + i;
+      registry.register(() -> new BenchTalent(id));
+    }
+    ids = List.of("talent_1", "talent_7", "talent_19");
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(4)
+  public List<String> roll() {
+    return registry.roll(ThreadLocalRandom.current(), 3);
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(3)
+  public List<PetTalent> instantiate() {
+    return registry.instantiate(ids);
+  }
+
+  @Benchmark
+  @Group("mixed")
+  @GroupThreads(1)
+  public void register() {
+    registry.register(() -> new BenchTalent("talent_0"), true);
+  }
+
+  @Benchmark
+  @Group("readOnly")
+  @GroupThreads(8)
+  public List<String> rollUncontended() {
+    return registry.roll(ThreadLocalRandom.current(), 3);
+  }
+
+  private record BenchTalent(String id) implements PetTalent {
+    @Override
+    public String getId() {
+      return id;
+    }
+
+    @Override
+    public String getDisplayName() {
+      return id;
+    }
+
+    @Override
+    public String getDescription() {
+      return id;
+    }
+  }
+}
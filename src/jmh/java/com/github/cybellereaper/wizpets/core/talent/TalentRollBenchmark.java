@@ -0,0 +1,75 @@
+package com.github.cybellereaper.wizpets.core.talent;
+
+import com.github.cybellereaper.wizpets.api.talent.PetTalent;
+import com.github.cybellereaper.wizpets.api.talent.TalentRarity;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Weighted roll cost as the number of registered talents grows. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TalentRollBenchmark {
+  private static final TalentRarity[] RARITIES = TalentRarity.values();
+
+  @Param({"10", "100", "1000"})
+  public int talentCount;
+
+  private TalentRegistryImpl registry;
+  private SplittableRandom random;
+  private Set<String> excluded;
+
+  @Setup
+  public void setUp() {
+    registry = new TalentRegistryImpl();
+    for (int i = 0; i < talentCount; i++) {
+      String id = "talent_" + i;
+      TalentRarity rarity = RARITIES[i % RARITIES.length];
+      registry.register(() -> new BenchTalent(id, rarity));
+    }
+    random = new SplittableRandom(42);
+    excluded = Set.of("talent_0");
+  }
+
+  @Benchmark
+  public List<String> roll() {
+    return registry.roll(random, 2);
+  }
+
+  @Benchmark
+  public List<String> rollDistinctExcluding() {
+    return registry.rollDistinct(random, 2, excluded);
+  }
+
+  private record BenchTalent(String id, TalentRarity rarity) implements PetTalent {
+    @Override
+    public String getId() {
+      return id;
+    }
+
+    @Override
+    public String getDisplayName() {
+      return id;
+    }
+
+    @Override
+    public String getDescription() {
+      return id;
+    }
+
+    @Override
+    public TalentRarity getRarity() {
+      return rarity;
+    }
+  }
+}
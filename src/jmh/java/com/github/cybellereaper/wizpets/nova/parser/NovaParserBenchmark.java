@@ -0,0 +1,63 @@
+package com.github.cybellereaper.wizpets.nova.parser;
+
+import com.github.cybellereaper.wizpets.nova.ast.NovaProgram;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Lexing and parsing throughput for a generated script of {@code functionCount} functions, each
+ * mixing calls, pipes, lambdas, an {@code if} and a {@code match}. Divide the source length (about
+ * 290 characters per function) by the time per operation for characters per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class NovaParserBenchmark {
+  @Param({"10", "100", "1000"})
+  public int functionCount;
+
+  private String source;
+
+  @Setup
+  public void setUp() {
+    source = script(functionCount);
+  }
+
+  @Benchmark
+  public List<NovaToken> tokenize() {
+    return NovaLexer.tokenize("bench.nova", source);
+  }
+
+  @Benchmark
+  public NovaProgram parse() {
+    return NovaParser.parse("bench.nova", source);
+  }
+
+  static String script(int functionCount) {
+    StringBuilder builder = new StringBuilder("module bench.parse\n\n");
+    builder.append("type Element = Fire | Frost | Storm\n\n");
+    for (int i = 0; i < functionCount; i++) {
+      builder
+          .append("// Scales stat ")
+          .append(i)
+          .append(" for the pet's level.\n")
+          .append("fun stat")
+          .append(i)
+          .append("(base: Number, level, element) =\n")
+          .append("  base |> add(it, mul(level, ")
+          .append(i % 7)
+          .append(".25)) |> apply(it, (x) -> clamp(x, 0, 999))\n")
+          .append("    |> add(it, match element { Fire -> 3, Frost -> 1, Storm -> 2 })\n")
+          .append("    |> min(it, if (gt(it, 500)) { log(\"capped\"); 500 } else it)\n\n");
+    }
+    return builder.toString();
+  }
+}
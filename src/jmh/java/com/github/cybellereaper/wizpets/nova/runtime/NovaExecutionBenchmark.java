@@ -0,0 +1,153 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import com.github.cybellereaper.wizpets.nova.ast.CallExpression;
+import com.github.cybellereaper.wizpets.nova.ast.FunctionDeclaration;
+import com.github.cybellereaper.wizpets.nova.ast.IdentifierExpression;
+import com.github.cybellereaper.wizpets.nova.ast.IfExpression;
+import com.github.cybellereaper.wizpets.nova.ast.MatchArm;
+import com.github.cybellereaper.wizpets.nova.ast.MatchExpression;
+import com.github.cybellereaper.wizpets.nova.ast.ModuleDeclaration;
+import com.github.cybellereaper.wizpets.nova.ast.NovaDeclaration;
+import com.github.cybellereaper.wizpets.nova.ast.NovaExpression;
+import com.github.cybellereaper.wizpets.nova.ast.NovaProgram;
+import com.github.cybellereaper.wizpets.nova.ast.NumberLiteralExpression;
+import com.github.cybellereaper.wizpets.nova.ast.Parameter;
+import com.github.cybellereaper.wizpets.nova.ast.PipeExpression;
+import com.github.cybellereaper.wizpets.nova.type.FunctionType;
+import com.github.cybellereaper.wizpets.nova.type.NovaType;
+import com.github.cybellereaper.wizpets.nova.type.PrimitiveType;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Calls of a small damage-scaling script through the tree-walking evaluator and the closure
+ * compiler.
+ *
+ * <p>The script pipes a base value through two scaling calls, clamps it with an {@code if} and adds
+ * an element bonus chosen by {@code match}, so it touches calls, pipes, branches and identifier
+ * lookups on every invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NovaExecutionBenchmark {
+  @Param({"INTERPRETED", "COMPILED"})
+  public NovaExecutionMode mode;
+
+  private NovaRuntime runtime;
+  private NovaCallable damage;
+  private List<NovaValue> arguments;
+
+  @Setup
+  public void setUp() {
+    runtime = NovaRuntime.createDefault(mode);
+    registerArithmetic(runtime);
+    runtime.load(damageProgram());
+    damage = (NovaCallable) runtime.valueEnvironment().lookup("damage").orElseThrow();
+    arguments =
+        List.of(NovaNumberValue.of(12.5), NovaNumberValue.of(7), new NovaStringValue("Fire"));
+  }
+
+  @TearDown
+  public void tearDown() {
+    runtime.close();
+  }
+
+  @Benchmark
+  public NovaValue invoke() {
+    return damage.invoke(arguments);
+  }
+
+  static void registerArithmetic(NovaRuntime runtime) {
+    List<NovaType> operands = List.of(PrimitiveType.NUMBER, PrimitiveType.NUMBER);
+    FunctionType binary = FunctionType.sync(operands, PrimitiveType.NUMBER);
+    runtime.registerHostFunction("add", arithmetic(NovaNumberValue::add), binary);
+    runtime.registerHostFunction("mul", arithmetic(NovaNumberValue::multiply), binary);
+    runtime.registerHostFunction(
+        "gt",
+        args -> new NovaBooleanValue(operand(args.get(0)).compareTo(operand(args.get(1))) > 0),
+        FunctionType.sync(operands, PrimitiveType.BOOLEAN));
+  }
+
+  /**
+   * <pre>
+   * fun clamp(value) = if (gt(value, 100)) 100 else value
+   * fun scale(base, level) = clamp(add(base, mul(level, 1.5)))
+   * fun bonus(element) = match element { Fire -> 3  Frost -> 1  Storm -> 2 }
+   * fun damage(base, level, element) =
+   *   base |> scale(it, level) |> scale(it, level) |> add(it, bonus(element))
+   * </pre>
+   */
+  static NovaProgram damageProgram() {
+    FunctionDeclaration clamp =
+        function(
+            "clamp",
+            List.of("value"),
+            new IfExpression(
+                call("gt", id("value"), number(100)), number(100), Optional.of(id("value"))));
+    FunctionDeclaration scale =
+        function(
+            "scale",
+            List.of("base", "level"),
+            call("clamp", call("add", id("base"), call("mul", id("level"), number(1.5)))));
+    FunctionDeclaration bonus =
+        function(
+            "bonus",
+            List.of("element"),
+            new MatchExpression(
+                id("element"),
+                List.of(
+                    new MatchArm("Fire", Optional.empty(), number(3)),
+                    new MatchArm("Frost", Optional.empty(), number(1)),
+                    new MatchArm("Storm", Optional.empty(), number(2)))));
+    FunctionDeclaration damage =
+        function(
+            "damage",
+            List.of("base", "level", "element"),
+            new PipeExpression(
+                id("base"),
+                List.of(
+                    call("scale", id("it"), id("level")),
+                    call("scale", id("it"), id("level")),
+                    call("add", id("it"), call("bonus", id("element"))))));
+    List<NovaDeclaration> declarations = List.of(clamp, scale, bonus, damage);
+    return new NovaProgram(new ModuleDeclaration(List.of("bench", "damage")), declarations);
+  }
+
+  private static NovaCallable arithmetic(BinaryOperator<NovaNumberValue> operator) {
+    return args -> operator.apply(operand(args.get(0)), operand(args.get(1)));
+  }
+
+  private static NovaNumberValue operand(NovaValue value) {
+    return (NovaNumberValue) value;
+  }
+
+  private static FunctionDeclaration function(
+      String name, List<String> parameters, NovaExpression body) {
+    return new FunctionDeclaration(
+        name, parameters.stream().map(Parameter::untyped).toList(), Optional.empty(), body);
+  }
+
+  private static CallExpression call(String name, NovaExpression... arguments) {
+    return new CallExpression(id(name), List.of(arguments));
+  }
+
+  private static IdentifierExpression id(String name) {
+    return new IdentifierExpression(name);
+  }
+
+  private static NumberLiteralExpression number(double value) {
+    return NumberLiteralExpression.of(value);
+  }
+}
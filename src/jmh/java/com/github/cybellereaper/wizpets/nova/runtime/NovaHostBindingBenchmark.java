@@ -0,0 +1,138 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import com.github.cybellereaper.wizpets.nova.parser.NovaParser;
+import com.github.cybellereaper.wizpets.nova.type.FunctionType;
+import com.github.cybellereaper.wizpets.nova.type.PrimitiveType;
+import com.github.cybellereaper.wizpets.nova.type.UnknownType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compiled calls of a script that heals a pet and reads two of its stats. Its host functions are
+ * either lambdas registered by hand, which unwrap their arguments from a copied list, or {@link
+ * NovaExport} methods adapted by {@link NovaHostBinder}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NovaHostBindingBenchmark {
+  private static final String SCRIPT =
+      """
+      module bench.binding
+      fun tick(pet) = { heal(pet, 0.5); add(statValue(pet, "ATTACK"), statValue(pet, "DEFENSE")) }
+      """;
+
+  /** How the pet functions are registered. */
+  public enum Binding {
+    HOST_FUNCTION,
+    BOUND
+  }
+
+  @Param({"HOST_FUNCTION", "BOUND"})
+  public Binding binding;
+
+  private NovaRuntime runtime;
+  private NovaCallable tick;
+  private List<NovaValue> arguments;
+
+  @Setup
+  public void setUp() {
+    runtime = NovaRuntime.createDefault(NovaExecutionMode.COMPILED);
+    switch (binding) {
+      case HOST_FUNCTION -> registerByHand(runtime);
+      case BOUND -> new NovaHostBinder(runtime).bind(new PetFunctions());
+    }
+    runtime.load(NovaParser.parse("binding.nova", SCRIPT));
+    tick = (NovaCallable) runtime.valueEnvironment().lookup("tick").orElseThrow();
+    arguments = List.of(new NovaJavaValue(new Pet()));
+  }
+
+  @TearDown
+  public void tearDown() {
+    runtime.close();
+  }
+
+  @Benchmark
+  public NovaValue invoke() {
+    return tick.invoke(arguments);
+  }
+
+  private static void registerByHand(NovaRuntime runtime) {
+    runtime.registerHostFunction(
+        "heal",
+        new NovaHostFunction(
+            args -> {
+              ((Pet) ((NovaJavaValue) args.get(0)).value())
+                  .heal(((NovaNumberValue) args.get(1)).doubleValue());
+              return NovaUnitValue.INSTANCE;
+            }),
+        FunctionType.sync(
+            List.of(UnknownType.INSTANCE, PrimitiveType.NUMBER), PrimitiveType.UNIT));
+    runtime.registerHostFunction(
+        "statValue",
+        new NovaHostFunction(
+            args ->
+                NovaNumberValue.of(
+                    ((Pet) ((NovaJavaValue) args.get(0)).value())
+                        .statValue(Stat.valueOf(((NovaStringValue) args.get(1)).value())))),
+        FunctionType.sync(
+            List.of(UnknownType.INSTANCE, PrimitiveType.STRING), PrimitiveType.NUMBER));
+    runtime.registerHostFunction(
+        "add",
+        new NovaHostFunction(
+            args -> ((NovaNumberValue) args.get(0)).add((NovaNumberValue) args.get(1))),
+        FunctionType.sync(
+            List.of(PrimitiveType.NUMBER, PrimitiveType.NUMBER), PrimitiveType.NUMBER));
+  }
+
+  /** Stats of the benchmark pet. */
+  public enum Stat {
+    HEALTH,
+    ATTACK,
+    DEFENSE
+  }
+
+  /** Stand-in for an active pet. */
+  public static final class Pet {
+    private double health;
+
+    void heal(double amount) {
+      health = Math.min(health + amount, 100);
+    }
+
+    double statValue(Stat stat) {
+      return switch (stat) {
+        case HEALTH -> health;
+        case ATTACK -> 12;
+        case DEFENSE -> 8.5;
+      };
+    }
+  }
+
+  /** The same functions as {@link #registerByHand}, for the binder. */
+  public static final class PetFunctions {
+    @NovaExport
+    public void heal(Pet pet, double amount) {
+      pet.heal(amount);
+    }
+
+    @NovaExport
+    public double statValue(Pet pet, Stat stat) {
+      return pet.statValue(stat);
+    }
+
+    @NovaExport
+    public double add(double left, double right) {
+      return left + right;
+    }
+  }
+}
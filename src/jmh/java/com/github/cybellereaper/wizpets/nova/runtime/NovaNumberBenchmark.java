@@ -0,0 +1,165 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import com.github.cybellereaper.wizpets.nova.ast.CallExpression;
+import com.github.cybellereaper.wizpets.nova.ast.FunctionDeclaration;
+import com.github.cybellereaper.wizpets.nova.ast.IdentifierExpression;
+import com.github.cybellereaper.wizpets.nova.ast.IfExpression;
+import com.github.cybellereaper.wizpets.nova.ast.ModuleDeclaration;
+import com.github.cybellereaper.wizpets.nova.ast.NovaExpression;
+import com.github.cybellereaper.wizpets.nova.ast.NovaProgram;
+import com.github.cybellereaper.wizpets.nova.ast.NumberLiteralExpression;
+import com.github.cybellereaper.wizpets.nova.ast.Parameter;
+import com.github.cybellereaper.wizpets.nova.type.FunctionType;
+import com.github.cybellereaper.wizpets.nova.type.NovaType;
+import com.github.cybellereaper.wizpets.nova.type.PrimitiveType;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * A stat-scaling script evaluated one million times per invocation, with host arithmetic on the
+ * unboxed {@link NovaNumberValue} fast path or routed through {@link BigDecimal} for every
+ * operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NovaNumberBenchmark {
+  private static final int EVALUATIONS = 1_000_000;
+  private static final int MAX_LEVEL = 100;
+
+  /** How the host {@code add}, {@code mul} and {@code gt} functions do their arithmetic. */
+  public enum Arithmetic {
+    PRIMITIVE,
+    DECIMAL
+  }
+
+  @Param({"PRIMITIVE", "DECIMAL"})
+  public Arithmetic arithmetic;
+
+  @Param({"INTERPRETED", "COMPILED"})
+  public NovaExecutionMode mode;
+
+  private NovaRuntime runtime;
+  private NovaCallable scaleStats;
+  private List<List<NovaValue>> levels;
+
+  @Setup
+  public void setUp() {
+    runtime = NovaRuntime.createDefault(mode);
+    switch (arithmetic) {
+      case PRIMITIVE -> NovaExecutionBenchmark.registerArithmetic(runtime);
+      case DECIMAL -> registerDecimalArithmetic(runtime);
+    }
+    runtime.load(statProgram());
+    scaleStats = (NovaCallable) runtime.valueEnvironment().lookup("scaleStats").orElseThrow();
+    levels =
+        IntStream.rangeClosed(1, MAX_LEVEL)
+            .mapToObj(level -> List.<NovaValue>of(NovaNumberValue.of(level)))
+            .toList();
+  }
+
+  @TearDown
+  public void tearDown() {
+    runtime.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(EVALUATIONS)
+  public void scaleStats(Blackhole blackhole) {
+    for (int i = 0; i < EVALUATIONS; i++) {
+      blackhole.consume(scaleStats.invoke(levels.get(i % MAX_LEVEL)));
+    }
+  }
+
+  private static void registerDecimalArithmetic(NovaRuntime runtime) {
+    List<NovaType> operands = List.of(PrimitiveType.NUMBER, PrimitiveType.NUMBER);
+    FunctionType binary = FunctionType.sync(operands, PrimitiveType.NUMBER);
+    runtime.registerHostFunction("add", decimal(BigDecimal::add), binary);
+    runtime.registerHostFunction("mul", decimal(BigDecimal::multiply), binary);
+    runtime.registerHostFunction(
+        "gt",
+        args -> new NovaBooleanValue(value(args.get(0)).compareTo(value(args.get(1))) > 0),
+        FunctionType.sync(operands, PrimitiveType.BOOLEAN));
+  }
+
+  private static NovaCallable decimal(BinaryOperator<BigDecimal> operator) {
+    return args -> NovaNumberValue.of(operator.apply(value(args.get(0)), value(args.get(1))));
+  }
+
+  private static BigDecimal value(NovaValue value) {
+    return ((NovaNumberValue) value).value();
+  }
+
+  /**
+   * <pre>
+   * fun capStat(value) = if (gt(value, 999)) 999 else value
+   * fun scaleStat(base, growth, level) = capStat(add(base, mul(mul(growth, level), 0.85)))
+   * fun scaleStats(level) =
+   *   add(add(scaleStat(40, 1.25, level), scaleStat(32, 1.5, level)), scaleStat(24, 0.75, level))
+   * </pre>
+   */
+  static NovaProgram statProgram() {
+    FunctionDeclaration capStat =
+        function(
+            "capStat",
+            List.of("value"),
+            new IfExpression(
+                call("gt", id("value"), number(999)), number(999), Optional.of(id("value"))));
+    FunctionDeclaration scaleStat =
+        function(
+            "scaleStat",
+            List.of("base", "growth", "level"),
+            call(
+                "capStat",
+                call(
+                    "add",
+                    id("base"),
+                    call("mul", call("mul", id("growth"), id("level")), number(0.85)))));
+    FunctionDeclaration scaleStats =
+        function(
+            "scaleStats",
+            List.of("level"),
+            call(
+                "add",
+                call(
+                    "add",
+                    call("scaleStat", number(40), number(1.25), id("level")),
+                    call("scaleStat", number(32), number(1.5), id("level"))),
+                call("scaleStat", number(24), number(0.75), id("level"))));
+    return new NovaProgram(
+        new ModuleDeclaration(List.of("bench", "stats")), List.of(capStat, scaleStat, scaleStats));
+  }
+
+  private static FunctionDeclaration function(
+      String name, List<String> parameters, NovaExpression body) {
+    return new FunctionDeclaration(
+        name, parameters.stream().map(Parameter::untyped).toList(), Optional.empty(), body);
+  }
+
+  private static CallExpression call(String name, NovaExpression... arguments) {
+    return new CallExpression(id(name), List.of(arguments));
+  }
+
+  private static IdentifierExpression id(String name) {
+    return new IdentifierExpression(name);
+  }
+
+  private static NumberLiteralExpression number(double value) {
+    return NumberLiteralExpression.of(value);
+  }
+}
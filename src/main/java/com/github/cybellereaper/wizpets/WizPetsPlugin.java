@@ -3,15 +3,21 @@ package com.github.cybellereaper.wizpets;
 import com.github.cybellereaper.wizpets.core.command.WizPetCommand;
 import com.github.cybellereaper.wizpets.core.di.DaggerWizPetsComponent;
 import com.github.cybellereaper.wizpets.core.di.WizPetsComponent;
+import com.github.cybellereaper.wizpets.core.model.blockbench.ModelDirectoryWatcher;
 import com.github.cybellereaper.wizpets.core.service.PetServiceImpl;
 import com.github.cybellereaper.wizpets.nova.bridge.NovaPaperBridge;
+import com.github.cybellereaper.wizpets.nova.bridge.NovaPetFunctions;
+import com.github.cybellereaper.wizpets.nova.runtime.NovaHostBinder;
 import com.github.cybellereaper.wizpets.nova.runtime.NovaRuntime;
+import java.io.IOException;
+import java.util.logging.Level;
 import org.bukkit.command.PluginCommand;
 import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
 
 public final class WizPetsPlugin extends JavaPlugin {
   private WizPetsComponent component;
+  private ModelDirectoryWatcher modelWatcher;
   private PetServiceImpl service;
   private NovaRuntime novaRuntime;
   private NovaPaperBridge novaPaperBridge;
@@ -20,6 +26,12 @@ public final class WizPetsPlugin extends JavaPlugin {
   public void onEnable() {
     saveDefaultConfig();
     component = DaggerWizPetsComponent.factory().create(this);
+    modelWatcher = component.modelWatcher();
+    try {
+      modelWatcher.start();
+    } catch (IOException ex) {
+      getLogger().log(Level.WARNING, "Failed to load the models folder", ex);
+    }
     service = component.petService();
     WizPetCommand command = new WizPetCommand(service, getServer());
     PluginCommand pluginCommand = getCommand("wizpet");
@@ -28,6 +40,9 @@ public final class WizPetsPlugin extends JavaPlugin {
       pluginCommand.setTabCompleter(command);
     }
     getServer().getPluginManager().registerEvents(service, this);
+    getServer().getPluginManager().registerEvents(service.monsterIndex(), this);
+    getServer().getPluginManager().registerEvents(service.preloader(), this);
+    service.monsterIndex().indexLoadedEntities();
     service.restoreOnlinePlayers();
     getLogger()
         .info(
@@ -37,6 +52,7 @@ public final class WizPetsPlugin extends JavaPlugin {
                     + " talents.");
 
     novaRuntime = NovaRuntime.createDefault();
+    new NovaHostBinder(novaRuntime).bind(new NovaPetFunctions(service));
     novaPaperBridge = new NovaPaperBridge(this, getServer().getPluginManager());
     getServer()
         .getServicesManager()
@@ -56,6 +72,10 @@ public final class WizPetsPlugin extends JavaPlugin {
       getServer().getServicesManager().unregister(NovaRuntime.class, novaRuntime);
       novaRuntime = null;
     }
+    if (modelWatcher != null) {
+      modelWatcher.close();
+      modelWatcher = null;
+    }
     novaPaperBridge = null;
     component = null;
   }
@@ -20,6 +20,12 @@ public interface ActivePet {
 
   double statValue(StatType type);
 
+  /**
+   * Mark cached stat values as stale. Talents whose {@link PetTalent#modifyStat} result depends on
+   * changing state should call this whenever that state changes.
+   */
+  default void invalidateStats() {}
+
   default Map<StatType, Double> statBreakdown() {
     Map<StatType, Double> breakdown = new EnumMap<>(StatType.class);
     for (StatType type : StatType.values()) {
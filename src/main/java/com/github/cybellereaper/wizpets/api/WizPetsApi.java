@@ -7,6 +7,7 @@ import com.github.cybellereaper.wizpets.api.talent.TalentRegistryView;
 import com.github.cybellereaper.wizpets.api.timeline.PetLifecycleListener;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import org.bukkit.entity.Player;
 
 /** Entry point exposed to other plugins through Bukkit's services manager. */
@@ -51,6 +52,17 @@ public interface WizPetsApi {
 
   boolean rerollTalent(Player player, int slotIndex);
 
+  /**
+   * Start copying every known player's pet from their data container into the configured external
+   * backend, off the server thread.
+   *
+   * <p>Returns the number of players that will be scanned, or empty when pets are stored in data
+   * containers. The copied, skipped and failed counts are logged once the scan finishes.
+   */
+  default OptionalInt migrateStoredPets() {
+    return OptionalInt.empty();
+  }
+
   TalentRegistryView talents();
 
   void registerTalent(TalentFactory factory, boolean replace);
@@ -12,6 +12,16 @@ public interface PetTalent {
 
   String getDescription();
 
+  /** Rarity tier used when rolling talents. */
+  default TalentRarity getRarity() {
+    return TalentRarity.COMMON;
+  }
+
+  /** Relative roll weight; defaults to the rarity's weight. Zero means never rolled. */
+  default double getWeight() {
+    return getRarity().getWeight();
+  }
+
   default void onSummon(ActivePet pet) {}
 
   default void tick(ActivePet pet) {}
@@ -6,11 +6,23 @@ public final class PetTalentDescriptor {
   private final String id;
   private final String displayName;
   private final String description;
+  private final TalentRarity rarity;
+  private final double weight;
 
   public PetTalentDescriptor(String id, String displayName, String description) {
+    this(id, displayName, description, TalentRarity.COMMON, TalentRarity.COMMON.getWeight());
+  }
+
+  public PetTalentDescriptor(
+      String id, String displayName, String description, TalentRarity rarity, double weight) {
     this.id = Objects.requireNonNull(id, "id");
     this.displayName = Objects.requireNonNull(displayName, "displayName");
     this.description = Objects.requireNonNull(description, "description");
+    this.rarity = Objects.requireNonNull(rarity, "rarity");
+    if (!(weight >= 0.0) || Double.isInfinite(weight)) {
+      throw new IllegalArgumentException("Talent " + id + " has invalid weight " + weight);
+    }
+    this.weight = weight;
   }
 
   public String getId() {
@@ -25,6 +37,14 @@ public final class PetTalentDescriptor {
     return description;
   }
 
+  public TalentRarity getRarity() {
+    return rarity;
+  }
+
+  public double getWeight() {
+    return weight;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -35,12 +55,14 @@ public final class PetTalentDescriptor {
     }
     return id.equals(that.id)
         && displayName.equals(that.displayName)
-        && description.equals(that.description);
+        && description.equals(that.description)
+        && rarity == that.rarity
+        && Double.compare(weight, that.weight) == 0;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(id, displayName, description);
+    return Objects.hash(id, displayName, description, rarity, weight);
   }
 
   @Override
@@ -55,6 +77,10 @@ public final class PetTalentDescriptor {
         + ", description='"
         + description
         + '\''
+        + ", rarity="
+        + rarity
+        + ", weight="
+        + weight
         + '}';
   }
 }
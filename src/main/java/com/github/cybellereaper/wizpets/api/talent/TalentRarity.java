@@ -0,0 +1,19 @@
+package com.github.cybellereaper.wizpets.api.talent;
+
+/** Rarity tier of a talent, providing its default roll weight. */
+public enum TalentRarity {
+  COMMON(60.0),
+  UNCOMMON(25.0),
+  RARE(10.0),
+  LEGENDARY(5.0);
+
+  private final double weight;
+
+  TalentRarity(double weight) {
+    this.weight = weight;
+  }
+
+  public double getWeight() {
+    return weight;
+  }
+}
@@ -0,0 +1,92 @@
+package com.github.cybellereaper.wizpets.core.combat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Buckets values by the chunk they currently occupy so neighbourhood queries only visit nearby
+ * chunks instead of every tracked value. Not thread-safe; callers confine it to the server thread.
+ */
+final class ChunkBucketIndex<T> {
+  private final Map<Long, Set<T>> buckets = new HashMap<>();
+  private final Map<T, Long> positions = new HashMap<>();
+
+  /**
+   * Insert the value or move it to the given chunk.
+   *
+   * @return {@code true} when the value was added or changed chunk
+   */
+  boolean update(T value, int chunkX, int chunkZ) {
+    Objects.requireNonNull(value, "value");
+    long key = chunkKey(chunkX, chunkZ);
+    Long previous = positions.put(value, key);
+    if (previous != null) {
+      if (previous == key) {
+        return false;
+      }
+      detach(value, previous);
+    }
+    buckets.computeIfAbsent(key, ignored -> new LinkedHashSet<>()).add(value);
+    return true;
+  }
+
+  boolean remove(T value) {
+    Long previous = positions.remove(value);
+    if (previous == null) {
+      return false;
+    }
+    detach(value, previous);
+    return true;
+  }
+
+  boolean contains(T value) {
+    return positions.containsKey(value);
+  }
+
+  int size() {
+    return positions.size();
+  }
+
+  /** Snapshot of the tracked values, safe to iterate while updating or removing them. */
+  List<T> values() {
+    return new ArrayList<>(positions.keySet());
+  }
+
+  /** Append every value within {@code radius} chunks of the given chunk to {@code out}. */
+  void collect(int chunkX, int chunkZ, int radius, Collection<? super T> out) {
+    for (int dx = -radius; dx <= radius; dx++) {
+      for (int dz = -radius; dz <= radius; dz++) {
+        Set<T> bucket = buckets.get(chunkKey(chunkX + dx, chunkZ + dz));
+        if (bucket != null) {
+          out.addAll(bucket);
+        }
+      }
+    }
+  }
+
+  void clear() {
+    buckets.clear();
+    positions.clear();
+  }
+
+  static long chunkKey(int chunkX, int chunkZ) {
+    return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+  }
+
+  static int chunkCoordinate(double blockCoordinate) {
+    return ((int) Math.floor(blockCoordinate)) >> 4;
+  }
+
+  private void detach(T value, long key) {
+    Set<T> bucket = buckets.get(key);
+    if (bucket != null && bucket.remove(value) && bucket.isEmpty()) {
+      buckets.remove(key);
+    }
+  }
+}
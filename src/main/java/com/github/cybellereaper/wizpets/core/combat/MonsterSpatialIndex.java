@@ -0,0 +1,216 @@
+package com.github.cybellereaper.wizpets.core.combat;
+
+import com.destroystokyo.paper.event.entity.EntityAddToWorldEvent;
+import com.destroystokyo.paper.event.entity.EntityRemoveFromWorldEvent;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.NonNull;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Monster;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.entity.EntityTeleportEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Per-world, chunk-bucketed index of loaded monsters used for pet target acquisition.
+ *
+ * <p>The index is maintained from entity lifecycle and teleport events, and a repeating task
+ * re-reads the chunk of every indexed monster every {@value #REFRESH_TICKS} ticks. It does not
+ * listen to {@code EntityMoveEvent}, which would make the server fire an event for every moving
+ * living entity on every tick. A monster that walked into another chunk since the last refresh can
+ * be missed until the next one. Candidate lists are computed once per pet chunk per server tick, so
+ * every pet standing in the same chunk shares a single neighbourhood query. All access happens on
+ * the server thread.
+ */
+@Singleton
+public final class MonsterSpatialIndex implements Listener {
+  static final long REFRESH_TICKS = 5L;
+
+  private final JavaPlugin plugin;
+  private final Map<UUID, ChunkBucketIndex<Monster>> worlds = new HashMap<>();
+  private final Map<UUID, Map<Long, List<Monster>>> regionCache = new HashMap<>();
+  private final Location scratch = new Location(null, 0.0, 0.0, 0.0);
+  private int cacheTick = Integer.MIN_VALUE;
+  private BukkitTask refreshTask;
+
+  @Inject
+  public MonsterSpatialIndex(@NonNull JavaPlugin plugin) {
+    this.plugin = plugin;
+  }
+
+  /**
+   * Seed the index with monsters that were already loaded before the listener was registered and
+   * start refreshing their chunks.
+   */
+  public void indexLoadedEntities() {
+    for (World world : plugin.getServer().getWorlds()) {
+      for (Monster monster : world.getEntitiesByClass(Monster.class)) {
+        track(monster, monster.getLocation());
+      }
+    }
+    if (refreshTask == null) {
+      refreshTask =
+          plugin
+              .getServer()
+              .getScheduler()
+              .runTaskTimer(plugin, this::refreshPositions, REFRESH_TICKS, REFRESH_TICKS);
+    }
+  }
+
+  /** Move every indexed monster to the bucket of the chunk it stands in now. */
+  void refreshPositions() {
+    for (Map.Entry<UUID, ChunkBucketIndex<Monster>> entry : worlds.entrySet()) {
+      ChunkBucketIndex<Monster> index = entry.getValue();
+      for (Monster monster : index.values()) {
+        if (!monster.isValid()) {
+          index.remove(monster);
+          continue;
+        }
+        Location location = monster.getLocation(scratch);
+        World world = location.getWorld();
+        if (world == null || !world.getUID().equals(entry.getKey())) {
+          // Changing worlds goes through the teleport and add events.
+          continue;
+        }
+        index.update(
+            monster,
+            ChunkBucketIndex.chunkCoordinate(location.getX()),
+            ChunkBucketIndex.chunkCoordinate(location.getZ()));
+      }
+    }
+  }
+
+  /**
+   * Find the closest live monster inside an axis-aligned box around {@code origin}.
+   *
+   * @return the nearest monster or {@code null} when none is in range
+   */
+  public Monster nearest(Location origin, double horizontal, double vertical) {
+    World world = origin.getWorld();
+    if (world == null) {
+      return null;
+    }
+    Monster closest = null;
+    double closestDistance = Double.MAX_VALUE;
+    for (Monster monster : candidates(world, origin, horizontal)) {
+      if (!monster.isValid() || monster.isDead()) {
+        continue;
+      }
+      Location location = monster.getLocation();
+      if (Math.abs(location.getX() - origin.getX()) > horizontal
+          || Math.abs(location.getZ() - origin.getZ()) > horizontal
+          || Math.abs(location.getY() - origin.getY()) > vertical) {
+        continue;
+      }
+      double distance = location.distanceSquared(origin);
+      if (distance < closestDistance) {
+        closestDistance = distance;
+        closest = monster;
+      }
+    }
+    return closest;
+  }
+
+  /** Total number of monsters currently tracked across every world. */
+  public int size() {
+    int total = 0;
+    for (ChunkBucketIndex<Monster> index : worlds.values()) {
+      total += index.size();
+    }
+    return total;
+  }
+
+  public void clear() {
+    if (refreshTask != null) {
+      refreshTask.cancel();
+      refreshTask = null;
+    }
+    worlds.clear();
+    regionCache.clear();
+  }
+
+  private List<Monster> candidates(World world, Location origin, double horizontal) {
+    ChunkBucketIndex<Monster> index = worlds.get(world.getUID());
+    if (index == null) {
+      return List.of();
+    }
+    int tick = plugin.getServer().getCurrentTick();
+    if (tick != cacheTick) {
+      regionCache.clear();
+      cacheTick = tick;
+    }
+    int chunkX = ChunkBucketIndex.chunkCoordinate(origin.getX());
+    int chunkZ = ChunkBucketIndex.chunkCoordinate(origin.getZ());
+    int radius = (int) Math.ceil(horizontal / 16.0);
+    return regionCache
+        .computeIfAbsent(world.getUID(), ignored -> new HashMap<>())
+        .computeIfAbsent(
+            ChunkBucketIndex.chunkKey(chunkX, chunkZ),
+            ignored -> {
+              List<Monster> region = new ArrayList<>();
+              index.collect(chunkX, chunkZ, radius, region);
+              return region;
+            });
+  }
+
+  private void track(Monster monster, Location location) {
+    World world = location.getWorld();
+    if (world == null) {
+      return;
+    }
+    worlds
+        .computeIfAbsent(world.getUID(), ignored -> new ChunkBucketIndex<>())
+        .update(
+            monster,
+            ChunkBucketIndex.chunkCoordinate(location.getX()),
+            ChunkBucketIndex.chunkCoordinate(location.getZ()));
+  }
+
+  private void untrack(Entity entity) {
+    if (!(entity instanceof Monster monster)) {
+      return;
+    }
+    for (ChunkBucketIndex<Monster> index : worlds.values()) {
+      if (index.remove(monster)) {
+        return;
+      }
+    }
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onEntityAdd(EntityAddToWorldEvent event) {
+    if (event.getEntity() instanceof Monster monster) {
+      track(monster, monster.getLocation());
+    }
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onEntityRemove(EntityRemoveFromWorldEvent event) {
+    untrack(event.getEntity());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onEntityDeath(EntityDeathEvent event) {
+    untrack(event.getEntity());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+  public void onEntityTeleport(EntityTeleportEvent event) {
+    if (!(event.getEntity() instanceof Monster monster) || event.getTo() == null) {
+      return;
+    }
+    untrack(monster);
+    track(monster, event.getTo());
+  }
+}
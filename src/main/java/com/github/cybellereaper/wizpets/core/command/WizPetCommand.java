@@ -16,6 +16,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.stream.IntStream;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Server;
@@ -135,6 +136,9 @@ public final class WizPetCommand implements TabExecutor {
         new CommandRegistration(
             "breed", "Breed your pet with another player's", new BreedAction()));
     commands.add(new CommandRegistration("debug", "Show stored pet data", new DebugAction()));
+    commands.add(
+        new CommandRegistration(
+            "migrate", "Copy stored pets into the database backend", new MigrateAction()));
     return ImmutableList.copyOf(commands);
   }
 
@@ -439,6 +443,23 @@ public final class WizPetCommand implements TabExecutor {
     }
   }
 
+  @RequiresPermission(PERMISSION_PREFIX + "migrate")
+  private final class MigrateAction implements PetCommandAction {
+    @Override
+    public boolean execute(CommandContext context) {
+      OptionalInt migrated = api.migrateStoredPets();
+      if (migrated.isEmpty()) {
+        context.reply("§ePets are stored in player data; switch the backend to migrate.");
+      } else {
+        context.reply(
+            "§aMigrating pets of "
+                + migrated.getAsInt()
+                + " players in the background; the console reports the result.");
+      }
+      return true;
+    }
+  }
+
   @RequiresPermission(PERMISSION_PREFIX + "debug")
   private final class DebugAction implements PetCommandAction {
     @Override
@@ -0,0 +1,22 @@
+package com.github.cybellereaper.wizpets.core.config;
+
+import java.util.Locale;
+
+/** Where pet records are stored. */
+public enum PersistenceBackend {
+  /** Each holder's persistent data container. */
+  PDC,
+  /** Embedded SQLite file in the plugin data folder. */
+  SQLITE;
+
+  static PersistenceBackend fromConfig(String raw) {
+    if (raw == null) {
+      return PDC;
+    }
+    try {
+      return valueOf(raw.strip().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      return PDC;
+    }
+  }
+}
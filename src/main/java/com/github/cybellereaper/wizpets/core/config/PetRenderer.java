@@ -0,0 +1,22 @@
+package com.github.cybellereaper.wizpets.core.config;
+
+import java.util.Locale;
+
+/** Entity used to draw a pet's Blockbench model. */
+public enum PetRenderer {
+  /** Armor stand poses, stepped on every pet tick. */
+  ARMOR_STAND,
+  /** Item display whose movement and pose changes are interpolated by the client. */
+  DISPLAY;
+
+  static PetRenderer fromConfig(String raw) {
+    if (raw == null) {
+      return ARMOR_STAND;
+    }
+    try {
+      return valueOf(raw.strip().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      return ARMOR_STAND;
+    }
+  }
+}
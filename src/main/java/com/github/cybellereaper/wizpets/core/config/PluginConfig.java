@@ -8,6 +8,10 @@ public record PluginConfig(@NonNull FileConfiguration configuration) {
     return configuration.getBoolean("autosummon", true);
   }
 
+  public int getSummonsPerTick() {
+    return Math.max(1, configuration.getInt("summonsPerTick", 5));
+  }
+
   public String getMountUnlockMessage() {
     return configuration.getString(
         "messages.mountUnlock", "§bYour bond deepens, allowing you to ride your pet!");
@@ -24,4 +28,49 @@ public record PluginConfig(@NonNull FileConfiguration configuration) {
   public String getDefaultModelId() {
     return configuration.getString("defaults.modelId", "wizpet_default");
   }
+
+  /** Phase buckets for shared looped animations; 0 lets every pet sample its own loop. */
+  public int getAnimationPhaseBuckets() {
+    return Math.max(0, configuration.getInt("animation.phaseBuckets", 4));
+  }
+
+  /** Rotation change in degrees below which armor stand poses are not re-sent. */
+  public double getPoseEpsilonDegrees() {
+    return Math.max(0.0, configuration.getDouble("animation.poseEpsilon", 0.05));
+  }
+
+  /** Whether files in the models folder are reloaded as they change. */
+  public boolean isModelHotReload() {
+    return configuration.getBoolean("models.hotReload", true);
+  }
+
+  public PetRenderer getPetRenderer() {
+    return PetRenderer.fromConfig(configuration.getString("animation.renderer", "armor_stand"));
+  }
+
+  /** Viewers within this many blocks see a pet at full detail. */
+  public double getLodNearDistance() {
+    return Math.max(0.0, configuration.getDouble("lod.nearDistance", 16.0));
+  }
+
+  /** Viewers beyond this many blocks see a pet at minimal detail. */
+  public double getLodFarDistance() {
+    return Math.max(getLodNearDistance(), configuration.getDouble("lod.farDistance", 48.0));
+  }
+
+  public long getWriteBehindTicks() {
+    return Math.max(0L, configuration.getLong("persistence.writeBehindTicks", 100L));
+  }
+
+  public PersistenceBackend getPersistenceBackend() {
+    return PersistenceBackend.fromConfig(configuration.getString("persistence.backend", "pdc"));
+  }
+
+  public String getDatabaseFile() {
+    return configuration.getString("persistence.sqlite.file", "pets.db");
+  }
+
+  public int getDatabaseCacheSize() {
+    return Math.max(1, configuration.getInt("persistence.sqlite.cacheSize", 512));
+  }
 }
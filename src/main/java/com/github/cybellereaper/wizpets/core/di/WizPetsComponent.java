@@ -1,5 +1,6 @@
 package com.github.cybellereaper.wizpets.core.di;
 
+import com.github.cybellereaper.wizpets.core.model.blockbench.ModelDirectoryWatcher;
 import com.github.cybellereaper.wizpets.core.service.PetServiceImpl;
 import dagger.BindsInstance;
 import dagger.Component;
@@ -11,6 +12,8 @@ import org.bukkit.plugin.java.JavaPlugin;
 public interface WizPetsComponent {
   PetServiceImpl petService();
 
+  ModelDirectoryWatcher modelWatcher();
+
   @Component.Factory
   interface Factory {
     WizPetsComponent create(@BindsInstance JavaPlugin plugin);
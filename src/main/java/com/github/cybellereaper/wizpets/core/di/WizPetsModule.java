@@ -4,7 +4,12 @@ import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchModelEngi
 import com.github.cybellereaper.wizpets.api.persistence.PetPersistence;
 import com.github.cybellereaper.wizpets.core.config.PluginConfig;
 import com.github.cybellereaper.wizpets.core.model.blockbench.BlockbenchModelEngineImpl;
+import com.github.cybellereaper.wizpets.core.model.blockbench.ModelCache;
+import com.github.cybellereaper.wizpets.core.model.blockbench.ModelDirectoryWatcher;
+import com.github.cybellereaper.wizpets.core.persistence.DatabasePetPersistence;
 import com.github.cybellereaper.wizpets.core.persistence.PetStorage;
+import com.github.cybellereaper.wizpets.core.persistence.WriteBehindPetPersistence;
+import com.github.cybellereaper.wizpets.core.service.PetTickScheduler;
 import com.github.cybellereaper.wizpets.core.talent.TalentRegistryImpl;
 import dagger.Module;
 import dagger.Provides;
@@ -28,14 +33,43 @@ public final class WizPetsModule {
 
   @Provides
   @Singleton
-  static PetPersistence petPersistence(JavaPlugin plugin) {
-    return new PetStorage(plugin);
+  static WriteBehindPetPersistence writeBehindPersistence(
+      JavaPlugin plugin, PluginConfig config, ExecutorService executor) {
+    return new WriteBehindPetPersistence(
+        plugin, backend(plugin, config, executor), config.getWriteBehindTicks());
+  }
+
+  private static PetPersistence backend(
+      JavaPlugin plugin, PluginConfig config, ExecutorService executor) {
+    return switch (config.getPersistenceBackend()) {
+      case PDC -> new PetStorage(plugin);
+      case SQLITE ->
+          DatabasePetPersistence.open(
+              plugin,
+              plugin.getDataFolder().toPath().resolve(config.getDatabaseFile()),
+              config.getDatabaseCacheSize(),
+              executor);
+    };
+  }
+
+  @Provides
+  @Singleton
+  static PetPersistence petPersistence(WriteBehindPetPersistence persistence) {
+    return persistence;
   }
 
   @Provides
   @Singleton
-  static BlockbenchModelEngine blockbenchModelEngine(JavaPlugin plugin) {
-    BlockbenchModelEngineImpl engine = new BlockbenchModelEngineImpl();
+  static BlockbenchModelEngineImpl blockbenchModelEngineImpl(
+      JavaPlugin plugin, PluginConfig config) {
+    BlockbenchModelEngineImpl engine =
+        new BlockbenchModelEngineImpl(
+            new ModelCache(
+                plugin.getDataFolder().toPath().resolve("cache").resolve("models"),
+                plugin.getLogger()),
+            plugin.getServer()::getCurrentTick,
+            PetTickScheduler.DEFAULT_PERIOD_TICKS,
+            config.getAnimationPhaseBuckets());
     try (var stream = plugin.getResource("models/pets/default.json")) {
       if (stream != null) {
         engine.registerModel("wizpet_default", stream);
@@ -46,6 +80,23 @@ public final class WizPetsModule {
     return engine;
   }
 
+  @Provides
+  @Singleton
+  static BlockbenchModelEngine blockbenchModelEngine(BlockbenchModelEngineImpl engine) {
+    return engine;
+  }
+
+  @Provides
+  @Singleton
+  static ModelDirectoryWatcher modelDirectoryWatcher(
+      JavaPlugin plugin, PluginConfig config, BlockbenchModelEngineImpl engine) {
+    return new ModelDirectoryWatcher(
+        engine,
+        plugin.getDataFolder().toPath().resolve("models"),
+        plugin.getLogger(),
+        config.isModelHotReload());
+  }
+
   @Provides
   @Singleton
   static TalentRegistryImpl talentRegistry() {
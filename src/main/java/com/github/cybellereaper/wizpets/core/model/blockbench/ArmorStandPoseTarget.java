@@ -1,21 +1,29 @@
 package com.github.cybellereaper.wizpets.core.model.blockbench;
 
-import com.github.cybellereaper.wizpets.api.math.Vector3;
 import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchBoneTarget;
-import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchPoseTarget;
-import com.github.cybellereaper.wizpets.api.model.blockbench.PoseTransform;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.Objects;
 import org.bukkit.entity.ArmorStand;
 import org.bukkit.util.EulerAngle;
 
-public final class ArmorStandPoseTarget implements BlockbenchPoseTarget {
+/** Poses an armor stand from Blockbench rotations, skipping bones that have not moved. */
+public final class ArmorStandPoseTarget extends CachingPoseTarget {
+  public static final double DEFAULT_EPSILON_DEGREES = DEFAULT_EPSILON;
+
   private final ArmorStand stand;
   private final Map<BlockbenchBoneTarget, EulerAngle> baseline =
       new EnumMap<>(BlockbenchBoneTarget.class);
 
   public ArmorStandPoseTarget(ArmorStand stand) {
+    this(stand, DEFAULT_EPSILON_DEGREES);
+  }
+
+  /**
+   * @param epsilonDegrees largest per-axis change, in degrees, that is not written to the stand
+   */
+  public ArmorStandPoseTarget(ArmorStand stand, double epsilonDegrees) {
+    super(epsilonDegrees, false);
     this.stand = Objects.requireNonNull(stand, "stand");
     baseline.put(BlockbenchBoneTarget.HEAD, stand.getHeadPose());
     baseline.put(BlockbenchBoneTarget.BODY, stand.getBodyPose());
@@ -26,27 +34,24 @@ public final class ArmorStandPoseTarget implements BlockbenchPoseTarget {
   }
 
   @Override
-  public void apply(Map<BlockbenchBoneTarget, PoseTransform> pose) {
-    pose.forEach((target, transform) -> applyRotation(target, transform.rotation()));
+  protected boolean write(
+      BlockbenchBoneTarget target,
+      double rx,
+      double ry,
+      double rz,
+      double tx,
+      double ty,
+      double tz) {
+    applyEuler(
+        target, new EulerAngle(Math.toRadians(rx), Math.toRadians(ry), Math.toRadians(rz)));
+    return true;
   }
 
   @Override
-  public void reset() {
+  protected void restoreBaseline() {
     baseline.forEach(this::applyEuler);
   }
 
-  private void applyRotation(BlockbenchBoneTarget target, Vector3 rotationDegrees) {
-    EulerAngle angle = toEuler(rotationDegrees);
-    switch (target) {
-      case HEAD -> stand.setHeadPose(angle);
-      case BODY -> stand.setBodyPose(angle);
-      case LEFT_ARM -> stand.setLeftArmPose(angle);
-      case RIGHT_ARM -> stand.setRightArmPose(angle);
-      case LEFT_LEG -> stand.setLeftLegPose(angle);
-      case RIGHT_LEG -> stand.setRightLegPose(angle);
-    }
-  }
-
   private void applyEuler(BlockbenchBoneTarget target, EulerAngle angle) {
     switch (target) {
       case HEAD -> stand.setHeadPose(angle);
@@ -57,11 +62,4 @@ public final class ArmorStandPoseTarget implements BlockbenchPoseTarget {
       case RIGHT_LEG -> stand.setRightLegPose(angle);
     }
   }
-
-  private EulerAngle toEuler(Vector3 rotationDegrees) {
-    return new EulerAngle(
-        Math.toRadians(rotationDegrees.x()),
-        Math.toRadians(rotationDegrees.y()),
-        Math.toRadians(rotationDegrees.z()));
-  }
 }
@@ -1,20 +1,16 @@
 package com.github.cybellereaper.wizpets.core.model.blockbench;
 
-import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchBoneTarget;
-import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchPoseTarget;
-import com.github.cybellereaper.wizpets.api.model.blockbench.PoseTransform;
-import java.util.EnumMap;
-import java.util.Map;
+import java.util.List;
 
 final class BlockbenchAnimation {
   private final double length;
   private final boolean loop;
-  private final Map<String, BlockbenchBoneTrack> tracks;
+  private final BlockbenchBoneTrack[] tracks;
 
-  BlockbenchAnimation(double length, boolean loop, Map<String, BlockbenchBoneTrack> tracks) {
+  BlockbenchAnimation(double length, boolean loop, List<BlockbenchBoneTrack> tracks) {
     this.length = Math.max(0.0, length);
     this.loop = loop;
-    this.tracks = Map.copyOf(tracks);
+    this.tracks = tracks.toArray(BlockbenchBoneTrack[]::new);
   }
 
   double length() {
@@ -25,18 +21,19 @@ final class BlockbenchAnimation {
     return loop;
   }
 
-  void apply(double time, ModelData model, BlockbenchPoseTarget target) {
-    Map<BlockbenchBoneTarget, PoseTransform> pose = new EnumMap<>(BlockbenchBoneTarget.class);
-    tracks.forEach(
-        (bone, track) -> {
-          ModelData.BoneDefinition definition = model.bone(bone);
-          if (definition == null) {
-            return;
-          }
-          pose.put(definition.target(), track.poseAt(time));
-        });
-    if (!pose.isEmpty()) {
-      target.apply(pose);
+  List<BlockbenchBoneTrack> tracks() {
+    return List.of(tracks);
+  }
+
+  /** Number of cursor slots {@link #sample} needs. */
+  int cursorCount() {
+    return tracks.length * 2;
+  }
+
+  void sample(double time, PoseBuffer out, int[] cursors) {
+    out.clear();
+    for (int i = 0; i < tracks.length; i++) {
+      tracks[i].sample(time, out, cursors, i * 2);
     }
   }
 }
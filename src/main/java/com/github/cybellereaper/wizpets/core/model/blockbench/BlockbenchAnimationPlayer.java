@@ -1,49 +1,51 @@
 package com.github.cybellereaper.wizpets.core.model.blockbench;
 
-import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchPoseTarget;
-
-final class BlockbenchAnimationPlayer {
+/** Plays one animation on its own timeline, sampling into an instance-owned buffer. */
+final class BlockbenchAnimationPlayer implements PoseSource {
   private final BlockbenchAnimation animation;
-  private final ModelData model;
+  private final PoseBuffer pose;
+  private final int[] cursors;
   private double time;
   private boolean finished;
 
-  BlockbenchAnimationPlayer(BlockbenchAnimation animation, ModelData model) {
+  BlockbenchAnimationPlayer(BlockbenchAnimation animation, PoseBuffer pose) {
     this.animation = animation;
-    this.model = model;
+    this.pose = pose;
+    this.cursors = new int[animation.cursorCount()];
   }
 
-  void begin(BlockbenchPoseTarget target) {
+  @Override
+  public PoseBuffer begin() {
     time = 0.0;
     finished = false;
-    animation.apply(0.0, model, target);
+    animation.sample(0.0, pose, cursors);
+    return pose;
   }
 
-  void advance(double deltaSeconds, BlockbenchPoseTarget target) {
+  @Override
+  public PoseBuffer advance(double deltaSeconds) {
     if (finished) {
-      return;
+      return pose;
     }
     time += Math.max(0.0, deltaSeconds);
     double length = animation.length();
     if (length <= 0.0) {
-      animation.apply(0.0, model, target);
+      animation.sample(0.0, pose, cursors);
       if (!animation.loop()) {
         finished = true;
       }
-      return;
+      return pose;
     }
     double sample = animation.loop() ? time % length : Math.min(time, length);
-    animation.apply(sample, model, target);
+    animation.sample(sample, pose, cursors);
     if (!animation.loop() && time >= length) {
       finished = true;
     }
+    return pose;
   }
 
-  boolean isFinished() {
+  @Override
+  public boolean isFinished() {
     return finished;
   }
-
-  boolean isLooping() {
-    return animation.loop();
-  }
 }
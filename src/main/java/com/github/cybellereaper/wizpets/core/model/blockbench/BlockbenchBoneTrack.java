@@ -1,53 +1,38 @@
 package com.github.cybellereaper.wizpets.core.model.blockbench;
 
-import com.github.cybellereaper.wizpets.api.math.Vector3;
-import com.github.cybellereaper.wizpets.api.model.blockbench.PoseTransform;
-import java.util.List;
-import java.util.Optional;
+import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchBoneTarget;
+import java.util.Objects;
 
+/** Compiled rotation and position channels of one bone, bound to its pose target. */
 final class BlockbenchBoneTrack {
-  private final List<BlockbenchKeyframe> rotation;
-  private final List<BlockbenchKeyframe> position;
+  private final BlockbenchBoneTarget target;
+  private final KeyframeChannel rotation;
+  private final KeyframeChannel position;
 
-  BlockbenchBoneTrack(List<BlockbenchKeyframe> rotation, List<BlockbenchKeyframe> position) {
-    this.rotation = List.copyOf(rotation);
-    this.position = List.copyOf(position);
+  BlockbenchBoneTrack(
+      BlockbenchBoneTarget target, KeyframeChannel rotation, KeyframeChannel position) {
+    this.target = Objects.requireNonNull(target, "target");
+    this.rotation = Objects.requireNonNull(rotation, "rotation");
+    this.position = Objects.requireNonNull(position, "position");
   }
 
-  PoseTransform poseAt(double time) {
-    Vector3 rotationValue = rotationAt(time).orElse(Vector3.ZERO);
-    Vector3 translationValue = positionAt(time).orElse(Vector3.ZERO);
-    return new PoseTransform(rotationValue, translationValue);
+  BlockbenchBoneTarget target() {
+    return target;
   }
 
-  private Optional<Vector3> rotationAt(double time) {
-    return sample(rotation, time);
+  KeyframeChannel rotation() {
+    return rotation;
   }
 
-  private Optional<Vector3> positionAt(double time) {
-    return sample(position, time);
+  KeyframeChannel position() {
+    return position;
   }
 
-  private Optional<Vector3> sample(List<BlockbenchKeyframe> frames, double time) {
-    if (frames.isEmpty()) {
-      return Optional.empty();
-    }
-    if (frames.size() == 1 || time <= frames.getFirst().time()) {
-      return Optional.of(frames.getFirst().value());
-    }
-    BlockbenchKeyframe previous = frames.getFirst();
-    for (int i = 1; i < frames.size(); i++) {
-      BlockbenchKeyframe next = frames.get(i);
-      if (time <= next.time()) {
-        double span = next.time() - previous.time();
-        if (span <= 0.0) {
-          return Optional.of(next.value());
-        }
-        double factor = (time - previous.time()) / span;
-        return Optional.of(previous.value().lerp(next.value(), factor));
-      }
-      previous = next;
-    }
-    return Optional.of(previous.value());
+  /** Sample both channels into {@code out}, using two cursor slots starting at {@code cursor}. */
+  void sample(double time, PoseBuffer out, int[] cursors, int cursor) {
+    int slot = target.ordinal() * 3;
+    cursors[cursor] = rotation.sample(time, cursors[cursor], out.rotation, slot);
+    cursors[cursor + 1] = position.sample(time, cursors[cursor + 1], out.translation, slot);
+    out.mark(target);
   }
 }
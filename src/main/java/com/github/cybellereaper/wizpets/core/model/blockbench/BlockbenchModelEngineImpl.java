@@ -1,49 +1,125 @@
 package com.github.cybellereaper.wizpets.core.model.blockbench;
 
-import com.github.cybellereaper.wizpets.api.math.Vector3;
-import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchBoneTarget;
 import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchModelEngine;
 import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchModelInstance;
 import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchPoseTarget;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonParseException;
+import com.google.common.hash.Hashing;
+import com.google.common.io.CharStreams;
 import java.io.IOException;
 import java.io.Reader;
-import java.util.ArrayList;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
-import java.util.EnumSet;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.function.LongSupplier;
+
+/**
+ * Model engine that registers models from a header scan and compiles them on first use.
+ *
+ * <p>Registration only reads the animation names, so shipping many models costs little until pets
+ * actually use them. With a {@link ModelCache}, compiled models are stored under the SHA-256 of
+ * their JSON, and a later registration of the same content reads everything from the cache without
+ * parsing any JSON. Models can be replaced while pets are using them; see {@link #reloadModel}.
+ */
 public final class BlockbenchModelEngineImpl implements BlockbenchModelEngine {
-  private final Gson gson = new GsonBuilder().create();
-  private final Map<String, ModelData> models = new ConcurrentHashMap<>();
+  private final Map<String, RegisteredModel> models = new ConcurrentHashMap<>();
+  private final ModelCache cache;
+  private final SharedAnimationClock clock;
+
+  /** Engine where every instance samples its own animations and nothing is cached. */
+  public BlockbenchModelEngineImpl() {
+    this(null, null, 0, 0);
+  }
+
+  /**
+   * Engine that plays looped animations on a shared clock, so instances in the same phase bucket
+   * share one pose per frame.
+   *
+   * @param ticks current server tick
+   * @param frameTicks server ticks per shared frame, usually the pet tick period
+   * @param phaseBuckets number of evenly offset phases instances are spread across
+   */
+  public BlockbenchModelEngineImpl(LongSupplier ticks, int frameTicks, int phaseBuckets) {
+    this(null, Objects.requireNonNull(ticks, "ticks"), frameTicks, phaseBuckets);
+    if (phaseBuckets <= 0) {
+      throw new IllegalArgumentException("phaseBuckets must be positive");
+    }
+  }
 
+  /**
+   * @param cache compiled model cache, or null to always parse JSON
+   * @param ticks current server tick; ignored when {@code phaseBuckets} is 0
+   * @param phaseBuckets shared clock phases, or 0 to let every instance sample its own loops
+   */
+  public BlockbenchModelEngineImpl(
+      ModelCache cache, LongSupplier ticks, int frameTicks, int phaseBuckets) {
+    this.cache = cache;
+    this.clock =
+        phaseBuckets > 0
+            ? new SharedAnimationClock(
+                Objects.requireNonNull(ticks, "ticks"), frameTicks, phaseBuckets)
+            : null;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Registering an id again replaces its definition, and live instances switch over at their
+   * next tick. The replacement is compiled by whichever instance gets there first; use {@link
+   * #reloadModel} to compile it up front instead.
+   */
   @Override
   public void registerModel(String id, Reader reader) throws IOException {
+    publish(prepare(id, reader));
+  }
+
+  /**
+   * Compile a model on the calling thread and then replace any existing definition of {@code id}.
+   *
+   * <p>Meant for reloads off the server thread. A file that fails to parse leaves the previous
+   * definition in place, and source identical to the current definition is ignored.
+   *
+   * @return whether a new definition was published
+   */
+  public boolean reloadModel(String id, Reader reader) throws IOException {
+    RegisteredModel model = prepare(id, reader);
+    RegisteredModel current = models.get(model.id());
+    if (current != null && current.hash().equals(model.hash())) {
+      return false;
+    }
+    model.data();
+    publish(model);
+    return true;
+  }
+
+  private RegisteredModel prepare(String id, Reader reader) throws IOException {
     Objects.requireNonNull(id, "id");
     Objects.requireNonNull(reader, "reader");
     String normalized = id.trim();
     if (normalized.isEmpty()) {
       throw new IllegalArgumentException("Model id must not be blank");
     }
-    FileSchema schema;
-    try {
-      schema = gson.fromJson(reader, FileSchema.class);
-    } catch (JsonParseException ex) {
-      throw new IOException("Unable to parse Blockbench model '" + id + "'", ex);
-    }
-    if (schema == null) {
-      throw new IOException("Model definition for '" + id + "' was empty");
+    String source = CharStreams.toString(reader);
+    String hash = Hashing.sha256().hashString(source, StandardCharsets.UTF_8).toString();
+    Set<String> animations = cache != null ? cache.animationNames(hash).orElse(null) : null;
+    if (animations == null) {
+      animations = ModelJsonParser.animationNames(normalized, new StringReader(source));
     }
-    ModelData model = toModel(normalized, schema);
-    models.put(normalized, model);
+    return new RegisteredModel(normalized, hash, animations, source, cache);
+  }
+
+  private void publish(RegisteredModel model) {
+    models.compute(
+        model.id(),
+        (id, previous) -> {
+          if (previous != null) {
+            previous.supersede(model);
+          }
+          return model;
+        });
   }
 
   @Override
@@ -58,162 +134,48 @@ public final class BlockbenchModelEngineImpl implements BlockbenchModelEngine {
 
   @Override
   public Set<String> animations(String id) {
-    ModelData model = models.get(id);
+    RegisteredModel model = models.get(id);
     if (model == null) {
       return Set.of();
     }
-    return Collections.unmodifiableSet(model.animations().keySet());
+    return model.animations();
   }
 
   @Override
   public BlockbenchModelInstance createInstance(String id, BlockbenchPoseTarget target) {
     Objects.requireNonNull(id, "id");
     Objects.requireNonNull(target, "target");
-    ModelData model = models.get(id);
+    RegisteredModel model = models.get(id);
     if (model == null) {
       throw new IllegalArgumentException("Unknown Blockbench model '" + id + "'");
     }
-    return new BlockbenchModelInstanceImpl(model, target);
-  }
-
-  private ModelData toModel(String id, FileSchema schema) throws IOException {
-    Map<String, ModelData.BoneDefinition> bones = new HashMap<>();
-    if (schema.bones != null) {
-      for (BoneSchema bone : schema.bones) {
-        if (bone.name == null || bone.name.isBlank()) {
-          throw new IOException("Encountered bone with no name in model '" + id + "'");
-        }
-        BlockbenchBoneTarget target = parseTarget(bone.target, id, bone.name);
-        bones.put(bone.name, new ModelData.BoneDefinition(bone.name, target));
-      }
-    }
-
-    Map<String, BlockbenchAnimation> animations = new HashMap<>();
-    if (schema.animations != null) {
-      for (Map.Entry<String, AnimationSchema> entry : schema.animations.entrySet()) {
-        String animationId = entry.getKey();
-        if (animationId == null || animationId.isBlank()) {
-          continue;
-        }
-        animations.put(animationId, toAnimation(id, animationId, entry.getValue()));
-      }
-    }
-    if (animations.isEmpty()) {
-      throw new IOException("Model '" + id + "' does not define any animations");
-    }
-    return new ModelData(id, bones, animations);
-  }
-
-  private BlockbenchAnimation toAnimation(
-      String modelId, String animationId, AnimationSchema schema) throws IOException {
-    if (schema == null) {
-      throw new IOException("Animation '" + animationId + "' for model '" + modelId + "' was null");
-    }
-    Map<String, BlockbenchBoneTrack> tracks = new HashMap<>();
-    if (schema.bones != null) {
-      for (Map.Entry<String, TrackSchema> entry : schema.bones.entrySet()) {
-        String boneName = entry.getKey();
-        TrackSchema trackSchema = entry.getValue();
-        if (boneName == null || trackSchema == null) {
-          continue;
-        }
-        tracks.put(boneName, toTrack(modelId, animationId, boneName, trackSchema));
-      }
+    ModelData data;
+    try {
+      data = model.data();
+    } catch (IOException ex) {
+      throw new IllegalStateException("Unable to load Blockbench model '" + id + "'", ex);
     }
-    return new BlockbenchAnimation(schema.length, schema.loop, tracks);
+    return new BlockbenchModelInstanceImpl(model, data, target, clock);
   }
 
-  private BlockbenchBoneTrack toTrack(
-      String modelId, String animationId, String boneName, TrackSchema schema) throws IOException {
-    List<BlockbenchKeyframe> rotation = new ArrayList<>();
-    if (schema.rotation != null) {
-      for (KeyframeSchema keyframe : schema.rotation) {
-        if (keyframe == null) {
-          continue;
-        }
-        rotation.add(
-            new BlockbenchKeyframe(
-                keyframe.time, toVector(modelId, animationId, boneName, keyframe)));
-      }
-      rotation.sort(java.util.Comparator.comparingDouble(BlockbenchKeyframe::time));
-    }
-    List<BlockbenchKeyframe> position = new ArrayList<>();
-    if (schema.position != null) {
-      for (KeyframeSchema keyframe : schema.position) {
-        if (keyframe == null) {
-          continue;
-        }
-        position.add(
-            new BlockbenchKeyframe(
-                keyframe.time, toVector(modelId, animationId, boneName, keyframe)));
+  /** Number of registered models that have been compiled or loaded from the cache. */
+  public int loadedModels() {
+    int loaded = 0;
+    for (RegisteredModel model : models.values()) {
+      if (model.isLoaded()) {
+        loaded++;
       }
-      position.sort(java.util.Comparator.comparingDouble(BlockbenchKeyframe::time));
-    }
-    return new BlockbenchBoneTrack(rotation, position);
-  }
-
-  private Vector3 toVector(
-      String modelId, String animationId, String boneName, KeyframeSchema schema)
-      throws IOException {
-    List<Double> vector = schema.vector;
-    if (vector == null || vector.size() != 3) {
-      throw new IOException(
-          "Invalid vector for bone '"
-              + boneName
-              + "' in animation '"
-              + animationId
-              + "' of model '"
-              + modelId
-              + "'");
     }
-    return new Vector3(vector.get(0), vector.get(1), vector.get(2));
-  }
-
-  private BlockbenchBoneTarget parseTarget(String target, String modelId, String bone)
-      throws IOException {
-    if (target == null) {
-      throw new IOException(
-          "Bone '" + bone + "' in model '" + modelId + "' is missing a target mapping");
-    }
-    try {
-      return BlockbenchBoneTarget.valueOf(target.trim().toUpperCase(Locale.ROOT));
-    } catch (IllegalArgumentException ex) {
-      throw new IOException(
-          "Unsupported bone target '"
-              + target
-              + "' for bone '"
-              + bone
-              + "' in model '"
-              + modelId
-              + "'. Supported targets: "
-              + EnumSet.allOf(BlockbenchBoneTarget.class),
-          ex);
-    }
-  }
-
-  private static final class FileSchema {
-    List<BoneSchema> bones = List.of();
-    Map<String, AnimationSchema> animations = Map.of();
-  }
-
-  private static final class BoneSchema {
-    String name;
-    String target;
-  }
-
-  private static final class AnimationSchema {
-    double length;
-    boolean loop;
-    Map<String, TrackSchema> bones = Map.of();
+    return loaded;
   }
 
-  private static final class TrackSchema {
-    List<KeyframeSchema> rotation = List.of();
-    List<KeyframeSchema> position = List.of();
+  /** Poses sampled by shared loops, or 0 without a shared clock. */
+  public long sharedPoseEvaluations() {
+    return clock != null ? clock.evaluations() : 0L;
   }
 
-  private static final class KeyframeSchema {
-    double time;
-    List<Double> vector = List.of();
+  /** Pose evaluations avoided by reusing a shared pose, or 0 without a shared clock. */
+  public long sharedPoseEvaluationsSaved() {
+    return clock != null ? clock.reused() : 0L;
   }
 }
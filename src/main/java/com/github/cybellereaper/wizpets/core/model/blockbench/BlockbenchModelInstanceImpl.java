@@ -2,22 +2,45 @@ package com.github.cybellereaper.wizpets.core.model.blockbench;
 
 import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchModelInstance;
 import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchPoseTarget;
+import java.io.IOException;
 import java.util.Objects;
 import java.util.Optional;
 
+/**
+ * Animator for one pet.
+ *
+ * <p>When its model is registered again, the instance switches to the new definition at its next
+ * tick or play call and restarts its loop from there. A running one-shot is dropped, and a loop the
+ * new definition no longer has stops the instance.
+ */
 final class BlockbenchModelInstanceImpl implements BlockbenchModelInstance {
-  private final ModelData model;
   private final BlockbenchPoseTarget target;
-  private BlockbenchAnimationPlayer active;
-  private BlockbenchAnimationPlayer loop;
-  private BlockbenchAnimationPlayer pendingLoop;
+  private final SharedAnimationClock clock;
+  private final int phase;
+  private final PoseBuffer pose = new PoseBuffer();
+  private RegisteredModel registration;
+  private ModelData model;
+  private PoseSource active;
+  private PoseSource loop;
+  private PoseSource pendingLoop;
   private String activeName;
   private String loopName;
   private boolean destroyed;
 
-  BlockbenchModelInstanceImpl(ModelData model, BlockbenchPoseTarget target) {
+  /**
+   * @param model the compiled data of {@code registration}
+   * @param clock runs looped animations when non-null; one-shots always run locally
+   */
+  BlockbenchModelInstanceImpl(
+      RegisteredModel registration,
+      ModelData model,
+      BlockbenchPoseTarget target,
+      SharedAnimationClock clock) {
+    this.registration = Objects.requireNonNull(registration, "registration");
     this.model = Objects.requireNonNull(model, "model");
     this.target = Objects.requireNonNull(target, "target");
+    this.clock = clock;
+    this.phase = clock != null ? clock.nextPhase() : 0;
   }
 
   @Override
@@ -33,14 +56,18 @@ final class BlockbenchModelInstanceImpl implements BlockbenchModelInstance {
   @Override
   public void playLoop(String animationName) {
     ensureActive();
+    migrate();
     BlockbenchAnimation animation = model.animation(animationName);
-    BlockbenchAnimationPlayer player = new BlockbenchAnimationPlayer(animation, model);
+    PoseSource player =
+        clock != null && animation.loop()
+            ? clock.loop(animation, phase)
+            : new BlockbenchAnimationPlayer(animation, pose);
     loop = player;
     loopName = animationName;
     if (active == null || active == loop || active.isFinished()) {
       active = player;
       activeName = animationName;
-      player.begin(target);
+      emit(player.begin());
     } else {
       pendingLoop = player;
     }
@@ -49,32 +76,35 @@ final class BlockbenchModelInstanceImpl implements BlockbenchModelInstance {
   @Override
   public void playOnce(String animationName) {
     ensureActive();
+    migrate();
     BlockbenchAnimation animation = model.animation(animationName);
-    BlockbenchAnimationPlayer player = new BlockbenchAnimationPlayer(animation, model);
+    BlockbenchAnimationPlayer player = new BlockbenchAnimationPlayer(animation, pose);
     active = player;
     activeName = animationName;
     pendingLoop = loop;
-    player.begin(target);
+    emit(player.begin());
   }
 
   @Override
   public void tick(double deltaSeconds) {
-    if (destroyed || active == null) {
+    if (destroyed) {
+      return;
+    }
+    migrate();
+    if (active == null) {
       return;
     }
-    active.advance(deltaSeconds, target);
+    emit(active.advance(deltaSeconds));
     if (active.isFinished()) {
       if (pendingLoop != null) {
         active = pendingLoop;
         activeName = loopName;
         pendingLoop = null;
-        if (active != null) {
-          active.begin(target);
-        }
+        emit(active.begin());
       } else if (loop != null) {
         active = loop;
         activeName = loopName;
-        active.begin(target);
+        emit(active.begin());
       } else {
         active = null;
         activeName = null;
@@ -96,6 +126,49 @@ final class BlockbenchModelInstanceImpl implements BlockbenchModelInstance {
     target.reset();
   }
 
+  private void migrate() {
+    RegisteredModel latest = registration.latest();
+    if (latest == registration) {
+      return;
+    }
+    registration = latest;
+    ModelData next;
+    try {
+      next = latest.data();
+    } catch (IOException ex) {
+      // The replacement does not compile; keep playing the definition we have.
+      return;
+    }
+    ModelData previous = model;
+    model = next;
+    if (clock != null) {
+      clock.retire(previous);
+    }
+    boolean animating = active != null;
+    String resume = loopName;
+    active = null;
+    loop = null;
+    pendingLoop = null;
+    activeName = null;
+    loopName = null;
+    if (resume != null && next.animations().containsKey(resume)) {
+      playLoop(resume);
+    } else if (animating) {
+      target.reset();
+    }
+  }
+
+  private void emit(PoseBuffer sampled) {
+    if (sampled.isEmpty()) {
+      return;
+    }
+    if (target instanceof PoseBufferTarget buffered) {
+      buffered.apply(sampled);
+    } else {
+      target.apply(sampled.toMap());
+    }
+  }
+
   private void ensureActive() {
     if (destroyed) {
       throw new IllegalStateException("Model instance destroyed");
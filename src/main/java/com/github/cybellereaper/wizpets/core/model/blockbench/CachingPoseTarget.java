@@ -0,0 +1,134 @@
+package com.github.cybellereaper.wizpets.core.model.blockbench;
+
+import com.github.cybellereaper.wizpets.api.math.Vector3;
+import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchBoneTarget;
+import com.github.cybellereaper.wizpets.api.model.blockbench.PoseTransform;
+import java.util.Map;
+
+/**
+ * Pose target that only forwards a bone when it moved by more than an epsilon since its last write.
+ *
+ * <p>Entity pose writes turn into metadata packets for every viewer, so subclasses only see the
+ * bones that actually changed. Rotations are compared in degrees and, when tracked, translations in
+ * Blockbench units.
+ */
+public abstract class CachingPoseTarget implements PoseBufferTarget {
+  public static final double DEFAULT_EPSILON = 0.05D;
+  private static final BlockbenchBoneTarget[] TARGETS = BlockbenchBoneTarget.values();
+
+  private final double epsilon;
+  private final boolean tracksTranslation;
+  private final double[] last = new double[TARGETS.length * 6];
+  private int written;
+  private long applied;
+  private long skipped;
+
+  protected CachingPoseTarget(double epsilon, boolean tracksTranslation) {
+    if (!(epsilon >= 0.0)) {
+      throw new IllegalArgumentException("epsilon must be non-negative");
+    }
+    this.epsilon = epsilon;
+    this.tracksTranslation = tracksTranslation;
+  }
+
+  @Override
+  public final void apply(Map<BlockbenchBoneTarget, PoseTransform> pose) {
+    pose.forEach(
+        (target, transform) -> {
+          Vector3 rotation = transform.rotation();
+          Vector3 translation = transform.translation();
+          update(
+              target,
+              rotation.x(),
+              rotation.y(),
+              rotation.z(),
+              translation.x(),
+              translation.y(),
+              translation.z());
+        });
+  }
+
+  @Override
+  public final void apply(PoseBuffer pose) {
+    for (BlockbenchBoneTarget target : TARGETS) {
+      if (pose.has(target)) {
+        update(
+            target,
+            pose.rotation(target, 0),
+            pose.rotation(target, 1),
+            pose.rotation(target, 2),
+            pose.translation(target, 0),
+            pose.translation(target, 1),
+            pose.translation(target, 2));
+      }
+    }
+  }
+
+  @Override
+  public final void reset() {
+    written = 0;
+    restoreBaseline();
+  }
+
+  /** Pose writes sent to the entity. */
+  public long appliedUpdates() {
+    return applied;
+  }
+
+  /** Pose writes skipped because the bone had not moved past the epsilon. */
+  public long skippedUpdates() {
+    return skipped;
+  }
+
+  /**
+   * Send one bone's pose to the entity.
+   *
+   * @return false when this target has nothing to pose for the bone
+   */
+  protected abstract boolean write(
+      BlockbenchBoneTarget target,
+      double rx,
+      double ry,
+      double rz,
+      double tx,
+      double ty,
+      double tz);
+
+  /** Put every posed part back the way it was before animation started. */
+  protected abstract void restoreBaseline();
+
+  private void update(
+      BlockbenchBoneTarget target,
+      double rx,
+      double ry,
+      double rz,
+      double tx,
+      double ty,
+      double tz) {
+    int bit = 1 << target.ordinal();
+    int slot = target.ordinal() * 6;
+    if ((written & bit) != 0
+        && within(slot, rx, ry, rz)
+        && (!tracksTranslation || within(slot + 3, tx, ty, tz))) {
+      skipped++;
+      return;
+    }
+    if (!write(target, rx, ry, rz, tx, ty, tz)) {
+      return;
+    }
+    last[slot] = rx;
+    last[slot + 1] = ry;
+    last[slot + 2] = rz;
+    last[slot + 3] = tx;
+    last[slot + 4] = ty;
+    last[slot + 5] = tz;
+    written |= bit;
+    applied++;
+  }
+
+  private boolean within(int slot, double x, double y, double z) {
+    return Math.abs(x - last[slot]) <= epsilon
+        && Math.abs(y - last[slot + 1]) <= epsilon
+        && Math.abs(z - last[slot + 2]) <= epsilon;
+  }
+}
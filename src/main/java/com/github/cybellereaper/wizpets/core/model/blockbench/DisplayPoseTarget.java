@@ -0,0 +1,96 @@
+package com.github.cybellereaper.wizpets.core.model.blockbench;
+
+import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchBoneTarget;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import org.bukkit.entity.Display;
+import org.bukkit.util.Transformation;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+/**
+ * Poses display entities, one per bone, through their transformation.
+ *
+ * <p>Each write asks the client to interpolate towards the new transformation over {@code
+ * interpolationTicks}, so the server only needs to send a pose once per pet tick and the client
+ * tweens the frames in between. Translations are in Blockbench units (1/16 block) on top of each
+ * display's original transformation.
+ */
+public final class DisplayPoseTarget extends CachingPoseTarget {
+  private static final float UNITS_PER_BLOCK = 16.0F;
+
+  private final Map<BlockbenchBoneTarget, Display> displays =
+      new EnumMap<>(BlockbenchBoneTarget.class);
+  private final Map<BlockbenchBoneTarget, Transformation> baseline =
+      new EnumMap<>(BlockbenchBoneTarget.class);
+  private int interpolationTicks;
+
+  public DisplayPoseTarget(
+      Map<BlockbenchBoneTarget, ? extends Display> displays, int interpolationTicks) {
+    this(displays, interpolationTicks, DEFAULT_EPSILON);
+  }
+
+  public DisplayPoseTarget(
+      Map<BlockbenchBoneTarget, ? extends Display> displays,
+      int interpolationTicks,
+      double epsilon) {
+    super(epsilon, true);
+    Objects.requireNonNull(displays, "displays");
+    setInterpolationTicks(interpolationTicks);
+    displays.forEach(
+        (target, display) -> {
+          this.displays.put(target, Objects.requireNonNull(display, "display"));
+          baseline.put(target, display.getTransformation());
+        });
+  }
+
+  /** Ticks the client tweens each later write over, such as when poses are sent less often. */
+  public void setInterpolationTicks(int interpolationTicks) {
+    if (interpolationTicks < 0) {
+      throw new IllegalArgumentException("interpolationTicks must be non-negative");
+    }
+    this.interpolationTicks = interpolationTicks;
+  }
+
+  @Override
+  protected boolean write(
+      BlockbenchBoneTarget target,
+      double rx,
+      double ry,
+      double rz,
+      double tx,
+      double ty,
+      double tz) {
+    Display display = displays.get(target);
+    if (display == null) {
+      return false;
+    }
+    Transformation base = baseline.get(target);
+    Vector3f translation =
+        new Vector3f(base.getTranslation())
+            .add(
+                (float) tx / UNITS_PER_BLOCK,
+                (float) ty / UNITS_PER_BLOCK,
+                (float) tz / UNITS_PER_BLOCK);
+    Quaternionf rotation =
+        new Quaternionf(base.getLeftRotation())
+            .rotateZYX(
+                (float) Math.toRadians(rz), (float) Math.toRadians(ry), (float) Math.toRadians(rx));
+    display.setInterpolationDelay(0);
+    display.setInterpolationDuration(interpolationTicks);
+    display.setTransformation(
+        new Transformation(translation, rotation, base.getScale(), base.getRightRotation()));
+    return true;
+  }
+
+  @Override
+  protected void restoreBaseline() {
+    baseline.forEach(
+        (target, transformation) -> {
+          Display display = displays.get(target);
+          display.setInterpolationDuration(0);
+          display.setTransformation(transformation);
+        });
+  }
+}
@@ -0,0 +1,130 @@
+package com.github.cybellereaper.wizpets.core.model.blockbench;
+
+import java.util.List;
+
+/**
+ * One animated vector channel with keyframe times and xyz values in flat arrays.
+ *
+ * <p>Sampling writes straight into a caller-owned array and returns the segment it landed in, so
+ * callers advancing through time can pass it back as a hint and skip the binary search.
+ */
+final class KeyframeChannel {
+  static final KeyframeChannel EMPTY = new KeyframeChannel(new double[0], new double[0]);
+
+  private final double[] times;
+  private final double[] values;
+
+  KeyframeChannel(double[] times, double[] values) {
+    if (values.length != times.length * 3) {
+      throw new IllegalArgumentException("Expected three values per keyframe");
+    }
+    for (int i = 1; i < times.length; i++) {
+      if (times[i] < times[i - 1]) {
+        throw new IllegalArgumentException("Keyframe times must be sorted");
+      }
+    }
+    this.times = times;
+    this.values = values;
+  }
+
+  /** Compile keyframes that are already sorted by time. */
+  static KeyframeChannel of(List<BlockbenchKeyframe> frames) {
+    if (frames.isEmpty()) {
+      return EMPTY;
+    }
+    double[] times = new double[frames.size()];
+    double[] values = new double[frames.size() * 3];
+    for (int i = 0; i < times.length; i++) {
+      BlockbenchKeyframe frame = frames.get(i);
+      times[i] = frame.time();
+      values[i * 3] = frame.value().x();
+      values[i * 3 + 1] = frame.value().y();
+      values[i * 3 + 2] = frame.value().z();
+    }
+    return new KeyframeChannel(times, values);
+  }
+
+  int size() {
+    return times.length;
+  }
+
+  /** Keyframe times; callers must not modify it. */
+  double[] times() {
+    return times;
+  }
+
+  /** Keyframe xyz values, three per keyframe; callers must not modify it. */
+  double[] values() {
+    return values;
+  }
+
+  /**
+   * Write the interpolated value at {@code time} into {@code out[offset..offset + 2]}; an empty
+   * channel writes zeros.
+   *
+   * @param hint segment returned by the previous call, or any value
+   * @return the segment to pass as the next hint
+   */
+  int sample(double time, int hint, double[] out, int offset) {
+    int count = times.length;
+    if (count == 0) {
+      out[offset] = 0.0;
+      out[offset + 1] = 0.0;
+      out[offset + 2] = 0.0;
+      return 0;
+    }
+    if (count == 1 || time <= times[0]) {
+      copy(0, out, offset);
+      return 0;
+    }
+    if (time > times[count - 1]) {
+      copy(count - 1, out, offset);
+      return count - 1;
+    }
+    int next = locate(time, hint);
+    int previous = next - 1;
+    double span = times[next] - times[previous];
+    if (span <= 0.0) {
+      copy(next, out, offset);
+      return next;
+    }
+    double factor = (time - times[previous]) / span;
+    int from = previous * 3;
+    int to = next * 3;
+    out[offset] = values[from] + (values[to] - values[from]) * factor;
+    out[offset + 1] = values[from + 1] + (values[to + 1] - values[from + 1]) * factor;
+    out[offset + 2] = values[from + 2] + (values[to + 2] - values[from + 2]) * factor;
+    return next;
+  }
+
+  /** First index in {@code [1, size)} whose time is at least {@code time}. */
+  private int locate(double time, int hint) {
+    if (isSegment(hint, time)) {
+      return hint;
+    }
+    if (isSegment(hint + 1, time)) {
+      return hint + 1;
+    }
+    int low = 1;
+    int high = times.length - 1;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (times[mid] < time) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private boolean isSegment(int index, double time) {
+    return index >= 1 && index < times.length && times[index] >= time && times[index - 1] < time;
+  }
+
+  private void copy(int index, double[] out, int offset) {
+    out[offset] = values[index * 3];
+    out[offset + 1] = values[index * 3 + 1];
+    out[offset + 2] = values[index * 3 + 2];
+  }
+}
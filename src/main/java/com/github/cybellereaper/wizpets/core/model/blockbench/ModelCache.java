@@ -0,0 +1,96 @@
+package com.github.cybellereaper.wizpets.core.model.blockbench;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Directory of compiled models in {@link ModelCodec} form, named by the hash of their JSON source.
+ *
+ * <p>The cache is only an optimisation: unreadable entries are deleted and reported as misses, and
+ * failed writes are logged and otherwise ignored.
+ */
+public final class ModelCache {
+  private static final String SUFFIX = ".bin";
+
+  private final Path directory;
+  private final Logger logger;
+
+  public ModelCache(Path directory, Logger logger) {
+    this.directory = Objects.requireNonNull(directory, "directory");
+    this.logger = Objects.requireNonNull(logger, "logger");
+  }
+
+  Optional<Set<String>> animationNames(String hash) {
+    Path file = file(hash);
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try (DataInputStream in = open(file)) {
+      return Optional.of(ModelCodec.readAnimationNames(in));
+    } catch (IOException ex) {
+      discard(file, ex);
+      return Optional.empty();
+    }
+  }
+
+  Optional<ModelData> load(String id, String hash) {
+    Path file = file(hash);
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try (DataInputStream in = open(file)) {
+      return Optional.of(ModelCodec.read(id, in));
+    } catch (IOException ex) {
+      discard(file, ex);
+      return Optional.empty();
+    }
+  }
+
+  void store(String hash, ModelData model) {
+    Path file = file(hash);
+    try {
+      Files.createDirectories(directory);
+      Path temp = Files.createTempFile(directory, hash, ".tmp");
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+        ModelCodec.write(model, out);
+      }
+      try {
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException ex) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException ex) {
+      logger.log(Level.WARNING, "Failed to cache compiled model " + model.id(), ex);
+    }
+  }
+
+  private Path file(String hash) {
+    return directory.resolve(hash + SUFFIX);
+  }
+
+  private static DataInputStream open(Path file) throws IOException {
+    return new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+  }
+
+  private void discard(Path file, IOException cause) {
+    logger.log(Level.WARNING, "Discarding unreadable model cache entry " + file, cause);
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException ignored) {
+      // A later store will overwrite it.
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package com.github.cybellereaper.wizpets.core.model.blockbench;
+
+import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchBoneTarget;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Binary form of a compiled {@link ModelData}.
+ *
+ * <p>Layout: magic, version, bones (name, target ordinal), then every animation name up front so
+ * {@link #readAnimationNames} can stop early, then each animation's length, loop flag and tracks.
+ * A track is a target ordinal followed by its rotation and position channels, each written as a
+ * keyframe count, the times and three values per keyframe.
+ */
+final class ModelCodec {
+  static final int MAGIC = 0x5750_4D42;
+  static final byte VERSION = 1;
+  private static final BlockbenchBoneTarget[] TARGETS = BlockbenchBoneTarget.values();
+
+  private ModelCodec() {}
+
+  static void write(ModelData model, DataOutput out) throws IOException {
+    out.writeInt(MAGIC);
+    out.writeByte(VERSION);
+    Map<String, ModelData.BoneDefinition> bones = model.bones();
+    out.writeInt(bones.size());
+    for (ModelData.BoneDefinition bone : bones.values()) {
+      out.writeUTF(bone.name());
+      out.writeByte(bone.target().ordinal());
+    }
+    List<Map.Entry<String, BlockbenchAnimation>> animations =
+        new ArrayList<>(model.animations().entrySet());
+    out.writeInt(animations.size());
+    for (Map.Entry<String, BlockbenchAnimation> entry : animations) {
+      out.writeUTF(entry.getKey());
+    }
+    for (Map.Entry<String, BlockbenchAnimation> entry : animations) {
+      BlockbenchAnimation animation = entry.getValue();
+      out.writeDouble(animation.length());
+      out.writeBoolean(animation.loop());
+      List<BlockbenchBoneTrack> tracks = animation.tracks();
+      out.writeInt(tracks.size());
+      for (BlockbenchBoneTrack track : tracks) {
+        out.writeByte(track.target().ordinal());
+        writeChannel(track.rotation(), out);
+        writeChannel(track.position(), out);
+      }
+    }
+  }
+
+  static ModelData read(String id, DataInput in) throws IOException {
+    readHeader(in);
+    int boneCount = readCount(in);
+    Map<String, ModelData.BoneDefinition> bones = new HashMap<>();
+    for (int i = 0; i < boneCount; i++) {
+      String name = in.readUTF();
+      bones.put(name, new ModelData.BoneDefinition(name, readTarget(in)));
+    }
+    String[] names = readNames(in);
+    Map<String, BlockbenchAnimation> animations = new HashMap<>();
+    for (String name : names) {
+      double length = in.readDouble();
+      boolean loop = in.readBoolean();
+      int trackCount = readCount(in);
+      List<BlockbenchBoneTrack> tracks = new ArrayList<>(trackCount);
+      for (int i = 0; i < trackCount; i++) {
+        BlockbenchBoneTarget target = readTarget(in);
+        tracks.add(new BlockbenchBoneTrack(target, readChannel(in), readChannel(in)));
+      }
+      animations.put(name, new BlockbenchAnimation(length, loop, tracks));
+    }
+    return new ModelData(id, bones, animations);
+  }
+
+  /** Read only the bones and animation names at the front of an encoded model. */
+  static Set<String> readAnimationNames(DataInput in) throws IOException {
+    readHeader(in);
+    int boneCount = readCount(in);
+    for (int i = 0; i < boneCount; i++) {
+      in.readUTF();
+      readTarget(in);
+    }
+    Set<String> names = new LinkedHashSet<>();
+    Collections.addAll(names, readNames(in));
+    return Collections.unmodifiableSet(names);
+  }
+
+  private static void readHeader(DataInput in) throws IOException {
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not an encoded Blockbench model");
+    }
+    byte version = in.readByte();
+    if (version != VERSION) {
+      throw new IOException("Unsupported encoded model version " + version);
+    }
+  }
+
+  private static String[] readNames(DataInput in) throws IOException {
+    String[] names = new String[readCount(in)];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = in.readUTF();
+    }
+    return names;
+  }
+
+  private static void writeChannel(KeyframeChannel channel, DataOutput out) throws IOException {
+    double[] times = channel.times();
+    double[] values = channel.values();
+    out.writeInt(times.length);
+    for (double time : times) {
+      out.writeDouble(time);
+    }
+    for (double value : values) {
+      out.writeDouble(value);
+    }
+  }
+
+  private static KeyframeChannel readChannel(DataInput in) throws IOException {
+    int count = readCount(in);
+    if (count == 0) {
+      return KeyframeChannel.EMPTY;
+    }
+    double[] times = new double[count];
+    double[] values = new double[count * 3];
+    for (int i = 0; i < times.length; i++) {
+      times[i] = in.readDouble();
+    }
+    for (int i = 0; i < values.length; i++) {
+      values[i] = in.readDouble();
+    }
+    try {
+      return new KeyframeChannel(times, values);
+    } catch (IllegalArgumentException ex) {
+      throw new IOException("Corrupt keyframe channel", ex);
+    }
+  }
+
+  private static BlockbenchBoneTarget readTarget(DataInput in) throws IOException {
+    int ordinal = in.readUnsignedByte();
+    if (ordinal >= TARGETS.length) {
+      throw new IOException("Unknown bone target " + ordinal);
+    }
+    return TARGETS[ordinal];
+  }
+
+  private static int readCount(DataInput in) throws IOException {
+    int count = in.readInt();
+    if (count < 0 || count > 1 << 20) {
+      throw new IOException("Invalid count " + count);
+    }
+    return count;
+  }
+}
@@ -19,6 +19,10 @@ final class ModelData {
     return id;
   }
 
+  Map<String, BoneDefinition> bones() {
+    return bones;
+  }
+
   BoneDefinition bone(String name) {
     return bones.get(name);
   }
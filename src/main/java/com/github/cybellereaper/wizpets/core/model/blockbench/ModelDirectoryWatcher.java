@@ -0,0 +1,168 @@
+package com.github.cybellereaper.wizpets.core.model.blockbench;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registers every {@code *.json} file in a directory as a model named after the file, and with
+ * watching enabled reloads files as they change.
+ *
+ * <p>Files found at startup are registered from a header scan and compiled on first use, so a large
+ * models folder does not slow down enabling the plugin. Changes are picked up by a {@link
+ * WatchService} on a background thread, which waits for writes to settle and then compiles the file
+ * through {@link BlockbenchModelEngineImpl#reloadModel} before publishing it, so a file that fails
+ * to parse, or is deleted, leaves the last good definition in place and the server thread only
+ * sees the finished definition.
+ */
+public final class ModelDirectoryWatcher implements AutoCloseable {
+  private static final String EXTENSION = ".json";
+  private static final long SETTLE_MILLIS = 250L;
+
+  private final BlockbenchModelEngineImpl engine;
+  private final Path directory;
+  private final Logger logger;
+  private final boolean watch;
+  private WatchService watchService;
+  private Thread thread;
+
+  /**
+   * @param watch whether {@link #start()} keeps watching for changes after the initial load
+   */
+  public ModelDirectoryWatcher(
+      BlockbenchModelEngineImpl engine, Path directory, Logger logger, boolean watch) {
+    this.engine = Objects.requireNonNull(engine, "engine");
+    this.directory = Objects.requireNonNull(directory, "directory");
+    this.logger = Objects.requireNonNull(logger, "logger");
+    this.watch = watch;
+  }
+
+  /** Create the directory if needed, register the models in it and start watching. */
+  public synchronized void start() throws IOException {
+    if (watchService != null) {
+      return;
+    }
+    Files.createDirectories(directory);
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+      for (Path file : files) {
+        register(file);
+      }
+    }
+    if (!watch) {
+      return;
+    }
+    watchService = directory.getFileSystem().newWatchService();
+    directory.register(
+        watchService,
+        StandardWatchEventKinds.ENTRY_CREATE,
+        StandardWatchEventKinds.ENTRY_MODIFY,
+        StandardWatchEventKinds.ENTRY_DELETE);
+    WatchService service = watchService;
+    thread = Thread.ofVirtual().name("WizPets-model-watcher").start(() -> run(service));
+  }
+
+  @Override
+  public synchronized void close() {
+    if (watchService == null) {
+      return;
+    }
+    try {
+      watchService.close();
+    } catch (IOException ex) {
+      logger.log(Level.WARNING, "Failed to close model watcher", ex);
+    }
+    thread.interrupt();
+    watchService = null;
+    thread = null;
+  }
+
+  private void run(WatchService service) {
+    try {
+      while (true) {
+        WatchKey key = service.take();
+        Set<Path> changed = new LinkedHashSet<>();
+        // Editors often save in several writes; gather events until the directory goes quiet.
+        while (key != null) {
+          boolean valid = collect(key, changed);
+          if (!valid) {
+            logger.warning("Model directory " + directory + " is no longer accessible");
+            return;
+          }
+          key = service.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        for (Path file : changed) {
+          reload(file);
+        }
+      }
+    } catch (InterruptedException | ClosedWatchServiceException ex) {
+      // Closed.
+    }
+  }
+
+  private boolean collect(WatchKey key, Set<Path> changed) {
+    for (WatchEvent<?> event : key.pollEvents()) {
+      if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+          files.forEach(changed::add);
+        } catch (IOException ex) {
+          logger.log(Level.WARNING, "Failed to rescan model directory " + directory, ex);
+        }
+      } else if (event.context() instanceof Path name && isModel(name)) {
+        changed.add(directory.resolve(name));
+      }
+    }
+    return key.reset();
+  }
+
+  private void register(Path file) {
+    String id = modelId(file);
+    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      engine.registerModel(id, reader);
+    } catch (IOException | RuntimeException ex) {
+      logger.log(Level.WARNING, "Failed to load Blockbench model '" + id + "' from " + file, ex);
+    }
+  }
+
+  private void reload(Path file) {
+    String id = modelId(file);
+    if (!Files.isRegularFile(file)) {
+      if (engine.hasModel(id)) {
+        logger.info(() -> "Model file " + file + " removed; keeping the loaded '" + id + "'");
+      }
+      return;
+    }
+    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      if (engine.reloadModel(id, reader)) {
+        logger.info(() -> "Reloaded Blockbench model '" + id + "'");
+      }
+    } catch (IOException | RuntimeException ex) {
+      logger.log(
+          Level.WARNING,
+          "Failed to reload Blockbench model '" + id + "'; keeping the previous definition",
+          ex);
+    }
+  }
+
+  private static boolean isModel(Path name) {
+    return name.toString().endsWith(EXTENSION);
+  }
+
+  private static String modelId(Path file) {
+    String name = file.getFileName().toString();
+    return name.substring(0, name.length() - EXTENSION.length());
+  }
+}
@@ -0,0 +1,342 @@
+package com.github.cybellereaper.wizpets.core.model.blockbench;
+
+import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchBoneTarget;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming Blockbench model parser that builds compiled keyframe arrays straight from the JSON
+ * tokens, without an intermediate object tree or boxed vectors.
+ *
+ * <p>Bones may appear after the animations that use them, so tracks are parsed against bone names
+ * and bound to their targets once the whole file has been read. Not thread safe; it reuses scratch
+ * buffers between channels.
+ */
+final class ModelJsonParser {
+  private double[] times = new double[16];
+  private double[] values = new double[48];
+
+  ModelData parse(String id, Reader reader) throws IOException {
+    JsonReader json = open(reader);
+    Map<String, ModelData.BoneDefinition> bones = new HashMap<>();
+    Map<String, PendingAnimation> pending = new HashMap<>();
+    try {
+      if (json.peek() == JsonToken.NULL) {
+        throw new IOException("Model definition for '" + id + "' was empty");
+      }
+      json.beginObject();
+      while (json.hasNext()) {
+        switch (json.nextName()) {
+          case "bones" -> readBones(json, id, bones);
+          case "animations" -> readAnimations(json, id, pending);
+          default -> json.skipValue();
+        }
+      }
+      json.endObject();
+    } catch (EOFException ex) {
+      throw new IOException("Model definition for '" + id + "' was empty", ex);
+    } catch (IllegalStateException | NumberFormatException ex) {
+      throw new IOException("Unable to parse Blockbench model '" + id + "'", ex);
+    }
+
+    Map<String, BlockbenchAnimation> animations = new HashMap<>();
+    for (Map.Entry<String, PendingAnimation> entry : pending.entrySet()) {
+      PendingAnimation animation = entry.getValue();
+      List<BlockbenchBoneTrack> tracks = new ArrayList<>(animation.tracks().size());
+      for (PendingTrack track : animation.tracks()) {
+        ModelData.BoneDefinition bone = bones.get(track.bone());
+        if (bone != null) {
+          tracks.add(new BlockbenchBoneTrack(bone.target(), track.rotation(), track.position()));
+        }
+      }
+      animations.put(
+          entry.getKey(), new BlockbenchAnimation(animation.length(), animation.loop(), tracks));
+    }
+    if (animations.isEmpty()) {
+      throw new IOException("Model '" + id + "' does not define any animations");
+    }
+    return new ModelData(id, bones, animations);
+  }
+
+  /**
+   * Read only the animation names, skipping over bones and keyframes without building them.
+   *
+   * @throws IOException when the JSON is malformed or defines no animations
+   */
+  static Set<String> animationNames(String id, Reader reader) throws IOException {
+    JsonReader json = open(reader);
+    Set<String> names = new LinkedHashSet<>();
+    try {
+      json.beginObject();
+      while (json.hasNext()) {
+        if (json.nextName().equals("animations") && json.peek() == JsonToken.BEGIN_OBJECT) {
+          json.beginObject();
+          while (json.hasNext()) {
+            String name = json.nextName();
+            if (!name.isBlank() && json.peek() != JsonToken.NULL) {
+              names.add(name);
+            }
+            json.skipValue();
+          }
+          json.endObject();
+        } else {
+          json.skipValue();
+        }
+      }
+      json.endObject();
+    } catch (EOFException ex) {
+      throw new IOException("Model definition for '" + id + "' was empty", ex);
+    } catch (IllegalStateException | IOException ex) {
+      throw new IOException("Unable to parse Blockbench model '" + id + "'", ex);
+    }
+    if (names.isEmpty()) {
+      throw new IOException("Model '" + id + "' does not define any animations");
+    }
+    return Collections.unmodifiableSet(names);
+  }
+
+  private static JsonReader open(Reader reader) {
+    JsonReader json = new JsonReader(reader);
+    json.setStrictness(Strictness.LENIENT);
+    return json;
+  }
+
+  private static void readBones(
+      JsonReader json, String id, Map<String, ModelData.BoneDefinition> bones) throws IOException {
+    if (skipNull(json)) {
+      return;
+    }
+    json.beginArray();
+    while (json.hasNext()) {
+      if (skipNull(json)) {
+        throw new IOException("Encountered bone with no name in model '" + id + "'");
+      }
+      String name = null;
+      String target = null;
+      json.beginObject();
+      while (json.hasNext()) {
+        switch (json.nextName()) {
+          case "name" -> name = nextString(json);
+          case "target" -> target = nextString(json);
+          default -> json.skipValue();
+        }
+      }
+      json.endObject();
+      if (name == null || name.isBlank()) {
+        throw new IOException("Encountered bone with no name in model '" + id + "'");
+      }
+      bones.put(name, new ModelData.BoneDefinition(name, parseTarget(target, id, name)));
+    }
+    json.endArray();
+  }
+
+  private void readAnimations(JsonReader json, String id, Map<String, PendingAnimation> pending)
+      throws IOException {
+    if (skipNull(json)) {
+      return;
+    }
+    json.beginObject();
+    while (json.hasNext()) {
+      String animationId = json.nextName();
+      if (animationId.isBlank()) {
+        json.skipValue();
+        continue;
+      }
+      if (skipNull(json)) {
+        throw new IOException("Animation '" + animationId + "' for model '" + id + "' was null");
+      }
+      double length = 0.0;
+      boolean loop = false;
+      List<PendingTrack> tracks = new ArrayList<>();
+      json.beginObject();
+      while (json.hasNext()) {
+        switch (json.nextName()) {
+          case "length" -> length = skipNull(json) ? 0.0 : json.nextDouble();
+          case "loop" -> loop = !skipNull(json) && json.nextBoolean();
+          case "bones" -> readTracks(json, id, animationId, tracks);
+          default -> json.skipValue();
+        }
+      }
+      json.endObject();
+      pending.put(animationId, new PendingAnimation(length, loop, tracks));
+    }
+    json.endObject();
+  }
+
+  private void readTracks(
+      JsonReader json, String id, String animationId, List<PendingTrack> tracks)
+      throws IOException {
+    if (skipNull(json)) {
+      return;
+    }
+    json.beginObject();
+    while (json.hasNext()) {
+      String bone = json.nextName();
+      if (skipNull(json)) {
+        continue;
+      }
+      KeyframeChannel rotation = KeyframeChannel.EMPTY;
+      KeyframeChannel position = KeyframeChannel.EMPTY;
+      json.beginObject();
+      while (json.hasNext()) {
+        switch (json.nextName()) {
+          case "rotation" -> rotation = readChannel(json, id, animationId, bone);
+          case "position" -> position = readChannel(json, id, animationId, bone);
+          default -> json.skipValue();
+        }
+      }
+      json.endObject();
+      tracks.add(new PendingTrack(bone, rotation, position));
+    }
+    json.endObject();
+  }
+
+  private KeyframeChannel readChannel(JsonReader json, String id, String animationId, String bone)
+      throws IOException {
+    if (skipNull(json)) {
+      return KeyframeChannel.EMPTY;
+    }
+    int count = 0;
+    boolean sorted = true;
+    json.beginArray();
+    while (json.hasNext()) {
+      if (skipNull(json)) {
+        continue;
+      }
+      ensureCapacity(count + 1);
+      double time = 0.0;
+      int components = -1;
+      json.beginObject();
+      while (json.hasNext()) {
+        switch (json.nextName()) {
+          case "time" -> time = skipNull(json) ? 0.0 : json.nextDouble();
+          case "vector" -> components = readVector(json, count * 3);
+          default -> json.skipValue();
+        }
+      }
+      json.endObject();
+      if (components != 3) {
+        throw new IOException(
+            "Invalid vector for bone '"
+                + bone
+                + "' in animation '"
+                + animationId
+                + "' of model '"
+                + id
+                + "'");
+      }
+      if (time < 0.0) {
+        throw new IOException(
+            "Negative keyframe time for bone '" + bone + "' in animation '" + animationId + "'");
+      }
+      sorted &= count == 0 || times[count - 1] <= time;
+      times[count++] = time;
+    }
+    json.endArray();
+    if (count == 0) {
+      return KeyframeChannel.EMPTY;
+    }
+    if (!sorted) {
+      sort(count);
+    }
+    return new KeyframeChannel(Arrays.copyOf(times, count), Arrays.copyOf(values, count * 3));
+  }
+
+  /** Read a vector into {@code values} at {@code offset}, returning its component count. */
+  private int readVector(JsonReader json, int offset) throws IOException {
+    if (skipNull(json)) {
+      return 0;
+    }
+    int components = 0;
+    json.beginArray();
+    while (json.hasNext()) {
+      double value = json.nextDouble();
+      if (components < 3) {
+        values[offset + components] = value;
+      }
+      components++;
+    }
+    json.endArray();
+    return components;
+  }
+
+  /** Stable insertion sort of the scratch keyframes by time, matching the old list sort. */
+  private void sort(int count) {
+    for (int i = 1; i < count; i++) {
+      double time = times[i];
+      double x = values[i * 3];
+      double y = values[i * 3 + 1];
+      double z = values[i * 3 + 2];
+      int j = i - 1;
+      while (j >= 0 && times[j] > time) {
+        times[j + 1] = times[j];
+        System.arraycopy(values, j * 3, values, (j + 1) * 3, 3);
+        j--;
+      }
+      times[j + 1] = time;
+      values[(j + 1) * 3] = x;
+      values[(j + 1) * 3 + 1] = y;
+      values[(j + 1) * 3 + 2] = z;
+    }
+  }
+
+  private void ensureCapacity(int count) {
+    if (count > times.length) {
+      int capacity = Math.max(count, times.length * 2);
+      times = Arrays.copyOf(times, capacity);
+      values = Arrays.copyOf(values, capacity * 3);
+    }
+  }
+
+  private static boolean skipNull(JsonReader json) throws IOException {
+    if (json.peek() == JsonToken.NULL) {
+      json.nextNull();
+      return true;
+    }
+    return false;
+  }
+
+  private static String nextString(JsonReader json) throws IOException {
+    return skipNull(json) ? null : json.nextString();
+  }
+
+  private static BlockbenchBoneTarget parseTarget(String target, String modelId, String bone)
+      throws IOException {
+    if (target == null) {
+      throw new IOException(
+          "Bone '" + bone + "' in model '" + modelId + "' is missing a target mapping");
+    }
+    try {
+      return BlockbenchBoneTarget.valueOf(target.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      throw new IOException(
+          "Unsupported bone target '"
+              + target
+              + "' for bone '"
+              + bone
+              + "' in model '"
+              + modelId
+              + "'. Supported targets: "
+              + EnumSet.allOf(BlockbenchBoneTarget.class),
+          ex);
+    }
+  }
+
+  private record PendingAnimation(double length, boolean loop, List<PendingTrack> tracks) {}
+
+  private record PendingTrack(String bone, KeyframeChannel rotation, KeyframeChannel position) {}
+}
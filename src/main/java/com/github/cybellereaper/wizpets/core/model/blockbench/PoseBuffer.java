@@ -0,0 +1,58 @@
+package com.github.cybellereaper.wizpets.core.model.blockbench;
+
+import com.github.cybellereaper.wizpets.api.math.Vector3;
+import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchBoneTarget;
+import com.github.cybellereaper.wizpets.api.model.blockbench.PoseTransform;
+import java.util.EnumMap;
+import java.util.Map;
+
+/** Reusable pose output holding rotation and translation per bone target in flat arrays. */
+public final class PoseBuffer {
+  private static final BlockbenchBoneTarget[] TARGETS = BlockbenchBoneTarget.values();
+
+  final double[] rotation = new double[TARGETS.length * 3];
+  final double[] translation = new double[TARGETS.length * 3];
+  private int mask;
+
+  void clear() {
+    mask = 0;
+  }
+
+  void mark(BlockbenchBoneTarget target) {
+    mask |= 1 << target.ordinal();
+  }
+
+  public boolean isEmpty() {
+    return mask == 0;
+  }
+
+  public boolean has(BlockbenchBoneTarget target) {
+    return (mask & (1 << target.ordinal())) != 0;
+  }
+
+  /** Rotation in degrees around {@code axis} (0 = x, 1 = y, 2 = z). */
+  public double rotation(BlockbenchBoneTarget target, int axis) {
+    return rotation[target.ordinal() * 3 + axis];
+  }
+
+  /** Translation in Blockbench units along {@code axis} (0 = x, 1 = y, 2 = z). */
+  public double translation(BlockbenchBoneTarget target, int axis) {
+    return translation[target.ordinal() * 3 + axis];
+  }
+
+  /** Copy the pose into the map form accepted by every pose target. */
+  public Map<BlockbenchBoneTarget, PoseTransform> toMap() {
+    Map<BlockbenchBoneTarget, PoseTransform> pose = new EnumMap<>(BlockbenchBoneTarget.class);
+    for (BlockbenchBoneTarget target : TARGETS) {
+      if (has(target)) {
+        int slot = target.ordinal() * 3;
+        pose.put(
+            target,
+            new PoseTransform(
+                new Vector3(rotation[slot], rotation[slot + 1], rotation[slot + 2]),
+                new Vector3(translation[slot], translation[slot + 1], translation[slot + 2])));
+      }
+    }
+    return pose;
+  }
+}
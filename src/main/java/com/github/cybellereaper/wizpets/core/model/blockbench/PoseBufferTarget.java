@@ -0,0 +1,8 @@
+package com.github.cybellereaper.wizpets.core.model.blockbench;
+
+import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchPoseTarget;
+
+/** Pose target that reads sampled poses straight from a {@link PoseBuffer}. */
+public interface PoseBufferTarget extends BlockbenchPoseTarget {
+  void apply(PoseBuffer pose);
+}
@@ -0,0 +1,10 @@
+package com.github.cybellereaper.wizpets.core.model.blockbench;
+
+/** Produces the pose a model instance should show as playback advances. */
+interface PoseSource {
+  PoseBuffer begin();
+
+  PoseBuffer advance(double deltaSeconds);
+
+  boolean isFinished();
+}
@@ -0,0 +1,89 @@
+package com.github.cybellereaper.wizpets.core.model.blockbench;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Set;
+
+/**
+ * A registered model known by its animation names, compiled the first time an instance needs it.
+ *
+ * <p>The JSON source is kept until then and dropped once the model is compiled or loaded from the
+ * cache. Registering the same id again links the old registration to its successor, which live
+ * instances follow through {@link #latest()}.
+ */
+final class RegisteredModel {
+  private final String id;
+  private final String hash;
+  private final Set<String> animations;
+  private final ModelCache cache;
+  private String source;
+  private volatile ModelData data;
+  private volatile RegisteredModel successor;
+
+  RegisteredModel(String id, String hash, Set<String> animations, String source, ModelCache cache) {
+    this.id = id;
+    this.hash = hash;
+    this.animations = animations;
+    this.source = source;
+    this.cache = cache;
+  }
+
+  String id() {
+    return id;
+  }
+
+  String hash() {
+    return hash;
+  }
+
+  Set<String> animations() {
+    return animations;
+  }
+
+  boolean isLoaded() {
+    return data != null;
+  }
+
+  void supersede(RegisteredModel next) {
+    successor = next;
+  }
+
+  /** The newest registration of this id, or this one if it has not been replaced. */
+  RegisteredModel latest() {
+    RegisteredModel current = this;
+    RegisteredModel next = current.successor;
+    while (next != null) {
+      current = next;
+      next = current.successor;
+    }
+    return current;
+  }
+
+  ModelData data() throws IOException {
+    ModelData loaded = data;
+    if (loaded != null) {
+      return loaded;
+    }
+    synchronized (this) {
+      if (data == null) {
+        data = compile();
+        source = null;
+      }
+      return data;
+    }
+  }
+
+  private ModelData compile() throws IOException {
+    if (cache != null) {
+      ModelData cached = cache.load(id, hash).orElse(null);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    ModelData parsed = new ModelJsonParser().parse(id, new StringReader(source));
+    if (cache != null) {
+      cache.store(hash, parsed);
+    }
+    return parsed;
+  }
+}
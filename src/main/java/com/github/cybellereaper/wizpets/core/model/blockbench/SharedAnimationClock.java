@@ -0,0 +1,111 @@
+package com.github.cybellereaper.wizpets.core.model.blockbench;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs looped animations on a shared timeline so instances showing the same loop share one pose.
+ *
+ * <p>Time advances in frames of {@code frameTicks} server ticks. Instances are spread over a fixed
+ * number of phase buckets, each offset by an equal fraction of the loop, and every (animation,
+ * bucket) pair is sampled at most once per frame no matter how many instances show it. Not thread
+ * safe; like the rest of the engine it is driven from the server thread.
+ */
+final class SharedAnimationClock {
+  private static final double TICK_SECONDS = 0.05D;
+
+  private final LongSupplier ticks;
+  private final int frameTicks;
+  private final int phases;
+  private final Map<BlockbenchAnimation, SharedLoop[]> loops = new HashMap<>();
+  private int nextPhase;
+  private long evaluations;
+  private long reused;
+
+  SharedAnimationClock(LongSupplier ticks, int frameTicks, int phases) {
+    if (frameTicks <= 0 || phases <= 0) {
+      throw new IllegalArgumentException("frameTicks and phases must be positive");
+    }
+    this.ticks = ticks;
+    this.frameTicks = frameTicks;
+    this.phases = phases;
+  }
+
+  /** Phase bucket for a new instance, assigned round-robin. */
+  int nextPhase() {
+    int phase = nextPhase;
+    nextPhase = (nextPhase + 1) % phases;
+    return phase;
+  }
+
+  PoseSource loop(BlockbenchAnimation animation, int phase) {
+    SharedLoop[] byPhase = loops.computeIfAbsent(animation, key -> new SharedLoop[phases]);
+    SharedLoop loop = byPhase[phase];
+    if (loop == null) {
+      loop = new SharedLoop(animation, animation.length() * phase / phases);
+      byPhase[phase] = loop;
+    }
+    return loop;
+  }
+
+  /** Drop the loops of a replaced model definition so they can be collected. */
+  void retire(ModelData model) {
+    for (BlockbenchAnimation animation : model.animations().values()) {
+      loops.remove(animation);
+    }
+  }
+
+  /** Poses actually sampled by shared loops. */
+  long evaluations() {
+    return evaluations;
+  }
+
+  /** Pose requests served from a pose already sampled this frame. */
+  long reused() {
+    return reused;
+  }
+
+  private final class SharedLoop implements PoseSource {
+    private final BlockbenchAnimation animation;
+    private final double offset;
+    private final int[] cursors;
+    private final PoseBuffer pose = new PoseBuffer();
+    private long frame = Long.MIN_VALUE;
+
+    SharedLoop(BlockbenchAnimation animation, double offset) {
+      this.animation = animation;
+      this.offset = offset;
+      this.cursors = new int[animation.cursorCount()];
+    }
+
+    @Override
+    public PoseBuffer begin() {
+      return sample();
+    }
+
+    @Override
+    public PoseBuffer advance(double deltaSeconds) {
+      return sample();
+    }
+
+    @Override
+    public boolean isFinished() {
+      return false;
+    }
+
+    private PoseBuffer sample() {
+      long current = ticks.getAsLong() / frameTicks;
+      if (current == frame) {
+        reused++;
+        return pose;
+      }
+      frame = current;
+      evaluations++;
+      double length = animation.length();
+      double time = length > 0.0 ? (current * frameTicks * TICK_SECONDS + offset) % length : 0.0;
+      animation.sample(time, pose, cursors);
+      return pose;
+    }
+  }
+}
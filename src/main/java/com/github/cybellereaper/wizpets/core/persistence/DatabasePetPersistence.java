@@ -0,0 +1,292 @@
+package com.github.cybellereaper.wizpets.core.persistence;
+
+import com.github.cybellereaper.wizpets.api.PetRecord;
+import com.github.cybellereaper.wizpets.api.persistence.PetPersistence;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.papermc.paper.persistence.PersistentDataContainerView;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import lombok.NonNull;
+import org.bukkit.entity.Entity;
+import org.bukkit.persistence.PersistentDataAdapterContext;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataHolder;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Stores pet records in an embedded SQLite file keyed by the holder's entity id.
+ *
+ * <p>Writes are queued and applied in batched transactions on the supplied executor; reads are
+ * served from the queue, then a bounded cache, then the database. Holders without a database row
+ * fall back to the record in their data container, which is copied into the database on first
+ * read. A row that cannot be decoded is logged, moved aside by {@link PetDatabase} and read as
+ * absent.
+ *
+ * <p>A read that misses the queue and cache queries the database on the calling thread. Joins
+ * {@link #prefetch} on the executor so the server thread only pays for that after an eviction.
+ */
+public final class DatabasePetPersistence implements PetPersistence, AutoCloseable {
+  private final Logger logger;
+  private final PetDatabase database;
+  private final PetStorage containers;
+  private final Executor executor;
+  private final Cache<UUID, Optional<PetRecord>> cache;
+  private final Map<UUID, Optional<PetRecord>> pending = new ConcurrentHashMap<>();
+  private final AtomicBoolean drainScheduled = new AtomicBoolean();
+  private final Object writeLock = new Object();
+  private final LongAdder batchesWritten = new LongAdder();
+  private final LongAdder recordsWritten = new LongAdder();
+
+  DatabasePetPersistence(
+      Logger logger,
+      PetDatabase database,
+      PetStorage containers,
+      Executor executor,
+      int cacheSize) {
+    this.logger = logger;
+    this.database = database;
+    this.containers = containers;
+    this.executor = executor;
+    this.cache = CacheBuilder.newBuilder().maximumSize(Math.max(1, cacheSize)).build();
+  }
+
+  /** Open (creating if needed) the database file and wrap it in a persistence facade. */
+  public static DatabasePetPersistence open(
+      @NonNull JavaPlugin plugin, @NonNull Path file, int cacheSize, @NonNull Executor executor) {
+    try {
+      Files.createDirectories(file.toAbsolutePath().getParent());
+      return new DatabasePetPersistence(
+          plugin.getLogger(),
+          PetDatabase.open(file),
+          new PetStorage(plugin),
+          executor,
+          cacheSize);
+    } catch (IOException | SQLException ex) {
+      throw new IllegalStateException("Failed to open pet database " + file, ex);
+    }
+  }
+
+  @Override
+  public Optional<PetRecord> load(@NonNull PersistentDataHolder holder) {
+    UUID id = key(holder);
+    Optional<PetRecord> stored = stored(id);
+    if (stored.isPresent()) {
+      return stored;
+    }
+    Optional<PetRecord> legacy = containers.load(holder);
+    legacy.ifPresent(record -> enqueue(id, Optional.of(record)));
+    return legacy;
+  }
+
+  @Override
+  public void save(@NonNull PersistentDataHolder holder, @NonNull PetRecord record) {
+    enqueue(key(holder), Optional.of(record));
+  }
+
+  @Override
+  public void clear(@NonNull PersistentDataHolder holder) {
+    enqueue(key(holder), Optional.empty());
+    containers.clear(holder);
+  }
+
+  @Override
+  public boolean exists(@NonNull PersistentDataHolder holder) {
+    return load(holder).isPresent();
+  }
+
+  @Override
+  public Optional<PetRecord> compute(
+      @NonNull PersistentDataHolder holder,
+      @NonNull Function<Optional<PetRecord>, Optional<PetRecord>> operation) {
+    Optional<PetRecord> result = operation.apply(load(holder));
+    if (result == null) {
+      throw new NullPointerException("Operation must not return null");
+    }
+    if (result.isPresent()) {
+      save(holder, result.get());
+    } else {
+      clear(holder);
+    }
+    return result;
+  }
+
+  @Override
+  public Optional<PetRecord> decode(@NonNull PersistentDataContainer container) {
+    return containers.decode(container);
+  }
+
+  @Override
+  public PersistentDataContainer encode(
+      @NonNull PersistentDataAdapterContext context, @NonNull PetRecord record) {
+    return containers.encode(context, record);
+  }
+
+  /** Load a record by holder id from the database alone, caching the result. */
+  public Optional<PetRecord> load(@NonNull UUID holderId) {
+    return stored(holderId);
+  }
+
+  /** Whether a read of the holder can be answered without querying the database. */
+  public boolean isResident(@NonNull UUID holderId) {
+    return resident(holderId) != null;
+  }
+
+  /** Read the holder's record into the cache on the executor, unless it is already resident. */
+  public CompletableFuture<Optional<PetRecord>> prefetch(@NonNull UUID holderId) {
+    Optional<PetRecord> resident = resident(holderId);
+    if (resident != null) {
+      return CompletableFuture.completedFuture(resident);
+    }
+    return CompletableFuture.supplyAsync(() -> select(holderId), executor);
+  }
+
+  /**
+   * Read the record kept in a holder's data container, such as an offline player's read-only view,
+   * without consulting the database.
+   */
+  public Optional<PetRecord> loadContainer(@NonNull PersistentDataContainerView parent) {
+    return containers.load(parent);
+  }
+
+  /**
+   * Copy a data-container record into the database unless the holder already has a row or a
+   * change queued. Queries the database on the calling thread.
+   *
+   * @return whether the record was copied
+   */
+  public boolean migrate(@NonNull UUID holderId, @NonNull PetRecord record) {
+    if (stored(holderId).isPresent()) {
+      return false;
+    }
+    Optional<PetRecord> copy = Optional.of(record);
+    if (pending.putIfAbsent(holderId, copy) != null) {
+      return false;
+    }
+    cache.put(holderId, copy);
+    scheduleDrain();
+    return true;
+  }
+
+  /** Write every queued change on the calling thread. */
+  public void flushAll() {
+    writePending();
+  }
+
+  public int pendingCount() {
+    return pending.size();
+  }
+
+  public long cachedCount() {
+    return cache.size();
+  }
+
+  public long batchesWritten() {
+    return batchesWritten.sum();
+  }
+
+  public long recordsWritten() {
+    return recordsWritten.sum();
+  }
+
+  private Optional<PetRecord> stored(UUID id) {
+    Optional<PetRecord> resident = resident(id);
+    return resident != null ? resident : select(id);
+  }
+
+  private Optional<PetRecord> resident(UUID id) {
+    Optional<PetRecord> queued = pending.get(id);
+    return queued != null ? queued : cache.getIfPresent(id);
+  }
+
+  /** Query the database; a change enqueued while the query ran takes precedence over its result. */
+  private Optional<PetRecord> select(UUID id) {
+    Optional<PetRecord> selected;
+    try {
+      selected = database.select(id);
+    } catch (SQLException ex) {
+      throw new IllegalStateException("Failed to read pet record for " + id, ex);
+    } catch (IllegalArgumentException ex) {
+      logger.log(
+          Level.WARNING,
+          "Moved unreadable pet record for " + id + " to the unreadable_pets table",
+          ex);
+      selected = Optional.empty();
+    }
+    Optional<PetRecord> raced = cache.asMap().putIfAbsent(id, selected);
+    return raced != null ? raced : selected;
+  }
+
+  private void enqueue(UUID id, Optional<PetRecord> value) {
+    pending.put(id, value);
+    cache.put(id, value);
+    scheduleDrain();
+  }
+
+  private void scheduleDrain() {
+    if (drainScheduled.compareAndSet(false, true)) {
+      executor.execute(this::drain);
+    }
+  }
+
+  private void drain() {
+    boolean written;
+    try {
+      written = writePending();
+    } finally {
+      drainScheduled.set(false);
+    }
+    if (written && !pending.isEmpty()) {
+      scheduleDrain();
+    }
+  }
+
+  private boolean writePending() {
+    synchronized (writeLock) {
+      Map<UUID, Optional<PetRecord>> batch = Map.copyOf(pending);
+      if (batch.isEmpty()) {
+        return true;
+      }
+      try {
+        database.write(batch);
+      } catch (SQLException ex) {
+        logger.log(Level.WARNING, "Failed to write " + batch.size() + " pet records", ex);
+        return false;
+      }
+      batch.forEach((id, value) -> pending.remove(id, value));
+      batchesWritten.increment();
+      recordsWritten.add(batch.size());
+      return true;
+    }
+  }
+
+  private static UUID key(PersistentDataHolder holder) {
+    if (holder instanceof Entity entity) {
+      return entity.getUniqueId();
+    }
+    throw new IllegalArgumentException("Database pet storage only supports entity holders");
+  }
+
+  @Override
+  public void close() {
+    flushAll();
+    try {
+      database.close();
+    } catch (SQLException ex) {
+      logger.log(Level.WARNING, "Failed to close pet database", ex);
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package com.github.cybellereaper.wizpets.core.persistence;
+
+import com.github.cybellereaper.wizpets.api.PetRecord;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Single-connection JDBC store of {@link PetRecordCodec} blobs keyed by holder id.
+ *
+ * <p>Rows that fail to decode are moved into {@code unreadable_pets} rather than left where the
+ * next save would overwrite them.
+ */
+final class PetDatabase implements AutoCloseable {
+  private static final String CREATE =
+      "CREATE TABLE IF NOT EXISTS pets ("
+          + "holder TEXT PRIMARY KEY NOT NULL, record BLOB NOT NULL, updated_at INTEGER NOT NULL)";
+  private static final String CREATE_UNREADABLE =
+      "CREATE TABLE IF NOT EXISTS unreadable_pets ("
+          + "holder TEXT NOT NULL, record BLOB NOT NULL, moved_at INTEGER NOT NULL)";
+  private static final String SELECT = "SELECT record FROM pets WHERE holder = ?";
+  private static final String SET_ASIDE =
+      "INSERT INTO unreadable_pets (holder, record, moved_at) VALUES (?, ?, ?)";
+  private static final String UPSERT =
+      "INSERT INTO pets (holder, record, updated_at) VALUES (?, ?, ?) "
+          + "ON CONFLICT(holder) DO UPDATE SET record = excluded.record, "
+          + "updated_at = excluded.updated_at";
+  private static final String DELETE = "DELETE FROM pets WHERE holder = ?";
+  private static final String COUNT = "SELECT COUNT(*) FROM pets";
+
+  private final Connection connection;
+
+  PetDatabase(Connection connection) throws SQLException {
+    this.connection = connection;
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("PRAGMA journal_mode=WAL");
+      statement.execute("PRAGMA synchronous=NORMAL");
+      statement.execute(CREATE);
+      statement.execute(CREATE_UNREADABLE);
+    }
+  }
+
+  static PetDatabase open(Path file) throws SQLException {
+    return new PetDatabase(DriverManager.getConnection("jdbc:sqlite:" + file.toAbsolutePath()));
+  }
+
+  /**
+   * Read the holder's record.
+   *
+   * @throws IllegalArgumentException if the row cannot be decoded; it has been moved to {@code
+   *     unreadable_pets} by then
+   */
+  synchronized Optional<PetRecord> select(UUID holder) throws SQLException {
+    byte[] blob;
+    try (PreparedStatement statement = connection.prepareStatement(SELECT)) {
+      statement.setString(1, holder.toString());
+      try (ResultSet result = statement.executeQuery()) {
+        if (!result.next()) {
+          return Optional.empty();
+        }
+        blob = result.getBytes(1);
+      }
+    }
+    try {
+      return Optional.of(PetRecordCodec.decode(blob));
+    } catch (IllegalArgumentException ex) {
+      setAside(holder, blob);
+      throw ex;
+    }
+  }
+
+  /** Apply a batch in one transaction; empty values delete the holder's row. */
+  synchronized void write(Map<UUID, Optional<PetRecord>> batch) throws SQLException {
+    boolean autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(false);
+    try (PreparedStatement upsert = connection.prepareStatement(UPSERT);
+        PreparedStatement delete = connection.prepareStatement(DELETE)) {
+      long now = System.currentTimeMillis();
+      for (Map.Entry<UUID, Optional<PetRecord>> entry : batch.entrySet()) {
+        String holder = entry.getKey().toString();
+        if (entry.getValue().isPresent()) {
+          upsert.setString(1, holder);
+          upsert.setBytes(2, PetRecordCodec.encode(entry.getValue().get()));
+          upsert.setLong(3, now);
+          upsert.addBatch();
+        } else {
+          delete.setString(1, holder);
+          delete.addBatch();
+        }
+      }
+      upsert.executeBatch();
+      delete.executeBatch();
+      connection.commit();
+    } catch (SQLException ex) {
+      connection.rollback();
+      throw ex;
+    } finally {
+      connection.setAutoCommit(autoCommit);
+    }
+  }
+
+  private void setAside(UUID holder, byte[] blob) throws SQLException {
+    boolean autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(false);
+    try (PreparedStatement insert = connection.prepareStatement(SET_ASIDE);
+        PreparedStatement delete = connection.prepareStatement(DELETE)) {
+      insert.setString(1, holder.toString());
+      insert.setBytes(2, blob);
+      insert.setLong(3, System.currentTimeMillis());
+      insert.executeUpdate();
+      delete.setString(1, holder.toString());
+      delete.executeUpdate();
+      connection.commit();
+    } catch (SQLException ex) {
+      connection.rollback();
+      throw ex;
+    } finally {
+      connection.setAutoCommit(autoCommit);
+    }
+  }
+
+  synchronized int count() throws SQLException {
+    try (Statement statement = connection.createStatement();
+        ResultSet result = statement.executeQuery(COUNT)) {
+      return result.next() ? result.getInt(1) : 0;
+    }
+  }
+
+  @Override
+  public synchronized void close() throws SQLException {
+    connection.close();
+  }
+}
@@ -0,0 +1,165 @@
+package com.github.cybellereaper.wizpets.core.persistence;
+
+import com.github.cybellereaper.wizpets.api.PetRecord;
+import com.github.cybellereaper.wizpets.api.StatSet;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compact, versioned binary form of a {@link PetRecord}.
+ *
+ * <p>Version 1 layout: version byte, flag byte (bit 0 mount, bit 1 flight), zig-zag varint
+ * generation and breed count, varint-prefixed UTF-8 name, four EV doubles, four IV doubles, and a
+ * varint talent count followed by varint-prefixed UTF-8 talent ids.
+ */
+final class PetRecordCodec {
+  static final byte VERSION = 1;
+  private static final int FLAG_MOUNT = 1;
+  private static final int FLAG_FLIGHT = 1 << 1;
+  private static final int STAT_BYTES = Double.BYTES * 4;
+
+  private PetRecordCodec() {}
+
+  static byte[] encode(PetRecord record) {
+    Objects.requireNonNull(record, "record");
+    byte[] name = record.displayName().getBytes(StandardCharsets.UTF_8);
+    List<String> talentIds = record.talentIds();
+    byte[][] talents = new byte[talentIds.size()][];
+    int generation = zigZag(record.generation());
+    int breedCount = zigZag(record.breedCount());
+    int size =
+        2
+            + varIntSize(generation)
+            + varIntSize(breedCount)
+            + varIntSize(name.length)
+            + name.length
+            + STAT_BYTES * 2
+            + varIntSize(talents.length);
+    for (int i = 0; i < talents.length; i++) {
+      talents[i] = talentIds.get(i).getBytes(StandardCharsets.UTF_8);
+      size += varIntSize(talents[i].length) + talents[i].length;
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    buffer.put(VERSION);
+    int flags =
+        (record.mountUnlocked() ? FLAG_MOUNT : 0) | (record.flightUnlocked() ? FLAG_FLIGHT : 0);
+    buffer.put((byte) flags);
+    putVarInt(buffer, generation);
+    putVarInt(buffer, breedCount);
+    putBytes(buffer, name);
+    putStats(buffer, record.evs());
+    putStats(buffer, record.ivs());
+    putVarInt(buffer, talents.length);
+    for (byte[] talent : talents) {
+      putBytes(buffer, talent);
+    }
+    return buffer.array();
+  }
+
+  static PetRecord decode(byte[] data) {
+    Objects.requireNonNull(data, "data");
+    ByteBuffer buffer = ByteBuffer.wrap(data);
+    try {
+      byte version = buffer.get();
+      if (version != VERSION) {
+        throw new IllegalArgumentException("Unsupported pet record version " + version);
+      }
+      int flags = buffer.get();
+      int generation = unZigZag(getVarInt(buffer));
+      int breedCount = unZigZag(getVarInt(buffer));
+      String name = getString(buffer);
+      StatSet evs = getStats(buffer);
+      StatSet ivs = getStats(buffer);
+      int talentCount = getVarInt(buffer);
+      if (talentCount < 0 || talentCount > buffer.remaining()) {
+        throw new IllegalArgumentException("Invalid talent count " + talentCount);
+      }
+      String[] talents = new String[talentCount];
+      for (int i = 0; i < talentCount; i++) {
+        talents[i] = getString(buffer);
+      }
+      return new PetRecord(
+          name,
+          evs,
+          ivs,
+          List.of(talents),
+          generation,
+          breedCount,
+          (flags & FLAG_MOUNT) != 0,
+          (flags & FLAG_FLIGHT) != 0);
+    } catch (BufferUnderflowException ex) {
+      throw new IllegalArgumentException("Truncated pet record", ex);
+    }
+  }
+
+  private static void putStats(ByteBuffer buffer, StatSet stats) {
+    buffer.putDouble(stats.health());
+    buffer.putDouble(stats.attack());
+    buffer.putDouble(stats.defense());
+    buffer.putDouble(stats.magic());
+  }
+
+  private static StatSet getStats(ByteBuffer buffer) {
+    double health = buffer.getDouble();
+    double attack = buffer.getDouble();
+    double defense = buffer.getDouble();
+    double magic = buffer.getDouble();
+    return new StatSet(health, attack, defense, magic);
+  }
+
+  private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+    putVarInt(buffer, bytes.length);
+    buffer.put(bytes);
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    int length = getVarInt(buffer);
+    if (length < 0 || length > buffer.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+    buffer.position(buffer.position() + length);
+    return value;
+  }
+
+  private static int varIntSize(int value) {
+    int size = 1;
+    while ((value & ~0x7F) != 0) {
+      value >>>= 7;
+      size++;
+    }
+    return size;
+  }
+
+  private static void putVarInt(ByteBuffer buffer, int value) {
+    while ((value & ~0x7F) != 0) {
+      buffer.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+
+  private static int getVarInt(ByteBuffer buffer) {
+    int result = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      byte current = buffer.get();
+      result |= (current & 0x7F) << shift;
+      if ((current & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw new IllegalArgumentException("Malformed varint in pet record");
+  }
+
+  private static int zigZag(int value) {
+    return (value << 1) ^ (value >> 31);
+  }
+
+  private static int unZigZag(int value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+}
@@ -4,10 +4,13 @@ import com.github.cybellereaper.wizpets.api.PetRecord;
 import com.github.cybellereaper.wizpets.api.StatSet;
 import com.github.cybellereaper.wizpets.api.persistence.PetPersistence;
 import com.google.common.collect.ImmutableList;
+import io.papermc.paper.persistence.PersistentDataContainerView;
 import io.vavr.control.Option;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import lombok.NonNull;
 import org.bukkit.NamespacedKey;
 import org.bukkit.persistence.PersistentDataAdapterContext;
@@ -17,7 +20,19 @@ import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jooq.lambda.Seq;
 
+/**
+ * Stores pet records in the holder's data container as a single {@link PetRecordCodec} blob.
+ *
+ * <p>Records written by earlier versions as a nested container with one key per field are still
+ * read transparently and replaced by the compact form on the next save. A blob that cannot be
+ * decoded, such as one written by a newer version, is logged and treated as absent, or as the
+ * legacy record when one is still present; the next save or clear moves it to a backup key instead
+ * of discarding it.
+ */
 public final class PetStorage implements PetPersistence {
+  private final Logger logger;
+  private final NamespacedKey recordKey;
+  private final NamespacedKey unreadableKey;
   private final NamespacedKey rootKey;
   private final NamespacedKey nameKey;
   private final NamespacedKey generationKey;
@@ -35,6 +50,9 @@ public final class PetStorage implements PetPersistence {
   private final NamespacedKey ivMagicKey;
 
   public PetStorage(@NonNull JavaPlugin plugin) {
+    logger = plugin.getLogger();
+    recordKey = new NamespacedKey(plugin, "record");
+    unreadableKey = new NamespacedKey(plugin, "record_unreadable");
     rootKey = new NamespacedKey(plugin, "pet");
     nameKey = new NamespacedKey(plugin, "name");
     generationKey = new NamespacedKey(plugin, "generation");
@@ -54,24 +72,35 @@ public final class PetStorage implements PetPersistence {
 
   @Override
   public Optional<PetRecord> load(@NonNull PersistentDataHolder holder) {
-    return decodeFromParent(holder.getPersistentDataContainer());
+    return decodeFromParent(holder.getPersistentDataContainer(), holder);
+  }
+
+  /** Read the record kept in a holder's data container, such as an offline player's view. */
+  public Optional<PetRecord> load(@NonNull PersistentDataContainerView parent) {
+    return decodeFromParent(parent, "a data container");
   }
 
   @Override
   public void save(@NonNull PersistentDataHolder holder, @NonNull PetRecord record) {
     PersistentDataContainer parent = holder.getPersistentDataContainer();
-    PersistentDataContainer container = encode(parent.getAdapterContext(), record);
-    parent.set(rootKey, PersistentDataType.TAG_CONTAINER, container);
+    setAsideUnreadable(parent);
+    parent.set(recordKey, PersistentDataType.BYTE_ARRAY, PetRecordCodec.encode(record));
+    parent.remove(rootKey);
   }
 
   @Override
   public void clear(@NonNull PersistentDataHolder holder) {
-    holder.getPersistentDataContainer().remove(rootKey);
+    PersistentDataContainer parent = holder.getPersistentDataContainer();
+    setAsideUnreadable(parent);
+    parent.remove(recordKey);
+    parent.remove(rootKey);
   }
 
   @Override
   public boolean exists(@NonNull PersistentDataHolder holder) {
-    return holder.getPersistentDataContainer().has(rootKey, PersistentDataType.TAG_CONTAINER);
+    PersistentDataContainer parent = holder.getPersistentDataContainer();
+    return parent.has(recordKey, PersistentDataType.BYTE_ARRAY)
+        || parent.has(rootKey, PersistentDataType.TAG_CONTAINER);
   }
 
   @Override
@@ -79,7 +108,7 @@ public final class PetStorage implements PetPersistence {
       @NonNull PersistentDataHolder holder,
       @NonNull Function<Optional<PetRecord>, Optional<PetRecord>> operation) {
     PersistentDataContainer parent = holder.getPersistentDataContainer();
-    Optional<PetRecord> current = decodeFromParent(parent);
+    Optional<PetRecord> current = decodeFromParent(parent, holder);
     Optional<PetRecord> result = operation.apply(current);
     if (result == null) {
       throw new NullPointerException("Operation must not return null");
@@ -96,42 +125,58 @@ public final class PetStorage implements PetPersistence {
   public PersistentDataContainer encode(
       @NonNull PersistentDataAdapterContext context, @NonNull PetRecord record) {
     PersistentDataContainer container = context.newPersistentDataContainer();
+    container.set(recordKey, PersistentDataType.BYTE_ARRAY, PetRecordCodec.encode(record));
+    return container;
+  }
 
-    container.set(nameKey, PersistentDataType.STRING, record.displayName());
-    container.set(generationKey, PersistentDataType.INTEGER, record.generation());
-    container.set(breedKey, PersistentDataType.INTEGER, record.breedCount());
-    container.set(talentsKey, PersistentDataType.STRING, String.join(";", record.talentIds()));
-    container.set(mountKey, PersistentDataType.BYTE, asByte(record.mountUnlocked()));
-    container.set(flightKey, PersistentDataType.BYTE, asByte(record.flightUnlocked()));
+  @Override
+  public Optional<PetRecord> decode(@NonNull PersistentDataContainer container) {
+    return decodeBlob(container, "a data container").or(() -> decodeLegacy(container));
+  }
 
-    container.set(evHealthKey, PersistentDataType.DOUBLE, record.evs().health());
-    container.set(evAttackKey, PersistentDataType.DOUBLE, record.evs().attack());
-    container.set(evDefenseKey, PersistentDataType.DOUBLE, record.evs().defense());
-    container.set(evMagicKey, PersistentDataType.DOUBLE, record.evs().magic());
+  private Optional<PetRecord> decodeFromParent(PersistentDataContainerView parent, Object owner) {
+    return decodeBlob(parent, owner)
+        .or(
+            () ->
+                Option.of(parent.get(rootKey, PersistentDataType.TAG_CONTAINER))
+                    .flatMap(container -> Option.ofOptional(decodeLegacy(container)))
+                    .toJavaOptional());
+  }
 
-    container.set(ivHealthKey, PersistentDataType.DOUBLE, record.ivs().health());
-    container.set(ivAttackKey, PersistentDataType.DOUBLE, record.ivs().attack());
-    container.set(ivDefenseKey, PersistentDataType.DOUBLE, record.ivs().defense());
-    container.set(ivMagicKey, PersistentDataType.DOUBLE, record.ivs().magic());
+  private Optional<PetRecord> decodeBlob(PersistentDataContainerView container, Object owner) {
+    byte[] blob = container.get(recordKey, PersistentDataType.BYTE_ARRAY);
+    if (blob == null) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(PetRecordCodec.decode(blob));
+    } catch (IllegalArgumentException ex) {
+      logger.log(Level.WARNING, "Ignoring unreadable pet record stored on " + owner, ex);
+      return Optional.empty();
+    }
+  }
 
-    return container;
+  /** Copy a blob that fails to decode to the backup key before it is overwritten or removed. */
+  private void setAsideUnreadable(PersistentDataContainer parent) {
+    byte[] blob = parent.get(recordKey, PersistentDataType.BYTE_ARRAY);
+    if (blob == null) {
+      return;
+    }
+    try {
+      PetRecordCodec.decode(blob);
+    } catch (IllegalArgumentException ex) {
+      parent.set(unreadableKey, PersistentDataType.BYTE_ARRAY, blob);
+    }
   }
 
-  @Override
-  public Optional<PetRecord> decode(@NonNull PersistentDataContainer container) {
+  private Optional<PetRecord> decodeLegacy(PersistentDataContainerView container) {
     return Option.of(container.get(nameKey, PersistentDataType.STRING))
         .filter(name -> !name.isBlank())
         .map(name -> buildRecord(container, name))
         .toJavaOptional();
   }
 
-  private Optional<PetRecord> decodeFromParent(PersistentDataContainer parent) {
-    return Option.of(parent.get(rootKey, PersistentDataType.TAG_CONTAINER))
-        .flatMap(container -> Option.ofOptional(decode(container)))
-        .toJavaOptional();
-  }
-
-  private PetRecord buildRecord(PersistentDataContainer container, String name) {
+  private PetRecord buildRecord(PersistentDataContainerView container, String name) {
     List<String> talents =
         Option.of(container.get(talentsKey, PersistentDataType.STRING))
             .filter(raw -> !raw.isBlank())
@@ -172,12 +217,8 @@ public final class PetStorage implements PetPersistence {
         name, evs, ivs, talents, generation, breedCount, mountUnlocked, flightUnlocked);
   }
 
-  private static double getDouble(PersistentDataContainer container, NamespacedKey key) {
+  private static double getDouble(PersistentDataContainerView container, NamespacedKey key) {
     Double value = container.get(key, PersistentDataType.DOUBLE);
     return value != null ? value : 0.0;
   }
-
-  private static byte asByte(boolean value) {
-    return (byte) (value ? 1 : 0);
-  }
 }
@@ -0,0 +1,164 @@
+package com.github.cybellereaper.wizpets.core.persistence;
+
+import com.github.cybellereaper.wizpets.api.PetRecord;
+import com.github.cybellereaper.wizpets.api.persistence.PetPersistence;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import lombok.NonNull;
+import org.bukkit.persistence.PersistentDataAdapterContext;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataHolder;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Write-behind cache in front of another {@link PetPersistence}.
+ *
+ * <p>Saves are buffered per holder and written to the delegate once the configured window has
+ * elapsed, so repeated saves for the same holder within that window collapse into a single write.
+ * Reads observe buffered records immediately. Callers must {@link #flush(PersistentDataHolder)}
+ * before a holder goes away and {@link #flushAll()} on shutdown.
+ */
+public final class WriteBehindPetPersistence implements PetPersistence, AutoCloseable {
+  private final JavaPlugin plugin;
+  private final PetPersistence delegate;
+  private final long windowTicks;
+  private final Map<PersistentDataHolder, PetRecord> pending = new ConcurrentHashMap<>();
+  private final LongAdder savesRequested = new LongAdder();
+  private final LongAdder savesWritten = new LongAdder();
+  private BukkitTask flushTask;
+
+  public WriteBehindPetPersistence(
+      @NonNull JavaPlugin plugin, @NonNull PetPersistence delegate, long windowTicks) {
+    this.plugin = plugin;
+    this.delegate = delegate;
+    this.windowTicks = Math.max(0L, windowTicks);
+  }
+
+  public PetPersistence delegate() {
+    return delegate;
+  }
+
+  @Override
+  public Optional<PetRecord> load(@NonNull PersistentDataHolder holder) {
+    PetRecord buffered = pending.get(holder);
+    return buffered != null ? Optional.of(buffered) : delegate.load(holder);
+  }
+
+  @Override
+  public void save(@NonNull PersistentDataHolder holder, @NonNull PetRecord record) {
+    savesRequested.increment();
+    if (windowTicks == 0L) {
+      write(holder, record);
+      return;
+    }
+    pending.put(holder, record);
+    scheduleFlush();
+  }
+
+  @Override
+  public void clear(@NonNull PersistentDataHolder holder) {
+    pending.remove(holder);
+    delegate.clear(holder);
+  }
+
+  @Override
+  public boolean exists(@NonNull PersistentDataHolder holder) {
+    return pending.containsKey(holder) || delegate.exists(holder);
+  }
+
+  @Override
+  public Optional<PetRecord> compute(
+      @NonNull PersistentDataHolder holder,
+      @NonNull Function<Optional<PetRecord>, Optional<PetRecord>> operation) {
+    Optional<PetRecord> result = operation.apply(load(holder));
+    if (result == null) {
+      throw new NullPointerException("Operation must not return null");
+    }
+    if (result.isPresent()) {
+      save(holder, result.get());
+    } else {
+      clear(holder);
+    }
+    return result;
+  }
+
+  @Override
+  public Optional<PetRecord> decode(@NonNull PersistentDataContainer container) {
+    return delegate.decode(container);
+  }
+
+  @Override
+  public PersistentDataContainer encode(
+      @NonNull PersistentDataAdapterContext context, @NonNull PetRecord record) {
+    return delegate.encode(context, record);
+  }
+
+  /** Write the buffered record for a single holder, if any. */
+  public void flush(@NonNull PersistentDataHolder holder) {
+    PetRecord record = pending.remove(holder);
+    if (record != null) {
+      write(holder, record);
+    }
+  }
+
+  /** Write every buffered record. */
+  public void flushAll() {
+    if (flushTask != null) {
+      flushTask.cancel();
+      flushTask = null;
+    }
+    for (PersistentDataHolder holder : pending.keySet()) {
+      flush(holder);
+    }
+  }
+
+  public int pendingCount() {
+    return pending.size();
+  }
+
+  public long savesRequested() {
+    return savesRequested.sum();
+  }
+
+  public long savesWritten() {
+    return savesWritten.sum();
+  }
+
+  private void write(PersistentDataHolder holder, PetRecord record) {
+    delegate.save(holder, record);
+    savesWritten.increment();
+  }
+
+  private void scheduleFlush() {
+    if (flushTask == null) {
+      flushTask =
+          plugin
+              .getServer()
+              .getScheduler()
+              .runTaskLater(
+                  plugin,
+                  () -> {
+                    flushTask = null;
+                    flushAll();
+                  },
+                  windowTicks);
+    }
+  }
+
+  /** Flush every buffered record, then close the delegate if it holds resources. */
+  @Override
+  public void close() {
+    flushAll();
+    if (delegate instanceof AutoCloseable closeable) {
+      try {
+        closeable.close();
+      } catch (Exception ex) {
+        throw new IllegalStateException("Failed to close pet persistence", ex);
+      }
+    }
+  }
+}
@@ -4,15 +4,22 @@ import com.github.cybellereaper.wizpets.api.ActivePet;
 import com.github.cybellereaper.wizpets.api.PetRecord;
 import com.github.cybellereaper.wizpets.api.StatSet;
 import com.github.cybellereaper.wizpets.api.StatType;
+import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchBoneTarget;
 import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchModelInstance;
 import com.github.cybellereaper.wizpets.api.talent.PetTalent;
+import com.github.cybellereaper.wizpets.core.config.PetRenderer;
+import com.github.cybellereaper.wizpets.core.config.PluginConfig;
 import com.github.cybellereaper.wizpets.core.model.blockbench.ArmorStandPoseTarget;
+import com.github.cybellereaper.wizpets.core.model.blockbench.CachingPoseTarget;
+import com.github.cybellereaper.wizpets.core.model.blockbench.DisplayPoseTarget;
 import com.github.cybellereaper.wizpets.core.service.PetServiceImpl;
+import com.github.cybellereaper.wizpets.core.service.PetTickScheduler;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.logging.Level;
 import net.kyori.adventure.text.Component;
-import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -20,11 +27,11 @@ import org.bukkit.World;
 import org.bukkit.entity.ArmorStand;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
+import org.bukkit.entity.ItemDisplay;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Monster;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Vector;
 
 public final class ActivePetImpl implements ActivePet {
@@ -34,19 +41,27 @@ public final class ActivePetImpl implements ActivePet {
   private static final double FOLLOW_HEIGHT_AIR = 1.5D;
   private static final double FOLLOW_SMOOTHING = 0.45D;
   private static final double ORBIT_INCREMENT = Math.toRadians(12);
+  private static final double DISPLAY_HEIGHT = 0.7D;
+  private static final StatSet BASE_STATS = new StatSet(40.0, 6.0, 3.0, 5.0);
 
   private final PetServiceImpl service;
   private final Player owner;
-  private final StatSet baseStats = new StatSet(40.0, 6.0, 3.0, 5.0);
+  private final PetStatCache stats;
   private PetRecord currentRecord;
   private List<PetTalent> currentTalents;
   private ArmorStand armorStand;
   private BlockbenchModelInstance modelInstance;
-  private BukkitTask tickTask;
+  private ItemDisplay display;
+  private CachingPoseTarget poseTarget;
+  private PetTickScheduler.Handle tickHandle;
   private int attackCooldown;
   private boolean mounted;
   private boolean flying;
   private double orbitAngle;
+  private DetailLevel detailLevel = DetailLevel.FULL;
+  private long tickCount;
+  private int cosmeticSteps;
+  private int cosmeticInterval = 1;
 
   public ActivePetImpl(
       PetServiceImpl service,
@@ -57,6 +72,7 @@ public final class ActivePetImpl implements ActivePet {
     this.owner = Objects.requireNonNull(owner, "owner");
     this.currentRecord = Objects.requireNonNull(initialRecord, "initialRecord");
     this.currentTalents = List.copyOf(initialTalents);
+    this.stats = new PetStatCache(BASE_STATS, currentRecord, currentTalents);
   }
 
   @Override
@@ -99,15 +115,19 @@ public final class ActivePetImpl implements ActivePet {
     stand.setVisible(false);
     stand.setMarker(false);
     stand.setSmall(true);
-    stand.getEquipment();
-    stand.getEquipment().setHelmet(new ItemStack(Material.END_ROD));
+    if (service.getConfigValues().getPetRenderer() == PetRenderer.DISPLAY) {
+      display = spawnDisplay(spawnLocation);
+    } else {
+      stand.getEquipment().setHelmet(new ItemStack(Material.END_ROD));
+    }
     stand.customName(Component.text(currentRecord.displayName()));
     stand.setCustomNameVisible(true);
     this.armorStand = stand;
+    cosmeticInterval = 1;
 
     initializeModel(stand);
 
-    tickTask = Bukkit.getScheduler().runTaskTimer(service.getPlugin(), this::tick, 10L, 10L);
+    tickHandle = service.tickScheduler().schedule(this::tick);
     currentTalents.forEach(talent -> talent.onSummon(this));
     if (currentRecord.flightUnlocked()) {
       owner.setAllowFlight(true);
@@ -117,6 +137,7 @@ public final class ActivePetImpl implements ActivePet {
   public void update(PetRecord record, List<PetTalent> talents) {
     this.currentRecord = Objects.requireNonNull(record, "record");
     this.currentTalents = List.copyOf(talents);
+    stats.reset(currentRecord, currentTalents);
     if (armorStand != null) {
       armorStand.customName(Component.text(record.displayName()));
       armorStand.setCustomNameVisible(true);
@@ -135,9 +156,9 @@ public final class ActivePetImpl implements ActivePet {
   }
 
   public void remove(boolean persistFlight) {
-    if (tickTask != null) {
-      tickTask.cancel();
-      tickTask = null;
+    if (tickHandle != null) {
+      tickHandle.cancel();
+      tickHandle = null;
     }
     currentTalents.forEach(talent -> talent.onDismiss(this));
     dismountIfNecessary();
@@ -153,10 +174,15 @@ public final class ActivePetImpl implements ActivePet {
       if (modelInstance != null) {
         modelInstance.destroy();
         modelInstance = null;
+        poseTarget = null;
       }
       armorStand.remove();
       armorStand = null;
     }
+    if (display != null) {
+      display.remove();
+      display = null;
+    }
   }
 
   public boolean mount() {
@@ -229,14 +255,21 @@ public final class ActivePetImpl implements ActivePet {
 
   @Override
   public double statValue(StatType type) {
-    double base = baseStats.value(type);
-    double iv = currentRecord.ivs().value(type);
-    double evContribution = currentRecord.evs().value(type) / 4.0;
-    double result = base + iv + evContribution;
-    for (PetTalent talent : currentTalents) {
-      result = talent.modifyStat(this, type, result);
-    }
-    return result;
+    return stats.value(this, type);
+  }
+
+  /** Pose target of the spawned model, or null when no model is shown. */
+  public CachingPoseTarget poseTarget() {
+    return poseTarget;
+  }
+
+  public DetailLevel detailLevel() {
+    return detailLevel;
+  }
+
+  @Override
+  public void invalidateStats() {
+    stats.invalidate();
   }
 
   public PetRecord toRecord() {
@@ -253,13 +286,26 @@ public final class ActivePetImpl implements ActivePet {
       return;
     }
 
-    Location targetLocation = mounted ? owner.getLocation() : computeFollowLocation(stand);
-    stand.teleport(targetLocation);
+    detailLevel = detailLevel(stand);
+    setCosmeticInterval(mounted ? 1 : detailLevel.interval());
+    cosmeticSteps++;
+    boolean cosmetic = tickCount++ % cosmeticInterval == 0;
+    if (cosmetic) {
+      Location targetLocation =
+          mounted ? owner.getLocation() : computeFollowLocation(stand, cosmeticSteps);
+      stand.teleport(targetLocation);
+      if (display != null) {
+        display.teleport(targetLocation.clone().add(0.0, DISPLAY_HEIGHT, 0.0));
+      }
+    }
     currentTalents.forEach(talent -> talent.tick(this));
 
     BlockbenchModelInstance animator = modelInstance;
-    if (animator != null) {
-      animator.tick(ANIMATION_TICK_SECONDS);
+    if (animator != null && cosmetic && detailLevel.isAnimated()) {
+      animator.tick(ANIMATION_TICK_SECONDS * cosmeticSteps);
+    }
+    if (cosmetic) {
+      cosmeticSteps = 0;
     }
 
     handleHealing();
@@ -269,10 +315,43 @@ public final class ActivePetImpl implements ActivePet {
     }
   }
 
-  private Location computeFollowLocation(ArmorStand stand) {
+  /**
+   * Stretch client-side interpolation over the pet ticks between two cosmetic updates, so display
+   * movement and poses stay continuous at lower detail instead of finishing early and stalling.
+   */
+  private void setCosmeticInterval(int interval) {
+    if (interval == cosmeticInterval) {
+      return;
+    }
+    cosmeticInterval = interval;
+    int ticks = service.tickScheduler().periodTicks() * interval;
+    if (display != null) {
+      display.setTeleportDuration(ticks);
+      display.setInterpolationDuration(ticks);
+    }
+    if (poseTarget instanceof DisplayPoseTarget target) {
+      target.setInterpolationTicks(ticks);
+    }
+  }
+
+  /** Level of detail from the nearest player currently tracking the pet. */
+  private DetailLevel detailLevel(ArmorStand stand) {
+    Location location = stand.getLocation();
+    double nearest = Double.POSITIVE_INFINITY;
+    for (Player viewer : stand.getTrackedBy()) {
+      if (viewer.getWorld().equals(location.getWorld())) {
+        nearest = Math.min(nearest, viewer.getLocation().distanceSquared(location));
+      }
+    }
+    PluginConfig config = service.getConfigValues();
+    return DetailLevel.of(nearest, config.getLodNearDistance(), config.getLodFarDistance());
+  }
+
+  /** Follow position after {@code steps} pet ticks of orbiting and smoothing. */
+  private Location computeFollowLocation(ArmorStand stand, int steps) {
     Location ownerLocation = owner.getLocation();
     Location desired = ownerLocation.clone();
-    orbitAngle = (orbitAngle + ORBIT_INCREMENT) % (Math.PI * 2);
+    orbitAngle = (orbitAngle + ORBIT_INCREMENT * steps) % (Math.PI * 2);
     double height = (owner.isFlying() || flying) ? FOLLOW_HEIGHT_AIR : FOLLOW_HEIGHT_GROUND;
     desired.add(Math.cos(orbitAngle) * FOLLOW_RADIUS, height, Math.sin(orbitAngle) * FOLLOW_RADIUS);
 
@@ -287,7 +366,7 @@ public final class ActivePetImpl implements ActivePet {
       // Prevent wild teleports if the owner moved far away.
       current = desired.clone();
     } else {
-      Vector step = delta.multiply(FOLLOW_SMOOTHING);
+      Vector step = delta.multiply(1.0 - Math.pow(1.0 - FOLLOW_SMOOTHING, steps));
       current.add(step);
     }
     current.setYaw(ownerLocation.getYaw());
@@ -308,18 +387,7 @@ public final class ActivePetImpl implements ActivePet {
       attackCooldown--;
       return;
     }
-    World world = stand.getWorld();
-    double closestDistance = Double.MAX_VALUE;
-    Monster target = null;
-    for (Entity entity : world.getNearbyEntities(stand.getLocation(), 8.0, 6.0, 8.0)) {
-      if (entity instanceof Monster monster && monster.isValid() && !monster.isDead()) {
-        double distance = monster.getLocation().distanceSquared(stand.getLocation());
-        if (distance < closestDistance) {
-          closestDistance = distance;
-          target = monster;
-        }
-      }
-    }
+    Monster target = service.monsterIndex().nearest(stand.getLocation(), 8.0, 6.0);
     if (target != null) {
       double finalDamage = statValue(StatType.ATTACK) * 0.75 + statValue(StatType.MAGIC) * 0.25;
       dealDamage(target, finalDamage);
@@ -351,12 +419,41 @@ public final class ActivePetImpl implements ActivePet {
           .warning(() -> "No Blockbench model registered with id '" + modelId + "'");
       return;
     }
-    BlockbenchModelInstance instance =
-        service.blockbench().createInstance(modelId, new ArmorStandPoseTarget(stand));
-    this.modelInstance = instance;
+    double epsilon = service.getConfigValues().getPoseEpsilonDegrees();
+    CachingPoseTarget target =
+        display != null
+            ? new DisplayPoseTarget(
+                Map.of(BlockbenchBoneTarget.HEAD, display),
+                service.tickScheduler().periodTicks(),
+                epsilon)
+            : new ArmorStandPoseTarget(stand, epsilon);
+    try {
+      this.modelInstance = service.blockbench().createInstance(modelId, target);
+    } catch (IllegalStateException ex) {
+      // The model compiles on first use; a broken file leaves the pet without one.
+      service.getPlugin().getLogger().log(Level.WARNING, ex.getMessage(), ex.getCause());
+      return;
+    }
+    this.poseTarget = target;
     ensureIdleAnimation();
   }
 
+  /** Item display that shows the model and is moved with client-side interpolation. */
+  private ItemDisplay spawnDisplay(Location location) {
+    int period = service.tickScheduler().periodTicks();
+    return location
+        .getWorld()
+        .spawn(
+            location.clone().add(0.0, DISPLAY_HEIGHT, 0.0),
+            ItemDisplay.class,
+            entity -> {
+              entity.setItemStack(new ItemStack(Material.END_ROD));
+              entity.setPersistent(false);
+              entity.setTeleportDuration(period);
+              entity.setInterpolationDuration(period);
+            });
+  }
+
   private void ensureIdleAnimation() {
     if (modelInstance == null) {
       return;
@@ -0,0 +1,52 @@
+package com.github.cybellereaper.wizpets.core.pet;
+
+/**
+ * How much cosmetic work a pet does, picked from the distance to the nearest player viewing it.
+ *
+ * <p>Only follow movement and animation are thinned out; talents, healing and combat run on every
+ * pet tick regardless of level.
+ */
+public enum DetailLevel {
+  /** A viewer is close by: move and animate on every pet tick. */
+  FULL(1, true),
+  /** Viewers are at mid range: move and animate every other pet tick. */
+  REDUCED(2, true),
+  /** Viewers are far away: move and animate every fourth pet tick. */
+  MINIMAL(4, true),
+  /** Nobody is watching: keep up with the owner every fourth pet tick and pause animation. */
+  HIDDEN(4, false);
+
+  private final int interval;
+  private final boolean animated;
+
+  DetailLevel(int interval, boolean animated) {
+    this.interval = interval;
+    this.animated = animated;
+  }
+
+  /** Pet ticks between two cosmetic updates. */
+  public int interval() {
+    return interval;
+  }
+
+  public boolean isAnimated() {
+    return animated;
+  }
+
+  /**
+   * @param nearestDistanceSquared squared distance to the closest viewer, or {@link
+   *     Double#POSITIVE_INFINITY} when there is none
+   */
+  static DetailLevel of(double nearestDistanceSquared, double nearDistance, double farDistance) {
+    if (nearestDistanceSquared == Double.POSITIVE_INFINITY) {
+      return HIDDEN;
+    }
+    if (nearestDistanceSquared <= nearDistance * nearDistance) {
+      return FULL;
+    }
+    if (nearestDistanceSquared <= farDistance * farDistance) {
+      return REDUCED;
+    }
+    return MINIMAL;
+  }
+}
@@ -0,0 +1,80 @@
+package com.github.cybellereaper.wizpets.core.pet;
+
+import com.github.cybellereaper.wizpets.api.ActivePet;
+import com.github.cybellereaper.wizpets.api.PetRecord;
+import com.github.cybellereaper.wizpets.api.StatSet;
+import com.github.cybellereaper.wizpets.api.StatType;
+import com.github.cybellereaper.wizpets.api.talent.PetTalent;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Caches the final stat values of a pet, indexed by {@link StatType#ordinal()}.
+ *
+ * <p>Values are recomputed lazily after {@link #reset} or {@link #invalidate()}. Talents that read
+ * stats from inside {@link PetTalent#modifyStat} while a recompute is running receive an uncached
+ * value instead of a partially filled cache.
+ */
+final class PetStatCache {
+  private static final StatType[] TYPES = StatType.values();
+
+  private final StatSet baseStats;
+  private final double[] values = new double[TYPES.length];
+  private PetRecord record;
+  private List<PetTalent> talents;
+  private boolean dirty = true;
+  private boolean computing;
+
+  PetStatCache(StatSet baseStats, PetRecord record, List<PetTalent> talents) {
+    this.baseStats = Objects.requireNonNull(baseStats, "baseStats");
+    reset(record, talents);
+  }
+
+  void reset(PetRecord record, List<PetTalent> talents) {
+    this.record = Objects.requireNonNull(record, "record");
+    this.talents = Objects.requireNonNull(talents, "talents");
+    dirty = true;
+  }
+
+  void invalidate() {
+    dirty = true;
+  }
+
+  boolean isDirty() {
+    return dirty;
+  }
+
+  double value(ActivePet pet, StatType type) {
+    if (computing) {
+      return compute(pet, type);
+    }
+    if (dirty) {
+      recompute(pet);
+    }
+    return values[type.ordinal()];
+  }
+
+  /** Compute a stat from scratch without touching the cache. */
+  double compute(ActivePet pet, StatType type) {
+    double base = baseStats.value(type);
+    double iv = record.ivs().value(type);
+    double evContribution = record.evs().value(type) / 4.0;
+    double result = base + iv + evContribution;
+    for (PetTalent talent : talents) {
+      result = talent.modifyStat(pet, type, result);
+    }
+    return result;
+  }
+
+  private void recompute(ActivePet pet) {
+    computing = true;
+    try {
+      dirty = false;
+      for (StatType type : TYPES) {
+        values[type.ordinal()] = compute(pet, type);
+      }
+    } finally {
+      computing = false;
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package com.github.cybellereaper.wizpets.core.service;
+
+import com.github.cybellereaper.wizpets.core.persistence.DatabasePetPersistence;
+import com.github.cybellereaper.wizpets.core.persistence.WriteBehindPetPersistence;
+import com.github.cybellereaper.wizpets.core.service.PetTalentResolver.ResolvedTalents;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import lombok.NonNull;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Loads and resolves stored pets during pre-login so joins can summon without touching storage.
+ *
+ * <p>Only backends that can be read by player id take part; records kept in a player's data
+ * container are not available until the player entity exists. Entries are taken on join or
+ * discarded on quit; those of logins refused after pre-login, which fire neither event, expire
+ * after a minute.
+ */
+@Singleton
+public final class PetPreloader implements Listener {
+  private static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(60L);
+
+  private final JavaPlugin plugin;
+  private final WriteBehindPetPersistence storage;
+  private final PetTalentResolver talentResolver;
+  private final Map<UUID, Preloaded> ready = new ConcurrentHashMap<>();
+
+  @Inject
+  public PetPreloader(
+      @NonNull JavaPlugin plugin,
+      @NonNull WriteBehindPetPersistence storage,
+      @NonNull PetTalentResolver talentResolver) {
+    this.plugin = plugin;
+    this.storage = storage;
+    this.talentResolver = talentResolver;
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+    if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+      return;
+    }
+    preload(event.getUniqueId());
+  }
+
+  /** Resolve the stored pet for a player id on the calling thread. */
+  public void preload(@NonNull UUID playerId) {
+    if (!(storage.delegate() instanceof DatabasePetPersistence database)) {
+      return;
+    }
+    long now = System.nanoTime();
+    ready.values().removeIf(entry -> entry.expired(now));
+    try {
+      database
+          .load(playerId)
+          .flatMap(talentResolver::resolveExisting)
+          .ifPresent(resolved -> ready.put(playerId, new Preloaded(resolved, now)));
+    } catch (RuntimeException ex) {
+      plugin.getLogger().log(Level.WARNING, "Failed to preload pet for " + playerId, ex);
+    }
+  }
+
+  /** Remove and return the preloaded pet for a player, if one is ready. */
+  public Optional<ResolvedTalents> take(@NonNull UUID playerId) {
+    long now = System.nanoTime();
+    return Optional.ofNullable(ready.remove(playerId))
+        .filter(entry -> !entry.expired(now))
+        .map(Preloaded::resolved);
+  }
+
+  public void discard(@NonNull UUID playerId) {
+    ready.remove(playerId);
+  }
+
+  public int size() {
+    return ready.size();
+  }
+
+  public void clear() {
+    ready.clear();
+  }
+
+  private record Preloaded(ResolvedTalents resolved, long loadedAt) {
+    boolean expired(long now) {
+      return now - loadedAt > TTL_NANOS;
+    }
+  }
+}
@@ -12,7 +12,12 @@ import com.github.cybellereaper.wizpets.api.persistence.PetPersistence;
 import com.github.cybellereaper.wizpets.api.talent.TalentFactory;
 import com.github.cybellereaper.wizpets.api.talent.TalentRegistryView;
 import com.github.cybellereaper.wizpets.api.timeline.PetLifecycleListener;
+import com.github.cybellereaper.wizpets.core.combat.MonsterSpatialIndex;
 import com.github.cybellereaper.wizpets.core.config.PluginConfig;
+import com.github.cybellereaper.wizpets.core.model.blockbench.BlockbenchModelEngineImpl;
+import com.github.cybellereaper.wizpets.core.model.blockbench.CachingPoseTarget;
+import com.github.cybellereaper.wizpets.core.persistence.DatabasePetPersistence;
+import com.github.cybellereaper.wizpets.core.persistence.WriteBehindPetPersistence;
 import com.github.cybellereaper.wizpets.core.pet.ActivePetImpl;
 import com.github.cybellereaper.wizpets.core.service.BreedingEngine.BreedOutcome;
 import com.github.cybellereaper.wizpets.core.service.PetTalentResolver.ResolvedTalents;
@@ -24,18 +29,24 @@ import io.vavr.control.Option;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
 import java.util.random.RandomGenerator.SplittableGenerator;
 import lombok.NonNull;
 import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -49,11 +60,15 @@ import org.jooq.lambda.Seq;
 public final class PetServiceImpl implements WizPetsApi, Listener, AutoCloseable {
   private final JavaPlugin plugin;
   private final PluginConfig config;
-  private final PetPersistence storage;
+  private final WriteBehindPetPersistence storage;
   private final TalentRegistryImpl registry;
   private final PetTalentResolver talentResolver;
   private final BreedingEngine breedingEngine;
   private final BlockbenchModelEngine blockbench;
+  private final PetTickScheduler tickScheduler;
+  private final MonsterSpatialIndex monsterIndex;
+  private final PetPreloader preloader;
+  private final PetSummonQueue summonQueue;
   private final Set<PetLifecycleListener> listeners = new CopyOnWriteArraySet<>();
   private final Map<UUID, ActivePetImpl> activePets = new ConcurrentHashMap<>();
   private final SplittableGenerator random;
@@ -63,11 +78,15 @@ public final class PetServiceImpl implements WizPetsApi, Listener, AutoCloseable
   public PetServiceImpl(
       @NonNull JavaPlugin plugin,
       @NonNull PluginConfig config,
-      @NonNull PetPersistence storage,
+      @NonNull WriteBehindPetPersistence storage,
       @NonNull BlockbenchModelEngine blockbench,
       @NonNull TalentRegistryImpl registry,
       @NonNull PetTalentResolver talentResolver,
       @NonNull BreedingEngine breedingEngine,
+      @NonNull PetTickScheduler tickScheduler,
+      @NonNull MonsterSpatialIndex monsterIndex,
+      @NonNull PetPreloader preloader,
+      @NonNull PetSummonQueue summonQueue,
       @NonNull SplittableGenerator random,
       @NonNull ExecutorService executor) {
     this.plugin = plugin;
@@ -77,6 +96,10 @@ public final class PetServiceImpl implements WizPetsApi, Listener, AutoCloseable
     this.talentResolver = talentResolver;
     this.breedingEngine = breedingEngine;
     this.blockbench = blockbench;
+    this.tickScheduler = tickScheduler;
+    this.monsterIndex = monsterIndex;
+    this.preloader = preloader;
+    this.summonQueue = summonQueue;
     this.random = random;
     this.executor = executor;
     registerDefaults();
@@ -94,6 +117,18 @@ public final class PetServiceImpl implements WizPetsApi, Listener, AutoCloseable
     return config;
   }
 
+  public PetTickScheduler tickScheduler() {
+    return tickScheduler;
+  }
+
+  public MonsterSpatialIndex monsterIndex() {
+    return monsterIndex;
+  }
+
+  public PetPreloader preloader() {
+    return preloader;
+  }
+
   @Override
   public PetPersistence persistence() {
     return storage;
@@ -121,7 +156,11 @@ public final class PetServiceImpl implements WizPetsApi, Listener, AutoCloseable
         .peek(pet -> pet.remove(true));
 
     PetRecord baseline = storage.loadOrCreate(player, () -> createNewRecord(player));
-    ResolvedTalents resolved = talentResolver.resolve(baseline);
+    ResolvedTalents resolved =
+        preloader
+            .take(player.getUniqueId())
+            .filter(preloaded -> preloaded.record().equals(baseline))
+            .orElseGet(() -> talentResolver.resolve(baseline));
     ActivePetImpl pet = new ActivePetImpl(this, player, resolved.record(), resolved.talents());
     pet.spawn();
     activePets.put(player.getUniqueId(), pet);
@@ -171,12 +210,14 @@ public final class PetServiceImpl implements WizPetsApi, Listener, AutoCloseable
   @Override
   public void registerTalent(TalentFactory factory, boolean replace) {
     registry.register(factory, replace);
+    preloader.clear();
     refreshActivePets();
   }
 
   @Override
   public void unregisterTalent(String id) {
     registry.unregister(id);
+    preloader.clear();
     refreshActivePets();
   }
 
@@ -242,10 +283,97 @@ public final class PetServiceImpl implements WizPetsApi, Listener, AutoCloseable
     return stopped;
   }
 
+  @Override
+  public OptionalInt migrateStoredPets() {
+    if (!(storage.delegate() instanceof DatabasePetPersistence database)) {
+      return OptionalInt.empty();
+    }
+    Map<UUID, Supplier<Optional<PetRecord>>> reads = new LinkedHashMap<>();
+    for (Player player : plugin.getServer().getOnlinePlayers()) {
+      storage.flush(player);
+      Optional<PetRecord> live = database.loadContainer(player.getPersistentDataContainer());
+      reads.put(player.getUniqueId(), () -> live);
+    }
+    for (OfflinePlayer player : plugin.getServer().getOfflinePlayers()) {
+      reads.putIfAbsent(
+          player.getUniqueId(), () -> database.loadContainer(player.getPersistentDataContainer()));
+    }
+    executor.execute(() -> migrateAll(database, reads));
+    return OptionalInt.of(reads.size());
+  }
+
+  /**
+   * Copy each player's data-container record into the database. Online players' containers were
+   * read on the server thread beforehand; offline players are read through their data view here.
+   */
+  private void migrateAll(
+      DatabasePetPersistence database, Map<UUID, Supplier<Optional<PetRecord>>> reads) {
+    int migrated = 0;
+    int skipped = 0;
+    int failed = 0;
+    for (Map.Entry<UUID, Supplier<Optional<PetRecord>>> entry : reads.entrySet()) {
+      UUID id = entry.getKey();
+      try {
+        Optional<PetRecord> legacy = entry.getValue().get();
+        if (legacy.isPresent() && database.migrate(id, legacy.get())) {
+          migrated++;
+        } else {
+          skipped++;
+        }
+      } catch (RuntimeException ex) {
+        failed++;
+        plugin.getLogger().log(Level.WARNING, "Failed to migrate the pet of " + id, ex);
+      }
+    }
+    plugin
+        .getLogger()
+        .info(
+            "Pet migration finished: "
+                + migrated
+                + " copied, "
+                + skipped
+                + " skipped, "
+                + failed
+                + " failed");
+  }
+
   public void restoreOnlinePlayers() {
     Seq.seq(Bukkit.getOnlinePlayers())
         .filter(player -> config.isAutoSummon())
-        .forEach(player -> summon(player, SummonReason.RESTORE));
+        .forEach(player -> summonWhenLoaded(player, SummonReason.RESTORE));
+  }
+
+  /**
+   * Queue a summon once the player's stored pet is cached, so the summon does not query the
+   * database on the server thread. A failed read is logged and the summon dropped.
+   */
+  private void summonWhenLoaded(Player player, SummonReason reason) {
+    Runnable enqueue =
+        () ->
+            summonQueue.enqueue(
+                player.getUniqueId(),
+                () -> {
+                  if (player.isOnline()) {
+                    summon(player, reason);
+                  }
+                });
+    if (storage.delegate() instanceof DatabasePetPersistence database
+        && !database.isResident(player.getUniqueId())) {
+      database
+          .prefetch(player.getUniqueId())
+          .whenComplete(
+              (record, error) -> {
+                if (error != null) {
+                  plugin
+                      .getLogger()
+                      .log(Level.WARNING, "Failed to load the pet of " + player.getName(), error);
+                  return;
+                }
+                plugin.getServer().getScheduler().runTask(plugin, enqueue);
+              });
+    } else {
+      enqueue.run();
+    }
   }
 
   public void shutdown() {
@@ -260,6 +388,11 @@ public final class PetServiceImpl implements WizPetsApi, Listener, AutoCloseable
               listener -> listener.onDismissed(owner, record, DismissReason.PLUGIN_DISABLE));
         });
     activePets.clear();
+    summonQueue.close();
+    preloader.clear();
+    storage.flushAll();
+    tickScheduler.close();
+    monsterIndex.clear();
   }
 
   public void unregister() {
@@ -295,6 +428,40 @@ public final class PetServiceImpl implements WizPetsApi, Listener, AutoCloseable
 
   @Override
   public List<String> debugLines(Player player) {
+    List<String> lines = new ArrayList<>(recordDebugLines(player));
+    lines.add("§7Tick buckets: §f" + buildTickSummary());
+    lines.add(
+        "§7Summon queue: §f" + summonQueue.size() + "  §7preloaded: §f" + preloader.size());
+    ActivePetImpl active = activePets.get(player.getUniqueId());
+    if (active != null) {
+      lines.add("§7Detail level: §f" + active.detailLevel());
+    }
+    long posesApplied = 0;
+    long posesSkipped = 0;
+    for (ActivePetImpl pet : activePets.values()) {
+      CachingPoseTarget target = pet.poseTarget();
+      if (target != null) {
+        posesApplied += target.appliedUpdates();
+        posesSkipped += target.skippedUpdates();
+      }
+    }
+    lines.add("§7Pose writes: §f" + posesApplied + "  §7skipped: §f" + posesSkipped);
+    if (blockbench instanceof BlockbenchModelEngineImpl engine) {
+      lines.add(
+          "§7Shared poses: §f"
+              + engine.sharedPoseEvaluations()
+              + "  §7saved: §f"
+              + engine.sharedPoseEvaluationsSaved());
+    }
+    lines.add(
+        "§7Saves requested: §f"
+            + storage.savesRequested()
+            + "  §7written: §f"
+            + storage.savesWritten());
+    return List.copyOf(lines);
+  }
+
+  private List<String> recordDebugLines(Player player) {
     return storage
         .load(player)
         .map(
@@ -370,7 +537,12 @@ public final class PetServiceImpl implements WizPetsApi, Listener, AutoCloseable
     List<String> updated = new ArrayList<>(baseline.talentIds());
     String current = updated.get(slotIndex);
     SplittableGenerator branch = random.split();
-    String replacement = rollReplacement(current, branch);
+    String replacement =
+        registry
+            .rollDistinct(branch, 1, Set.of(current))
+            .stream()
+            .findFirst()
+            .orElse(null);
     if (replacement == null) {
       player.sendMessage("§cUnable to find a different talent to roll.");
       return false;
@@ -395,6 +567,16 @@ public final class PetServiceImpl implements WizPetsApi, Listener, AutoCloseable
         .toString(", ");
   }
 
+  private String buildTickSummary() {
+    return Seq.seq(tickScheduler.timings())
+        .map(
+            timing ->
+                timing.pets()
+                    + "@"
+                    + String.format(Locale.US, "%.2fms", timing.averageNanos() / 1_000_000.0))
+        .toString(" ");
+  }
+
   private ResolvedTalents persistAndSync(Player player, PetRecord pending) {
     ResolvedTalents resolved = talentResolver.resolve(pending);
     storage.save(player, resolved.record());
@@ -410,24 +592,6 @@ public final class PetServiceImpl implements WizPetsApi, Listener, AutoCloseable
     PetEditorFormatter.summaryLines(record, registry).forEach(player::sendMessage);
   }
 
-  private String rollReplacement(String current, SplittableGenerator branch) {
-    String candidate = null;
-    for (int attempt = 0; attempt < 6; attempt++) {
-      List<String> rolled = registry.roll(branch.split(), 1);
-      if (rolled.isEmpty()) {
-        continue;
-      }
-      candidate = rolled.getFirst();
-      if (!candidate.equals(current)) {
-        break;
-      }
-    }
-    if (candidate == null || candidate.equals(current)) {
-      return registry.size() > 1 ? null : current;
-    }
-    return candidate;
-  }
-
   private PetRecord createNewRecord(Player player) {
     SplittableGenerator branch = random.split();
     PetRecord record =
@@ -465,14 +629,16 @@ public final class PetServiceImpl implements WizPetsApi, Listener, AutoCloseable
   @EventHandler
   public void onPlayerJoin(PlayerJoinEvent event) {
     if (config.isAutoSummon()) {
-      Bukkit.getScheduler()
-          .runTask(plugin, () -> summon(event.getPlayer(), SummonReason.AUTO_SUMMON));
+      summonWhenLoaded(event.getPlayer(), SummonReason.AUTO_SUMMON);
     }
   }
 
   @EventHandler
   public void onPlayerQuit(PlayerQuitEvent event) {
+    summonQueue.cancel(event.getPlayer().getUniqueId());
+    preloader.discard(event.getPlayer().getUniqueId());
     dismiss(event.getPlayer(), DismissReason.PLAYER_QUIT, false);
+    storage.flush(event.getPlayer());
   }
 
   @Override
@@ -486,5 +652,6 @@ public final class PetServiceImpl implements WizPetsApi, Listener, AutoCloseable
       Thread.currentThread().interrupt();
       executor.shutdownNow();
     }
+    storage.close();
   }
 }
@@ -0,0 +1,84 @@
+package com.github.cybellereaper.wizpets.core.service;
+
+import com.github.cybellereaper.wizpets.core.config.PluginConfig;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+import lombok.NonNull;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Main-thread queue that runs at most a fixed number of summons per tick.
+ *
+ * <p>Each player holds at most one queued summon; enqueuing again replaces the callback but keeps
+ * the player's place. The drain task only runs while the queue is non-empty.
+ */
+@Singleton
+public final class PetSummonQueue implements AutoCloseable {
+  private final JavaPlugin plugin;
+  private final int perTick;
+  private final Map<UUID, Runnable> queue = new LinkedHashMap<>();
+  private BukkitTask task;
+
+  @Inject
+  public PetSummonQueue(@NonNull JavaPlugin plugin, @NonNull PluginConfig config) {
+    this(plugin, config.getSummonsPerTick());
+  }
+
+  PetSummonQueue(JavaPlugin plugin, int perTick) {
+    if (perTick <= 0) {
+      throw new IllegalArgumentException("perTick must be positive");
+    }
+    this.plugin = plugin;
+    this.perTick = perTick;
+  }
+
+  public void enqueue(@NonNull UUID playerId, @NonNull Runnable summon) {
+    queue.put(playerId, summon);
+    if (task == null) {
+      task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+  }
+
+  public boolean cancel(@NonNull UUID playerId) {
+    return queue.remove(playerId) != null;
+  }
+
+  public int size() {
+    return queue.size();
+  }
+
+  void tick() {
+    for (int i = 0; i < perTick && !queue.isEmpty(); i++) {
+      Iterator<Runnable> head = queue.values().iterator();
+      Runnable summon = head.next();
+      head.remove();
+      try {
+        summon.run();
+      } catch (RuntimeException ex) {
+        plugin.getLogger().log(Level.WARNING, "Queued pet summon failed", ex);
+      }
+    }
+    if (queue.isEmpty()) {
+      stop();
+    }
+  }
+
+  private void stop() {
+    if (task != null) {
+      task.cancel();
+      task = null;
+    }
+  }
+
+  @Override
+  public void close() {
+    queue.clear();
+    stop();
+  }
+}
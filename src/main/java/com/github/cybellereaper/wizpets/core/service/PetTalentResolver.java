@@ -6,7 +6,9 @@ import com.github.cybellereaper.wizpets.core.talent.TalentRegistryImpl;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
 import java.util.random.RandomGenerator.SplittableGenerator;
 
@@ -25,21 +27,61 @@ public final class PetTalentResolver {
     this.executor = executor;
   }
 
+  /**
+   * Resolve on the calling thread, rolling fresh talents when any stored id is unknown.
+   *
+   * <p>Talents are instantiated once for valid records; only a repaired record is instantiated a
+   * second time.
+   */
   public ResolvedTalents resolve(PetRecord source) {
-    PetRecord sanitized = ensureTalentIds(source);
-    List<PetTalent> talents =
-        CompletableFuture.supplyAsync(() -> registry.instantiate(sanitized.talentIds()), executor)
-            .join();
-    return new ResolvedTalents(sanitized, List.copyOf(talents));
+    return resolveExisting(source)
+        .orElseGet(
+            () -> {
+              PetRecord repaired = repair(source);
+              return new ResolvedTalents(repaired, registry.instantiate(repaired.talentIds()));
+            });
   }
 
-  private PetRecord ensureTalentIds(PetRecord record) {
-    List<PetTalent> preview = registry.instantiate(record.talentIds());
-    if (preview.size() != record.talentIds().size() || preview.isEmpty()) {
-      SplittableGenerator branch = random.split();
-      return record.withTalentIds(registry.roll(branch));
+  /**
+   * Resolve with talent instantiation on the executor.
+   *
+   * <p>Ids are validated and, if needed, re-rolled on the calling thread, which must own the shared
+   * random generator.
+   */
+  public CompletionStage<ResolvedTalents> resolveAsync(PetRecord source) {
+    PetRecord sanitized = hasKnownTalents(source) ? source : repair(source);
+    return CompletableFuture.supplyAsync(
+        () -> new ResolvedTalents(sanitized, registry.instantiate(sanitized.talentIds())),
+        executor);
+  }
+
+  /**
+   * Instantiate the record's talents without repairing them, so it is safe off the server thread.
+   *
+   * <p>Returns empty when any id is unknown, leaving the repair to {@link #resolve}.
+   */
+  public Optional<ResolvedTalents> resolveExisting(PetRecord record) {
+    List<PetTalent> talents = registry.instantiate(record.talentIds());
+    if (talents.isEmpty() || talents.size() != record.talentIds().size()) {
+      return Optional.empty();
+    }
+    return Optional.of(new ResolvedTalents(record, talents));
+  }
+
+  private boolean hasKnownTalents(PetRecord record) {
+    if (record.talentIds().isEmpty()) {
+      return false;
+    }
+    for (String id : record.talentIds()) {
+      if (registry.get(id) == null) {
+        return false;
+      }
     }
-    return record;
+    return true;
+  }
+
+  private PetRecord repair(PetRecord record) {
+    return record.withTalentIds(registry.roll(random.split()));
   }
 
   public record ResolvedTalents(PetRecord record, List<PetTalent> talents) {}
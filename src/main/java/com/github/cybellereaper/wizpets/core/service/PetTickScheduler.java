@@ -0,0 +1,210 @@
+package com.github.cybellereaper.wizpets.core.service;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.logging.Level;
+import lombok.NonNull;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Drives every active pet from a single repeating task.
+ *
+ * <p>Pets are spread across {@link #DEFAULT_PERIOD_TICKS} buckets and one bucket is processed per
+ * server tick, so each pet still ticks once per period while the per-tick cost stays flat. Handles
+ * returned by {@link #schedule(Runnable)} are removed in constant time by swapping with the last
+ * entry of their bucket.
+ */
+@Singleton
+public final class PetTickScheduler implements AutoCloseable {
+  public static final int DEFAULT_PERIOD_TICKS = 10;
+  private static final double TIMING_SMOOTHING = 0.1D;
+
+  private final JavaPlugin plugin;
+  private final Bucket[] buckets;
+  private BukkitTask task;
+  private int cursor;
+  private long generation;
+
+  @Inject
+  public PetTickScheduler(@NonNull JavaPlugin plugin) {
+    this(plugin, DEFAULT_PERIOD_TICKS);
+  }
+
+  PetTickScheduler(@NonNull JavaPlugin plugin, int periodTicks) {
+    if (periodTicks <= 0) {
+      throw new IllegalArgumentException("periodTicks must be positive");
+    }
+    this.plugin = plugin;
+    this.buckets = new Bucket[periodTicks];
+    for (int i = 0; i < periodTicks; i++) {
+      buckets[i] = new Bucket();
+    }
+  }
+
+  /** Number of server ticks between two invocations of the same scheduled callback. */
+  public int periodTicks() {
+    return buckets.length;
+  }
+
+  /** Number of callbacks currently scheduled across every bucket. */
+  public int size() {
+    int total = 0;
+    for (Bucket bucket : buckets) {
+      total += bucket.size;
+    }
+    return total;
+  }
+
+  /**
+   * Register a callback in the least loaded bucket. The shared task is started lazily on the first
+   * registration.
+   */
+  public Handle schedule(Runnable callback) {
+    Objects.requireNonNull(callback, "callback");
+    Bucket target = buckets[0];
+    for (Bucket bucket : buckets) {
+      if (bucket.size < target.size) {
+        target = bucket;
+      }
+    }
+    Handle handle = new Handle(callback);
+    target.add(handle);
+    ensureStarted();
+    return handle;
+  }
+
+  /** Snapshot of the timings recorded for each bucket, in bucket order. */
+  public List<BucketTiming> timings() {
+    List<BucketTiming> timings = new ArrayList<>(buckets.length);
+    for (int i = 0; i < buckets.length; i++) {
+      Bucket bucket = buckets[i];
+      timings.add(
+          new BucketTiming(
+              i, bucket.size, bucket.lastNanos, (long) bucket.averageNanos, bucket.maxNanos));
+    }
+    return List.copyOf(timings);
+  }
+
+  /** Process the bucket that is due on this server tick. */
+  void tick() {
+    Bucket bucket = buckets[cursor];
+    cursor = (cursor + 1) % buckets.length;
+    long pass = ++generation;
+    long start = System.nanoTime();
+    // Walk backwards so that a callback removing itself only swaps in an already visited entry.
+    for (int i = bucket.size - 1; i >= 0; i--) {
+      if (i >= bucket.size) {
+        continue;
+      }
+      Handle handle = bucket.entries[i];
+      if (handle.lastPass == pass) {
+        continue;
+      }
+      handle.lastPass = pass;
+      try {
+        handle.callback.run();
+      } catch (RuntimeException ex) {
+        plugin.getLogger().log(Level.WARNING, "Pet tick failed", ex);
+      }
+    }
+    bucket.record(System.nanoTime() - start);
+  }
+
+  private void ensureStarted() {
+    if (task == null) {
+      task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+  }
+
+  @Override
+  public void close() {
+    if (task != null) {
+      task.cancel();
+      task = null;
+    }
+    for (Bucket bucket : buckets) {
+      bucket.clear();
+    }
+    cursor = 0;
+  }
+
+  /** Timing statistics for one bucket, expressed in nanoseconds. */
+  public record BucketTiming(
+      int bucket, int pets, long lastNanos, long averageNanos, long maxNanos) {}
+
+  /** Registration token used to cancel a scheduled callback. */
+  public static final class Handle {
+    private final Runnable callback;
+    private Bucket bucket;
+    private int index = -1;
+    private long lastPass;
+
+    private Handle(Runnable callback) {
+      this.callback = callback;
+    }
+
+    public boolean isActive() {
+      return bucket != null;
+    }
+
+    public void cancel() {
+      if (bucket != null) {
+        bucket.remove(this);
+      }
+    }
+  }
+
+  private static final class Bucket {
+    private Handle[] entries = new Handle[8];
+    private int size;
+    private long lastNanos;
+    private double averageNanos;
+    private long maxNanos;
+
+    void add(Handle handle) {
+      if (size == entries.length) {
+        entries = Arrays.copyOf(entries, size * 2);
+      }
+      entries[size] = handle;
+      handle.bucket = this;
+      handle.index = size;
+      size++;
+    }
+
+    void remove(Handle handle) {
+      int index = handle.index;
+      int last = --size;
+      if (index != last) {
+        Handle moved = entries[last];
+        entries[index] = moved;
+        moved.index = index;
+      }
+      entries[last] = null;
+      handle.bucket = null;
+      handle.index = -1;
+    }
+
+    void record(long nanos) {
+      lastNanos = nanos;
+      averageNanos =
+          averageNanos == 0.0
+              ? nanos
+              : averageNanos + (nanos - averageNanos) * TIMING_SMOOTHING;
+      maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    void clear() {
+      for (int i = 0; i < size; i++) {
+        entries[i].bucket = null;
+        entries[i].index = -1;
+        entries[i] = null;
+      }
+      size = 0;
+    }
+  }
+}
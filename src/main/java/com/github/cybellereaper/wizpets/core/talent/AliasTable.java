@@ -0,0 +1,123 @@
+package com.github.cybellereaper.wizpets.core.talent;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Vose alias table for O(1) weighted sampling of indices.
+ *
+ * <p>When every weight is zero the table samples nothing, like an empty one. Sampling with an
+ * exclusion mask uses rejection against the table and falls back to a linear scan once rejections
+ * pile up, so the result is exact either way.
+ */
+final class AliasTable {
+  private static final int MAX_REJECTIONS = 16;
+
+  private final double[] weights;
+  private final double[] probability;
+  private final int[] alias;
+
+  AliasTable(double[] weights) {
+    this.weights = weights.clone();
+    double total = 0.0;
+    for (double weight : weights) {
+      if (!(weight >= 0.0) || Double.isInfinite(weight)) {
+        throw new IllegalArgumentException("Invalid weight " + weight);
+      }
+      total += weight;
+    }
+    int n = total > 0.0 ? weights.length : 0;
+    this.probability = new double[n];
+    this.alias = new int[n];
+    if (n == 0) {
+      return;
+    }
+
+    double[] scaled = new double[n];
+    int[] small = new int[n];
+    int[] large = new int[n];
+    int smallCount = 0;
+    int largeCount = 0;
+    for (int i = 0; i < n; i++) {
+      scaled[i] = this.weights[i] * n / total;
+      if (scaled[i] < 1.0) {
+        small[smallCount++] = i;
+      } else {
+        large[largeCount++] = i;
+      }
+    }
+    while (smallCount > 0 && largeCount > 0) {
+      int less = small[--smallCount];
+      int more = large[--largeCount];
+      probability[less] = scaled[less];
+      alias[less] = more;
+      scaled[more] = scaled[more] + scaled[less] - 1.0;
+      if (scaled[more] < 1.0) {
+        small[smallCount++] = more;
+      } else {
+        large[largeCount++] = more;
+      }
+    }
+    while (largeCount > 0) {
+      probability[large[--largeCount]] = 1.0;
+    }
+    while (smallCount > 0) {
+      probability[small[--smallCount]] = 1.0;
+    }
+  }
+
+  int size() {
+    return probability.length;
+  }
+
+  /** Draw an index in proportion to its weight, or -1 when no index has weight. */
+  int sample(RandomGenerator random) {
+    int n = probability.length;
+    if (n == 0) {
+      return -1;
+    }
+    int column = random.nextInt(n);
+    return random.nextDouble() < probability[column] ? column : alias[column];
+  }
+
+  /**
+   * Draw an index whose {@code excluded} flag is false, or -1 when every index with weight is
+   * excluded.
+   */
+  int sample(RandomGenerator random, boolean[] excluded) {
+    for (int attempt = 0; attempt < MAX_REJECTIONS; attempt++) {
+      int index = sample(random);
+      if (index < 0) {
+        return -1;
+      }
+      if (!excluded[index] && weights[index] > 0.0) {
+        return index;
+      }
+    }
+    return scan(random, excluded);
+  }
+
+  private int scan(RandomGenerator random, boolean[] excluded) {
+    double remaining = 0.0;
+    for (int i = 0; i < weights.length; i++) {
+      if (!excluded[i]) {
+        remaining += weights[i];
+      }
+    }
+    if (remaining <= 0.0) {
+      return -1;
+    }
+    double target = random.nextDouble() * remaining;
+    int last = -1;
+    for (int i = 0; i < weights.length; i++) {
+      if (excluded[i] || weights[i] <= 0.0) {
+        continue;
+      }
+      last = i;
+      target -= weights[i];
+      if (target < 0.0) {
+        return i;
+      }
+    }
+    return last;
+  }
+}
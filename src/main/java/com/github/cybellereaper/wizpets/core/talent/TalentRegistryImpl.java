@@ -4,7 +4,11 @@ import com.github.cybellereaper.wizpets.api.talent.PetTalent;
 import com.github.cybellereaper.wizpets.api.talent.PetTalentDescriptor;
 import com.github.cybellereaper.wizpets.api.talent.TalentFactory;
 import com.github.cybellereaper.wizpets.api.talent.TalentRegistryView;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -15,9 +19,16 @@ import java.util.Objects;
 import java.util.random.RandomGenerator;
 import org.jetbrains.annotations.NotNull;
 
+/**
+ * Registry of talent factories.
+ *
+ * <p>Reads go through an immutable {@link Snapshot} published via a volatile field, so they never
+ * lock. Mutations serialise on a monitor and publish a fresh snapshot. Rolls are weighted by each
+ * talent's {@link PetTalent#getWeight()} through an {@link AliasTable} built with the snapshot.
+ */
 public final class TalentRegistryImpl implements TalentRegistryView {
-  private final Map<String, TalentFactoryWrapper> factories = new LinkedHashMap<>();
   private final Object monitor = new Object();
+  private volatile Snapshot snapshot = Snapshot.EMPTY;
 
   public void register(TalentFactory factory) {
     register(factory, false);
@@ -28,49 +39,80 @@ public final class TalentRegistryImpl implements TalentRegistryView {
     PetTalent sample = factory.create();
     String id = sample.getId();
     synchronized (monitor) {
-      if (!replace && factories.containsKey(id)) {
+      Snapshot current = snapshot;
+      if (!replace && current.factories.containsKey(id)) {
         throw new IllegalArgumentException("Talent with id " + id + " already registered");
       }
-      factories.put(id, new TalentFactoryWrapper(sample, factory));
+      Map<String, TalentFactoryWrapper> next = new LinkedHashMap<>(current.factories);
+      next.put(id, new TalentFactoryWrapper(sample, factory));
+      snapshot = new Snapshot(next);
     }
   }
 
   public void unregister(String id) {
     synchronized (monitor) {
-      factories.remove(id);
+      Snapshot current = snapshot;
+      if (!current.factories.containsKey(id)) {
+        return;
+      }
+      Map<String, TalentFactoryWrapper> next = new LinkedHashMap<>(current.factories);
+      next.remove(id);
+      snapshot = new Snapshot(next);
     }
   }
 
   public List<PetTalent> instantiate(List<String> ids) {
-    synchronized (monitor) {
-      List<PetTalent> talents = new ArrayList<>(ids.size());
-      for (String id : ids) {
-        TalentFactoryWrapper wrapper = factories.get(id);
-        if (wrapper != null) {
-          talents.add(wrapper.create());
-        }
+    Map<String, TalentFactoryWrapper> factories = snapshot.factories;
+    PetTalent[] talents = new PetTalent[ids.size()];
+    int count = 0;
+    for (String id : ids) {
+      TalentFactoryWrapper wrapper = factories.get(id);
+      if (wrapper != null) {
+        talents[count++] = wrapper.create();
       }
-      return List.copyOf(talents);
     }
+    return List.of(count == talents.length ? talents : Arrays.copyOf(talents, count));
   }
 
   public List<String> roll(RandomGenerator random) {
     return roll(random, 2);
   }
 
+  /** Roll {@code count} ids with replacement, or none when no registered talent has weight. */
   public List<String> roll(RandomGenerator random, int count) {
     Objects.requireNonNull(random, "random");
-    synchronized (monitor) {
-      if (factories.isEmpty() || count <= 0) {
-        return Collections.emptyList();
+    return roll(snapshot, random, count);
+  }
+
+  /**
+   * Roll up to {@code count} distinct ids, never returning any id in {@code excluded}.
+   *
+   * <p>Returns fewer ids when not enough weighted talents remain.
+   */
+  public List<String> rollDistinct(RandomGenerator random, int count, Collection<String> excluded) {
+    Objects.requireNonNull(random, "random");
+    Objects.requireNonNull(excluded, "excluded");
+    Snapshot current = snapshot;
+    if (current.ids.length == 0 || count <= 0) {
+      return Collections.emptyList();
+    }
+    boolean[] mask = new boolean[current.ids.length];
+    for (String id : excluded) {
+      Integer index = current.indices.get(id);
+      if (index != null) {
+        mask[index] = true;
       }
-      List<String> keys = new ArrayList<>(factories.keySet());
-      List<String> result = new ArrayList<>(count);
-      for (int i = 0; i < count; i++) {
-        result.add(keys.get(random.nextInt(keys.size())));
+    }
+    List<String> result = new ArrayList<>(Math.min(count, current.ids.length));
+    while (result.size() < count) {
+      int index = current.table.sample(random, mask);
+      if (index < 0) {
+        break;
       }
-      return List.copyOf(result);
+      mask[index] = true;
+      result.add(current.ids[index]);
     }
+    return List.copyOf(result);
   }
 
   public List<String> inherit(List<String> parentA, List<String> parentB, RandomGenerator random) {
@@ -82,47 +124,58 @@ public final class TalentRegistryImpl implements TalentRegistryView {
     Objects.requireNonNull(parentA, "parentA");
     Objects.requireNonNull(parentB, "parentB");
     Objects.requireNonNull(random, "random");
-    synchronized (monitor) {
-      if (count <= 0) {
-        return Collections.emptyList();
-      }
-      LinkedHashSet<String> pool = new LinkedHashSet<>(parentA);
-      pool.addAll(parentB);
-      if (pool.isEmpty()) {
-        return roll(random, count);
-      }
-      List<String> ordered = new ArrayList<>(pool);
-      shuffle(ordered, random);
-      List<String> chosen = new ArrayList<>(ordered.subList(0, Math.min(count, ordered.size())));
-      while (chosen.size() < count) {
-        chosen.addAll(roll(random, 1));
+    if (count <= 0) {
+      return Collections.emptyList();
+    }
+    Snapshot current = snapshot;
+    LinkedHashSet<String> pool = new LinkedHashSet<>(parentA);
+    pool.addAll(parentB);
+    if (pool.isEmpty()) {
+      return roll(current, random, count);
+    }
+    List<String> ordered = new ArrayList<>(pool);
+    shuffle(ordered, random);
+    List<String> chosen = new ArrayList<>(ordered.subList(0, Math.min(count, ordered.size())));
+    while (chosen.size() < count) {
+      List<String> rolled = roll(current, random, 1);
+      if (rolled.isEmpty()) {
+        break;
       }
-      return List.copyOf(chosen.subList(0, count));
+      chosen.addAll(rolled);
     }
+    return List.copyOf(chosen);
   }
 
   @Override
   public @NotNull Iterator<PetTalentDescriptor> iterator() {
-    synchronized (monitor) {
-      List<PetTalentDescriptor> descriptors = new ArrayList<>(factories.size());
-      factories.values().forEach(wrapper -> descriptors.add(wrapper.descriptor));
-      return descriptors.iterator();
-    }
+    return snapshot.descriptors.iterator();
   }
 
   @Override
   public PetTalentDescriptor get(String id) {
-    synchronized (monitor) {
-      TalentFactoryWrapper wrapper = factories.get(id);
-      return wrapper != null ? wrapper.descriptor : null;
-    }
+    TalentFactoryWrapper wrapper = snapshot.factories.get(id);
+    return wrapper != null ? wrapper.descriptor : null;
   }
 
   @Override
   public int size() {
-    synchronized (monitor) {
-      return factories.size();
+    return snapshot.ids.length;
+  }
+
+  private static List<String> roll(Snapshot current, RandomGenerator random, int count) {
+    String[] ids = current.ids;
+    if (ids.length == 0 || count <= 0) {
+      return Collections.emptyList();
     }
+    String[] result = new String[count];
+    for (int i = 0; i < count; i++) {
+      int index = current.table.sample(random);
+      if (index < 0) {
+        return Collections.emptyList();
+      }
+      result[i] = ids[index];
+    }
+    return List.of(result);
   }
 
   private static void shuffle(List<String> values, RandomGenerator random) {
@@ -132,11 +185,44 @@ public final class TalentRegistryImpl implements TalentRegistryView {
     }
   }
 
+  /** Immutable view of the registry at one point in time. */
+  private static final class Snapshot {
+    static final Snapshot EMPTY = new Snapshot(Map.of());
+
+    final ImmutableMap<String, TalentFactoryWrapper> factories;
+    final String[] ids;
+    final ImmutableMap<String, Integer> indices;
+    final ImmutableList<PetTalentDescriptor> descriptors;
+    final AliasTable table;
+
+    Snapshot(Map<String, TalentFactoryWrapper> factories) {
+      this.factories = ImmutableMap.copyOf(factories);
+      this.ids = this.factories.keySet().toArray(String[]::new);
+      this.descriptors =
+          this.factories.values().stream()
+              .map(TalentFactoryWrapper::descriptor)
+              .collect(ImmutableList.toImmutableList());
+      ImmutableMap.Builder<String, Integer> indexBuilder = ImmutableMap.builder();
+      double[] weights = new double[ids.length];
+      for (int i = 0; i < ids.length; i++) {
+        indexBuilder.put(ids[i], i);
+        weights[i] = descriptors.get(i).getWeight();
+      }
+      this.indices = indexBuilder.build();
+      this.table = new AliasTable(weights);
+    }
+  }
+
   private record TalentFactoryWrapper(PetTalentDescriptor descriptor, TalentFactory delegate)
       implements TalentFactory {
     TalentFactoryWrapper(PetTalent sample, TalentFactory delegate) {
       this(
-          new PetTalentDescriptor(sample.getId(), sample.getDisplayName(), sample.getDescription()),
+          new PetTalentDescriptor(
+              sample.getId(),
+              sample.getDisplayName(),
+              sample.getDescription(),
+              sample.getRarity(),
+              sample.getWeight()),
           delegate);
     }
 
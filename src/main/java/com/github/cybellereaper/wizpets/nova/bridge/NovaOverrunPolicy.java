@@ -0,0 +1,11 @@
+package com.github.cybellereaper.wizpets.nova.bridge;
+
+/** What {@link NovaPaperBridge} does after a handler exhausts its sandbox budget. */
+public enum NovaOverrunPolicy {
+  /** Drop the rest of that event's handling silently. */
+  SKIP,
+  /** Drop the rest of that event's handling and log a warning. */
+  LOG,
+  /** Log a warning and unregister the handler. */
+  DISABLE
+}
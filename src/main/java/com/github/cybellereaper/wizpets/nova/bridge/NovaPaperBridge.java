@@ -2,9 +2,15 @@ package com.github.cybellereaper.wizpets.nova.bridge;
 
 import com.github.cybellereaper.wizpets.nova.runtime.NovaCallable;
 import com.github.cybellereaper.wizpets.nova.runtime.NovaJavaValue;
-import com.github.cybellereaper.wizpets.nova.runtime.NovaValue;
+import com.github.cybellereaper.wizpets.nova.runtime.NovaSandbox;
+import com.github.cybellereaper.wizpets.nova.runtime.NovaSandboxException;
+import com.github.cybellereaper.wizpets.nova.runtime.NovaSandboxLimits;
+import com.github.cybellereaper.wizpets.nova.runtime.NovaScheduler;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
 import org.bukkit.event.Event;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.HandlerList;
@@ -13,7 +19,17 @@ import org.bukkit.plugin.EventExecutor;
 import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.java.JavaPlugin;
 
-/** Bridges Nova runtime callables into the Paper event bus. */
+/**
+ * Bridges Nova runtime callables into the Paper event bus.
+ *
+ * <p>Handlers run through a {@link NovaScheduler}, so an {@code await} on unfinished work returns
+ * control to the server and the rest of the handler runs on a later tick, after the event has been
+ * dispatched.
+ *
+ * <p>Each handler gets a {@link NovaSandbox}, and every slice of it that runs on the server thread,
+ * the first one and each resumption, is a separate run with its own budget. A handler that exhausts
+ * a budget is stopped and then treated according to its {@link NovaOverrunPolicy}.
+ */
 public final class NovaPaperBridge {
   private final JavaPlugin plugin;
   private final PluginManager pluginManager;
@@ -25,27 +41,99 @@ public final class NovaPaperBridge {
 
   public <T extends Event> RegisteredNovaHandler registerEventHandler(
       Class<T> eventType, EventPriority priority, boolean ignoreCancelled, NovaCallable handler) {
+    return registerEventHandler(
+        eventType,
+        priority,
+        ignoreCancelled,
+        handler,
+        NovaSandboxLimits.DEFAULT,
+        NovaOverrunPolicy.LOG);
+  }
+
+  public <T extends Event> RegisteredNovaHandler registerEventHandler(
+      Class<T> eventType,
+      EventPriority priority,
+      boolean ignoreCancelled,
+      NovaCallable handler,
+      NovaSandboxLimits limits,
+      NovaOverrunPolicy policy) {
     Objects.requireNonNull(eventType, "eventType");
     Objects.requireNonNull(handler, "handler");
-    Listener listener = new Listener() {};
+    Objects.requireNonNull(policy, "policy");
+    NovaSandbox sandbox = new NovaSandbox(limits);
+    NovaScheduler scheduler =
+        new NovaScheduler(
+            task -> plugin.getServer().getScheduler().runTask(plugin, () -> sandbox.run(task)));
+    RegisteredNovaHandler registration = new RegisteredNovaHandler(new Listener() {}, sandbox);
+    String name = eventType.getSimpleName();
     EventExecutor executor =
         (ignored, event) -> {
           if (!eventType.isInstance(event)) {
             return;
           }
-          NovaValue result = handler.invoke(List.of(new NovaJavaValue(event)));
-          if (result instanceof NovaCallable callable) {
-            callable.invoke(List.of());
-          }
+          sandbox
+              .run(
+                  () ->
+                      scheduler
+                          .invoke(handler, List.of(new NovaJavaValue(event)))
+                          .thenCompose(
+                              result ->
+                                  result instanceof NovaCallable callable
+                                      ? scheduler.invoke(callable, List.of())
+                                      : CompletableFuture.completedFuture(result)))
+              .exceptionally(
+                  failure -> {
+                    handleFailure(name, registration, policy, failure);
+                    return null;
+                  });
         };
-    pluginManager.registerEvent(eventType, listener, priority, executor, plugin, ignoreCancelled);
-    return new RegisteredNovaHandler(listener);
+    pluginManager.registerEvent(
+        eventType, registration.listener(), priority, executor, plugin, ignoreCancelled);
+    return registration;
+  }
+
+  private void handleFailure(
+      String eventName,
+      RegisteredNovaHandler registration,
+      NovaOverrunPolicy policy,
+      Throwable failure) {
+    Throwable cause =
+        failure instanceof CompletionException && failure.getCause() != null
+            ? failure.getCause()
+            : failure;
+    if (!(cause instanceof NovaSandboxException overrun)) {
+      plugin.getLogger().log(Level.SEVERE, "Nova handler for " + eventName + " failed", cause);
+      return;
+    }
+    if (policy == NovaOverrunPolicy.SKIP) {
+      return;
+    }
+    NovaSandbox sandbox = registration.sandbox();
+    plugin
+        .getLogger()
+        .warning(
+            () ->
+                "Nova handler for "
+                    + eventName
+                    + (policy == NovaOverrunPolicy.DISABLE ? " disabled: " : " skipped: ")
+                    + overrun.getMessage()
+                    + " ("
+                    + sandbox.overruns()
+                    + " of "
+                    + sandbox.runs()
+                    + " runs overran, "
+                    + sandbox.cpuTime().toMillis()
+                    + "ms CPU in total)");
+    if (policy == NovaOverrunPolicy.DISABLE) {
+      registration.unregister();
+    }
   }
 
-  /** Simple handle for later unregistration. */
-  public record RegisteredNovaHandler(Listener listener) {
+  /** Handle for later unregistration, with the handler's sandbox for its CPU accounting. */
+  public record RegisteredNovaHandler(Listener listener, NovaSandbox sandbox) {
     public RegisteredNovaHandler {
       Objects.requireNonNull(listener, "listener");
+      Objects.requireNonNull(sandbox, "sandbox");
     }
 
     public void unregister() {
@@ -0,0 +1,52 @@
+package com.github.cybellereaper.wizpets.nova.bridge;
+
+import com.github.cybellereaper.wizpets.api.ActivePet;
+import com.github.cybellereaper.wizpets.api.StatType;
+import com.github.cybellereaper.wizpets.api.WizPetsApi;
+import com.github.cybellereaper.wizpets.nova.runtime.NovaExport;
+import com.github.cybellereaper.wizpets.nova.runtime.NovaHostBinder;
+import java.util.Objects;
+import org.bukkit.entity.Player;
+
+/**
+ * Pet operations exposed to Nova scripts through {@link NovaHostBinder}. Pets and players are
+ * passed as Java values, and stats by name, such as {@code statValue(pet, "ATTACK")}.
+ */
+public final class NovaPetFunctions {
+  private final WizPetsApi api;
+
+  public NovaPetFunctions(WizPetsApi api) {
+    this.api = Objects.requireNonNull(api, "api");
+  }
+
+  /** The pet {@code player} has summoned, or unit when there is none. */
+  @NovaExport
+  public ActivePet activePet(Player player) {
+    return api.activePet(player);
+  }
+
+  @NovaExport
+  public double statValue(ActivePet pet, StatType type) {
+    return pet.statValue(type);
+  }
+
+  @NovaExport
+  public void heal(ActivePet pet, double amount) {
+    pet.heal(amount);
+  }
+
+  @NovaExport
+  public void grantAbsorption(ActivePet pet, double hearts) {
+    pet.grantAbsorption(hearts);
+  }
+
+  @NovaExport
+  public boolean isMounted(ActivePet pet) {
+    return pet.isMounted();
+  }
+
+  @NovaExport
+  public boolean isFlying(ActivePet pet) {
+    return pet.isFlying();
+  }
+}
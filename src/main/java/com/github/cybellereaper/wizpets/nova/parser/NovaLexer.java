@@ -0,0 +1,218 @@
+package com.github.cybellereaper.wizpets.nova.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Splits Nova source into tokens in one pass over its characters.
+ *
+ * <p>Whitespace and {@code //} line comments separate tokens and are dropped. A {@code -} directly
+ * followed by a digit starts a negative number literal, since Nova has no operators that could
+ * make it ambiguous.
+ */
+public final class NovaLexer {
+  private final String sourceName;
+  private final String source;
+  private final List<NovaToken> tokens = new ArrayList<>();
+  private int position;
+  private int line = 1;
+  private int lineStart;
+
+  private NovaLexer(String sourceName, String source) {
+    this.sourceName = sourceName;
+    this.source = source;
+  }
+
+  /**
+   * @throws NovaParseException at the first character that does not start a token
+   */
+  public static List<NovaToken> tokenize(String sourceName, String source) {
+    Objects.requireNonNull(sourceName, "sourceName");
+    Objects.requireNonNull(source, "source");
+    return new NovaLexer(sourceName, source).run();
+  }
+
+  private List<NovaToken> run() {
+    int length = source.length();
+    while (true) {
+      skipTrivia();
+      if (position >= length) {
+        tokens.add(new NovaToken(NovaTokenType.EOF, "", line, column(position)));
+        return tokens;
+      }
+      int start = position;
+      char c = source.charAt(position);
+      if (isIdentifierStart(c)) {
+        identifier(start);
+      } else if (isDigit(c) || (c == '-' && isDigit(peek(1)))) {
+        number(start);
+      } else if (c == '"') {
+        string(start);
+      } else {
+        symbol(start, c);
+      }
+    }
+  }
+
+  private void skipTrivia() {
+    int length = source.length();
+    while (position < length) {
+      char c = source.charAt(position);
+      if (c == '\n') {
+        position++;
+        line++;
+        lineStart = position;
+      } else if (c == ' ' || c == '\t' || c == '\r') {
+        position++;
+      } else if (c == '/' && peek(1) == '/') {
+        while (position < length && source.charAt(position) != '\n') {
+          position++;
+        }
+      } else {
+        return;
+      }
+    }
+  }
+
+  private void identifier(int start) {
+    position++;
+    while (position < source.length() && isIdentifierPart(source.charAt(position))) {
+      position++;
+    }
+    String text = source.substring(start, position);
+    add(keyword(text), text, start);
+  }
+
+  private static NovaTokenType keyword(String text) {
+    return switch (text) {
+      case "module" -> NovaTokenType.MODULE;
+      case "type" -> NovaTokenType.TYPE;
+      case "let" -> NovaTokenType.LET;
+      case "fun" -> NovaTokenType.FUN;
+      case "if" -> NovaTokenType.IF;
+      case "else" -> NovaTokenType.ELSE;
+      case "match" -> NovaTokenType.MATCH;
+      case "async" -> NovaTokenType.ASYNC;
+      case "await" -> NovaTokenType.AWAIT;
+      case "effect" -> NovaTokenType.EFFECT;
+      case "true" -> NovaTokenType.TRUE;
+      case "false" -> NovaTokenType.FALSE;
+      default -> NovaTokenType.IDENTIFIER;
+    };
+  }
+
+  private void number(int start) {
+    if (source.charAt(position) == '-') {
+      position++;
+    }
+    digits();
+    if (peek(0) == '.' && isDigit(peek(1))) {
+      position++;
+      digits();
+    }
+    char exponent = peek(0);
+    if (exponent == 'e' || exponent == 'E') {
+      int sign = peek(1) == '+' || peek(1) == '-' ? 1 : 0;
+      if (!isDigit(peek(1 + sign))) {
+        throw error(position, "Malformed exponent in number literal");
+      }
+      position += 1 + sign;
+      digits();
+    }
+    if (isIdentifierPart(peek(0))) {
+      throw error(position, "Unexpected character '" + peek(0) + "' in number literal");
+    }
+    add(NovaTokenType.NUMBER, source.substring(start, position), start);
+  }
+
+  private void digits() {
+    while (isDigit(peek(0))) {
+      position++;
+    }
+  }
+
+  private void string(int start) {
+    StringBuilder value = new StringBuilder();
+    position++;
+    while (true) {
+      if (position >= source.length() || source.charAt(position) == '\n') {
+        throw error(start, "Unterminated string literal");
+      }
+      char c = source.charAt(position++);
+      if (c == '"') {
+        break;
+      }
+      if (c != '\\') {
+        value.append(c);
+        continue;
+      }
+      char escaped = peek(0);
+      value.append(
+          switch (escaped) {
+            case 'n' -> '\n';
+            case 't' -> '\t';
+            case 'r' -> '\r';
+            case '"' -> '"';
+            case '\\' -> '\\';
+            default -> throw error(position - 1, "Unknown escape sequence \\" + escaped);
+          });
+      position++;
+    }
+    tokens.add(new NovaToken(NovaTokenType.STRING, value.toString(), line, column(start)));
+  }
+
+  private void symbol(int start, char c) {
+    NovaTokenType type =
+        switch (c) {
+          case '(' -> NovaTokenType.LEFT_PAREN;
+          case ')' -> NovaTokenType.RIGHT_PAREN;
+          case '{' -> NovaTokenType.LEFT_BRACE;
+          case '}' -> NovaTokenType.RIGHT_BRACE;
+          case '[' -> NovaTokenType.LEFT_BRACKET;
+          case ']' -> NovaTokenType.RIGHT_BRACKET;
+          case ',' -> NovaTokenType.COMMA;
+          case '.' -> NovaTokenType.DOT;
+          case ':' -> NovaTokenType.COLON;
+          case ';' -> NovaTokenType.SEMICOLON;
+          case '=' -> NovaTokenType.EQUALS;
+          case '|' -> peek(1) == '>' ? NovaTokenType.PIPE : NovaTokenType.BAR;
+          case '-' -> peek(1) == '>' ? NovaTokenType.ARROW : null;
+          default -> null;
+        };
+    if (type == null) {
+      throw error(start, "Unexpected character '" + c + "'");
+    }
+    position += type == NovaTokenType.PIPE || type == NovaTokenType.ARROW ? 2 : 1;
+    add(type, source.substring(start, position), start);
+  }
+
+  private void add(NovaTokenType type, String text, int start) {
+    tokens.add(new NovaToken(type, text, line, column(start)));
+  }
+
+  private char peek(int offset) {
+    int index = position + offset;
+    return index < source.length() ? source.charAt(index) : '\0';
+  }
+
+  private int column(int index) {
+    return index - lineStart + 1;
+  }
+
+  private NovaParseException error(int index, String message) {
+    return new NovaParseException(sourceName, line, column(index), message);
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isIdentifierStart(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+  }
+
+  private static boolean isIdentifierPart(char c) {
+    return isIdentifierStart(c) || isDigit(c);
+  }
+}
@@ -0,0 +1,29 @@
+package com.github.cybellereaper.wizpets.nova.parser;
+
+/** Raised when Nova source cannot be tokenized or parsed. */
+public final class NovaParseException extends RuntimeException {
+  private final String sourceName;
+  private final int line;
+  private final int column;
+
+  public NovaParseException(String sourceName, int line, int column, String message) {
+    super(sourceName + ":" + line + ":" + column + ": " + message);
+    this.sourceName = sourceName;
+    this.line = line;
+    this.column = column;
+  }
+
+  public String sourceName() {
+    return sourceName;
+  }
+
+  /** 1-based line of the offending character or token. */
+  public int line() {
+    return line;
+  }
+
+  /** 1-based column of the offending character or token. */
+  public int column() {
+    return column;
+  }
+}
@@ -0,0 +1,369 @@
+package com.github.cybellereaper.wizpets.nova.parser;
+
+import com.github.cybellereaper.wizpets.nova.ast.AsyncExpression;
+import com.github.cybellereaper.wizpets.nova.ast.AwaitExpression;
+import com.github.cybellereaper.wizpets.nova.ast.BlockExpression;
+import com.github.cybellereaper.wizpets.nova.ast.BooleanLiteralExpression;
+import com.github.cybellereaper.wizpets.nova.ast.CallExpression;
+import com.github.cybellereaper.wizpets.nova.ast.EffectExpression;
+import com.github.cybellereaper.wizpets.nova.ast.FunctionDeclaration;
+import com.github.cybellereaper.wizpets.nova.ast.IdentifierExpression;
+import com.github.cybellereaper.wizpets.nova.ast.IfExpression;
+import com.github.cybellereaper.wizpets.nova.ast.LambdaExpression;
+import com.github.cybellereaper.wizpets.nova.ast.LetDeclaration;
+import com.github.cybellereaper.wizpets.nova.ast.ListLiteralExpression;
+import com.github.cybellereaper.wizpets.nova.ast.MatchArm;
+import com.github.cybellereaper.wizpets.nova.ast.MatchExpression;
+import com.github.cybellereaper.wizpets.nova.ast.ModuleDeclaration;
+import com.github.cybellereaper.wizpets.nova.ast.NovaDeclaration;
+import com.github.cybellereaper.wizpets.nova.ast.NovaExpression;
+import com.github.cybellereaper.wizpets.nova.ast.NovaProgram;
+import com.github.cybellereaper.wizpets.nova.ast.NumberLiteralExpression;
+import com.github.cybellereaper.wizpets.nova.ast.Parameter;
+import com.github.cybellereaper.wizpets.nova.ast.PipeExpression;
+import com.github.cybellereaper.wizpets.nova.ast.StringLiteralExpression;
+import com.github.cybellereaper.wizpets.nova.ast.TypeDeclaration;
+import com.github.cybellereaper.wizpets.nova.ast.TypeReference;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Recursive-descent parser for {@code .nova} source files.
+ *
+ * <pre>
+ * program     = "module" IDENT { "." IDENT } { declaration }
+ * declaration = "type" IDENT "=" IDENT { "|" IDENT }
+ *             | "let" IDENT [ ":" IDENT ] "=" expression
+ *             | "fun" IDENT "(" [ params ] ")" [ ":" IDENT ] "=" expression
+ * expression  = prefix { "|>" call }
+ * prefix      = "await" prefix | "effect" prefix | postfix
+ * postfix     = primary { "(" [ expression { "," expression } ] ")" }
+ * primary     = NUMBER | STRING | "true" | "false" | IDENT | lambda
+ *             | "(" expression ")" | "[" [ expression { "," expression } ] "]"
+ *             | "{" { expression [ ";" ] } "}" | "async" block
+ *             | "if" "(" expression ")" expression [ "else" expression ]
+ *             | "match" expression "{" arm { [ "," ] arm } "}"
+ * lambda      = ( IDENT | "(" [ params ] ")" ) "->" expression
+ * arm         = ( IDENT | STRING ) [ "(" params ")" ] "->" expression
+ * params      = IDENT [ ":" IDENT ] { "," IDENT [ ":" IDENT ] }
+ * </pre>
+ *
+ * <p>Errors carry the line and column of the token that could not be parsed.
+ */
+public final class NovaParser {
+  private final String sourceName;
+  private final List<NovaToken> tokens;
+  private int current;
+
+  private NovaParser(String sourceName, List<NovaToken> tokens) {
+    this.sourceName = sourceName;
+    this.tokens = tokens;
+  }
+
+  /**
+   * @throws NovaParseException if {@code source} is not a well-formed Nova module
+   */
+  public static NovaProgram parse(String sourceName, String source) {
+    NovaParser parser = new NovaParser(sourceName, NovaLexer.tokenize(sourceName, source));
+    return parser.program();
+  }
+
+  /**
+   * @throws NovaParseException if {@code source} is not a single well-formed expression
+   */
+  public static NovaExpression parseExpression(String sourceName, String source) {
+    NovaParser parser = new NovaParser(sourceName, NovaLexer.tokenize(sourceName, source));
+    NovaExpression expression = parser.expression();
+    parser.expect(NovaTokenType.EOF);
+    return expression;
+  }
+
+  private NovaProgram program() {
+    expect(NovaTokenType.MODULE);
+    List<String> path = new ArrayList<>();
+    path.add(expect(NovaTokenType.IDENTIFIER).text());
+    while (match(NovaTokenType.DOT)) {
+      path.add(expect(NovaTokenType.IDENTIFIER).text());
+    }
+    List<NovaDeclaration> declarations = new ArrayList<>();
+    while (!check(NovaTokenType.EOF)) {
+      declarations.add(declaration());
+    }
+    return new NovaProgram(new ModuleDeclaration(path), declarations);
+  }
+
+  private NovaDeclaration declaration() {
+    NovaToken token = advance();
+    return switch (token.type()) {
+      case TYPE -> typeDeclaration();
+      case LET -> letDeclaration();
+      case FUN -> functionDeclaration();
+      default -> throw error(token, "Expected a declaration but found " + describe(token));
+    };
+  }
+
+  private TypeDeclaration typeDeclaration() {
+    String name = expect(NovaTokenType.IDENTIFIER).text();
+    expect(NovaTokenType.EQUALS);
+    List<String> variants = new ArrayList<>();
+    do {
+      variants.add(expect(NovaTokenType.IDENTIFIER).text());
+    } while (match(NovaTokenType.BAR));
+    return new TypeDeclaration(name, variants);
+  }
+
+  private LetDeclaration letDeclaration() {
+    String name = expect(NovaTokenType.IDENTIFIER).text();
+    Optional<TypeReference> type = typeAnnotation();
+    expect(NovaTokenType.EQUALS);
+    return new LetDeclaration(name, type, expression());
+  }
+
+  private FunctionDeclaration functionDeclaration() {
+    String name = expect(NovaTokenType.IDENTIFIER).text();
+    expect(NovaTokenType.LEFT_PAREN);
+    List<Parameter> parameters = parameters(NovaTokenType.RIGHT_PAREN);
+    Optional<TypeReference> returnType = typeAnnotation();
+    expect(NovaTokenType.EQUALS);
+    return new FunctionDeclaration(name, parameters, returnType, expression());
+  }
+
+  /** Parameters up to and including {@code closing}. */
+  private List<Parameter> parameters(NovaTokenType closing) {
+    List<Parameter> parameters = new ArrayList<>();
+    if (!match(closing)) {
+      do {
+        String name = expect(NovaTokenType.IDENTIFIER).text();
+        parameters.add(new Parameter(name, typeAnnotation()));
+      } while (match(NovaTokenType.COMMA));
+      expect(closing);
+    }
+    return parameters;
+  }
+
+  private Optional<TypeReference> typeAnnotation() {
+    if (!match(NovaTokenType.COLON)) {
+      return Optional.empty();
+    }
+    return Optional.of(new TypeReference(expect(NovaTokenType.IDENTIFIER).text()));
+  }
+
+  private NovaExpression expression() {
+    NovaExpression seed = prefix();
+    if (!check(NovaTokenType.PIPE)) {
+      return seed;
+    }
+    List<CallExpression> stages = new ArrayList<>();
+    while (match(NovaTokenType.PIPE)) {
+      NovaToken start = peek();
+      if (!(prefix() instanceof CallExpression call)) {
+        throw error(start, "Pipe stage must be a call");
+      }
+      stages.add(call);
+    }
+    return new PipeExpression(seed, stages);
+  }
+
+  private NovaExpression prefix() {
+    if (match(NovaTokenType.AWAIT)) {
+      return new AwaitExpression(prefix());
+    }
+    if (match(NovaTokenType.EFFECT)) {
+      return new EffectExpression(prefix());
+    }
+    return postfix();
+  }
+
+  private NovaExpression postfix() {
+    NovaExpression expression = primary();
+    while (match(NovaTokenType.LEFT_PAREN)) {
+      expression = new CallExpression(expression, arguments(NovaTokenType.RIGHT_PAREN));
+    }
+    return expression;
+  }
+
+  /** Comma-separated expressions up to and including {@code closing}. */
+  private List<NovaExpression> arguments(NovaTokenType closing) {
+    List<NovaExpression> arguments = new ArrayList<>();
+    if (!match(closing)) {
+      do {
+        arguments.add(expression());
+      } while (match(NovaTokenType.COMMA));
+      expect(closing);
+    }
+    return arguments;
+  }
+
+  private NovaExpression primary() {
+    NovaToken token = peek();
+    return switch (token.type()) {
+      case NUMBER -> {
+        advance();
+        yield new NumberLiteralExpression(new BigDecimal(token.text()));
+      }
+      case STRING -> {
+        advance();
+        yield new StringLiteralExpression(token.text());
+      }
+      case TRUE, FALSE -> {
+        advance();
+        yield new BooleanLiteralExpression(token.type() == NovaTokenType.TRUE);
+      }
+      case IDENTIFIER -> {
+        advance();
+        if (match(NovaTokenType.ARROW)) {
+          yield new LambdaExpression(List.of(Parameter.untyped(token.text())), expression());
+        }
+        yield new IdentifierExpression(token.text());
+      }
+      case LEFT_PAREN -> parenthesized();
+      case LEFT_BRACKET -> {
+        advance();
+        yield new ListLiteralExpression(arguments(NovaTokenType.RIGHT_BRACKET));
+      }
+      case LEFT_BRACE -> block();
+      case ASYNC -> {
+        advance();
+        yield new AsyncExpression(block());
+      }
+      case IF -> ifExpression();
+      case MATCH -> matchExpression();
+      default -> throw error(token, "Expected an expression but found " + describe(token));
+    };
+  }
+
+  private NovaExpression parenthesized() {
+    if (startsLambda()) {
+      advance();
+      List<Parameter> parameters = parameters(NovaTokenType.RIGHT_PAREN);
+      expect(NovaTokenType.ARROW);
+      return new LambdaExpression(parameters, expression());
+    }
+    advance();
+    NovaExpression expression = expression();
+    expect(NovaTokenType.RIGHT_PAREN);
+    return expression;
+  }
+
+  /** Whether the parenthesis at the current token closes onto an arrow. */
+  private boolean startsLambda() {
+    int depth = 0;
+    for (int i = current; i < tokens.size(); i++) {
+      switch (tokens.get(i).type()) {
+        case LEFT_PAREN -> depth++;
+        case RIGHT_PAREN -> {
+          if (--depth == 0) {
+            return tokens.get(i + 1).type() == NovaTokenType.ARROW;
+          }
+        }
+        case EOF -> {
+          return false;
+        }
+        default -> {}
+      }
+    }
+    return false;
+  }
+
+  private BlockExpression block() {
+    expect(NovaTokenType.LEFT_BRACE);
+    List<NovaExpression> expressions = new ArrayList<>();
+    while (!match(NovaTokenType.RIGHT_BRACE)) {
+      if (check(NovaTokenType.EOF)) {
+        throw error(peek(), "Unclosed block, expected '}'");
+      }
+      expressions.add(expression());
+      match(NovaTokenType.SEMICOLON);
+    }
+    return new BlockExpression(expressions);
+  }
+
+  private IfExpression ifExpression() {
+    expect(NovaTokenType.IF);
+    expect(NovaTokenType.LEFT_PAREN);
+    NovaExpression condition = expression();
+    expect(NovaTokenType.RIGHT_PAREN);
+    NovaExpression thenBranch = expression();
+    Optional<NovaExpression> elseBranch =
+        match(NovaTokenType.ELSE) ? Optional.of(expression()) : Optional.empty();
+    return new IfExpression(condition, thenBranch, elseBranch);
+  }
+
+  private MatchExpression matchExpression() {
+    NovaToken keyword = expect(NovaTokenType.MATCH);
+    NovaExpression target = expression();
+    expect(NovaTokenType.LEFT_BRACE);
+    List<MatchArm> arms = new ArrayList<>();
+    while (!match(NovaTokenType.RIGHT_BRACE)) {
+      arms.add(matchArm());
+      match(NovaTokenType.COMMA);
+    }
+    if (arms.isEmpty()) {
+      throw error(keyword, "Match requires at least one arm");
+    }
+    return new MatchExpression(target, arms);
+  }
+
+  private MatchArm matchArm() {
+    NovaToken constructor = advance();
+    if (constructor.type() != NovaTokenType.IDENTIFIER
+        && constructor.type() != NovaTokenType.STRING) {
+      throw error(constructor, "Expected a match arm but found " + describe(constructor));
+    }
+    if (constructor.text().isBlank()) {
+      throw error(constructor, "Match arm constructor cannot be blank");
+    }
+    Optional<List<Parameter>> destructured =
+        match(NovaTokenType.LEFT_PAREN)
+            ? Optional.of(parameters(NovaTokenType.RIGHT_PAREN))
+            : Optional.empty();
+    expect(NovaTokenType.ARROW);
+    return new MatchArm(constructor.text(), destructured, expression());
+  }
+
+  private NovaToken peek() {
+    return tokens.get(current);
+  }
+
+  private NovaToken advance() {
+    NovaToken token = tokens.get(current);
+    if (token.type() != NovaTokenType.EOF) {
+      current++;
+    }
+    return token;
+  }
+
+  private boolean check(NovaTokenType type) {
+    return tokens.get(current).type() == type;
+  }
+
+  private boolean match(NovaTokenType type) {
+    if (!check(type)) {
+      return false;
+    }
+    current++;
+    return true;
+  }
+
+  private NovaToken expect(NovaTokenType type) {
+    NovaToken token = peek();
+    if (token.type() != type) {
+      throw error(token, "Expected " + type.description() + " but found " + describe(token));
+    }
+    return advance();
+  }
+
+  private static String describe(NovaToken token) {
+    return switch (token.type()) {
+      case IDENTIFIER, NUMBER -> token.type().description() + " '" + token.text() + "'";
+      case STRING -> "string \"" + token.text() + "\"";
+      default -> token.type().description();
+    };
+  }
+
+  private NovaParseException error(NovaToken token, String message) {
+    return new NovaParseException(sourceName, token.line(), token.column(), message);
+  }
+}
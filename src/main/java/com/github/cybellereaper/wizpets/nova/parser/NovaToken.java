@@ -0,0 +1,11 @@
+package com.github.cybellereaper.wizpets.nova.parser;
+
+import java.util.Objects;
+
+/** A lexical token with its 1-based source position. */
+public record NovaToken(NovaTokenType type, String text, int line, int column) {
+  public NovaToken {
+    Objects.requireNonNull(type, "type");
+    Objects.requireNonNull(text, "text");
+  }
+}
@@ -0,0 +1,46 @@
+package com.github.cybellereaper.wizpets.nova.parser;
+
+/** Kinds of token produced by {@link NovaLexer}. */
+public enum NovaTokenType {
+  IDENTIFIER("identifier"),
+  NUMBER("number"),
+  STRING("string"),
+  MODULE("'module'"),
+  TYPE("'type'"),
+  LET("'let'"),
+  FUN("'fun'"),
+  IF("'if'"),
+  ELSE("'else'"),
+  MATCH("'match'"),
+  ASYNC("'async'"),
+  AWAIT("'await'"),
+  EFFECT("'effect'"),
+  TRUE("'true'"),
+  FALSE("'false'"),
+  LEFT_PAREN("'('"),
+  RIGHT_PAREN("')'"),
+  LEFT_BRACE("'{'"),
+  RIGHT_BRACE("'}'"),
+  LEFT_BRACKET("'['"),
+  RIGHT_BRACKET("']'"),
+  COMMA("','"),
+  DOT("'.'"),
+  COLON("':'"),
+  SEMICOLON("';'"),
+  EQUALS("'='"),
+  BAR("'|'"),
+  ARROW("'->'"),
+  PIPE("'|>'"),
+  EOF("end of input");
+
+  private final String description;
+
+  NovaTokenType(String description) {
+    this.description = description;
+  }
+
+  /** How the token is named in parse errors. */
+  public String description() {
+    return description;
+  }
+}
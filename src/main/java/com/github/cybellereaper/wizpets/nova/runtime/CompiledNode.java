@@ -0,0 +1,11 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+/**
+ * One node of a compiled expression, evaluated against the frame of its enclosing function.
+ *
+ * @see LexicalScope
+ */
+@FunctionalInterface
+interface CompiledNode {
+  NovaValue evaluate(Object[] frame);
+}
@@ -0,0 +1,86 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compile-time view of the local names visible at one point of a Nova program.
+ *
+ * <p>Every function body, and every top-level expression, runs in one frame: an {@code Object[]}
+ * whose slot 0 holds the frame it was created in and whose other slots hold parameters, pipe
+ * {@code it} values and match bindings. Each binding site gets a slot of its own, and as Nova has
+ * no loops a site runs at most once per frame, so closures that capture a frame never see one of
+ * their slots change. Names that resolve to no slot are globals.
+ */
+final class LexicalScope {
+  private final Layout layout;
+  private final LexicalScope parent;
+  private final Map<String, Integer> names = new HashMap<>();
+
+  private LexicalScope(Layout layout, LexicalScope parent) {
+    this.layout = layout;
+    this.parent = parent;
+  }
+
+  /** Scope of a top-level expression, which sees only globals. */
+  static LexicalScope root() {
+    return new LexicalScope(new Layout(), null);
+  }
+
+  /** Scope of a top-level function, which sees its parameters and globals. */
+  static LexicalScope function(List<String> parameters) {
+    return root().defineAll(parameters);
+  }
+
+  /** Scope of a lambda body, which runs in a new frame linked to this one. */
+  LexicalScope lambda(List<String> parameters) {
+    return new LexicalScope(new Layout(), this).defineAll(parameters);
+  }
+
+  /** Nested scope whose bindings live in the same frame as this one. */
+  LexicalScope child() {
+    return new LexicalScope(layout, this);
+  }
+
+  /** Bind {@code name} in this scope and return its slot. */
+  int define(String name) {
+    int slot = layout.size++;
+    names.put(name, slot);
+    return slot;
+  }
+
+  /** Frame size needed so far by this scope's function. */
+  int frameSize() {
+    return layout.size;
+  }
+
+  /** Where {@code name} lives relative to the current frame, or null for a global. */
+  Address resolve(String name) {
+    int depth = 0;
+    for (LexicalScope scope = this; scope != null; scope = scope.parent) {
+      Integer slot = scope.names.get(name);
+      if (slot != null) {
+        return new Address(depth, slot);
+      }
+      if (scope.parent != null && scope.parent.layout != scope.layout) {
+        depth++;
+      }
+    }
+    return null;
+  }
+
+  private LexicalScope defineAll(List<String> parameters) {
+    for (String parameter : parameters) {
+      define(parameter);
+    }
+    return this;
+  }
+
+  /** Slot {@code slot} of the frame {@code depth} links up from the current one. */
+  record Address(int depth, int slot) {}
+
+  private static final class Layout {
+    private int size = 1;
+  }
+}
@@ -0,0 +1,7 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+/** An expression lowered by {@link NovaCompiler}, bound to the runtime's global environment. */
+@FunctionalInterface
+public interface NovaCompiledExpression {
+  NovaValue evaluate();
+}
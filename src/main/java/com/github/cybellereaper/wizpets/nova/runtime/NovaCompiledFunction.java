@@ -0,0 +1,55 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import java.util.List;
+import java.util.Objects;
+
+/** A Nova function whose body was lowered by {@link NovaCompiler}. */
+public final class NovaCompiledFunction implements NovaCallable {
+  private final int arity;
+  private final int frameSize;
+  private final CompiledNode body;
+  private final Object[] closure;
+
+  /**
+   * @param frameSize slots in a call frame, including the closure link and the parameters
+   * @param closure frame the function was created in, or null for top-level functions
+   */
+  NovaCompiledFunction(int arity, int frameSize, CompiledNode body, Object[] closure) {
+    this.arity = arity;
+    this.frameSize = frameSize;
+    this.body = Objects.requireNonNull(body, "body");
+    this.closure = closure;
+  }
+
+  public int arity() {
+    return arity;
+  }
+
+  /** Blocks on any await that would otherwise suspend, since host callers cannot resume. */
+  @Override
+  public NovaValue invoke(List<NovaValue> arguments) {
+    try {
+      return call(arguments);
+    } catch (NovaSuspension suspension) {
+      return suspension.join();
+    }
+  }
+
+  /** Invoke from compiled code, letting a {@link NovaSuspension} unwind to the caller. */
+  NovaValue call(List<NovaValue> arguments) {
+    if (arity != arguments.size()) {
+      throw new NovaEvaluationException("Function arity mismatch");
+    }
+    Object[] frame = new Object[frameSize];
+    frame[0] = closure;
+    for (int i = 0; i < arity; i++) {
+      frame[i + 1] = arguments.get(i);
+    }
+    NovaSandbox.Run run = NovaSandbox.enter();
+    try {
+      return body.evaluate(frame);
+    } finally {
+      NovaSandbox.exit(run);
+    }
+  }
+}
@@ -0,0 +1,465 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import com.github.cybellereaper.wizpets.nova.ast.AsyncExpression;
+import com.github.cybellereaper.wizpets.nova.ast.AwaitExpression;
+import com.github.cybellereaper.wizpets.nova.ast.BlockExpression;
+import com.github.cybellereaper.wizpets.nova.ast.BooleanLiteralExpression;
+import com.github.cybellereaper.wizpets.nova.ast.CallExpression;
+import com.github.cybellereaper.wizpets.nova.ast.EffectExpression;
+import com.github.cybellereaper.wizpets.nova.ast.FunctionDeclaration;
+import com.github.cybellereaper.wizpets.nova.ast.IdentifierExpression;
+import com.github.cybellereaper.wizpets.nova.ast.IfExpression;
+import com.github.cybellereaper.wizpets.nova.ast.LambdaExpression;
+import com.github.cybellereaper.wizpets.nova.ast.LetDeclaration;
+import com.github.cybellereaper.wizpets.nova.ast.ListLiteralExpression;
+import com.github.cybellereaper.wizpets.nova.ast.MatchArm;
+import com.github.cybellereaper.wizpets.nova.ast.MatchExpression;
+import com.github.cybellereaper.wizpets.nova.ast.NovaDeclaration;
+import com.github.cybellereaper.wizpets.nova.ast.NovaExpression;
+import com.github.cybellereaper.wizpets.nova.ast.NovaProgram;
+import com.github.cybellereaper.wizpets.nova.ast.NumberLiteralExpression;
+import com.github.cybellereaper.wizpets.nova.ast.Parameter;
+import com.github.cybellereaper.wizpets.nova.ast.PipeExpression;
+import com.github.cybellereaper.wizpets.nova.ast.StringLiteralExpression;
+import com.github.cybellereaper.wizpets.nova.ast.TypeDeclaration;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Lowers Nova expressions into trees of {@link CompiledNode} closures.
+ *
+ * <p>Every AST node is visited once, after type checking, so the dispatch on node type, literal
+ * interning and arity bookkeeping all happen at compile time and the JIT sees one small closure
+ * per node. Local names are resolved to frame slots through {@link LexicalScope}: a call allocates
+ * one array and a local read is an index, at most a few links up. Global reads cache the value
+ * until the global environment changes. Results and error messages match {@link NovaEvaluator}.
+ *
+ * <p>Nodes with work left after a child evaluates catch a {@link NovaSuspension} from that child
+ * and append the rest of their work to it, so an {@code await} under {@link NovaScheduler} can
+ * return control to the server thread and resume later. The extra code runs only on that path.
+ */
+public final class NovaCompiler {
+  private static final CompiledNode UNIT = frame -> NovaUnitValue.INSTANCE;
+
+  private final NovaEnvironment globals;
+  private final NovaTaskScope tasks;
+  private final Map<BigDecimal, NovaNumberValue> numbers;
+
+  /**
+   * @param tasks scope that {@code async} blocks in top-level expressions fork into
+   */
+  public NovaCompiler(NovaEnvironment globals, NovaTaskScope tasks) {
+    this(globals, tasks, new ConcurrentHashMap<>());
+  }
+
+  private NovaCompiler(
+      NovaEnvironment globals, NovaTaskScope tasks, Map<BigDecimal, NovaNumberValue> numbers) {
+    this.globals = Objects.requireNonNull(globals, "globals");
+    this.tasks = Objects.requireNonNull(tasks, "tasks");
+    this.numbers = numbers;
+  }
+
+  public void executeProgram(NovaProgram program) {
+    executeProgram(program, tasks);
+  }
+
+  /** Define the program's globals, with its {@code async} blocks forking into {@code scope}. */
+  public void executeProgram(NovaProgram program, NovaTaskScope scope) {
+    NovaCompiler compiler = scope == tasks ? this : new NovaCompiler(globals, scope, numbers);
+    for (NovaDeclaration declaration : program.declarations()) {
+      switch (declaration) {
+        case TypeDeclaration ignored -> {
+          // Types are erased at runtime.
+        }
+        case LetDeclaration letDeclaration ->
+            globals.define(
+                letDeclaration.name(), compiler.compile(letDeclaration.expression()).evaluate());
+        case FunctionDeclaration functionDeclaration ->
+            globals.define(
+                functionDeclaration.name(), compiler.compileFunction(functionDeclaration));
+      }
+    }
+  }
+
+  /** Compile a top-level expression, which sees only globals. */
+  public NovaCompiledExpression compile(NovaExpression expression) {
+    LexicalScope scope = LexicalScope.root();
+    CompiledNode node = compile(expression, scope);
+    int frameSize = scope.frameSize();
+    return () -> {
+      try {
+        return node.evaluate(new Object[frameSize]);
+      } catch (NovaSuspension suspension) {
+        return suspension.join();
+      }
+    };
+  }
+
+  private NovaCompiledFunction compileFunction(FunctionDeclaration declaration) {
+    LexicalScope scope = LexicalScope.function(names(declaration.parameters()));
+    CompiledNode body = compile(declaration.body(), scope);
+    return new NovaCompiledFunction(
+        declaration.parameters().size(), scope.frameSize(), body, null);
+  }
+
+  private CompiledNode compile(NovaExpression expression, LexicalScope scope) {
+    return switch (expression) {
+      case NumberLiteralExpression literal ->
+          constant(numbers.computeIfAbsent(literal.value(), NovaNumberValue::of));
+      case StringLiteralExpression literal -> constant(new NovaStringValue(literal.value()));
+      case BooleanLiteralExpression literal -> constant(new NovaBooleanValue(literal.value()));
+      case ListLiteralExpression list -> compileList(list, scope);
+      case IdentifierExpression identifier -> compileIdentifier(identifier.name(), scope);
+      case LambdaExpression lambda -> compileLambda(lambda, scope);
+      case CallExpression call -> compileCall(call, scope);
+      case BlockExpression block -> compileBlock(block, scope);
+      case IfExpression ifExpression -> compileIf(ifExpression, scope);
+      case AsyncExpression asyncExpression -> compileAsync(asyncExpression, scope);
+      case AwaitExpression awaitExpression -> compileAwait(awaitExpression, scope);
+      case EffectExpression effectExpression -> compile(effectExpression.expression(), scope);
+      case PipeExpression pipeExpression -> compilePipe(pipeExpression, scope);
+      case MatchExpression matchExpression -> compileMatch(matchExpression, scope);
+    };
+  }
+
+  private static CompiledNode constant(NovaValue value) {
+    return frame -> value;
+  }
+
+  private CompiledNode compileList(ListLiteralExpression expression, LexicalScope scope) {
+    CompiledNode[] elements = compileAll(expression.elements(), scope);
+    return frame -> finishList(elements, frame, new NovaValue[elements.length], 0);
+  }
+
+  private CompiledNode compileIdentifier(String name, LexicalScope scope) {
+    LexicalScope.Address address = scope.resolve(name);
+    if (address == null) {
+      return new GlobalRead(globals, name);
+    }
+    int slot = address.slot();
+    return switch (address.depth()) {
+      case 0 -> frame -> (NovaValue) frame[slot];
+      case 1 -> frame -> (NovaValue) ((Object[]) frame[0])[slot];
+      default -> {
+        int depth = address.depth();
+        yield frame -> {
+          Object[] current = frame;
+          for (int i = 0; i < depth; i++) {
+            current = (Object[]) current[0];
+          }
+          return (NovaValue) current[slot];
+        };
+      }
+    };
+  }
+
+  private CompiledNode compileLambda(LambdaExpression expression, LexicalScope scope) {
+    LexicalScope inner = scope.lambda(names(expression.parameters()));
+    CompiledNode body = compile(expression.body(), inner);
+    int arity = expression.parameters().size();
+    int frameSize = inner.frameSize();
+    return frame -> new NovaCompiledFunction(arity, frameSize, body, frame);
+  }
+
+  private CompiledNode compileCall(CallExpression expression, LexicalScope scope) {
+    CompiledNode callee = compile(expression.callee(), scope);
+    CompiledNode[] arguments = compileAll(expression.arguments(), scope);
+    if (arguments.length == 0) {
+      return frame -> {
+        NovaValue function;
+        try {
+          function = callee.evaluate(frame);
+        } catch (NovaSuspension suspension) {
+          throw suspension.then(value -> call(value, List.of()));
+        }
+        return call(function, List.of());
+      };
+    }
+    return frame -> {
+      NovaValue function;
+      try {
+        function = callee.evaluate(frame);
+      } catch (NovaSuspension suspension) {
+        throw suspension.then(
+            value -> finishCall(value, arguments, frame, new NovaValue[arguments.length], 0));
+      }
+      return finishCall(function, arguments, frame, new NovaValue[arguments.length], 0);
+    };
+  }
+
+  /** Evaluate {@code arguments} from {@code start} on, then call {@code function}. */
+  private static NovaValue finishCall(
+      NovaValue function, CompiledNode[] arguments, Object[] frame, NovaValue[] values, int start) {
+    for (int i = start; i < values.length; i++) {
+      try {
+        values[i] = arguments[i].evaluate(frame);
+      } catch (NovaSuspension suspension) {
+        int index = i;
+        throw suspension.then(
+            value -> {
+              values[index] = value;
+              return finishCall(function, arguments, frame, values, index + 1);
+            });
+      }
+    }
+    return call(function, Arrays.asList(values));
+  }
+
+  /** Compiled callees are entered without their blocking barrier, so suspensions reach us. */
+  private static NovaValue call(NovaValue function, List<NovaValue> arguments) {
+    NovaCallable callable = callable(function);
+    return callable instanceof NovaCompiledFunction compiled
+        ? compiled.call(arguments)
+        : callable.invoke(arguments);
+  }
+
+  private CompiledNode compileBlock(BlockExpression expression, LexicalScope scope) {
+    CompiledNode[] entries = compileAll(expression.expressions(), scope.child());
+    if (entries.length == 0) {
+      return UNIT;
+    }
+    if (entries.length == 1) {
+      return entries[0];
+    }
+    return frame -> finishBlock(entries, frame, 0);
+  }
+
+  /** Evaluate {@code entries} from {@code start} on, returning the last value. */
+  private static NovaValue finishBlock(CompiledNode[] entries, Object[] frame, int start) {
+    int last = entries.length - 1;
+    for (int i = start; i < last; i++) {
+      try {
+        entries[i].evaluate(frame);
+      } catch (NovaSuspension suspension) {
+        int next = i + 1;
+        throw suspension.then(ignored -> finishBlock(entries, frame, next));
+      }
+    }
+    return entries[last].evaluate(frame);
+  }
+
+  private CompiledNode compileIf(IfExpression expression, LexicalScope scope) {
+    CompiledNode condition = compile(expression.condition(), scope);
+    CompiledNode thenBranch = compile(expression.thenBranch(), scope);
+    CompiledNode elseBranch =
+        expression.elseBranch().map(branch -> compile(branch, scope)).orElse(UNIT);
+    return frame -> {
+      NovaValue value;
+      try {
+        value = condition.evaluate(frame);
+      } catch (NovaSuspension suspension) {
+        throw suspension.then(resumed -> branch(resumed, thenBranch, elseBranch, frame));
+      }
+      return branch(value, thenBranch, elseBranch, frame);
+    };
+  }
+
+  private static NovaValue branch(
+      NovaValue condition, CompiledNode thenBranch, CompiledNode elseBranch, Object[] frame) {
+    if (!(condition instanceof NovaBooleanValue booleanValue)) {
+      throw new NovaEvaluationException("If condition must evaluate to a boolean");
+    }
+    return booleanValue.value() ? thenBranch.evaluate(frame) : elseBranch.evaluate(frame);
+  }
+
+  private CompiledNode compileAsync(AsyncExpression expression, LexicalScope scope) {
+    CompiledNode block = compile(expression.block(), scope);
+    NovaTaskScope owner = tasks;
+    return frame -> new NovaFutureValue(owner.fork(() -> block.evaluate(frame)));
+  }
+
+  private CompiledNode compileAwait(AwaitExpression expression, LexicalScope scope) {
+    CompiledNode awaited = compile(expression.expression(), scope);
+    return frame -> {
+      NovaValue value;
+      try {
+        value = awaited.evaluate(frame);
+      } catch (NovaSuspension suspension) {
+        throw suspension.then(NovaCompiler::await);
+      }
+      return await(value);
+    };
+  }
+
+  /** Join the future, or suspend when it is unfinished and this thread must not block. */
+  private static NovaValue await(NovaValue value) {
+    if (!(value instanceof NovaFutureValue futureValue)) {
+      throw new NovaEvaluationException("Await requires a future value");
+    }
+    CompletableFuture<NovaValue> future = futureValue.future();
+    if (!future.isDone() && NovaScheduler.resumable()) {
+      throw new NovaSuspension(future);
+    }
+    try {
+      return NovaSandbox.join(future);
+    } catch (CancellationException | CompletionException exception) {
+      throw new NovaEvaluationException("Failed to await future", exception);
+    }
+  }
+
+  private CompiledNode compilePipe(PipeExpression expression, LexicalScope scope) {
+    CompiledNode seed = compile(expression.seed(), scope);
+    int stageCount = expression.stages().size();
+    CompiledNode[] stages = new CompiledNode[stageCount];
+    int[] slots = new int[stageCount];
+    for (int i = 0; i < stageCount; i++) {
+      LexicalScope stageScope = scope.child();
+      slots[i] = stageScope.define("it");
+      stages[i] = compile(expression.stages().get(i), stageScope);
+    }
+    return frame -> {
+      NovaValue value;
+      try {
+        value = seed.evaluate(frame);
+      } catch (NovaSuspension suspension) {
+        throw suspension.then(resumed -> finishPipe(stages, slots, frame, resumed, 0));
+      }
+      return finishPipe(stages, slots, frame, value, 0);
+    };
+  }
+
+  /** Feed {@code current} through the stages from {@code start} on. */
+  private static NovaValue finishPipe(
+      CompiledNode[] stages, int[] slots, Object[] frame, NovaValue current, int start) {
+    for (int i = start; i < stages.length; i++) {
+      frame[slots[i]] = current;
+      try {
+        current = stages[i].evaluate(frame);
+      } catch (NovaSuspension suspension) {
+        int next = i + 1;
+        throw suspension.then(resumed -> finishPipe(stages, slots, frame, resumed, next));
+      }
+    }
+    return current;
+  }
+
+  private CompiledNode compileMatch(MatchExpression expression, LexicalScope scope) {
+    CompiledNode target = compile(expression.target(), scope);
+    CompiledArm[] arms =
+        expression.arms().stream().map(arm -> compileArm(arm, scope)).toArray(CompiledArm[]::new);
+    return frame -> {
+      NovaValue value;
+      try {
+        value = target.evaluate(frame);
+      } catch (NovaSuspension suspension) {
+        throw suspension.then(resumed -> selectArm(arms, frame, resumed));
+      }
+      return selectArm(arms, frame, value);
+    };
+  }
+
+  private static NovaValue selectArm(CompiledArm[] arms, Object[] frame, NovaValue value) {
+    for (CompiledArm arm : arms) {
+      if (value instanceof NovaVariantValue variant
+          && variant.constructor().equals(arm.constructor())) {
+        return arm.evaluate(frame, variant.fields());
+      }
+      if (value instanceof NovaStringValue stringValue
+          && stringValue.value().equals(arm.constructor())) {
+        return arm.evaluate(frame, List.of());
+      }
+    }
+    throw new NovaEvaluationException("No matching arm for value: " + value);
+  }
+
+  private CompiledArm compileArm(MatchArm arm, LexicalScope scope) {
+    LexicalScope armScope = scope.child();
+    int[] slots =
+        arm.destructured()
+            .map(parameters -> parameters.stream().mapToInt(p -> armScope.define(p.name())))
+            .map(IntStream::toArray)
+            .orElse(null);
+    return new CompiledArm(arm.constructor(), slots, compile(arm.body(), armScope));
+  }
+
+  private CompiledNode[] compileAll(
+      List<? extends NovaExpression> expressions, LexicalScope scope) {
+    CompiledNode[] compiled = new CompiledNode[expressions.size()];
+    for (int i = 0; i < compiled.length; i++) {
+      compiled[i] = compile(expressions.get(i), scope);
+    }
+    return compiled;
+  }
+
+  /** Evaluate {@code elements} from {@code start} on into a list. */
+  private static NovaValue finishList(
+      CompiledNode[] elements, Object[] frame, NovaValue[] values, int start) {
+    for (int i = start; i < values.length; i++) {
+      try {
+        values[i] = elements[i].evaluate(frame);
+      } catch (NovaSuspension suspension) {
+        int index = i;
+        throw suspension.then(
+            value -> {
+              values[index] = value;
+              return finishList(elements, frame, values, index + 1);
+            });
+      }
+    }
+    return new NovaListValue(Arrays.asList(values));
+  }
+
+  private static NovaCallable callable(NovaValue value) {
+    if (!(value instanceof NovaCallable callable)) {
+      throw new NovaEvaluationException("Attempted to call a non-callable value");
+    }
+    return callable;
+  }
+
+  private static List<String> names(List<Parameter> parameters) {
+    return parameters.stream().map(Parameter::name).toList();
+  }
+
+  /** A match arm; {@code slots} is null when the arm does not destructure. */
+  private record CompiledArm(String constructor, int[] slots, CompiledNode body) {
+    NovaValue evaluate(Object[] frame, List<NovaValue> fields) {
+      if (slots != null) {
+        if (slots.length != fields.size()) {
+          throw new NovaEvaluationException("Match arm destructuring does not match value arity");
+        }
+        for (int i = 0; i < slots.length; i++) {
+          frame[slots[i]] = fields.get(i);
+        }
+      }
+      return body.evaluate(frame);
+    }
+  }
+
+  /** Reads a global, caching it until the global environment next changes. */
+  private static final class GlobalRead implements CompiledNode {
+    private final NovaEnvironment globals;
+    private final String name;
+    private volatile Cached cached = new Cached(-1, null);
+
+    GlobalRead(NovaEnvironment globals, String name) {
+      this.globals = globals;
+      this.name = name;
+    }
+
+    @Override
+    public NovaValue evaluate(Object[] frame) {
+      Cached current = cached;
+      int version = globals.version();
+      if (current.version() != version) {
+        NovaValue value = globals.get(name);
+        if (value == null) {
+          throw new NovaEvaluationException("Unknown identifier: " + name);
+        }
+        current = new Cached(version, value);
+        cached = current;
+      }
+      return current.value();
+    }
+
+    /** Value and version published together, so racing readers never see a torn pair. */
+    private record Cached(int version, NovaValue value) {}
+  }
+}
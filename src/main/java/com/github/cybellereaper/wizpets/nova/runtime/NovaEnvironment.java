@@ -1,13 +1,20 @@
 package com.github.cybellereaper.wizpets.nova.runtime;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
-/** Mutable environment for runtime evaluation. */
+/**
+ * Mutable environment for runtime evaluation.
+ *
+ * <p>Safe to read while another thread defines names, since async tasks keep running compiled code
+ * while a reload redefines globals. A reader that sees a new {@link #version} also sees the
+ * definition that produced it.
+ */
 public final class NovaEnvironment {
   private final NovaEnvironment parent;
-  private final Map<String, NovaValue> values = new HashMap<>();
+  private final Map<String, NovaValue> values = new ConcurrentHashMap<>();
+  private volatile int version;
 
   public NovaEnvironment() {
     this(null);
@@ -21,18 +28,28 @@ public final class NovaEnvironment {
     return new NovaEnvironment(this);
   }
 
-  public void define(String name, NovaValue value) {
+  public synchronized void define(String name, NovaValue value) {
     values.put(name, value);
+    version++;
   }
 
   public Optional<NovaValue> lookup(String name) {
-    NovaValue value = values.get(name);
-    if (value != null) {
-      return Optional.of(value);
-    }
-    if (parent != null) {
-      return parent.lookup(name);
+    return Optional.ofNullable(get(name));
+  }
+
+  /** Like {@link #lookup} without the {@code Optional}; null when {@code name} is unbound. */
+  NovaValue get(String name) {
+    for (NovaEnvironment current = this; current != null; current = current.parent) {
+      NovaValue value = current.values.get(name);
+      if (value != null) {
+        return value;
+      }
     }
-    return Optional.empty();
+    return null;
+  }
+
+  /** Changes on every {@link #define} in this environment, so callers can cache lookups. */
+  int version() {
+    return version;
   }
 }
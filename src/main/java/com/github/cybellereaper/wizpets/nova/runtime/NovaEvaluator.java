@@ -22,22 +22,48 @@ import com.github.cybellereaper.wizpets.nova.ast.Parameter;
 import com.github.cybellereaper.wizpets.nova.ast.PipeExpression;
 import com.github.cybellereaper.wizpets.nova.ast.StringLiteralExpression;
 import com.github.cybellereaper.wizpets.nova.ast.TypeDeclaration;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 /** Evaluates Nova AST nodes to runtime values. */
 public final class NovaEvaluator {
   private final NovaEnvironment globals;
-  private final Executor executor;
+  private final NovaTaskScope tasks;
+  private final Map<BigDecimal, NovaNumberValue> numbers;
 
-  public NovaEvaluator(NovaEnvironment globals, Executor executor) {
+  /**
+   * @param tasks scope that {@code async} blocks evaluated by this evaluator fork into
+   */
+  public NovaEvaluator(NovaEnvironment globals, NovaTaskScope tasks) {
+    this(globals, tasks, new ConcurrentHashMap<>());
+  }
+
+  private NovaEvaluator(
+      NovaEnvironment globals, NovaTaskScope tasks, Map<BigDecimal, NovaNumberValue> numbers) {
     this.globals = globals;
-    this.executor = executor;
+    this.tasks = tasks;
+    this.numbers = numbers;
   }
 
   public void executeProgram(NovaProgram program) {
+    executeProgram(program, tasks);
+  }
+
+  /**
+   * Define the program's globals. Its functions are evaluated by an evaluator bound to {@code
+   * scope}, so their {@code async} blocks fork into it.
+   */
+  public void executeProgram(NovaProgram program, NovaTaskScope scope) {
+    NovaEvaluator evaluator = scope == tasks ? this : new NovaEvaluator(globals, scope, numbers);
+    evaluator.defineAll(program);
+  }
+
+  private void defineAll(NovaProgram program) {
     for (NovaDeclaration declaration : program.declarations()) {
       switch (declaration) {
         case TypeDeclaration ignored -> {
@@ -61,16 +87,12 @@ public final class NovaEvaluator {
 
   public NovaValue evaluate(NovaExpression expression, NovaEnvironment environment) {
     return switch (expression) {
-      case NumberLiteralExpression literal -> new NovaNumberValue(literal.value());
+      case NumberLiteralExpression literal ->
+          numbers.computeIfAbsent(literal.value(), NovaNumberValue::of);
       case StringLiteralExpression literal -> new NovaStringValue(literal.value());
       case BooleanLiteralExpression literal -> new NovaBooleanValue(literal.value());
       case ListLiteralExpression list -> evaluateList(list, environment);
-      case IdentifierExpression identifier ->
-          environment
-              .lookup(identifier.name())
-              .orElseThrow(
-                  () ->
-                      new NovaEvaluationException("Unknown identifier: " + identifier.name()));
+      case IdentifierExpression identifier -> lookup(identifier.name(), environment);
       case LambdaExpression lambda ->
           new NovaFunctionValue(lambda.parameters(), lambda.body(), environment, this);
       case CallExpression call -> evaluateCall(call, environment);
@@ -92,7 +114,20 @@ public final class NovaEvaluator {
     for (int i = 0; i < function.parameters().size(); i++) {
       scope.define(function.parameters().get(i).name(), arguments.get(i));
     }
-    return evaluate(function.body(), scope);
+    NovaSandbox.Run run = NovaSandbox.enter();
+    try {
+      return evaluate(function.body(), scope);
+    } finally {
+      NovaSandbox.exit(run);
+    }
+  }
+
+  private static NovaValue lookup(String name, NovaEnvironment env) {
+    NovaValue value = env.get(name);
+    if (value == null) {
+      throw new NovaEvaluationException("Unknown identifier: " + name);
+    }
+    return value;
   }
 
   private NovaValue evaluateList(ListLiteralExpression expression, NovaEnvironment env) {
@@ -137,9 +172,7 @@ public final class NovaEvaluator {
 
   private NovaValue evaluateAsync(AsyncExpression expression, NovaEnvironment env) {
     NovaEnvironment scope = env.createChild();
-    CompletableFuture<NovaValue> future =
-        CompletableFuture.supplyAsync(() -> evaluate(expression.block(), scope), executor);
-    return new NovaFutureValue(future);
+    return new NovaFutureValue(tasks.fork(() -> evaluate(expression.block(), scope)));
   }
 
   private NovaValue evaluateAwait(AwaitExpression expression, NovaEnvironment env) {
@@ -148,8 +181,8 @@ public final class NovaEvaluator {
       throw new NovaEvaluationException("Await requires a future value");
     }
     try {
-      return futureValue.future().join();
-    } catch (Exception exception) {
+      return NovaSandbox.join(futureValue.future());
+    } catch (CancellationException | CompletionException exception) {
       throw new NovaEvaluationException("Failed to await future", exception);
     }
   }
@@ -0,0 +1,9 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+/** How a {@link NovaRuntime} runs programs. */
+public enum NovaExecutionMode {
+  /** Walk the AST with {@link NovaEvaluator} on every evaluation. */
+  INTERPRETED,
+  /** Lower expressions once with {@link NovaCompiler} and run the resulting closures. */
+  COMPILED
+}
@@ -0,0 +1,16 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/** Marks a Java method that {@link NovaHostBinder} exposes to Nova scripts. */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface NovaExport {
+  /** Name scripts call the function by, or the method name when empty. */
+  String value() default "";
+}
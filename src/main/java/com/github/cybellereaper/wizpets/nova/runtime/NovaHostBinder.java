@@ -0,0 +1,396 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import com.github.cybellereaper.wizpets.nova.type.FunctionType;
+import com.github.cybellereaper.wizpets.nova.type.FutureType;
+import com.github.cybellereaper.wizpets.nova.type.ListType;
+import com.github.cybellereaper.wizpets.nova.type.NovaType;
+import com.github.cybellereaper.wizpets.nova.type.PrimitiveType;
+import com.github.cybellereaper.wizpets.nova.type.UnknownType;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Registers the {@link NovaExport} methods of Java objects as Nova host functions.
+ *
+ * <p>Each function's {@link FunctionType} is derived from the method signature, and its calls go
+ * through a {@link MethodHandle} adapted once at bind time to take and return {@link NovaValue}s,
+ * so a call neither reflects, boxes primitive arguments nor copies its argument list.
+ *
+ * <p>Parameters may be {@code int}, {@code long}, {@code double}, {@code boolean} or their boxes,
+ * {@link BigDecimal}, {@link String}, an enum (passed by constant name), a Nova value, or any other
+ * object, which scripts pass as a {@link NovaJavaValue}. Results convert the same way, except that
+ * a {@link CompletionStage} becomes a future, a {@link List} becomes a Nova list, and {@code void}
+ * or {@code null} becomes unit.
+ */
+public final class NovaHostBinder {
+  private static final int SPREAD_ARITY = 5;
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+  private static final MethodHandle TO_NUMBER = converter("number", NovaNumberValue.class);
+  private static final MethodHandle TO_LONG = converter("toLong", long.class);
+  private static final MethodHandle TO_INT = converter("toInt", int.class);
+  private static final MethodHandle TO_DOUBLE = converter("toDouble", double.class);
+  private static final MethodHandle TO_DECIMAL = converter("toDecimal", BigDecimal.class);
+  private static final MethodHandle TO_STRING = converter("toJavaString", String.class);
+  private static final MethodHandle TO_BOOLEAN = converter("toBoolean", boolean.class);
+  private static final MethodHandle TO_ENUM = converter("toEnum", Object.class, Class.class);
+  private static final MethodHandle TO_NOVA = converter("expect", Object.class, Class.class);
+  private static final MethodHandle TO_OBJECT = converter("unwrap", Object.class, Class.class);
+  private static final MethodHandle FROM_LONG = find("fromLong", NovaValue.class, long.class);
+  private static final MethodHandle FROM_DOUBLE = find("fromDouble", NovaValue.class, double.class);
+  private static final MethodHandle FROM_BOOLEAN =
+      find("fromBoolean", NovaValue.class, boolean.class);
+  private static final MethodHandle FROM_OBJECT = find("toNova", NovaValue.class, Object.class);
+
+  private final NovaRuntime runtime;
+
+  public NovaHostBinder(NovaRuntime runtime) {
+    this.runtime = Objects.requireNonNull(runtime, "runtime");
+  }
+
+  /**
+   * Register every {@link NovaExport} method of {@code target}'s class, static or not.
+   *
+   * @return the names the functions were registered under
+   * @throws IllegalArgumentException if a method has a signature Nova cannot call or two exports
+   *     share a name
+   */
+  public List<String> bind(Object target) {
+    Objects.requireNonNull(target, "target");
+    return bind(target.getClass(), target);
+  }
+
+  /** Register the static {@link NovaExport} methods of {@code type}. */
+  public List<String> bindStatic(Class<?> type) {
+    Objects.requireNonNull(type, "type");
+    return bind(type, null);
+  }
+
+  private List<String> bind(Class<?> type, Object target) {
+    List<Method> methods = new ArrayList<>();
+    Set<String> names = new HashSet<>();
+    for (Method method : type.getMethods()) {
+      if (method.isAnnotationPresent(NovaExport.class)
+          && (target != null || Modifier.isStatic(method.getModifiers()))) {
+        if (!names.add(exportName(method))) {
+          throw new IllegalArgumentException(
+              "Duplicate Nova export " + exportName(method) + " on " + type.getName());
+        }
+        methods.add(method);
+      }
+    }
+    List<NovaCallable> functions = new ArrayList<>();
+    for (Method method : methods) {
+      functions.add(adapt(exportName(method), method, target));
+    }
+    List<String> bound = new ArrayList<>();
+    for (int i = 0; i < methods.size(); i++) {
+      String name = exportName(methods.get(i));
+      runtime.registerHostFunction(name, functions.get(i), typeOf(methods.get(i)));
+      bound.add(name);
+    }
+    return List.copyOf(bound);
+  }
+
+  private static FunctionType typeOf(Method method) {
+    List<NovaType> parameters = new ArrayList<>();
+    for (Type parameter : method.getGenericParameterTypes()) {
+      parameters.add(typeOf(parameter));
+    }
+    NovaType returnType = typeOf(method.getGenericReturnType());
+    return new FunctionType(parameters, returnType, returnType instanceof FutureType);
+  }
+
+  private static NovaType typeOf(Type type) {
+    if (type instanceof ParameterizedType parameterized
+        && parameterized.getRawType() instanceof Class<?> raw
+        && parameterized.getActualTypeArguments().length == 1) {
+      NovaType argument = typeOf(parameterized.getActualTypeArguments()[0]);
+      if (CompletionStage.class.isAssignableFrom(raw)) {
+        return new FutureType(argument);
+      }
+      if (List.class.isAssignableFrom(raw)) {
+        return new ListType(argument);
+      }
+    }
+    Class<?> raw =
+        type instanceof ParameterizedType parameterized
+            ? (Class<?>) parameterized.getRawType()
+            : type instanceof Class<?> plain ? plain : Object.class;
+    if (raw == void.class || raw == Void.class || raw == NovaUnitValue.class) {
+      return PrimitiveType.UNIT;
+    }
+    if (raw == boolean.class || raw == Boolean.class || raw == NovaBooleanValue.class) {
+      return PrimitiveType.BOOLEAN;
+    }
+    if (raw == String.class || raw.isEnum() || raw == NovaStringValue.class) {
+      return PrimitiveType.STRING;
+    }
+    if (raw.isPrimitive() || Number.class.isAssignableFrom(raw) || raw == NovaNumberValue.class) {
+      return PrimitiveType.NUMBER;
+    }
+    if (CompletionStage.class.isAssignableFrom(raw) || raw == NovaFutureValue.class) {
+      return new FutureType(UnknownType.INSTANCE);
+    }
+    if (List.class.isAssignableFrom(raw) || raw == NovaListValue.class) {
+      return new ListType(UnknownType.INSTANCE);
+    }
+    return UnknownType.INSTANCE;
+  }
+
+  private static String exportName(Method method) {
+    String name = method.getAnnotation(NovaExport.class).value();
+    return name.isEmpty() ? method.getName() : name;
+  }
+
+  private static NovaCallable adapt(String name, Method method, Object target) {
+    MethodHandle handle;
+    try {
+      method.setAccessible(true);
+      handle = LOOKUP.unreflect(method).asFixedArity();
+    } catch (IllegalAccessException | RuntimeException exception) {
+      throw new IllegalArgumentException("Cannot access " + method, exception);
+    }
+    if (!Modifier.isStatic(method.getModifiers())) {
+      handle = handle.bindTo(target);
+    }
+    Class<?>[] parameters = method.getParameterTypes();
+    MethodHandle[] filters = new MethodHandle[parameters.length];
+    for (int i = 0; i < parameters.length; i++) {
+      filters[i] = parameterConverter(method, parameters[i]);
+    }
+    handle = MethodHandles.filterArguments(handle, 0, filters);
+    Class<?> returnType = method.getReturnType();
+    handle =
+        returnType == void.class
+            ? MethodHandles.filterReturnValue(
+                handle, MethodHandles.constant(NovaValue.class, NovaUnitValue.INSTANCE))
+            : MethodHandles.filterReturnValue(handle, returnConverter(returnType));
+    if (parameters.length >= SPREAD_ARITY) {
+      handle = handle.asSpreader(NovaValue[].class, parameters.length);
+    }
+    return new BoundFunction(name, parameters.length, handle);
+  }
+
+  private static MethodHandle parameterConverter(Method method, Class<?> type) {
+    MethodHandle converter;
+    if (type == long.class || type == Long.class) {
+      converter = TO_LONG;
+    } else if (type == int.class || type == Integer.class) {
+      converter = TO_INT;
+    } else if (type == double.class || type == Double.class) {
+      converter = TO_DOUBLE;
+    } else if (type == boolean.class || type == Boolean.class) {
+      converter = TO_BOOLEAN;
+    } else if (type == BigDecimal.class) {
+      converter = TO_DECIMAL;
+    } else if (type == String.class) {
+      converter = TO_STRING;
+    } else if (type == NovaNumberValue.class) {
+      converter = TO_NUMBER;
+    } else if (NovaValue.class.isAssignableFrom(type)) {
+      converter = MethodHandles.insertArguments(TO_NOVA, 0, type);
+    } else if (type.isEnum()) {
+      converter = MethodHandles.insertArguments(TO_ENUM, 0, type);
+    } else if (type.isPrimitive()
+        || Number.class.isAssignableFrom(type)
+        || Character.class == type
+        || List.class.isAssignableFrom(type)
+        || CompletionStage.class.isAssignableFrom(type)) {
+      throw new IllegalArgumentException(
+          "Unsupported parameter type " + type.getName() + " on " + method);
+    } else {
+      converter = MethodHandles.insertArguments(TO_OBJECT, 0, type);
+    }
+    return converter.asType(MethodType.methodType(type, NovaValue.class));
+  }
+
+  private static MethodHandle returnConverter(Class<?> type) {
+    MethodHandle converter;
+    if (type == long.class || type == int.class || type == short.class || type == byte.class) {
+      converter = FROM_LONG;
+    } else if (type == double.class || type == float.class) {
+      converter = FROM_DOUBLE;
+    } else if (type == boolean.class) {
+      converter = FROM_BOOLEAN;
+    } else if (type == char.class) {
+      throw new IllegalArgumentException("Unsupported return type char");
+    } else {
+      converter = FROM_OBJECT;
+    }
+    return converter.asType(MethodType.methodType(NovaValue.class, type));
+  }
+
+  /** A static converter from a {@link NovaValue}, after any leading {@code bound} arguments. */
+  private static MethodHandle converter(String name, Class<?> returnType, Class<?>... bound) {
+    Class<?>[] parameters = new Class<?>[bound.length + 1];
+    System.arraycopy(bound, 0, parameters, 0, bound.length);
+    parameters[bound.length] = NovaValue.class;
+    return find(name, returnType, parameters);
+  }
+
+  private static MethodHandle find(String name, Class<?> returnType, Class<?>... parameters) {
+    try {
+      return LOOKUP.findStatic(
+          NovaHostBinder.class, name, MethodType.methodType(returnType, parameters));
+    } catch (ReflectiveOperationException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  private static NovaNumberValue number(NovaValue value) {
+    if (value instanceof NovaNumberValue number) {
+      return number;
+    }
+    throw mismatch("Number", value);
+  }
+
+  private static long toLong(NovaValue value) {
+    NovaNumberValue number = number(value);
+    if (!number.isLong()) {
+      throw new NovaEvaluationException("Expected a whole number but got " + number.value());
+    }
+    return number.longValue();
+  }
+
+  private static int toInt(NovaValue value) {
+    long whole = toLong(value);
+    if (whole != (int) whole) {
+      throw new NovaEvaluationException(whole + " does not fit in an int");
+    }
+    return (int) whole;
+  }
+
+  private static double toDouble(NovaValue value) {
+    return number(value).doubleValue();
+  }
+
+  private static BigDecimal toDecimal(NovaValue value) {
+    return number(value).value();
+  }
+
+  private static String toJavaString(NovaValue value) {
+    if (value instanceof NovaStringValue string) {
+      return string.value();
+    }
+    throw mismatch("String", value);
+  }
+
+  private static boolean toBoolean(NovaValue value) {
+    if (value instanceof NovaBooleanValue bool) {
+      return bool.value();
+    }
+    throw mismatch("Boolean", value);
+  }
+
+  private static Object toEnum(Class<?> type, NovaValue value) {
+    String constant =
+        switch (value) {
+          case NovaStringValue string -> string.value();
+          case NovaVariantValue variant when variant.fields().isEmpty() -> variant.constructor();
+          default -> throw mismatch(type.getSimpleName(), value);
+        };
+    for (Object candidate : type.getEnumConstants()) {
+      if (((Enum<?>) candidate).name().equals(constant)) {
+        return candidate;
+      }
+    }
+    throw new NovaEvaluationException(
+        "Unknown " + type.getSimpleName() + " constant: " + constant);
+  }
+
+  private static Object expect(Class<?> type, NovaValue value) {
+    if (type.isInstance(value)) {
+      return value;
+    }
+    throw mismatch(type.getSimpleName(), value);
+  }
+
+  private static Object unwrap(Class<?> type, NovaValue value) {
+    if (value instanceof NovaJavaValue java) {
+      return java.as(type);
+    }
+    throw mismatch(type.getSimpleName(), value);
+  }
+
+  private static NovaValue fromLong(long value) {
+    return NovaNumberValue.of(value);
+  }
+
+  private static NovaValue fromDouble(double value) {
+    return NovaNumberValue.of(value);
+  }
+
+  private static NovaValue fromBoolean(boolean value) {
+    return new NovaBooleanValue(value);
+  }
+
+  /** Convert a result whose type is only known at run time. */
+  static NovaValue toNova(Object value) {
+    return switch (value) {
+      case null -> NovaUnitValue.INSTANCE;
+      case NovaValue nova -> nova;
+      case String string -> new NovaStringValue(string);
+      case Boolean bool -> new NovaBooleanValue(bool);
+      case BigDecimal decimal -> NovaNumberValue.of(decimal);
+      case BigInteger integer -> NovaNumberValue.of(new BigDecimal(integer));
+      case Long whole -> NovaNumberValue.of(whole);
+      case Integer whole -> NovaNumberValue.of(whole);
+      case Short whole -> NovaNumberValue.of(whole);
+      case Byte whole -> NovaNumberValue.of(whole);
+      case Number number -> NovaNumberValue.of(number.doubleValue());
+      case Enum<?> constant -> new NovaStringValue(constant.name());
+      case CompletionStage<?> stage ->
+          new NovaFutureValue(stage.toCompletableFuture().thenApply(NovaHostBinder::toNova));
+      case List<?> list -> new NovaListValue(list.stream().map(NovaHostBinder::toNova).toList());
+      default -> new NovaJavaValue(value);
+    };
+  }
+
+  private static NovaEvaluationException mismatch(String expected, NovaValue value) {
+    return new NovaEvaluationException(
+        "Expected " + expected + " but got " + value.getClass().getSimpleName());
+  }
+
+  /** A bound method whose handle takes {@code arity} values, or one array past four. */
+  private record BoundFunction(String name, int arity, MethodHandle handle)
+      implements NovaCallable {
+    @Override
+    public NovaValue invoke(List<NovaValue> arguments) {
+      if (arguments.size() != arity) {
+        throw new NovaEvaluationException(
+            name + " expects " + arity + " arguments but got " + arguments.size());
+      }
+      try {
+        return switch (arity) {
+          case 0 -> (NovaValue) handle.invokeExact();
+          case 1 -> (NovaValue) handle.invokeExact(arguments.get(0));
+          case 2 -> (NovaValue) handle.invokeExact(arguments.get(0), arguments.get(1));
+          case 3 ->
+              (NovaValue) handle.invokeExact(arguments.get(0), arguments.get(1), arguments.get(2));
+          case 4 ->
+              (NovaValue)
+                  handle.invokeExact(
+                      arguments.get(0), arguments.get(1), arguments.get(2), arguments.get(3));
+          default -> (NovaValue) handle.invokeExact(arguments.toArray(new NovaValue[0]));
+        };
+      } catch (RuntimeException | Error exception) {
+        throw exception;
+      } catch (Throwable exception) {
+        throw new NovaEvaluationException(name + " failed", exception);
+      }
+    }
+  }
+}
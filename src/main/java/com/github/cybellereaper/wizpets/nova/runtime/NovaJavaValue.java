@@ -7,4 +7,17 @@ public record NovaJavaValue(Object value) implements NovaValue {
   public NovaJavaValue {
     Objects.requireNonNull(value, "value");
   }
+
+  /**
+   * The wrapped object as a {@code type}.
+   *
+   * @throws NovaEvaluationException if it is not one
+   */
+  public <T> T as(Class<T> type) {
+    if (!type.isInstance(value)) {
+      throw new NovaEvaluationException(
+          "Expected " + type.getSimpleName() + " but got " + value.getClass().getSimpleName());
+    }
+    return type.cast(value);
+  }
 }
@@ -1,15 +1,327 @@
 package com.github.cybellereaper.wizpets.nova.runtime;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
 import java.util.Objects;
 
-/** Numeric runtime value. */
-public record NovaNumberValue(BigDecimal value) implements NovaValue {
-  public NovaNumberValue {
-    Objects.requireNonNull(value, "value");
+/**
+ * Numeric runtime value.
+ *
+ * <p>Integers that fit in a {@code long} and decimals that round-trip through a {@code double} are
+ * held unboxed; only values neither can represent exactly keep a {@link BigDecimal}. Every value
+ * has exactly one representation, so equality is numeric ({@code 2.0} equals {@code 2}). Arithmetic
+ * stays on the primitive path and promotes to {@code BigDecimal} when a {@code long} overflows, a
+ * {@code double} result is rounded or not finite, or an operand is already a decimal, so {@code 0.1
+ * + 0.2} is {@code 0.3}. Rounding is detected with the TwoSum error term for sums and {@link
+ * Math#fma} for products and quotients; doubles that are not their own shortest decimal, such as
+ * {@code 0.1}, always take the decimal path. Small integers are cached.
+ */
+public final class NovaNumberValue implements NovaValue, Comparable<NovaNumberValue> {
+  private static final int CACHE_LOW = -128;
+  private static final int CACHE_HIGH = 1024;
+  private static final NovaNumberValue[] CACHE = new NovaNumberValue[CACHE_HIGH - CACHE_LOW + 1];
+
+  /** Longs beyond this magnitude do not convert to {@code double} exactly. */
+  private static final long EXACT_DOUBLE_LIMIT = 1L << 53;
+
+  /** Bound on the digits of a decimal that is its double's shortest representation. */
+  private static final long SHORT_DECIMAL_LIMIT = 1_000_000_000_000_000L;
+
+  /** {@code 5^n} up to the last power below {@link #SHORT_DECIMAL_LIMIT}. */
+  private static final long[] POWERS_OF_FIVE = new long[22];
+
+  static {
+    POWERS_OF_FIVE[0] = 1;
+    for (int i = 1; i < POWERS_OF_FIVE.length; i++) {
+      POWERS_OF_FIVE[i] = POWERS_OF_FIVE[i - 1] * 5;
+    }
+    for (int i = 0; i < CACHE.length; i++) {
+      CACHE[i] = new NovaNumberValue(Kind.LONG, CACHE_LOW + i, 0, null);
+    }
+  }
+
+  private enum Kind {
+    LONG,
+    DOUBLE,
+    DECIMAL
   }
 
+  private final Kind kind;
+  private final long longValue;
+  private final double doubleValue;
+  private final BigDecimal decimal;
+
+  private NovaNumberValue(Kind kind, long longValue, double doubleValue, BigDecimal decimal) {
+    this.kind = kind;
+    this.longValue = longValue;
+    this.doubleValue = doubleValue;
+    this.decimal = decimal;
+  }
+
+  public static NovaNumberValue of(long value) {
+    if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+      return CACHE[(int) value - CACHE_LOW];
+    }
+    return new NovaNumberValue(Kind.LONG, value, 0, null);
+  }
+
+  /**
+   * @throws IllegalArgumentException if {@code value} is NaN or infinite
+   */
   public static NovaNumberValue of(double value) {
-    return new NovaNumberValue(BigDecimal.valueOf(value));
+    if (!Double.isFinite(value)) {
+      throw new IllegalArgumentException("Nova numbers must be finite: " + value);
+    }
+    if (value >= -0x1p63 && value < 0x1p63 && value == (long) value) {
+      return of((long) value);
+    }
+    return new NovaNumberValue(Kind.DOUBLE, 0, value, null);
+  }
+
+  public static NovaNumberValue of(BigDecimal value) {
+    Objects.requireNonNull(value, "value");
+    BigDecimal stripped = value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+    if (stripped.scale() <= 0 && stripped.precision() - stripped.scale() <= 19) {
+      BigInteger whole = stripped.toBigIntegerExact();
+      if (whole.bitLength() < Long.SIZE) {
+        return of(whole.longValue());
+      }
+    }
+    double approximation = stripped.doubleValue();
+    if (Double.isFinite(approximation)
+        && BigDecimal.valueOf(approximation).compareTo(stripped) == 0) {
+      return of(approximation);
+    }
+    return new NovaNumberValue(Kind.DECIMAL, 0, 0, stripped);
+  }
+
+  /** Decimal value; unboxed doubles convert through their shortest decimal representation. */
+  public BigDecimal value() {
+    return switch (kind) {
+      case LONG -> BigDecimal.valueOf(longValue);
+      case DOUBLE -> BigDecimal.valueOf(doubleValue);
+      case DECIMAL -> decimal;
+    };
+  }
+
+  /** Nearest {@code double}, exact unless this value is held as a decimal. */
+  public double doubleValue() {
+    return switch (kind) {
+      case LONG -> longValue;
+      case DOUBLE -> doubleValue;
+      case DECIMAL -> decimal.doubleValue();
+    };
+  }
+
+  /** Whether this is a whole number that fits in a {@code long}. */
+  public boolean isLong() {
+    return kind == Kind.LONG;
+  }
+
+  /**
+   * @throws ArithmeticException unless {@link #isLong()}
+   */
+  public long longValue() {
+    if (kind != Kind.LONG) {
+      throw new ArithmeticException("Not a whole number in long range: " + value());
+    }
+    return longValue;
+  }
+
+  public NovaNumberValue add(NovaNumberValue other) {
+    if (kind == Kind.LONG && other.kind == Kind.LONG) {
+      long sum = longValue + other.longValue;
+      if (((longValue ^ sum) & (other.longValue ^ sum)) >= 0) {
+        return of(sum);
+      }
+    } else if (primitive(other)) {
+      double left = doubleValue();
+      double right = other.doubleValue();
+      double sum = left + right;
+      if (exact(left, right, sum, sumError(left, right, sum))) {
+        return of(sum);
+      }
+    }
+    return of(value().add(other.value()));
+  }
+
+  public NovaNumberValue subtract(NovaNumberValue other) {
+    if (kind == Kind.LONG && other.kind == Kind.LONG) {
+      long difference = longValue - other.longValue;
+      if (((longValue ^ other.longValue) & (longValue ^ difference)) >= 0) {
+        return of(difference);
+      }
+    } else if (primitive(other)) {
+      double left = doubleValue();
+      double right = -other.doubleValue();
+      double difference = left + right;
+      if (exact(left, right, difference, sumError(left, right, difference))) {
+        return of(difference);
+      }
+    }
+    return of(value().subtract(other.value()));
+  }
+
+  public NovaNumberValue multiply(NovaNumberValue other) {
+    if (kind == Kind.LONG && other.kind == Kind.LONG) {
+      long high = Math.multiplyHigh(longValue, other.longValue);
+      long product = longValue * other.longValue;
+      if ((high == 0 && product >= 0) || (high == -1 && product < 0)) {
+        return of(product);
+      }
+    } else if (primitive(other)) {
+      double left = doubleValue();
+      double right = other.doubleValue();
+      double product = left * right;
+      if (exact(left, right, product, Math.fma(left, right, -product))) {
+        return of(product);
+      }
+    }
+    return of(value().multiply(other.value()));
+  }
+
+  /**
+   * Quotient of this value and {@code other}; decimal quotients are rounded to 34 digits.
+   *
+   * @throws NovaEvaluationException if {@code other} is zero
+   */
+  public NovaNumberValue divide(NovaNumberValue other) {
+    if (other.signum() == 0) {
+      throw new NovaEvaluationException("Division by zero");
+    }
+    if (kind == Kind.LONG
+        && other.kind == Kind.LONG
+        && longValue % other.longValue == 0
+        && !(longValue == Long.MIN_VALUE && other.longValue == -1)) {
+      return of(longValue / other.longValue);
+    }
+    if (primitive(other)) {
+      double dividend = doubleValue();
+      double divisor = other.doubleValue();
+      double quotient = dividend / divisor;
+      if (exact(dividend, divisor, quotient, Math.fma(quotient, divisor, -dividend))) {
+        return of(quotient);
+      }
+    }
+    return of(value().divide(other.value(), MathContext.DECIMAL128));
+  }
+
+  public NovaNumberValue negate() {
+    return switch (kind) {
+      case LONG -> longValue == Long.MIN_VALUE ? of(value().negate()) : of(-longValue);
+      case DOUBLE -> new NovaNumberValue(Kind.DOUBLE, 0, -doubleValue, null);
+      case DECIMAL -> new NovaNumberValue(Kind.DECIMAL, 0, 0, decimal.negate());
+    };
+  }
+
+  public int signum() {
+    return switch (kind) {
+      case LONG -> Long.signum(longValue);
+      case DOUBLE -> (int) Math.signum(doubleValue);
+      case DECIMAL -> decimal.signum();
+    };
+  }
+
+  @Override
+  public int compareTo(NovaNumberValue other) {
+    if (kind == Kind.LONG && other.kind == Kind.LONG) {
+      return Long.compare(longValue, other.longValue);
+    }
+    if (primitive(other)) {
+      return Double.compare(doubleValue(), other.doubleValue());
+    }
+    return value().compareTo(other.value());
+  }
+
+  /**
+   * Whether a double result with the given rounding error is the exact decimal result. The
+   * operands and result must also be their own shortest decimal, or binary-exact arithmetic such as
+   * {@code 0.3 - 0.2} would still disagree with the decimals they stand for.
+   */
+  private static boolean exact(double left, double right, double result, double error) {
+    return error == 0
+        && Double.isFinite(result)
+        && shortDecimal(left)
+        && shortDecimal(right)
+        && shortDecimal(result);
+  }
+
+  /**
+   * Whether the binary value of {@code value} has at most 15 significant digits. Such decimals map
+   * to distinct doubles, so the value is its own shortest decimal representation.
+   */
+  private static boolean shortDecimal(double value) {
+    if (Math.abs(value) <= 0x1p53 && value == Math.rint(value)) {
+      return true;
+    }
+    long bits = Double.doubleToRawLongBits(value);
+    int exponent = Math.getExponent(value);
+    long significand = bits & 0xF_FFFF_FFFF_FFFFL;
+    int scale;
+    if (exponent == Double.MIN_EXPONENT - 1) {
+      scale = 1074;
+    } else {
+      significand |= 1L << 52;
+      scale = 52 - exponent;
+    }
+    int trailing = Long.numberOfTrailingZeros(significand);
+    significand >>>= trailing;
+    scale -= trailing;
+    if (scale <= 0 || scale >= POWERS_OF_FIVE.length) {
+      return false;
+    }
+    long power = POWERS_OF_FIVE[scale];
+    return Math.multiplyHigh(significand, power) == 0
+        && significand * power >= 0
+        && significand * power < SHORT_DECIMAL_LIMIT;
+  }
+
+  /** Rounding error of {@code sum = a + b} (TwoSum); zero when the sum is exact. */
+  private static double sumError(double a, double b, double sum) {
+    double virtualB = sum - a;
+    return (a - (sum - virtualB)) + (b - virtualB);
+  }
+
+  /** Whether both operands convert to {@code double} without rounding. */
+  private boolean primitive(NovaNumberValue other) {
+    return exactDouble() && other.exactDouble();
+  }
+
+  private boolean exactDouble() {
+    return switch (kind) {
+      case LONG -> longValue >= -EXACT_DOUBLE_LIMIT && longValue <= EXACT_DOUBLE_LIMIT;
+      case DOUBLE -> true;
+      case DECIMAL -> false;
+    };
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof NovaNumberValue that) || kind != that.kind) {
+      return false;
+    }
+    return switch (kind) {
+      case LONG -> longValue == that.longValue;
+      case DOUBLE -> Double.compare(doubleValue, that.doubleValue) == 0;
+      case DECIMAL -> decimal.equals(that.decimal);
+    };
+  }
+
+  @Override
+  public int hashCode() {
+    return switch (kind) {
+      case LONG -> Long.hashCode(longValue);
+      case DOUBLE -> Double.hashCode(doubleValue);
+      case DECIMAL -> decimal.hashCode();
+    };
+  }
+
+  @Override
+  public String toString() {
+    return "NovaNumberValue[value=" + value().toPlainString() + "]";
   }
 }
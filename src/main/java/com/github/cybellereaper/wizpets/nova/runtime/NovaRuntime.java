@@ -5,44 +5,103 @@ import com.github.cybellereaper.wizpets.nova.ast.NovaProgram;
 import com.github.cybellereaper.wizpets.nova.type.NovaType;
 import com.github.cybellereaper.wizpets.nova.type.TypeChecker;
 import com.github.cybellereaper.wizpets.nova.type.TypeEnvironment;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
-/** High level entry point tying together typing and evaluation. */
+/**
+ * High level entry point tying together typing and evaluation.
+ *
+ * <p>Each loaded module gets its own {@link NovaTaskScope}, so its async work is bounded by its
+ * {@link NovaTaskLimits} and cancelled when the module is reloaded or the runtime closes.
+ */
 public final class NovaRuntime implements AutoCloseable {
   private final ExecutorService executor;
   private final boolean ownsExecutor;
   private final TypeEnvironment typeEnvironment;
   private final TypeChecker typeChecker;
   private final NovaEnvironment valueEnvironment;
+  private final NovaExecutionMode mode;
+  private final NovaTaskScope tasks;
+  private final Map<String, NovaTaskScope> moduleTasks = new ConcurrentHashMap<>();
   private final NovaEvaluator evaluator;
+  private final NovaCompiler compiler;
 
-  private NovaRuntime(ExecutorService executor, boolean ownsExecutor) {
+  private NovaRuntime(ExecutorService executor, boolean ownsExecutor, NovaExecutionMode mode) {
     this.executor = executor;
     this.ownsExecutor = ownsExecutor;
     this.typeEnvironment = new TypeEnvironment();
     this.typeChecker = new TypeChecker(typeEnvironment);
     this.valueEnvironment = new NovaEnvironment();
-    this.evaluator = new NovaEvaluator(valueEnvironment, executor);
+    this.mode = mode;
+    this.tasks = new NovaTaskScope(executor, NovaTaskLimits.DEFAULT);
+    this.evaluator = new NovaEvaluator(valueEnvironment, tasks);
+    this.compiler = new NovaCompiler(valueEnvironment, tasks);
   }
 
   public static NovaRuntime createDefault() {
-    return new NovaRuntime(Executors.newVirtualThreadPerTaskExecutor(), true);
+    return createDefault(NovaExecutionMode.COMPILED);
+  }
+
+  public static NovaRuntime createDefault(NovaExecutionMode mode) {
+    Objects.requireNonNull(mode, "mode");
+    return new NovaRuntime(Executors.newVirtualThreadPerTaskExecutor(), true, mode);
   }
 
   public static NovaRuntime create(ExecutorService executor) {
+    return create(executor, NovaExecutionMode.COMPILED);
+  }
+
+  public static NovaRuntime create(ExecutorService executor, NovaExecutionMode mode) {
     Objects.requireNonNull(executor, "executor");
-    return new NovaRuntime(executor, false);
+    Objects.requireNonNull(mode, "mode");
+    return new NovaRuntime(executor, false, mode);
   }
 
   public void load(NovaProgram program) {
+    load(program, NovaTaskLimits.DEFAULT);
+  }
+
+  /**
+   * Type-check and define {@code program}, cancelling any async work started by a previously
+   * loaded module of the same name.
+   */
+  public void load(NovaProgram program, NovaTaskLimits limits) {
+    Objects.requireNonNull(limits, "limits");
     typeChecker.checkProgram(program);
-    evaluator.executeProgram(program);
+    NovaTaskScope scope = new NovaTaskScope(executor, limits);
+    NovaTaskScope previous = moduleTasks.put(program.module().qualifiedName(), scope);
+    if (previous != null) {
+      previous.close();
+    }
+    switch (mode) {
+      case INTERPRETED -> evaluator.executeProgram(program, scope);
+      case COMPILED -> compiler.executeProgram(program, scope);
+    }
+  }
+
+  /** Task scope of the loaded module named {@code qualifiedName}. */
+  public Optional<NovaTaskScope> taskScope(String qualifiedName) {
+    return Optional.ofNullable(moduleTasks.get(qualifiedName));
   }
 
   public NovaValue evaluate(NovaExpression expression) {
-    return evaluator.evaluate(expression, valueEnvironment);
+    return switch (mode) {
+      case INTERPRETED -> evaluator.evaluate(expression, valueEnvironment);
+      case COMPILED -> compiler.compile(expression).evaluate();
+    };
+  }
+
+  /** Lower an expression once so it can be evaluated repeatedly against the runtime's globals. */
+  public NovaCompiledExpression compile(NovaExpression expression) {
+    return compiler.compile(expression);
+  }
+
+  public NovaExecutionMode mode() {
+    return mode;
   }
 
   public void registerHostFunction(String name, NovaCallable callable, NovaType type) {
@@ -63,6 +122,8 @@ public final class NovaRuntime implements AutoCloseable {
 
   @Override
   public void close() {
+    moduleTasks.values().forEach(NovaTaskScope::close);
+    tasks.close();
     if (ownsExecutor) {
       executor.shutdownNow();
     }
@@ -0,0 +1,197 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounds the Nova code one owner, such as an event handler, runs on the calling thread.
+ *
+ * <p>Each {@link #run} gets fresh {@link NovaSandboxLimits}. Every Nova function call it makes, in
+ * either execution mode, spends one unit of fuel and counts towards the call depth, and every few
+ * calls the wall clock is checked against the run's deadline; awaits block for at most the time
+ * left. Exhausting a limit throws {@link NovaSandboxException} out of the run. Host functions and
+ * async tasks on other threads are not metered, so a single slow host call can still overrun the
+ * wall clock until it returns.
+ *
+ * <p>The sandbox also accumulates the CPU time of its runs, or their elapsed time where the JVM
+ * cannot measure thread CPU time.
+ */
+public final class NovaSandbox {
+  private static final ThreadLocal<Run> CURRENT = new ThreadLocal<>();
+  /** Runs in progress on any thread, so unsandboxed calls can skip the thread-local lookup. */
+  private static final AtomicInteger ACTIVE = new AtomicInteger();
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+  private static final long CLOCK_CHECK_INTERVAL = 64;
+
+  private final NovaSandboxLimits limits;
+  private final AtomicLong cpuNanos = new AtomicLong();
+  private final AtomicLong runs = new AtomicLong();
+  private final AtomicLong overruns = new AtomicLong();
+
+  public NovaSandbox(NovaSandboxLimits limits) {
+    this.limits = Objects.requireNonNull(limits, "limits");
+  }
+
+  public NovaSandboxLimits limits() {
+    return limits;
+  }
+
+  /** CPU time spent in this sandbox's runs so far. */
+  public Duration cpuTime() {
+    return Duration.ofNanos(cpuNanos.get());
+  }
+
+  public long runs() {
+    return runs.get();
+  }
+
+  /** Runs that exhausted one of their limits. */
+  public long overruns() {
+    return overruns.get();
+  }
+
+  /**
+   * Call {@code body} under a fresh budget. A run nested in another run on the same thread gets its
+   * own budget and restores the outer one when it returns.
+   *
+   * @throws NovaSandboxException if the Nova code it runs exhausts a limit
+   */
+  public <T> T run(Supplier<T> body) {
+    Objects.requireNonNull(body, "body");
+    Run outer = CURRENT.get();
+    CURRENT.set(new Run(this, System.nanoTime() + limits.wallClock().toNanos()));
+    ACTIVE.incrementAndGet();
+    long start = cpuClock();
+    try {
+      return body.get();
+    } finally {
+      cpuNanos.addAndGet(cpuClock() - start);
+      runs.incrementAndGet();
+      ACTIVE.decrementAndGet();
+      if (outer == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(outer);
+      }
+    }
+  }
+
+  /** {@link #run(Supplier)} for bodies without a result. */
+  public void run(Runnable body) {
+    Objects.requireNonNull(body, "body");
+    run(
+        () -> {
+          body.run();
+          return null;
+        });
+  }
+
+  /**
+   * Charge a Nova function call to the run on this thread, if any.
+   *
+   * @return the run to pass to {@link #exit}
+   */
+  static Run enter() {
+    if (ACTIVE.get() == 0) {
+      return null;
+    }
+    Run run = CURRENT.get();
+    if (run != null) {
+      run.enter();
+    }
+    return run;
+  }
+
+  /** Leave a call charged by {@link #enter}. */
+  static void exit(Run run) {
+    if (run != null) {
+      run.depth--;
+    }
+  }
+
+  /**
+   * {@link CompletableFuture#join} that waits no longer than the wall clock of the run on this
+   * thread allows.
+   */
+  static NovaValue join(CompletableFuture<NovaValue> future) {
+    Run run = ACTIVE.get() == 0 ? null : CURRENT.get();
+    if (run == null || future.isDone()) {
+      return future.join();
+    }
+    try {
+      return future.get(run.deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException exception) {
+      throw run.wallClockExceeded();
+    } catch (ExecutionException exception) {
+      throw new CompletionException(exception.getCause());
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new CompletionException(exception);
+    }
+  }
+
+  private static long cpuClock() {
+    return THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled()
+        ? THREADS.getCurrentThreadCpuTime()
+        : System.nanoTime();
+  }
+
+  /** Budget left to one run. Only touched by the thread it runs on. */
+  static final class Run {
+    private final NovaSandbox sandbox;
+    private final NovaSandboxLimits limits;
+    private final long deadline;
+    private long fuel;
+    private int depth;
+    private boolean overran;
+
+    private Run(NovaSandbox sandbox, long deadline) {
+      this.sandbox = sandbox;
+      this.limits = sandbox.limits;
+      this.deadline = deadline;
+      this.fuel = limits.fuel();
+    }
+
+    private void enter() {
+      if (fuel == 0) {
+        throw overrun(
+            NovaSandboxException.Limit.FUEL,
+            "Script ran out of fuel after " + limits.fuel() + " calls");
+      }
+      if (depth == limits.maxDepth()) {
+        throw overrun(
+            NovaSandboxException.Limit.STACK_DEPTH,
+            "Script exceeded the maximum call depth of " + limits.maxDepth());
+      }
+      if (--fuel % CLOCK_CHECK_INTERVAL == 0 && System.nanoTime() - deadline > 0) {
+        throw wallClockExceeded();
+      }
+      depth++;
+    }
+
+    private NovaSandboxException wallClockExceeded() {
+      return overrun(
+          NovaSandboxException.Limit.WALL_CLOCK,
+          "Script exceeded its wall-clock budget of " + limits.wallClock().toMillis() + "ms");
+    }
+
+    /** Counted here rather than in {@link #run}, since schedulers catch what the run throws. */
+    private NovaSandboxException overrun(NovaSandboxException.Limit limit, String message) {
+      if (!overran) {
+        overran = true;
+        sandbox.overruns.incrementAndGet();
+      }
+      return new NovaSandboxException(limit, message);
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import java.util.Objects;
+
+/** Raised when a sandboxed run exhausts one of its {@link NovaSandboxLimits}. */
+public final class NovaSandboxException extends RuntimeException {
+  private final Limit limit;
+
+  NovaSandboxException(Limit limit, String message) {
+    super(message);
+    this.limit = Objects.requireNonNull(limit, "limit");
+  }
+
+  public Limit limit() {
+    return limit;
+  }
+
+  /** The budget that ran out. */
+  public enum Limit {
+    FUEL,
+    WALL_CLOCK,
+    STACK_DEPTH
+  }
+}
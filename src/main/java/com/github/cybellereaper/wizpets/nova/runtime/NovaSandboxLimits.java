@@ -0,0 +1,29 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Budget of one {@link NovaSandbox} run.
+ *
+ * @param fuel Nova function calls the run may make
+ * @param wallClock how long the run may take, including time spent blocked on awaits
+ * @param maxDepth how deeply Nova function calls may nest
+ */
+public record NovaSandboxLimits(long fuel, Duration wallClock, int maxDepth) {
+  public static final NovaSandboxLimits DEFAULT =
+      new NovaSandboxLimits(100_000, Duration.ofMillis(10), 256);
+
+  public NovaSandboxLimits {
+    Objects.requireNonNull(wallClock, "wallClock");
+    if (fuel <= 0) {
+      throw new IllegalArgumentException("fuel must be positive");
+    }
+    if (wallClock.isNegative() || wallClock.isZero()) {
+      throw new IllegalArgumentException("wallClock must be positive");
+    }
+    if (maxDepth <= 0) {
+      throw new IllegalArgumentException("maxDepth must be positive");
+    }
+  }
+}
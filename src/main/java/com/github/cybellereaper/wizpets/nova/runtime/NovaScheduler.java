@@ -0,0 +1,83 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Runs Nova calls on a thread that must never block, such as the server thread.
+ *
+ * <p>While a compiled function runs here, an {@code await} on a future that has not finished does
+ * not join it. The call unwinds into a continuation and returns, and once the future completes the
+ * continuation resumes through {@code nextTick}, on a later tick of the same thread. Functions run
+ * by the tree-walking evaluator, and Nova functions that host code calls back into, still block on
+ * such awaits because their Java stack cannot be resumed.
+ */
+public final class NovaScheduler {
+  private static final ThreadLocal<Boolean> RESUMABLE = ThreadLocal.withInitial(() -> false);
+
+  private final Executor nextTick;
+
+  public NovaScheduler(Executor nextTick) {
+    this.nextTick = Objects.requireNonNull(nextTick, "nextTick");
+  }
+
+  /**
+   * Call {@code callable} on this thread.
+   *
+   * @return completes with the call's result, or its failure, once every await it suspended on has
+   *     resumed; cancelling it drops any continuation that has not resumed yet
+   */
+  public CompletableFuture<NovaValue> invoke(NovaCallable callable, List<NovaValue> arguments) {
+    Objects.requireNonNull(callable, "callable");
+    Objects.requireNonNull(arguments, "arguments");
+    CompletableFuture<NovaValue> result = new CompletableFuture<>();
+    run(
+        () ->
+            callable instanceof NovaCompiledFunction function
+                ? function.call(arguments)
+                : callable.invoke(arguments),
+        result);
+    return result;
+  }
+
+  /** Whether an await on this thread should suspend rather than block. */
+  static boolean resumable() {
+    return RESUMABLE.get();
+  }
+
+  private void run(Supplier<NovaValue> step, CompletableFuture<NovaValue> result) {
+    boolean outer = RESUMABLE.get();
+    RESUMABLE.set(true);
+    try {
+      result.complete(step.get());
+    } catch (NovaSuspension suspension) {
+      suspension
+          .awaited()
+          .whenComplete((value, failure) -> resumeLater(suspension, value, failure, result));
+    } catch (RuntimeException failure) {
+      result.completeExceptionally(failure);
+    } finally {
+      RESUMABLE.set(outer);
+    }
+  }
+
+  private void resumeLater(
+      NovaSuspension suspension,
+      NovaValue value,
+      Throwable failure,
+      CompletableFuture<NovaValue> result) {
+    try {
+      nextTick.execute(
+          () -> {
+            if (!result.isDone()) {
+              run(() -> suspension.resume(value, failure), result);
+            }
+          });
+    } catch (RuntimeException rejected) {
+      result.completeExceptionally(rejected);
+    }
+  }
+}
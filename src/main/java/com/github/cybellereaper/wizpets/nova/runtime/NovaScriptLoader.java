@@ -0,0 +1,115 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import com.github.cybellereaper.wizpets.nova.ast.NovaProgram;
+import com.github.cybellereaper.wizpets.nova.parser.NovaParser;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Loads {@code .nova} source files into a {@link NovaRuntime}.
+ *
+ * <p>The loader remembers the SHA-256 of the content each source name last loaded, so reloading a
+ * directory skips files whose content did not change; they keep the globals they already defined.
+ * A changed file is type-checked and executed again, since both depend on what the runtime holds
+ * now. Only its parse can be reused: the most recently used programs that loaded successfully are
+ * kept by content hash, so reverting a file to an earlier version skips the parser.
+ */
+public final class NovaScriptLoader {
+  private static final String EXTENSION = ".nova";
+  private static final int MAX_CACHED_PROGRAMS = 64;
+
+  private final NovaRuntime runtime;
+  private final Map<String, NovaProgram> programs =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, NovaProgram> eldest) {
+          return size() > MAX_CACHED_PROGRAMS;
+        }
+      };
+  private final Map<String, String> loaded = new HashMap<>();
+
+  public NovaScriptLoader(NovaRuntime runtime) {
+    this.runtime = Objects.requireNonNull(runtime, "runtime");
+  }
+
+  /**
+   * Load {@code source} unless the runtime already holds this exact content for {@code sourceName}.
+   *
+   * @return whether the source was loaded
+   * @throws com.github.cybellereaper.wizpets.nova.parser.NovaParseException if it does not parse
+   * @throws com.github.cybellereaper.wizpets.nova.type.NovaTypeException if it does not type-check
+   */
+  public synchronized boolean load(String sourceName, String source) {
+    Objects.requireNonNull(sourceName, "sourceName");
+    Objects.requireNonNull(source, "source");
+    String hash = Hashing.sha256().hashString(source, StandardCharsets.UTF_8).toString();
+    if (hash.equals(loaded.get(sourceName))) {
+      return false;
+    }
+    NovaProgram program = programs.get(hash);
+    if (program == null) {
+      program = NovaParser.parse(sourceName, source);
+    }
+    runtime.load(program);
+    programs.put(hash, program);
+    loaded.put(sourceName, hash);
+    return true;
+  }
+
+  /** Parsed programs currently kept for reuse. */
+  synchronized int cachedPrograms() {
+    return programs.size();
+  }
+
+  /**
+   * Load every {@code .nova} file under {@code directory} in path order, naming each source by its
+   * relative path. A file that fails to load is reported and does not stop the others.
+   */
+  public synchronized Report loadDirectory(Path directory) throws IOException {
+    List<Path> files;
+    try (Stream<Path> walk = Files.walk(directory)) {
+      files =
+          walk.filter(path -> path.getFileName().toString().endsWith(EXTENSION))
+              .filter(Files::isRegularFile)
+              .sorted()
+              .toList();
+    }
+    List<String> reloaded = new ArrayList<>();
+    List<String> unchanged = new ArrayList<>();
+    Map<String, RuntimeException> failures = new HashMap<>();
+    for (Path file : files) {
+      String sourceName = directory.relativize(file).toString().replace('\\', '/');
+      String source = Files.readString(file, StandardCharsets.UTF_8);
+      try {
+        if (load(sourceName, source)) {
+          reloaded.add(sourceName);
+        } else {
+          unchanged.add(sourceName);
+        }
+      } catch (RuntimeException exception) {
+        failures.put(sourceName, exception);
+      }
+    }
+    return new Report(reloaded, unchanged, failures);
+  }
+
+  /** Outcome of {@link #loadDirectory(Path)}, by source name. */
+  public record Report(
+      List<String> loaded, List<String> unchanged, Map<String, RuntimeException> failures) {
+    public Report {
+      loaded = List.copyOf(loaded);
+      unchanged = List.copyOf(unchanged);
+      failures = Map.copyOf(failures);
+    }
+  }
+}
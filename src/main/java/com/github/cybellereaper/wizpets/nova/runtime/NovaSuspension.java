@@ -0,0 +1,85 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.UnaryOperator;
+
+/**
+ * Unwinds compiled code from an {@code await} that must not block, carrying the rest of the call.
+ *
+ * <p>Every compiled node with work left after the child that threw catches the suspension and
+ * rethrows it with that work appended through {@link #then}. By the time it leaves the outermost
+ * function it holds a one-shot continuation for the whole call, and since frames are heap arrays,
+ * resuming just runs the remaining closures against the same frames.
+ */
+final class NovaSuspension extends RuntimeException {
+  private final CompletableFuture<NovaValue> awaited;
+  private final Continuation continuation;
+
+  NovaSuspension(CompletableFuture<NovaValue> awaited) {
+    this(awaited, NovaSuspension::awaitResult);
+  }
+
+  private NovaSuspension(CompletableFuture<NovaValue> awaited, Continuation continuation) {
+    super(null, null, false, false);
+    this.awaited = awaited;
+    this.continuation = continuation;
+  }
+
+  CompletableFuture<NovaValue> awaited() {
+    return awaited;
+  }
+
+  /** This suspension followed by {@code rest}, which receives the value it resumes with. */
+  NovaSuspension then(UnaryOperator<NovaValue> rest) {
+    Continuation inner = continuation;
+    return new NovaSuspension(
+        awaited,
+        (value, failure) -> {
+          NovaValue result;
+          try {
+            result = inner.resume(value, failure);
+          } catch (NovaSuspension next) {
+            throw next.then(rest);
+          }
+          return rest.apply(result);
+        });
+  }
+
+  /** Continue once {@link #awaited()} completed with {@code value} or {@code failure}. */
+  NovaValue resume(NovaValue value, Throwable failure) {
+    return continuation.resume(value, failure);
+  }
+
+  /** Finish the call by blocking on each await in turn, for callers that cannot suspend. */
+  NovaValue join() {
+    NovaSuspension current = this;
+    while (true) {
+      NovaValue value = null;
+      Throwable failure = null;
+      try {
+        value = NovaSandbox.join(current.awaited);
+      } catch (CancellationException | CompletionException exception) {
+        failure = exception;
+      }
+      try {
+        return current.resume(value, failure);
+      } catch (NovaSuspension next) {
+        current = next;
+      }
+    }
+  }
+
+  private static NovaValue awaitResult(NovaValue value, Throwable failure) {
+    if (failure != null) {
+      throw new NovaEvaluationException("Failed to await future", failure);
+    }
+    return value;
+  }
+
+  @FunctionalInterface
+  private interface Continuation {
+    NovaValue resume(NovaValue value, Throwable failure);
+  }
+}
@@ -0,0 +1,25 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Bounds on the async work of one Nova script.
+ *
+ * @param maxConcurrentTasks tasks the script may have queued or running at once; forking past it
+ *     fails the {@code async} expression
+ * @param timeout how long a task may run before it is cancelled and its awaiters fail
+ */
+public record NovaTaskLimits(int maxConcurrentTasks, Duration timeout) {
+  public static final NovaTaskLimits DEFAULT = new NovaTaskLimits(64, Duration.ofSeconds(30));
+
+  public NovaTaskLimits {
+    Objects.requireNonNull(timeout, "timeout");
+    if (maxConcurrentTasks <= 0) {
+      throw new IllegalArgumentException("maxConcurrentTasks must be positive");
+    }
+    if (timeout.isNegative() || timeout.isZero()) {
+      throw new IllegalArgumentException("timeout must be positive");
+    }
+  }
+}
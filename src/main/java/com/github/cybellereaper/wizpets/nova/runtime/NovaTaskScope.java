@@ -0,0 +1,125 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The async tasks of one Nova script, which cannot outlive it.
+ *
+ * <p>An {@code async} block forks a task into the scope of the script that defines it or, when it
+ * runs inside another task, into that task's scope as a child of the task. Cancelling a task, or
+ * letting it time out, interrupts it and cancels its children. Closing the scope cancels every task
+ * still in flight, which is how reloading or unloading a script stops its work. Forking fails once
+ * the script has {@link NovaTaskLimits#maxConcurrentTasks()} tasks in flight.
+ */
+public final class NovaTaskScope implements AutoCloseable {
+  private static final ThreadLocal<Task> CURRENT = new ThreadLocal<>();
+
+  private final Executor executor;
+  private final NovaTaskLimits limits;
+  private final Set<CompletableFuture<NovaValue>> tasks = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private volatile boolean closed;
+
+  public NovaTaskScope(Executor executor, NovaTaskLimits limits) {
+    this.executor = Objects.requireNonNull(executor, "executor");
+    this.limits = Objects.requireNonNull(limits, "limits");
+  }
+
+  public NovaTaskLimits limits() {
+    return limits;
+  }
+
+  /** Tasks forked into this scope that have not finished yet. */
+  public int inFlight() {
+    return inFlight.get();
+  }
+
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Run {@code body} as a task of the task running on this thread, or of this scope outside tasks.
+   *
+   * @throws NovaEvaluationException if the scope is closed or the script is at its task limit
+   */
+  CompletableFuture<NovaValue> fork(Supplier<NovaValue> body) {
+    Task parent = CURRENT.get();
+    return parent != null ? parent.scope.start(body, parent) : start(body, null);
+  }
+
+  private CompletableFuture<NovaValue> start(Supplier<NovaValue> body, Task parent) {
+    if (closed) {
+      throw new NovaEvaluationException("Task scope is closed");
+    }
+    if (inFlight.incrementAndGet() > limits.maxConcurrentTasks()) {
+      inFlight.decrementAndGet();
+      throw new NovaEvaluationException(
+          "Script exceeded its limit of " + limits.maxConcurrentTasks() + " concurrent tasks");
+    }
+    CompletableFuture<NovaValue> result = new CompletableFuture<>();
+    Task task = new Task(this, ConcurrentHashMap.newKeySet());
+    FutureTask<Void> runner =
+        new FutureTask<>(
+            () -> {
+              CURRENT.set(task);
+              try {
+                result.complete(body.get());
+              } catch (Throwable failure) {
+                result.completeExceptionally(failure);
+              } finally {
+                CURRENT.remove();
+              }
+            },
+            null);
+    tasks.add(result);
+    if (parent != null) {
+      parent.children.add(result);
+    }
+    result.orTimeout(limits.timeout().toMillis(), TimeUnit.MILLISECONDS);
+    result.whenComplete(
+        (value, failure) -> {
+          tasks.remove(result);
+          if (parent != null) {
+            parent.children.remove(result);
+          }
+          inFlight.decrementAndGet();
+          if (failure != null) {
+            runner.cancel(true);
+            task.children.forEach(child -> child.cancel(true));
+          }
+        });
+    if (closed) {
+      result.cancel(true);
+      return result;
+    }
+    try {
+      executor.execute(runner);
+    } catch (RejectedExecutionException exception) {
+      result.completeExceptionally(
+          new NovaEvaluationException("Async task was rejected", exception));
+    }
+    return result;
+  }
+
+  /** Cancel every task still in flight and refuse new ones. */
+  @Override
+  public void close() {
+    closed = true;
+    for (CompletableFuture<NovaValue> task : tasks) {
+      task.cancel(true);
+    }
+  }
+
+  /** A running task and the tasks it forked. */
+  private record Task(NovaTaskScope scope, Set<CompletableFuture<NovaValue>> children) {}
+}
@@ -7,10 +7,14 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.github.cybellereaper.wizpets.api.ActivePet;
 import com.github.cybellereaper.wizpets.api.StatType;
 import com.github.cybellereaper.wizpets.api.talent.PetTalent;
+import com.github.cybellereaper.wizpets.api.talent.PetTalentDescriptor;
 import com.github.cybellereaper.wizpets.api.talent.TalentFactory;
+import com.github.cybellereaper.wizpets.api.talent.TalentRarity;
 import com.github.cybellereaper.wizpets.core.talent.TalentRegistryImpl;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 
 class TalentRegistryImplTest {
@@ -114,4 +118,88 @@ class TalentRegistryImplTest {
     assertTrue(inherited.contains("dummy"));
     assertTrue(inherited.contains("other"));
   }
+
+  @Test
+  void iteratorIsAStableSnapshot() {
+    TalentRegistryImpl registry = new TalentRegistryImpl();
+    registry.register((TalentFactory) DummyTalent::new);
+    Iterator<PetTalentDescriptor> before = registry.iterator();
+
+    registry.unregister("dummy");
+
+    assertTrue(before.hasNext());
+    assertEquals("dummy", before.next().getId());
+    assertEquals(0, registry.size());
+    assertTrue(registry.roll(new Random(2), 2).isEmpty());
+    assertTrue(registry.instantiate(List.of("dummy")).isEmpty());
+  }
+
+  @Test
+  void rollDistinctHonoursExclusionsAndWeights() {
+    TalentRegistryImpl registry = new TalentRegistryImpl();
+    registry.register((TalentFactory) DummyTalent::new);
+    registry.register(() -> new WeightedTalent("common", TalentRarity.COMMON));
+    registry.register(() -> new WeightedTalent("legendary", TalentRarity.LEGENDARY));
+
+    List<String> rolled = registry.rollDistinct(new Random(3), 5, Set.of("dummy"));
+
+    assertEquals(2, rolled.size());
+    assertTrue(rolled.containsAll(List.of("common", "legendary")));
+    assertEquals(TalentRarity.LEGENDARY, registry.get("legendary").getRarity());
+    assertEquals(5.0, registry.get("legendary").getWeight());
+  }
+
+  @Test
+  void talentsWithoutWeightAreNeverRolled() {
+    TalentRegistryImpl registry = new TalentRegistryImpl();
+    registry.register(() -> new UnrollableTalent("hidden"));
+
+    assertTrue(registry.roll(new Random(4), 2).isEmpty());
+    assertTrue(registry.inherit(List.of(), List.of(), new Random(4)).isEmpty());
+    assertTrue(registry.rollDistinct(new Random(4), 1, Set.of()).isEmpty());
+  }
+
+  private record UnrollableTalent(String id) implements PetTalent {
+    @Override
+    public String getId() {
+      return id;
+    }
+
+    @Override
+    public String getDisplayName() {
+      return id;
+    }
+
+    @Override
+    public String getDescription() {
+      return id;
+    }
+
+    @Override
+    public double getWeight() {
+      return 0.0;
+    }
+  }
+
+  private record WeightedTalent(String id, TalentRarity rarity) implements PetTalent {
+    @Override
+    public String getId() {
+      return id;
+    }
+
+    @Override
+    public String getDisplayName() {
+      return id;
+    }
+
+    @Override
+    public String getDescription() {
+      return id;
+    }
+
+    @Override
+    public TalentRarity getRarity() {
+      return rarity;
+    }
+  }
 }
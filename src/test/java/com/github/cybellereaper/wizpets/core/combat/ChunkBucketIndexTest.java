@@ -0,0 +1,80 @@
+package com.github.cybellereaper.wizpets.core.combat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ChunkBucketIndexTest {
+  @Test
+  void collectOnlyReturnsValuesInNeighbouringChunks() {
+    ChunkBucketIndex<String> index = new ChunkBucketIndex<>();
+    index.update("near", 0, 0);
+    index.update("edge", 1, -1);
+    index.update("far", 5, 5);
+
+    List<String> found = new ArrayList<>();
+    index.collect(0, 0, 1, found);
+
+    assertEquals(2, found.size());
+    assertTrue(found.containsAll(List.of("near", "edge")));
+  }
+
+  @Test
+  void updateMovesValueBetweenChunks() {
+    ChunkBucketIndex<String> index = new ChunkBucketIndex<>();
+    assertTrue(index.update("zombie", 0, 0));
+    assertFalse(index.update("zombie", 0, 0));
+    assertTrue(index.update("zombie", 4, 4));
+
+    List<String> origin = new ArrayList<>();
+    index.collect(0, 0, 1, origin);
+    List<String> moved = new ArrayList<>();
+    index.collect(4, 4, 0, moved);
+
+    assertTrue(origin.isEmpty());
+    assertEquals(List.of("zombie"), moved);
+    assertEquals(1, index.size());
+  }
+
+  @Test
+  void removeForgetsValue() {
+    ChunkBucketIndex<String> index = new ChunkBucketIndex<>();
+    index.update("skeleton", -3, 2);
+
+    assertTrue(index.remove("skeleton"));
+    assertFalse(index.remove("skeleton"));
+    assertFalse(index.contains("skeleton"));
+    assertEquals(0, index.size());
+  }
+
+  @Test
+  void valuesCanBeMovedAndRemovedWhileIterating() {
+    ChunkBucketIndex<String> index = new ChunkBucketIndex<>();
+    index.update("zombie", 0, 0);
+    index.update("creeper", 0, 0);
+
+    for (String value : index.values()) {
+      if (value.equals("zombie")) {
+        index.update(value, 2, 2);
+      } else {
+        index.remove(value);
+      }
+    }
+
+    List<String> moved = new ArrayList<>();
+    index.collect(2, 2, 0, moved);
+    assertEquals(List.of("zombie"), moved);
+    assertEquals(1, index.size());
+  }
+
+  @Test
+  void chunkCoordinateFloorsNegativePositions() {
+    assertEquals(0, ChunkBucketIndex.chunkCoordinate(15.9));
+    assertEquals(-1, ChunkBucketIndex.chunkCoordinate(-0.1));
+    assertEquals(-2, ChunkBucketIndex.chunkCoordinate(-16.5));
+  }
+}
@@ -19,6 +19,7 @@ import com.github.cybellereaper.wizpets.api.WizPetsApi;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.OptionalInt;
 import java.util.UUID;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Server;
@@ -143,6 +144,19 @@ final class WizPetCommandTest {
     verify(player).sendMessage("§cUsage: /wizpet edit talent <slot>");
   }
 
+  @Test
+  void migrateCommandReportsScannedPlayers() {
+    Player player = playerWithPermission("wizpets.command.migrate");
+    when(api.migrateStoredPets()).thenReturn(OptionalInt.of(3));
+
+    boolean handled = command.onCommand(player, bukkitCommand, "wizpet", new String[] {"migrate"});
+
+    assertTrue(handled);
+    verify(player)
+        .sendMessage(
+            "§aMigrating pets of 3 players in the background; the console reports the result.");
+  }
+
   @Test
   void tabCompleteHonoursPermissions() {
     Player player = playerWithPermission("wizpets.command.summon");
@@ -1,5 +1,6 @@
 package com.github.cybellereaper.wizpets.core.model.blockbench;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 import com.github.cybellereaper.wizpets.api.math.Vector3;
@@ -38,4 +39,29 @@ class ArmorStandPoseTargetTest {
     verify(stand, atLeastOnce()).setHeadPose(new EulerAngle(0.0, 0.0, 0.0));
     verify(stand, atLeastOnce()).setRightArmPose(new EulerAngle(0.0, 0.0, 0.0));
   }
+
+  @Test
+  void skipsWritesWithinEpsilon() {
+    ArmorStand stand = mock(ArmorStand.class);
+    ArmorStandPoseTarget target = new ArmorStandPoseTarget(stand, 0.5);
+
+    target.apply(head(10.0));
+    target.apply(head(10.2));
+    target.apply(head(11.0));
+
+    verify(stand, times(2)).setHeadPose(any());
+    assertEquals(2, target.appliedUpdates());
+    assertEquals(1, target.skippedUpdates());
+
+    target.reset();
+    target.apply(head(11.0));
+
+    verify(stand, times(2)).setHeadPose(new EulerAngle(Math.toRadians(11.0), 0.0, 0.0));
+    assertEquals(3, target.appliedUpdates());
+  }
+
+  private static Map<BlockbenchBoneTarget, PoseTransform> head(double pitch) {
+    return Map.of(
+        BlockbenchBoneTarget.HEAD, new PoseTransform(new Vector3(pitch, 0.0, 0.0), Vector3.ZERO));
+  }
 }
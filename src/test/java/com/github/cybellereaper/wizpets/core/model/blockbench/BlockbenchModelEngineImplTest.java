@@ -7,13 +7,20 @@ import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchModelEngi
 import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchModelInstance;
 import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchPoseTarget;
 import com.github.cybellereaper.wizpets.api.model.blockbench.PoseTransform;
+import java.io.IOException;
 import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class BlockbenchModelEngineImplTest {
   private static final String MODEL_JSON =
@@ -104,14 +111,155 @@ class BlockbenchModelEngineImplTest {
     assertEquals(Optional.of("idle"), instance.currentAnimation());
   }
 
+  @Test
+  void sharedClockEvaluatesEachPoseOncePerFrame() throws Exception {
+    AtomicLong ticks = new AtomicLong();
+    BlockbenchModelEngineImpl shared = new BlockbenchModelEngineImpl(ticks::get, 10, 1);
+    shared.registerModel("test", new StringReader(MODEL_JSON));
+    RecordingTarget first = new RecordingTarget();
+    RecordingTarget second = new RecordingTarget();
+    BlockbenchModelInstance a = shared.createInstance("test", first);
+    BlockbenchModelInstance b = shared.createInstance("test", second);
+
+    a.playLoop("idle");
+    b.playLoop("idle");
+    ticks.set(20);
+    a.tick(0.5);
+    b.tick(0.5);
+
+    assertEquals(10.0, first.get(BlockbenchBoneTarget.HEAD).rotation().x(), 1.0e-6);
+    assertEquals(10.0, second.get(BlockbenchBoneTarget.HEAD).rotation().x(), 1.0e-6);
+    assertEquals(2, shared.sharedPoseEvaluations());
+    assertEquals(2, shared.sharedPoseEvaluationsSaved());
+  }
+
+  @Test
+  void sharedClockStillPlaysOneShotsPerInstance() throws Exception {
+    AtomicLong ticks = new AtomicLong();
+    BlockbenchModelEngineImpl shared = new BlockbenchModelEngineImpl(ticks::get, 10, 2);
+    shared.registerModel("test", new StringReader(MODEL_JSON));
+    RecordingTarget attacker = new RecordingTarget();
+    RecordingTarget idler = new RecordingTarget();
+    BlockbenchModelInstance a = shared.createInstance("test", attacker);
+    BlockbenchModelInstance b = shared.createInstance("test", idler);
+    a.playLoop("idle");
+    b.playLoop("idle");
+
+    a.playOnce("attack");
+    a.tick(0.4);
+    b.tick(0.4);
+
+    assertEquals(30.0, attacker.get(BlockbenchBoneTarget.HEAD).rotation().x(), 1.0e-6);
+    assertEquals(10.0, idler.get(BlockbenchBoneTarget.HEAD).rotation().x(), 1.0e-6);
+
+    a.tick(0.5);
+    assertEquals(Optional.of("idle"), a.currentAnimation());
+  }
+
+  @Test
+  void compilesModelsOnFirstInstance() {
+    BlockbenchModelEngineImpl lazy = (BlockbenchModelEngineImpl) engine;
+    assertEquals(0, lazy.loadedModels());
+
+    engine.createInstance("test", new RecordingTarget());
+
+    assertEquals(1, lazy.loadedModels());
+  }
+
+  @Test
+  void reusesCompiledModelFromCache(@TempDir Path directory) throws Exception {
+    ModelCache cache = new ModelCache(directory, Logger.getLogger("test"));
+    BlockbenchModelEngineImpl first = new BlockbenchModelEngineImpl(cache, null, 0, 0);
+    first.registerModel("test", new StringReader(MODEL_JSON));
+    first.createInstance("test", new RecordingTarget());
+    try (Stream<Path> files = Files.list(directory)) {
+      assertEquals(1, files.filter(file -> file.toString().endsWith(".bin")).count());
+    }
+
+    BlockbenchModelEngineImpl second = new BlockbenchModelEngineImpl(cache, null, 0, 0);
+    second.registerModel("test", new StringReader(MODEL_JSON));
+    RecordingTarget target = new RecordingTarget();
+    BlockbenchModelInstance instance = second.createInstance("test", target);
+    instance.playLoop("idle");
+    instance.tick(1.0);
+
+    assertEquals(Set.of("idle", "attack"), second.animations("test"));
+    assertEquals(10.0, target.get(BlockbenchBoneTarget.HEAD).rotation().x(), 1.0e-6);
+  }
+
+  @Test
+  void rejectsModelsWithoutAnimations() {
+    assertThrows(
+        IOException.class,
+        () -> engine.registerModel("empty", new StringReader("{\"bones\": []}")));
+  }
+
+  @Test
+  void migratesLiveInstancesToReloadedModel() throws Exception {
+    BlockbenchModelEngineImpl reloading = (BlockbenchModelEngineImpl) engine;
+    RecordingTarget target = new RecordingTarget();
+    BlockbenchModelInstance instance = engine.createInstance("test", target);
+    instance.playLoop("idle");
+
+    String edited = MODEL_JSON.replace("[10, 0, 0]", "[20, 0, 0]");
+    assertTrue(reloading.reloadModel("test", new StringReader(edited)));
+    assertEquals(0.0, target.get(BlockbenchBoneTarget.HEAD).rotation().x(), 1.0e-6);
+    instance.tick(1.0);
+
+    assertEquals(Optional.of("idle"), instance.currentAnimation());
+    assertEquals(20.0, target.get(BlockbenchBoneTarget.HEAD).rotation().x(), 1.0e-6);
+  }
+
+  @Test
+  void ignoresReloadsOfUnchangedSource() throws Exception {
+    BlockbenchModelEngineImpl reloading = (BlockbenchModelEngineImpl) engine;
+
+    assertFalse(reloading.reloadModel("test", new StringReader(MODEL_JSON)));
+  }
+
+  @Test
+  void keepsPreviousDefinitionWhenReloadFails() throws Exception {
+    BlockbenchModelEngineImpl reloading = (BlockbenchModelEngineImpl) engine;
+    RecordingTarget target = new RecordingTarget();
+    BlockbenchModelInstance instance = engine.createInstance("test", target);
+    instance.playLoop("idle");
+
+    String broken = MODEL_JSON.replace("[10, 0, 0]", "[10, 0]");
+    assertThrows(IOException.class, () -> reloading.reloadModel("test", new StringReader(broken)));
+    instance.tick(1.0);
+
+    assertEquals(10.0, target.get(BlockbenchBoneTarget.HEAD).rotation().x(), 1.0e-6);
+  }
+
+  @Test
+  void stopsInstancesWhoseLoopWasRemoved() throws Exception {
+    BlockbenchModelEngineImpl reloading = (BlockbenchModelEngineImpl) engine;
+    RecordingTarget target = new RecordingTarget();
+    BlockbenchModelInstance instance = engine.createInstance("test", target);
+    instance.playLoop("idle");
+
+    String renamed = MODEL_JSON.replace("\"idle\"", "\"sway\"");
+    reloading.reloadModel("test", new StringReader(renamed));
+    instance.tick(1.0);
+
+    assertEquals(Optional.empty(), instance.currentAnimation());
+    assertEquals(1, target.resets);
+  }
+
   private static final class RecordingTarget implements BlockbenchPoseTarget {
     private Map<BlockbenchBoneTarget, PoseTransform> last = Map.of();
+    private int resets;
 
     @Override
     public void apply(Map<BlockbenchBoneTarget, PoseTransform> pose) {
       last = new EnumMap<>(pose);
     }
 
+    @Override
+    public void reset() {
+      resets++;
+    }
+
     PoseTransform get(BlockbenchBoneTarget target) {
       return last.get(target);
     }
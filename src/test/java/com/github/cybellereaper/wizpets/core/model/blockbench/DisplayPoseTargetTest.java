@@ -0,0 +1,84 @@
+package com.github.cybellereaper.wizpets.core.model.blockbench;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+import com.github.cybellereaper.wizpets.api.math.Vector3;
+import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchBoneTarget;
+import com.github.cybellereaper.wizpets.api.model.blockbench.PoseTransform;
+import java.util.Map;
+import org.bukkit.entity.ItemDisplay;
+import org.bukkit.util.Transformation;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class DisplayPoseTargetTest {
+  private static final Transformation IDENTITY =
+      new Transformation(
+          new Vector3f(), new Quaternionf(), new Vector3f(1.0F, 1.0F, 1.0F), new Quaternionf());
+
+  @Test
+  void interpolatesTowardsEachWrittenPose() {
+    ItemDisplay display = mock(ItemDisplay.class);
+    when(display.getTransformation()).thenReturn(IDENTITY);
+    DisplayPoseTarget target =
+        new DisplayPoseTarget(Map.of(BlockbenchBoneTarget.HEAD, display), 10);
+
+    target.apply(
+        Map.of(
+            BlockbenchBoneTarget.HEAD,
+            new PoseTransform(new Vector3(0.0, 90.0, 0.0), new Vector3(0.0, 16.0, 0.0))));
+
+    ArgumentCaptor<Transformation> written = ArgumentCaptor.forClass(Transformation.class);
+    verify(display).setInterpolationDelay(0);
+    verify(display).setInterpolationDuration(10);
+    verify(display).setTransformation(written.capture());
+    assertEquals(1.0F, written.getValue().getTranslation().y(), 1.0e-6F);
+    Vector3f forward = written.getValue().getLeftRotation().transform(new Vector3f(0, 0, 1));
+    assertEquals(1.0F, forward.x(), 1.0e-5F);
+  }
+
+  @Test
+  void laterWritesUseTheUpdatedInterpolationTicks() {
+    ItemDisplay display = mock(ItemDisplay.class);
+    when(display.getTransformation()).thenReturn(IDENTITY);
+    DisplayPoseTarget target =
+        new DisplayPoseTarget(Map.of(BlockbenchBoneTarget.HEAD, display), 2);
+
+    target.setInterpolationTicks(8);
+    target.apply(
+        Map.of(
+            BlockbenchBoneTarget.HEAD,
+            new PoseTransform(new Vector3(0.0, 45.0, 0.0), Vector3.ZERO)));
+
+    verify(display).setInterpolationDuration(8);
+    verify(display, never()).setInterpolationDuration(2);
+  }
+
+  @Test
+  void skipsUnchangedBonesAndIgnoresUnmappedOnes() {
+    ItemDisplay display = mock(ItemDisplay.class);
+    when(display.getTransformation()).thenReturn(IDENTITY);
+    DisplayPoseTarget target =
+        new DisplayPoseTarget(Map.of(BlockbenchBoneTarget.HEAD, display), 10, 0.5);
+    Map<BlockbenchBoneTarget, PoseTransform> pose =
+        Map.of(
+            BlockbenchBoneTarget.HEAD,
+            new PoseTransform(new Vector3(10.0, 0.0, 0.0), Vector3.ZERO),
+            BlockbenchBoneTarget.BODY,
+            new PoseTransform(new Vector3(10.0, 0.0, 0.0), Vector3.ZERO));
+
+    target.apply(pose);
+    target.apply(pose);
+
+    verify(display, times(1)).setTransformation(any());
+    assertEquals(1, target.appliedUpdates());
+    assertEquals(1, target.skippedUpdates());
+
+    target.reset();
+
+    verify(display).setTransformation(IDENTITY);
+  }
+}
@@ -0,0 +1,71 @@
+package com.github.cybellereaper.wizpets.core.model.blockbench;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.github.cybellereaper.wizpets.api.math.Vector3;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class KeyframeChannelTest {
+  private static final double EPSILON = 1.0e-9;
+
+  @Test
+  void interpolatesBetweenKeyframes() {
+    KeyframeChannel channel =
+        KeyframeChannel.of(
+            List.of(
+                new BlockbenchKeyframe(0.0, new Vector3(0, 0, 0)),
+                new BlockbenchKeyframe(1.0, new Vector3(10, 20, -10)),
+                new BlockbenchKeyframe(2.0, new Vector3(0, 0, 0))));
+    double[] out = new double[3];
+
+    channel.sample(0.5, 0, out, 0);
+    assertArrayEquals(new double[] {5, 10, -5}, out, EPSILON);
+    channel.sample(1.5, 0, out, 0);
+    assertArrayEquals(new double[] {5, 10, -5}, out, EPSILON);
+    channel.sample(-1.0, 0, out, 0);
+    assertArrayEquals(new double[] {0, 0, 0}, out, EPSILON);
+    channel.sample(5.0, 0, out, 0);
+    assertArrayEquals(new double[] {0, 0, 0}, out, EPSILON);
+  }
+
+  @Test
+  void emptyChannelWritesZeros() {
+    double[] out = {1, 2, 3, 4};
+
+    KeyframeChannel.EMPTY.sample(1.0, 0, out, 1);
+
+    assertArrayEquals(new double[] {1, 0, 0, 0}, out, EPSILON);
+  }
+
+  @Test
+  void cursorAndBinarySearchAgree() {
+    SplittableRandom random = new SplittableRandom(11);
+    List<BlockbenchKeyframe> frames = new ArrayList<>();
+    for (int i = 0; i < 250; i++) {
+      frames.add(new BlockbenchKeyframe(i * 0.04, new Vector3(random.nextDouble(), i, -i)));
+    }
+    KeyframeChannel channel = KeyframeChannel.of(frames);
+    double[] sequential = new double[3];
+    double[] direct = new double[3];
+    int cursor = 0;
+
+    for (double time = 0.0; time < 10.0; time += 0.013) {
+      cursor = channel.sample(time, cursor, sequential, 0);
+      channel.sample(time, -1, direct, 0);
+      assertArrayEquals(direct, sequential, EPSILON);
+    }
+    assertEquals(250, channel.size());
+  }
+
+  @Test
+  void rejectsUnsortedTimes() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new KeyframeChannel(new double[] {1.0, 0.0}, new double[6]));
+  }
+}
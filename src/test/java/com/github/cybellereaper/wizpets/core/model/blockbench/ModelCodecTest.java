@@ -0,0 +1,78 @@
+package com.github.cybellereaper.wizpets.core.model.blockbench;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.github.cybellereaper.wizpets.api.math.Vector3;
+import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchBoneTarget;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ModelCodecTest {
+  @Test
+  void roundTripsCompiledModel() throws IOException {
+    ModelData model = model();
+
+    ModelData decoded = ModelCodec.read("pet", input(encode(model)));
+
+    assertEquals("pet", decoded.id());
+    assertEquals(model.bones(), decoded.bones());
+    BlockbenchAnimation idle = decoded.animation("idle");
+    assertEquals(2.0, idle.length());
+    assertEquals(true, idle.loop());
+    BlockbenchBoneTrack track = idle.tracks().getFirst();
+    assertEquals(BlockbenchBoneTarget.HEAD, track.target());
+    assertArrayEquals(new double[] {0.0, 1.0}, track.rotation().times());
+    assertArrayEquals(new double[] {0, 0, 0, 10, 20, 30}, track.rotation().values());
+    assertEquals(0, track.position().size());
+  }
+
+  @Test
+  void readsAnimationNamesWithoutTracks() throws IOException {
+    assertEquals(Set.of("idle"), ModelCodec.readAnimationNames(input(encode(model()))));
+  }
+
+  @Test
+  void rejectsForeignData() {
+    assertThrows(IOException.class, () -> ModelCodec.read("pet", input(new byte[] {1, 2, 3, 4})));
+  }
+
+  private static ModelData model() {
+    KeyframeChannel rotation =
+        KeyframeChannel.of(
+            List.of(
+                new BlockbenchKeyframe(0.0, Vector3.ZERO),
+                new BlockbenchKeyframe(1.0, new Vector3(10, 20, 30))));
+    BlockbenchAnimation idle =
+        new BlockbenchAnimation(
+            2.0,
+            true,
+            List.of(
+                new BlockbenchBoneTrack(
+                    BlockbenchBoneTarget.HEAD, rotation, KeyframeChannel.EMPTY)));
+    return new ModelData(
+        "pet",
+        Map.of("head", new ModelData.BoneDefinition("head", BlockbenchBoneTarget.HEAD)),
+        Map.of("idle", idle));
+  }
+
+  private static byte[] encode(ModelData model) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      ModelCodec.write(model, out);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static DataInputStream input(byte[] data) {
+    return new DataInputStream(new ByteArrayInputStream(data));
+  }
+}
@@ -0,0 +1,81 @@
+package com.github.cybellereaper.wizpets.core.model.blockbench;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ModelDirectoryWatcherTest {
+  private static final Logger LOGGER = Logger.getLogger("test");
+
+  @Test
+  void registersModelsNamedAfterTheirFiles(@TempDir Path directory) throws Exception {
+    Files.writeString(directory.resolve("wisp.json"), model("idle"));
+    Files.writeString(directory.resolve("broken.json"), "{\"bones\": []}");
+    Files.writeString(directory.resolve("notes.txt"), model("idle"));
+    BlockbenchModelEngineImpl engine = new BlockbenchModelEngineImpl();
+
+    try (ModelDirectoryWatcher watcher =
+        new ModelDirectoryWatcher(engine, directory, LOGGER, false)) {
+      watcher.start();
+    }
+
+    assertEquals(Set.of("wisp"), engine.registeredModels());
+    assertEquals(Set.of("idle"), engine.animations("wisp"));
+  }
+
+  @Test
+  void startupRegistersFilesWithoutCompilingThem(@TempDir Path directory) throws Exception {
+    Files.writeString(directory.resolve("wisp.json"), model("idle"));
+    Files.writeString(directory.resolve("ember.json"), model("sway"));
+    BlockbenchModelEngineImpl engine = new BlockbenchModelEngineImpl();
+
+    try (ModelDirectoryWatcher watcher =
+        new ModelDirectoryWatcher(engine, directory, LOGGER, false)) {
+      watcher.start();
+    }
+
+    assertEquals(Set.of("wisp", "ember"), engine.registeredModels());
+    assertEquals(0, engine.loadedModels());
+  }
+
+  @Test
+  void reloadsChangedFiles(@TempDir Path directory) throws Exception {
+    Path file = directory.resolve("wisp.json");
+    Files.writeString(file, model("idle"));
+    BlockbenchModelEngineImpl engine = new BlockbenchModelEngineImpl();
+
+    try (ModelDirectoryWatcher watcher =
+        new ModelDirectoryWatcher(engine, directory, LOGGER, true)) {
+      watcher.start();
+      Files.writeString(file, model("sway"));
+
+      long deadline = System.nanoTime() + 30_000_000_000L;
+      while (!engine.animations("wisp").contains("sway") && System.nanoTime() < deadline) {
+        Thread.sleep(50L);
+      }
+    }
+
+    assertEquals(Set.of("sway"), engine.animations("wisp"));
+  }
+
+  private static String model(String animation) {
+    return """
+        {
+          "bones": [{"name": "head", "target": "HEAD"}],
+          "animations": {
+            "%s": {
+              "length": 1.0,
+              "loop": true,
+              "bones": {"head": {"rotation": [{"time": 0.0, "vector": [5, 0, 0]}]}}
+            }
+          }
+        }
+        """
+        .formatted(animation);
+  }
+}
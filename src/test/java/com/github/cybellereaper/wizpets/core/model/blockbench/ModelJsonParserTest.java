@@ -0,0 +1,89 @@
+package com.github.cybellereaper.wizpets.core.model.blockbench;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.cybellereaper.wizpets.api.model.blockbench.BlockbenchBoneTarget;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ModelJsonParserTest {
+  @Test
+  void bindsTracksToBonesDeclaredAfterAnimations() throws IOException {
+    String json =
+        """
+        {
+          "animations": {
+            "idle": {
+              "length": 2.0,
+              "loop": true,
+              "bones": {
+                "head": {
+                  "rotation": [
+                    {"time": 1.0, "vector": [10, 0, 0]},
+                    null,
+                    {"time": 0.0, "vector": [0, 5, 0]}
+                  ],
+                  "extra": {"ignored": true}
+                },
+                "ghost": {"rotation": [{"time": 0.0, "vector": [1, 1, 1]}]}
+              }
+            }
+          },
+          "bones": [{"name": "head", "target": "head"}]
+        }
+        """;
+
+    ModelData model = new ModelJsonParser().parse("pet", new StringReader(json));
+
+    BlockbenchAnimation idle = model.animation("idle");
+    assertEquals(2.0, idle.length());
+    assertTrue(idle.loop());
+    List<BlockbenchBoneTrack> tracks = idle.tracks();
+    assertEquals(1, tracks.size());
+    assertEquals(BlockbenchBoneTarget.HEAD, tracks.getFirst().target());
+    assertArrayEquals(new double[] {0.0, 1.0}, tracks.getFirst().rotation().times());
+    assertArrayEquals(new double[] {0, 5, 0, 10, 0, 0}, tracks.getFirst().rotation().values());
+  }
+
+  @Test
+  void rejectsInvalidVectors() {
+    String json =
+        """
+        {"bones": [{"name": "head", "target": "HEAD"}],
+         "animations": {"idle": {"bones": {"head": {"rotation": [{"time": 0, "vector": [1, 2]}]}}}}}
+        """;
+
+    assertThrows(
+        IOException.class, () -> new ModelJsonParser().parse("pet", new StringReader(json)));
+  }
+
+  @Test
+  void rejectsUnknownTargets() {
+    String json =
+        """
+        {"bones": [{"name": "tail", "target": "TAIL"}], "animations": {"idle": {}}}
+        """;
+
+    assertThrows(
+        IOException.class, () -> new ModelJsonParser().parse("pet", new StringReader(json)));
+  }
+
+  @Test
+  void scansAnimationNamesOnly() throws IOException {
+    String json =
+        """
+        {"animations": {"idle": {"bones": {"head": "not even a track"}}, "attack": {}, " ": {}}}
+        """;
+
+    assertEquals(
+        Set.of("idle", "attack"), ModelJsonParser.animationNames("pet", new StringReader(json)));
+    assertThrows(
+        IOException.class, () -> ModelJsonParser.animationNames("pet", new StringReader("")));
+  }
+}
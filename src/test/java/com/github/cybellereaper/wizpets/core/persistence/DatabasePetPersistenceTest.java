@@ -0,0 +1,210 @@
+package com.github.cybellereaper.wizpets.core.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.github.cybellereaper.wizpets.api.PetRecord;
+import com.github.cybellereaper.wizpets.api.StatSet;
+import com.github.cybellereaper.wizpets.testing.persistence.InMemoryPersistentDataContainer;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+class DatabasePetPersistenceTest {
+  @TempDir Path directory;
+
+  private final List<Runnable> queued = new ArrayList<>();
+  private PetStorage containers;
+  private Player player;
+  private JavaPlugin plugin;
+  private DatabasePetPersistence persistence;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    plugin = mock(JavaPlugin.class);
+    when(plugin.getName()).thenReturn("wizpets-test");
+    when(plugin.namespace()).thenReturn("wizpets-test");
+    containers = new PetStorage(plugin);
+
+    player = mock(Player.class, Mockito.RETURNS_DEEP_STUBS);
+    when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+    when(player.getPersistentDataContainer()).thenReturn(new InMemoryPersistentDataContainer());
+
+    persistence = open(16);
+  }
+
+  @AfterEach
+  void tearDown() {
+    persistence.close();
+  }
+
+  @Test
+  void savesAreBatchedOnTheExecutor() throws Exception {
+    persistence.save(player, record("First"));
+    persistence.save(player, record("Second"));
+
+    assertEquals(1, queued.size());
+    assertEquals("Second", persistence.load(player).orElseThrow().displayName());
+    assertEquals(0, persistence.recordsWritten());
+
+    runQueued();
+
+    assertEquals(1, persistence.batchesWritten());
+    assertEquals(1, persistence.recordsWritten());
+    assertEquals(0, persistence.pendingCount());
+    persistence.close();
+    persistence = open(16);
+    assertEquals("Second", persistence.load(player).orElseThrow().displayName());
+  }
+
+  @Test
+  void clearDeletesStoredRow() throws Exception {
+    persistence.save(player, record("Aurora"));
+    runQueued();
+
+    persistence.clear(player);
+    runQueued();
+    persistence.close();
+    persistence = open(16);
+
+    assertFalse(persistence.exists(player));
+  }
+
+  @Test
+  void evictedRecordsAreReadBackThroughTheApi() throws Exception {
+    persistence.close();
+    persistence = open(1);
+    Player other = mock(Player.class, Mockito.RETURNS_DEEP_STUBS);
+    when(other.getUniqueId()).thenReturn(UUID.randomUUID());
+    when(other.getPersistentDataContainer()).thenReturn(new InMemoryPersistentDataContainer());
+    persistence.save(player, record("Aurora"));
+    persistence.save(other, record("Borealis"));
+    runQueued();
+    persistence.load(other);
+
+    assertFalse(persistence.isResident(player.getUniqueId()));
+    WriteBehindPetPersistence api = new WriteBehindPetPersistence(plugin, persistence, 0L);
+    assertTrue(api.exists(player));
+    assertEquals("Aurora", api.loadOrCreate(player, () -> record("Replacement")).displayName());
+    assertEquals(
+        "Aurora",
+        api.compute(player, current -> current.map(pet -> pet.withDisplayName("Aurora")))
+            .orElseThrow()
+            .displayName());
+  }
+
+  @Test
+  void prefetchCachesTheStoredRow() throws Exception {
+    persistence.save(player, record("Aurora"));
+    runQueued();
+    persistence.close();
+    persistence = open(16);
+
+    assertFalse(persistence.isResident(player.getUniqueId()));
+    persistence.prefetch(player.getUniqueId());
+    runQueued();
+
+    assertTrue(persistence.isResident(player.getUniqueId()));
+    assertEquals("Aurora", persistence.load(player).orElseThrow().displayName());
+  }
+
+  @Test
+  void unreadableRowIsSetAsideAndReadAsAbsent() throws Exception {
+    byte[] corrupt = {(byte) 0x7f, 1, 2, 3};
+    try (Connection connection = connect();
+        PreparedStatement insert =
+            connection.prepareStatement(
+                "INSERT INTO pets (holder, record, updated_at) VALUES (?, ?, 0)")) {
+      insert.setString(1, player.getUniqueId().toString());
+      insert.setBytes(2, corrupt);
+      insert.executeUpdate();
+    }
+
+    assertTrue(persistence.load(player).isEmpty());
+    persistence.save(player, record("Aurora"));
+    runQueued();
+
+    try (Connection connection = connect();
+        PreparedStatement select =
+            connection.prepareStatement("SELECT record FROM unreadable_pets WHERE holder = ?")) {
+      select.setString(1, player.getUniqueId().toString());
+      try (ResultSet result = select.executeQuery()) {
+        assertTrue(result.next());
+        assertArrayEquals(corrupt, result.getBytes(1));
+      }
+    }
+    assertEquals("Aurora", persistence.load(player).orElseThrow().displayName());
+  }
+
+  @Test
+  void containerRecordIsCopiedOnFirstRead() throws Exception {
+    containers.save(player, record("Relic"));
+
+    assertEquals("Relic", persistence.load(player).orElseThrow().displayName());
+    runQueued();
+
+    assertEquals(1, persistence.recordsWritten());
+    assertFalse(persistence.migrate(player.getUniqueId(), record("Relic")));
+  }
+
+  @Test
+  void migrateCopiesOnlyMissingRecords() throws Exception {
+    containers.save(player, record("Relic"));
+    PetRecord legacy =
+        persistence.loadContainer(player.getPersistentDataContainer()).orElseThrow();
+
+    assertTrue(persistence.migrate(player.getUniqueId(), legacy));
+    assertFalse(persistence.migrate(player.getUniqueId(), legacy));
+    persistence.flushAll();
+
+    assertEquals(1, persistence.recordsWritten());
+  }
+
+  private DatabasePetPersistence open(int cacheSize) throws Exception {
+    return new DatabasePetPersistence(
+        Logger.getLogger("wizpets-test"),
+        PetDatabase.open(directory.resolve("pets.db")),
+        containers,
+        queued::add,
+        cacheSize);
+  }
+
+  private Connection connect() throws Exception {
+    return DriverManager.getConnection("jdbc:sqlite:" + directory.resolve("pets.db"));
+  }
+
+  private void runQueued() {
+    List<Runnable> tasks = new ArrayList<>(queued);
+    queued.clear();
+    tasks.forEach(Runnable::run);
+  }
+
+  private static PetRecord record(String name) {
+    return new PetRecord(
+        name,
+        new StatSet(20.0, 15.5, 10.0, 12.5),
+        new StatSet(10.0, 8.0, 6.0, 9.0),
+        List.of("healing_aura"),
+        1,
+        0,
+        false,
+        false);
+  }
+}
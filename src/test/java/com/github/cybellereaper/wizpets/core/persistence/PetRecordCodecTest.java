@@ -0,0 +1,76 @@
+package com.github.cybellereaper.wizpets.core.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.cybellereaper.wizpets.api.PetRecord;
+import com.github.cybellereaper.wizpets.api.StatSet;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PetRecordCodecTest {
+  @Test
+  void roundTripPreservesEveryField() {
+    PetRecord original =
+        new PetRecord(
+            "Étoile ✦",
+            new StatSet(63.9, 0.0, 12.125, 31.5),
+            new StatSet(14.99, 1.0, 0.5, 7.0),
+            List.of("healing_aura", "guardian_shell", "arcane_burst"),
+            300,
+            -1,
+            false,
+            true);
+
+    assertEquals(original, PetRecordCodec.decode(PetRecordCodec.encode(original)));
+  }
+
+  @Test
+  void encodingIsCompact() {
+    PetRecord record =
+        new PetRecord(
+            "Wisp Familiar",
+            new StatSet(20.0, 15.5, 10.0, 12.5),
+            new StatSet(10.0, 8.0, 6.0, 9.0),
+            List.of("healing_aura", "guardian_shell"),
+            1,
+            0,
+            true,
+            true);
+
+    byte[] encoded = PetRecordCodec.encode(record);
+
+    assertEquals(PetRecordCodec.VERSION, encoded[0]);
+    assertTrue(encoded.length < 120, "encoded size was " + encoded.length);
+  }
+
+  @Test
+  void rejectsUnknownVersion() {
+    byte[] encoded = PetRecordCodec.encode(sample());
+    encoded[0] = 99;
+
+    assertThrows(IllegalArgumentException.class, () -> PetRecordCodec.decode(encoded));
+  }
+
+  @Test
+  void rejectsTruncatedData() {
+    byte[] encoded = PetRecordCodec.encode(sample());
+    byte[] truncated = Arrays.copyOf(encoded, encoded.length - 5);
+
+    assertThrows(IllegalArgumentException.class, () -> PetRecordCodec.decode(truncated));
+  }
+
+  private static PetRecord sample() {
+    return new PetRecord(
+        "Nebula",
+        new StatSet(11.0, 9.5, 6.25, 4.75),
+        new StatSet(3.0, 5.0, 7.0, 2.0),
+        List.of("guardian_shell"),
+        2,
+        1,
+        true,
+        false);
+  }
+}
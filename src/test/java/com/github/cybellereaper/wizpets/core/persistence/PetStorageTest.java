@@ -1,5 +1,6 @@
 package com.github.cybellereaper.wizpets.core.persistence;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -12,8 +13,10 @@ import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
 import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Player;
+import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,6 +33,7 @@ class PetStorageTest {
     plugin = Mockito.mock(JavaPlugin.class);
     Mockito.when(plugin.getName()).thenReturn("wizpets-test");
     Mockito.when(plugin.namespace()).thenReturn("wizpets-test");
+    Mockito.when(plugin.getLogger()).thenReturn(Logger.getLogger("wizpets-test"));
     storage = new PetStorage(plugin);
 
     container = new InMemoryPersistentDataContainer();
@@ -200,6 +204,71 @@ class PetStorageTest {
     assertEquals("Nebula", storage.load(player).orElseThrow().displayName());
   }
 
+  @Test
+  void loadsLegacyLayoutAndMigratesOnNextSave() {
+    InMemoryPersistentDataContainer legacy = new InMemoryPersistentDataContainer();
+    legacy.set(new NamespacedKey(plugin, "name"), PersistentDataType.STRING, "Relic");
+    legacy.set(new NamespacedKey(plugin, "generation"), PersistentDataType.INTEGER, 4);
+    legacy.set(new NamespacedKey(plugin, "breed_count"), PersistentDataType.INTEGER, 1);
+    legacy.set(
+        new NamespacedKey(plugin, "talents"),
+        PersistentDataType.STRING,
+        "healing_aura; guardian_shell");
+    legacy.set(new NamespacedKey(plugin, "mount_unlocked"), PersistentDataType.BYTE, (byte) 1);
+    legacy.set(new NamespacedKey(plugin, "ev_attack"), PersistentDataType.DOUBLE, 12.0);
+    legacy.set(new NamespacedKey(plugin, "iv_magic"), PersistentDataType.DOUBLE, 7.5);
+    NamespacedKey rootKey = new NamespacedKey(plugin, "pet");
+    container.set(rootKey, PersistentDataType.TAG_CONTAINER, legacy);
+
+    assertTrue(storage.exists(player));
+    PetRecord loaded = storage.load(player).orElseThrow();
+    assertEquals("Relic", loaded.displayName());
+    assertEquals(4, loaded.generation());
+    assertEquals(java.util.List.of("healing_aura", "guardian_shell"), loaded.talentIds());
+    assertTrue(loaded.mountUnlocked());
+    assertFalse(loaded.flightUnlocked());
+    assertEquals(12.0, loaded.evs().attack());
+    assertEquals(7.5, loaded.ivs().magic());
+
+    storage.save(player, loaded);
+
+    assertFalse(container.has(rootKey));
+    assertTrue(container.has(new NamespacedKey(plugin, "record")));
+    assertEquals(loaded, storage.load(player).orElseThrow());
+  }
+
+  @Test
+  void unreadableBlobFallsBackToLegacyLayoutOrNothing() {
+    NamespacedKey recordKey = new NamespacedKey(plugin, "record");
+    container.set(recordKey, PersistentDataType.BYTE_ARRAY, new byte[] {99, 1, 2});
+
+    assertTrue(storage.load(player).isEmpty());
+
+    InMemoryPersistentDataContainer legacy = new InMemoryPersistentDataContainer();
+    legacy.set(new NamespacedKey(plugin, "name"), PersistentDataType.STRING, "Relic");
+    container.set(new NamespacedKey(plugin, "pet"), PersistentDataType.TAG_CONTAINER, legacy);
+
+    assertEquals("Relic", storage.load(player).orElseThrow().displayName());
+  }
+
+  @Test
+  void savingOverAnUnreadableBlobKeepsItInTheBackupKey() {
+    byte[] unreadable = {99, 1, 2};
+    NamespacedKey recordKey = new NamespacedKey(plugin, "record");
+    NamespacedKey backupKey = new NamespacedKey(plugin, "record_unreadable");
+    container.set(recordKey, PersistentDataType.BYTE_ARRAY, unreadable);
+
+    PetRecord created = storage.loadOrCreate(player, () -> baseline("Fresh"));
+
+    assertEquals("Fresh", created.displayName());
+    assertArrayEquals(unreadable, container.get(backupKey, PersistentDataType.BYTE_ARRAY));
+    assertEquals("Fresh", storage.load(player).orElseThrow().displayName());
+
+    storage.save(player, baseline("Again"));
+
+    assertArrayEquals(unreadable, container.get(backupKey, PersistentDataType.BYTE_ARRAY));
+  }
+
   private PetRecord baseline(String name) {
     return new PetRecord(
         name,
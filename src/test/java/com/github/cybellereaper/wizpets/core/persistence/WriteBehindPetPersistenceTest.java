@@ -0,0 +1,117 @@
+package com.github.cybellereaper.wizpets.core.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.cybellereaper.wizpets.api.PetRecord;
+import com.github.cybellereaper.wizpets.api.StatSet;
+import com.github.cybellereaper.wizpets.testing.persistence.InMemoryPersistentDataContainer;
+import java.util.List;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+class WriteBehindPetPersistenceTest {
+  private JavaPlugin plugin;
+  private BukkitScheduler scheduler;
+  private PetStorage storage;
+  private Player player;
+
+  @BeforeEach
+  void setUp() {
+    plugin = mock(JavaPlugin.class);
+    when(plugin.getName()).thenReturn("wizpets-test");
+    when(plugin.namespace()).thenReturn("wizpets-test");
+    Server server = mock(Server.class);
+    scheduler = mock(BukkitScheduler.class);
+    when(plugin.getServer()).thenReturn(server);
+    when(server.getScheduler()).thenReturn(scheduler);
+    when(scheduler.runTaskLater(eq(plugin), any(Runnable.class), anyLong()))
+        .thenReturn(mock(BukkitTask.class));
+    storage = new PetStorage(plugin);
+
+    player = mock(Player.class, Mockito.RETURNS_DEEP_STUBS);
+    when(player.getPersistentDataContainer()).thenReturn(new InMemoryPersistentDataContainer());
+  }
+
+  @Test
+  void coalescesRepeatedSavesUntilTheWindowElapses() {
+    WriteBehindPetPersistence persistence = new WriteBehindPetPersistence(plugin, storage, 40L);
+
+    persistence.save(player, record("First"));
+    persistence.save(player, record("Second"));
+    persistence.save(player, record("Third"));
+
+    assertEquals(3, persistence.savesRequested());
+    assertEquals(0, persistence.savesWritten());
+    assertFalse(storage.exists(player));
+    assertEquals("Third", persistence.load(player).orElseThrow().displayName());
+
+    ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+    verify(scheduler, times(1)).runTaskLater(eq(plugin), flush.capture(), eq(40L));
+    flush.getValue().run();
+
+    assertEquals(1, persistence.savesWritten());
+    assertEquals("Third", storage.load(player).orElseThrow().displayName());
+    assertEquals(0, persistence.pendingCount());
+  }
+
+  @Test
+  void flushWritesPendingRecordForHolder() {
+    WriteBehindPetPersistence persistence = new WriteBehindPetPersistence(plugin, storage, 40L);
+    persistence.save(player, record("Aurora"));
+
+    persistence.flush(player);
+
+    assertTrue(storage.exists(player));
+    assertEquals(1, persistence.savesWritten());
+  }
+
+  @Test
+  void clearDropsPendingRecord() {
+    WriteBehindPetPersistence persistence = new WriteBehindPetPersistence(plugin, storage, 40L);
+    persistence.save(player, record("Aurora"));
+
+    persistence.clear(player);
+    persistence.flushAll();
+
+    assertFalse(persistence.exists(player));
+    assertEquals(0, persistence.savesWritten());
+  }
+
+  @Test
+  void zeroWindowWritesThrough() {
+    WriteBehindPetPersistence persistence = new WriteBehindPetPersistence(plugin, storage, 0L);
+
+    persistence.save(player, record("Aurora"));
+
+    assertTrue(storage.exists(player));
+    assertEquals(1, persistence.savesWritten());
+  }
+
+  private static PetRecord record(String name) {
+    return new PetRecord(
+        name,
+        new StatSet(20.0, 15.5, 10.0, 12.5),
+        new StatSet(10.0, 8.0, 6.0, 9.0),
+        List.of("healing_aura"),
+        1,
+        0,
+        false,
+        false);
+  }
+}
@@ -0,0 +1,25 @@
+package com.github.cybellereaper.wizpets.core.pet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class DetailLevelTest {
+  @Test
+  void picksLevelFromNearestViewerDistance() {
+    assertEquals(DetailLevel.FULL, DetailLevel.of(0.0, 16.0, 48.0));
+    assertEquals(DetailLevel.FULL, DetailLevel.of(16.0 * 16.0, 16.0, 48.0));
+    assertEquals(DetailLevel.REDUCED, DetailLevel.of(20.0 * 20.0, 16.0, 48.0));
+    assertEquals(DetailLevel.MINIMAL, DetailLevel.of(64.0 * 64.0, 16.0, 48.0));
+    assertEquals(DetailLevel.HIDDEN, DetailLevel.of(Double.POSITIVE_INFINITY, 16.0, 48.0));
+  }
+
+  @Test
+  void onlyHiddenPausesAnimation() {
+    assertTrue(DetailLevel.MINIMAL.isAnimated());
+    assertFalse(DetailLevel.HIDDEN.isAnimated());
+    assertEquals(1, DetailLevel.FULL.interval());
+  }
+}
@@ -0,0 +1,93 @@
+package com.github.cybellereaper.wizpets.core.pet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.github.cybellereaper.wizpets.api.ActivePet;
+import com.github.cybellereaper.wizpets.api.PetRecord;
+import com.github.cybellereaper.wizpets.api.StatSet;
+import com.github.cybellereaper.wizpets.api.StatType;
+import com.github.cybellereaper.wizpets.api.talent.PetTalent;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class PetStatCacheTest {
+  private static final StatSet BASE = new StatSet(40.0, 6.0, 3.0, 5.0);
+
+  private final ActivePet pet = mock(ActivePet.class);
+
+  @Test
+  void combinesBaseIvAndQuarterEv() {
+    PetStatCache cache = new PetStatCache(BASE, record(), List.of());
+
+    assertEquals(40.0 + 2.0 + 1.0, cache.value(pet, StatType.HEALTH), 1.0e-9);
+    assertEquals(5.0 + 3.0 + 4.0, cache.value(pet, StatType.MAGIC), 1.0e-9);
+  }
+
+  @Test
+  void talentsRunOnceUntilInvalidated() {
+    CountingTalent talent = new CountingTalent();
+    PetStatCache cache = new PetStatCache(BASE, record(), List.of(talent));
+
+    for (int i = 0; i < 5; i++) {
+      cache.value(pet, StatType.ATTACK);
+    }
+    assertEquals(StatType.values().length, talent.calls.get());
+    assertFalse(cache.isDirty());
+
+    cache.invalidate();
+    assertTrue(cache.isDirty());
+    cache.value(pet, StatType.ATTACK);
+    assertEquals(StatType.values().length * 2, talent.calls.get());
+  }
+
+  @Test
+  void resetPicksUpNewRecord() {
+    PetStatCache cache = new PetStatCache(BASE, record(), List.of());
+    cache.value(pet, StatType.DEFENSE);
+
+    cache.reset(record().withIvs(new StatSet(2.0, 2.0, 10.0, 3.0)), List.of());
+
+    assertEquals(3.0 + 10.0 + 2.0, cache.value(pet, StatType.DEFENSE), 1.0e-9);
+  }
+
+  private static PetRecord record() {
+    return new PetRecord(
+        "Cached",
+        new StatSet(4.0, 8.0, 8.0, 16.0),
+        new StatSet(2.0, 2.0, 3.0, 3.0),
+        List.of(),
+        1,
+        0,
+        false,
+        false);
+  }
+
+  private static final class CountingTalent implements PetTalent {
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Override
+    public String getId() {
+      return "counting";
+    }
+
+    @Override
+    public String getDisplayName() {
+      return "Counting";
+    }
+
+    @Override
+    public String getDescription() {
+      return "Counts stat modifications";
+    }
+
+    @Override
+    public double modifyStat(ActivePet pet, StatType stat, double current) {
+      calls.incrementAndGet();
+      return current + 1.0;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.github.cybellereaper.wizpets.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.bukkit.Server;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PetSummonQueueTest {
+  private JavaPlugin plugin;
+  private BukkitScheduler scheduler;
+  private BukkitTask task;
+
+  @BeforeEach
+  void setUp() {
+    plugin = mock(JavaPlugin.class);
+    Server server = mock(Server.class);
+    scheduler = mock(BukkitScheduler.class);
+    task = mock(BukkitTask.class);
+    when(plugin.getServer()).thenReturn(server);
+    when(server.getScheduler()).thenReturn(scheduler);
+    when(scheduler.runTaskTimer(eq(plugin), any(Runnable.class), anyLong(), anyLong()))
+        .thenReturn(task);
+  }
+
+  @Test
+  void runsAtMostTheConfiguredNumberPerTickInJoinOrder() {
+    PetSummonQueue queue = new PetSummonQueue(plugin, 2);
+    List<Integer> summoned = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      int index = i;
+      queue.enqueue(UUID.randomUUID(), () -> summoned.add(index));
+    }
+
+    queue.tick();
+    assertEquals(List.of(0, 1), summoned);
+    queue.tick();
+    queue.tick();
+
+    assertEquals(List.of(0, 1, 2, 3, 4), summoned);
+    assertEquals(0, queue.size());
+    verify(scheduler, times(1)).runTaskTimer(eq(plugin), any(Runnable.class), eq(1L), eq(1L));
+    verify(task).cancel();
+  }
+
+  @Test
+  void requeueKeepsPlaceAndCancelDropsSummon() {
+    PetSummonQueue queue = new PetSummonQueue(plugin, 5);
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+    List<String> summoned = new ArrayList<>();
+    queue.enqueue(first, () -> summoned.add("stale"));
+    queue.enqueue(second, () -> summoned.add("second"));
+    queue.enqueue(first, () -> summoned.add("first"));
+
+    assertTrue(queue.cancel(second));
+    queue.tick();
+
+    assertEquals(List.of("first"), summoned);
+  }
+}
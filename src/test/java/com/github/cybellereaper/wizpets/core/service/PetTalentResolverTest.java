@@ -13,6 +13,7 @@ import java.util.Set;
 import java.util.SplittableRandom;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -93,4 +94,72 @@ class PetTalentResolverTest {
             .collect(java.util.stream.Collectors.toSet());
     assertTrue(resolved.record().talentIds().stream().allMatch(registered::contains));
   }
+
+  @Test
+  void resolveExistingSkipsRecordsThatNeedRepair() {
+    PetRecord valid =
+        new PetRecord(
+            "Companion",
+            new StatSet(10, 10, 10, 10),
+            new StatSet(5, 5, 5, 5),
+            List.of("healing_aura", "custom"),
+            1,
+            0,
+            false,
+            false);
+
+    assertEquals(2, resolver.resolveExisting(valid).orElseThrow().talents().size());
+    assertTrue(resolver.resolveExisting(valid.withTalentIds(List.of("unknown"))).isEmpty());
+  }
+
+  @Test
+  void resolveInstantiatesValidTalentsOnce() {
+    AtomicInteger created = new AtomicInteger();
+    registry.register(
+        () -> {
+          created.incrementAndGet();
+          return new com.github.cybellereaper.wizpets.api.talent.PetTalent() {
+            @Override
+            public String getId() {
+              return "counted";
+            }
+
+            @Override
+            public String getDisplayName() {
+              return "Counted";
+            }
+
+            @Override
+            public String getDescription() {
+              return "Counts instantiations";
+            }
+          };
+        });
+    created.set(0);
+
+    resolver.resolve(record(List.of("counted", "counted")));
+
+    assertEquals(2, created.get());
+  }
+
+  @Test
+  void resolveAsyncCompletesWithRepairedRecord() {
+    PetTalentResolver.ResolvedTalents resolved =
+        resolver.resolveAsync(record(List.of("unknown"))).toCompletableFuture().join();
+
+    assertNotEquals(List.of("unknown"), resolved.record().talentIds());
+    assertEquals(resolved.record().talentIds().size(), resolved.talents().size());
+  }
+
+  private static PetRecord record(List<String> talentIds) {
+    return new PetRecord(
+        "Companion",
+        new StatSet(10, 10, 10, 10),
+        new StatSet(5, 5, 5, 5),
+        talentIds,
+        1,
+        0,
+        false,
+        false);
+  }
 }
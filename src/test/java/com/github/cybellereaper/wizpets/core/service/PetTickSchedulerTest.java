@@ -0,0 +1,104 @@
+package com.github.cybellereaper.wizpets.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.bukkit.Server;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PetTickSchedulerTest {
+  private JavaPlugin plugin;
+  private BukkitScheduler bukkitScheduler;
+  private BukkitTask task;
+
+  @BeforeEach
+  void setUp() {
+    plugin = mock(JavaPlugin.class);
+    Server server = mock(Server.class);
+    bukkitScheduler = mock(BukkitScheduler.class);
+    task = mock(BukkitTask.class);
+    when(plugin.getServer()).thenReturn(server);
+    when(server.getScheduler()).thenReturn(bukkitScheduler);
+    when(bukkitScheduler.runTaskTimer(eq(plugin), any(Runnable.class), anyLong(), anyLong()))
+        .thenReturn(task);
+  }
+
+  @Test
+  void sharesOneTaskAndTicksEachCallbackOncePerPeriod() {
+    PetTickScheduler scheduler = new PetTickScheduler(plugin, 4);
+    List<AtomicInteger> counters = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      AtomicInteger counter = new AtomicInteger();
+      counters.add(counter);
+      scheduler.schedule(counter::incrementAndGet);
+    }
+
+    for (int tick = 0; tick < 8; tick++) {
+      scheduler.tick();
+    }
+
+    verify(bukkitScheduler, times(1))
+        .runTaskTimer(eq(plugin), any(Runnable.class), anyLong(), anyLong());
+    assertTrue(counters.stream().allMatch(counter -> counter.get() == 2));
+  }
+
+  @Test
+  void spreadsCallbacksEvenlyAcrossBuckets() {
+    PetTickScheduler scheduler = new PetTickScheduler(plugin, 4);
+    for (int i = 0; i < 10; i++) {
+      scheduler.schedule(() -> {});
+    }
+
+    List<PetTickScheduler.BucketTiming> timings = scheduler.timings();
+    assertEquals(4, timings.size());
+    int min = timings.stream().mapToInt(PetTickScheduler.BucketTiming::pets).min().orElseThrow();
+    int max = timings.stream().mapToInt(PetTickScheduler.BucketTiming::pets).max().orElseThrow();
+    assertTrue(max - min <= 1);
+  }
+
+  @Test
+  void cancellingDuringTickDoesNotSkipOrRepeatNeighbours() {
+    PetTickScheduler scheduler = new PetTickScheduler(plugin, 1);
+    AtomicInteger first = new AtomicInteger();
+    AtomicInteger third = new AtomicInteger();
+    scheduler.schedule(first::incrementAndGet);
+    PetTickScheduler.Handle[] self = new PetTickScheduler.Handle[1];
+    self[0] = scheduler.schedule(() -> self[0].cancel());
+    scheduler.schedule(third::incrementAndGet);
+
+    scheduler.tick();
+    scheduler.tick();
+
+    assertFalse(self[0].isActive());
+    assertEquals(2, scheduler.size());
+    assertEquals(2, first.get());
+    assertEquals(2, third.get());
+  }
+
+  @Test
+  void closeCancelsSharedTask() {
+    PetTickScheduler scheduler = new PetTickScheduler(plugin, 2);
+    PetTickScheduler.Handle handle = scheduler.schedule(() -> {});
+
+    scheduler.close();
+
+    verify(task).cancel();
+    assertFalse(handle.isActive());
+    assertEquals(0, scheduler.size());
+  }
+}
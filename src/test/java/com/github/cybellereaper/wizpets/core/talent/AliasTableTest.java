@@ -0,0 +1,62 @@
+package com.github.cybellereaper.wizpets.core.talent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class AliasTableTest {
+  @Test
+  void samplesInProportionToWeight() {
+    AliasTable table = new AliasTable(new double[] {60.0, 25.0, 10.0, 5.0});
+    SplittableRandom random = new SplittableRandom(11);
+    int[] counts = new int[4];
+    int draws = 200_000;
+    for (int i = 0; i < draws; i++) {
+      counts[table.sample(random)]++;
+    }
+
+    assertEquals(0.60, counts[0] / (double) draws, 0.01);
+    assertEquals(0.25, counts[1] / (double) draws, 0.01);
+    assertEquals(0.10, counts[2] / (double) draws, 0.01);
+    assertEquals(0.05, counts[3] / (double) draws, 0.01);
+  }
+
+  @Test
+  void zeroWeightIsNeverSampled() {
+    AliasTable table = new AliasTable(new double[] {0.0, 1.0, 0.0});
+    SplittableRandom random = new SplittableRandom(3);
+    for (int i = 0; i < 10_000; i++) {
+      assertEquals(1, table.sample(random));
+    }
+  }
+
+  @Test
+  void exclusionFallsBackToRemainingWeight() {
+    AliasTable table = new AliasTable(new double[] {1_000.0, 1.0, 0.0});
+    SplittableRandom random = new SplittableRandom(5);
+
+    assertEquals(1, table.sample(random, new boolean[] {true, false, false}));
+    assertEquals(-1, table.sample(random, new boolean[] {true, true, false}));
+  }
+
+  @Test
+  void allZeroWeightsSampleNothing() {
+    AliasTable table = new AliasTable(new double[] {0.0, 0.0});
+    SplittableRandom random = new SplittableRandom(7);
+
+    assertEquals(-1, table.sample(random));
+    assertEquals(-1, table.sample(random, new boolean[] {false, false}));
+  }
+
+  @Test
+  void rejectsNegativeWeights() {
+    assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] {1.0, -1.0}));
+  }
+
+  @Test
+  void emptyTableReturnsNoIndex() {
+    assertEquals(-1, new AliasTable(new double[0]).sample(new SplittableRandom(1)));
+  }
+}
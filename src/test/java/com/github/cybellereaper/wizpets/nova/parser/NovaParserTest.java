@@ -0,0 +1,171 @@
+package com.github.cybellereaper.wizpets.nova.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.github.cybellereaper.wizpets.nova.ast.BlockExpression;
+import com.github.cybellereaper.wizpets.nova.ast.CallExpression;
+import com.github.cybellereaper.wizpets.nova.ast.FunctionDeclaration;
+import com.github.cybellereaper.wizpets.nova.ast.IdentifierExpression;
+import com.github.cybellereaper.wizpets.nova.ast.IfExpression;
+import com.github.cybellereaper.wizpets.nova.ast.LambdaExpression;
+import com.github.cybellereaper.wizpets.nova.ast.LetDeclaration;
+import com.github.cybellereaper.wizpets.nova.ast.ListLiteralExpression;
+import com.github.cybellereaper.wizpets.nova.ast.MatchArm;
+import com.github.cybellereaper.wizpets.nova.ast.MatchExpression;
+import com.github.cybellereaper.wizpets.nova.ast.ModuleDeclaration;
+import com.github.cybellereaper.wizpets.nova.ast.NovaExpression;
+import com.github.cybellereaper.wizpets.nova.ast.NovaProgram;
+import com.github.cybellereaper.wizpets.nova.ast.NumberLiteralExpression;
+import com.github.cybellereaper.wizpets.nova.ast.Parameter;
+import com.github.cybellereaper.wizpets.nova.ast.PipeExpression;
+import com.github.cybellereaper.wizpets.nova.ast.StringLiteralExpression;
+import com.github.cybellereaper.wizpets.nova.ast.TypeDeclaration;
+import com.github.cybellereaper.wizpets.nova.ast.TypeReference;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class NovaParserTest {
+  @Test
+  void parsesDeclarations() {
+    NovaProgram program =
+        NovaParser.parse(
+            "pets.nova",
+            """
+            module pets.combat
+
+            // Element of a pet's attacks.
+            type Element = Fire | Frost | Storm
+            let baseDamage: Number = 12.5
+            fun label(name: String, level): String = concat(name, "!")
+            """);
+
+    assertEquals(new ModuleDeclaration(List.of("pets", "combat")), program.module());
+    assertEquals(
+        List.of(
+            new TypeDeclaration("Element", List.of("Fire", "Frost", "Storm")),
+            new LetDeclaration(
+                "baseDamage",
+                Optional.of(new TypeReference("Number")),
+                new NumberLiteralExpression(new BigDecimal("12.5"))),
+            new FunctionDeclaration(
+                "label",
+                List.of(
+                    Parameter.typed("name", new TypeReference("String")),
+                    Parameter.untyped("level")),
+                Optional.of(new TypeReference("String")),
+                call("concat", id("name"), new StringLiteralExpression("!")))),
+        program.declarations());
+  }
+
+  @Test
+  void parsesPipesAndLambdas() {
+    NovaExpression expression =
+        NovaParser.parseExpression(
+            "test", "base |> scale(it, (x) -> x) |> apply(it, y -> y, () -> [1, -2e3])");
+
+    PipeExpression pipe = assertInstanceOf(PipeExpression.class, expression);
+    assertEquals(id("base"), pipe.seed());
+    assertEquals(
+        List.of(
+            call("scale", id("it"), new LambdaExpression(List.of(Parameter.untyped("x")), id("x"))),
+            call(
+                "apply",
+                id("it"),
+                new LambdaExpression(List.of(Parameter.untyped("y")), id("y")),
+                new LambdaExpression(
+                    List.of(),
+                    new ListLiteralExpression(
+                        List.of(
+                            new NumberLiteralExpression(BigDecimal.ONE),
+                            new NumberLiteralExpression(new BigDecimal("-2e3"))))))),
+        pipe.stages());
+  }
+
+  @Test
+  void parsesControlFlow() {
+    NovaExpression expression =
+        NovaParser.parseExpression(
+            "test",
+            """
+            match hit(target) {
+              Crit(amount) -> if (big(amount)) { log("crit"); amount } else amount,
+              "Miss" -> 0
+            }
+            """);
+
+    MatchExpression match = assertInstanceOf(MatchExpression.class, expression);
+    assertEquals(call("hit", id("target")), match.target());
+    assertEquals(
+        List.of(
+            new MatchArm(
+                "Crit",
+                Optional.of(List.of(Parameter.untyped("amount"))),
+                new IfExpression(
+                    call("big", id("amount")),
+                    new BlockExpression(
+                        List.of(call("log", new StringLiteralExpression("crit")), id("amount"))),
+                    Optional.of(id("amount")))),
+            new MatchArm(
+                "Miss", Optional.empty(), new NumberLiteralExpression(BigDecimal.ZERO))),
+        match.arms());
+  }
+
+  @Test
+  void unescapesStrings() {
+    assertEquals(
+        new StringLiteralExpression("say \"hi\"\n\t\\"),
+        NovaParser.parseExpression("test", "\"say \\\"hi\\\"\\n\\t\\\\\""));
+  }
+
+  @Test
+  void reportsPositionOfUnexpectedTokens() {
+    NovaParseException exception =
+        assertThrows(
+            NovaParseException.class,
+            () -> NovaParser.parse("broken.nova", "module broken\n\nfun f(a, = a\n"));
+
+    assertEquals("broken.nova", exception.sourceName());
+    assertEquals(3, exception.line());
+    assertEquals(10, exception.column());
+    assertEquals(
+        "broken.nova:3:10: Expected identifier but found '='", exception.getMessage());
+  }
+
+  @Test
+  void rejectsPipeStagesThatAreNotCalls() {
+    NovaParseException exception =
+        assertThrows(
+            NovaParseException.class, () -> NovaParser.parseExpression("test", "a |> b"));
+
+    assertEquals(1, exception.line());
+    assertEquals(6, exception.column());
+  }
+
+  @Test
+  void reportsLexicalErrors() {
+    NovaParseException unterminated =
+        assertThrows(
+            NovaParseException.class,
+            () -> NovaParser.parse("test", "module m\nlet s = \"open\n"));
+    NovaParseException unexpected =
+        assertThrows(
+            NovaParseException.class, () -> NovaParser.parseExpression("test", "f(#)"));
+
+    assertEquals(2, unterminated.line());
+    assertEquals(9, unterminated.column());
+    assertEquals(1, unexpected.line());
+    assertEquals(3, unexpected.column());
+  }
+
+  private static CallExpression call(String name, NovaExpression... arguments) {
+    return new CallExpression(id(name), List.of(arguments));
+  }
+
+  private static IdentifierExpression id(String name) {
+    return new IdentifierExpression(name);
+  }
+}
@@ -0,0 +1,43 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class LexicalScopeTest {
+  @Test
+  void resolvesParametersToSlotsAfterTheClosureLink() {
+    LexicalScope scope = LexicalScope.function(List.of("a", "b"));
+
+    assertEquals(new LexicalScope.Address(0, 1), scope.resolve("a"));
+    assertEquals(new LexicalScope.Address(0, 2), scope.resolve("b"));
+    assertNull(scope.resolve("global"));
+    assertEquals(3, scope.frameSize());
+  }
+
+  @Test
+  void countsFrameLinksAcrossLambdasButNotNestedScopes() {
+    LexicalScope outer = LexicalScope.function(List.of("a"));
+    LexicalScope pipe = outer.child();
+    pipe.define("it");
+    LexicalScope lambda = pipe.lambda(List.of("x")).child().lambda(List.of("y"));
+
+    assertEquals(new LexicalScope.Address(0, 1), lambda.resolve("y"));
+    assertEquals(new LexicalScope.Address(1, 1), lambda.resolve("x"));
+    assertEquals(new LexicalScope.Address(2, 2), lambda.resolve("it"));
+    assertEquals(new LexicalScope.Address(2, 1), lambda.resolve("a"));
+    assertEquals(3, outer.frameSize());
+  }
+
+  @Test
+  void innerBindingsShadowOuterOnes() {
+    LexicalScope outer = LexicalScope.function(List.of("it"));
+    LexicalScope stage = outer.child();
+    int slot = stage.define("it");
+
+    assertEquals(new LexicalScope.Address(0, slot), stage.resolve("it"));
+    assertEquals(new LexicalScope.Address(0, 1), outer.resolve("it"));
+  }
+}
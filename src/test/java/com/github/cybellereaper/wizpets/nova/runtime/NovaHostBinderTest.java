@@ -0,0 +1,194 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.github.cybellereaper.wizpets.nova.ast.CallExpression;
+import com.github.cybellereaper.wizpets.nova.ast.IdentifierExpression;
+import com.github.cybellereaper.wizpets.nova.parser.NovaParser;
+import com.github.cybellereaper.wizpets.nova.type.FunctionType;
+import com.github.cybellereaper.wizpets.nova.type.FutureType;
+import com.github.cybellereaper.wizpets.nova.type.ListType;
+import com.github.cybellereaper.wizpets.nova.type.NovaType;
+import com.github.cybellereaper.wizpets.nova.type.PrimitiveType;
+import com.github.cybellereaper.wizpets.nova.type.UnknownType;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class NovaHostBinderTest {
+  @Test
+  void derivesFunctionTypesFromSignatures() {
+    try (NovaRuntime runtime = NovaRuntime.createDefault()) {
+      List<String> names = new NovaHostBinder(runtime).bind(new Pets());
+
+      assertEquals(7, names.size());
+      assertEquals(
+          FunctionType.sync(
+              List.of(UnknownType.INSTANCE, PrimitiveType.STRING), PrimitiveType.NUMBER),
+          type(runtime, "statValue"));
+      assertEquals(
+          FunctionType.sync(
+              List.of(UnknownType.INSTANCE, PrimitiveType.NUMBER), PrimitiveType.UNIT),
+          type(runtime, "heal"));
+      assertEquals(
+          FunctionType.async(List.of(PrimitiveType.STRING), new FutureType(PrimitiveType.STRING)),
+          type(runtime, "greetLater"));
+      assertEquals(
+          FunctionType.sync(List.of(), new ListType(PrimitiveType.NUMBER)),
+          type(runtime, "levels"));
+      assertEquals(
+          FunctionType.sync(List.of(PrimitiveType.STRING), UnknownType.INSTANCE),
+          type(runtime, "pet"));
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(NovaExecutionMode.class)
+  void scriptsCallBoundMethods(NovaExecutionMode mode) {
+    try (NovaRuntime runtime = NovaRuntime.createDefault(mode)) {
+      new NovaHostBinder(runtime).bind(new Pets());
+      runtime.load(
+          NovaParser.parse(
+              "pets.nova",
+              """
+              module pets
+              fun tend(pet) = { heal(pet, 2.5); statValue(pet, "HEALTH") }
+              fun tended() = tend(pet("Ember"))
+              fun total() = sum(1, 2, 3, 4, 5)
+              fun greeting() = await greetLater("Nova")
+              """));
+
+      assertEquals(NovaNumberValue.of(12.5), call(runtime, "tended"));
+      assertEquals(NovaNumberValue.of(15), call(runtime, "total"));
+      assertEquals(new NovaStringValue("Hello, Nova"), call(runtime, "greeting"));
+    }
+  }
+
+  @Test
+  void convertsArgumentsByTheirJavaType() {
+    try (NovaRuntime runtime = NovaRuntime.createDefault()) {
+      new NovaHostBinder(runtime).bind(new Pets());
+      NovaCallable statValue = function(runtime, "statValue");
+      NovaJavaValue pet = new NovaJavaValue(new Pet("Ember"));
+
+      assertEquals(
+          NovaNumberValue.of(12),
+          statValue.invoke(List.of(pet, new NovaVariantValue("ATTACK", List.of()))));
+      assertEquals(
+          "Unknown Stat constant: SPEED",
+          assertThrows(
+                  NovaEvaluationException.class,
+                  () -> statValue.invoke(List.of(pet, new NovaStringValue("SPEED"))))
+              .getMessage());
+      assertEquals(
+          "Expected Pet but got NovaStringValue",
+          assertThrows(
+                  NovaEvaluationException.class, () -> statValue.invoke(List.of(name(), name())))
+              .getMessage());
+      assertEquals(
+          "statValue expects 2 arguments but got 1",
+          assertThrows(NovaEvaluationException.class, () -> statValue.invoke(List.of(pet)))
+              .getMessage());
+    }
+  }
+
+  @Test
+  void rejectsUnsupportedSignaturesWithoutRegisteringAnything() {
+    try (NovaRuntime runtime = NovaRuntime.createDefault()) {
+      assertThrows(
+          IllegalArgumentException.class, () -> new NovaHostBinder(runtime).bind(new Floats()));
+
+      assertFalse(runtime.valueEnvironment().lookup("fine").isPresent());
+    }
+  }
+
+  @Test
+  void bindsStaticMethodsAlone() {
+    try (NovaRuntime runtime = NovaRuntime.createDefault()) {
+      assertEquals(List.of("sum"), new NovaHostBinder(runtime).bindStatic(Pets.class));
+    }
+  }
+
+  private static NovaStringValue name() {
+    return new NovaStringValue("Ember");
+  }
+
+  private static NovaValue call(NovaRuntime runtime, String name) {
+    return runtime.evaluate(new CallExpression(new IdentifierExpression(name), List.of()));
+  }
+
+  private static NovaCallable function(NovaRuntime runtime, String name) {
+    return (NovaCallable) runtime.valueEnvironment().lookup(name).orElseThrow();
+  }
+
+  private static NovaType type(NovaRuntime runtime, String name) {
+    return runtime.typeEnvironment().lookupValue(name).orElseThrow();
+  }
+
+  enum Stat {
+    HEALTH,
+    ATTACK
+  }
+
+  static final class Pet {
+    private final String name;
+    private double health = 10;
+
+    Pet(String name) {
+      this.name = name;
+    }
+  }
+
+  public static final class Pets {
+    @NovaExport
+    public Pet pet(String name) {
+      return new Pet(name);
+    }
+
+    @NovaExport
+    public double statValue(Pet pet, Stat stat) {
+      return stat == Stat.HEALTH ? pet.health : pet.name.length() + 7;
+    }
+
+    @NovaExport
+    public void heal(Pet pet, double amount) {
+      pet.health += amount;
+    }
+
+    @NovaExport("greetLater")
+    public CompletableFuture<String> greet(String name) {
+      return CompletableFuture.supplyAsync(() -> "Hello, " + name);
+    }
+
+    @NovaExport
+    public List<Integer> levels() {
+      return List.of(1, 2, 3);
+    }
+
+    @NovaExport
+    public NovaNumberValue health(Pet pet) {
+      return NovaNumberValue.of(pet.health);
+    }
+
+    @NovaExport
+    public static long sum(long a, long b, int c, int d, long e) {
+      return a + b + c + d + e;
+    }
+  }
+
+  public static final class Floats {
+    @NovaExport
+    public long fine() {
+      return 1;
+    }
+
+    @NovaExport
+    public float scale(float factor) {
+      return factor;
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class NovaNumberValueTest {
+  @Test
+  void equalNumbersShareOneRepresentation() {
+    NovaNumberValue two = NovaNumberValue.of(2);
+
+    assertEquals(two, NovaNumberValue.of(2.0));
+    assertEquals(two, NovaNumberValue.of(new BigDecimal("2.000")));
+    assertEquals(NovaNumberValue.of(1.5), NovaNumberValue.of(new BigDecimal("1.50")));
+    assertEquals(two.hashCode(), NovaNumberValue.of(new BigDecimal("2.000")).hashCode());
+    assertEquals(NovaNumberValue.of(0), NovaNumberValue.of(-0.0));
+    assertEquals(
+        NovaNumberValue.of(1234567890123456789L),
+        NovaNumberValue.of(new BigDecimal("1234567890123456789")));
+  }
+
+  @Test
+  void cachesSmallIntegers() {
+    assertSame(NovaNumberValue.of(42), NovaNumberValue.of(new BigDecimal("42")));
+    assertSame(NovaNumberValue.of(-1), NovaNumberValue.of(-1.0));
+  }
+
+  @Test
+  void keepsIntegerArithmeticExact() {
+    NovaNumberValue sum = NovaNumberValue.of(40).add(NovaNumberValue.of(2));
+
+    assertTrue(sum.isLong());
+    assertEquals(42, sum.longValue());
+    assertEquals(BigDecimal.valueOf(42), sum.value());
+    assertEquals(NovaNumberValue.of(3), NovaNumberValue.of(1.5).multiply(NovaNumberValue.of(2)));
+    assertEquals(NovaNumberValue.of(2.5), NovaNumberValue.of(5).divide(NovaNumberValue.of(2)));
+  }
+
+  @Test
+  void promotesLongOverflowToDecimal() {
+    NovaNumberValue max = NovaNumberValue.of(Long.MAX_VALUE);
+
+    NovaNumberValue sum = max.add(NovaNumberValue.of(1));
+    NovaNumberValue product = max.multiply(NovaNumberValue.of(2));
+
+    assertFalse(sum.isLong());
+    assertEquals(new BigDecimal("9223372036854775808"), sum.value());
+    assertEquals(new BigDecimal("18446744073709551614"), product.value());
+    assertEquals(max, sum.subtract(NovaNumberValue.of(1)));
+    assertEquals(
+        new BigDecimal("9223372036854775808"), NovaNumberValue.of(Long.MIN_VALUE).negate().value());
+  }
+
+  @Test
+  void keepsDecimalsThatDoublesCannotHold() {
+    BigDecimal precise = new BigDecimal("0.1000000000000000000001");
+    NovaNumberValue value = NovaNumberValue.of(precise);
+
+    assertEquals(precise, value.value());
+    assertEquals(
+        new BigDecimal("1.1000000000000000000001"), value.add(NovaNumberValue.of(1)).value());
+    assertTrue(value.compareTo(NovaNumberValue.of(0.1)) > 0);
+  }
+
+  @Test
+  void roundedDoubleResultsAreRecomputedExactly() {
+    NovaNumberValue tenth = NovaNumberValue.of(new BigDecimal("0.1"));
+    NovaNumberValue fifth = NovaNumberValue.of(new BigDecimal("0.2"));
+    NovaNumberValue third = NovaNumberValue.of(new BigDecimal("0.3"));
+
+    assertEquals(third, tenth.add(fifth));
+    assertEquals(tenth, third.subtract(fifth));
+    assertEquals(new BigDecimal("0.02"), tenth.multiply(fifth).value());
+    assertEquals(new BigDecimal("1.5"), third.divide(fifth).value());
+    assertEquals(NovaNumberValue.of(0.75), NovaNumberValue.of(0.5).add(NovaNumberValue.of(0.25)));
+  }
+
+  @Test
+  void promotesDoubleOverflowToDecimal() {
+    NovaNumberValue huge = NovaNumberValue.of(1e308);
+
+    NovaNumberValue product = huge.multiply(NovaNumberValue.of(10));
+
+    assertEquals(new BigDecimal("1E+309"), product.value());
+    assertTrue(product.compareTo(huge) > 0);
+  }
+
+  @Test
+  void comparesAcrossRepresentations() {
+    assertTrue(NovaNumberValue.of(2).compareTo(NovaNumberValue.of(2.5)) < 0);
+    assertTrue(NovaNumberValue.of(100.5).compareTo(NovaNumberValue.of(100)) > 0);
+    assertEquals(0, NovaNumberValue.of(3).compareTo(NovaNumberValue.of(new BigDecimal("3.0"))));
+    assertNotEquals(NovaNumberValue.of(2), NovaNumberValue.of(2.5));
+  }
+
+  @Test
+  void rejectsDivisionByZeroAndNonFiniteDoubles() {
+    assertThrows(
+        NovaEvaluationException.class,
+        () -> NovaNumberValue.of(1).divide(NovaNumberValue.of(0.0)));
+    assertThrows(IllegalArgumentException.class, () -> NovaNumberValue.of(Double.NaN));
+    assertThrows(
+        IllegalArgumentException.class, () -> NovaNumberValue.of(Double.POSITIVE_INFINITY));
+  }
+}
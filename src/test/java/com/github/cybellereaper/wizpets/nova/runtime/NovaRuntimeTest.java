@@ -3,14 +3,21 @@ package com.github.cybellereaper.wizpets.nova.runtime;
 import com.github.cybellereaper.wizpets.nova.ast.AsyncExpression;
 import com.github.cybellereaper.wizpets.nova.ast.AwaitExpression;
 import com.github.cybellereaper.wizpets.nova.ast.BlockExpression;
+import com.github.cybellereaper.wizpets.nova.ast.BooleanLiteralExpression;
 import com.github.cybellereaper.wizpets.nova.ast.CallExpression;
 import com.github.cybellereaper.wizpets.nova.ast.FunctionDeclaration;
 import com.github.cybellereaper.wizpets.nova.ast.IdentifierExpression;
+import com.github.cybellereaper.wizpets.nova.ast.IfExpression;
+import com.github.cybellereaper.wizpets.nova.ast.LambdaExpression;
 import com.github.cybellereaper.wizpets.nova.ast.LetDeclaration;
+import com.github.cybellereaper.wizpets.nova.ast.MatchArm;
+import com.github.cybellereaper.wizpets.nova.ast.MatchExpression;
 import com.github.cybellereaper.wizpets.nova.ast.ModuleDeclaration;
+import com.github.cybellereaper.wizpets.nova.ast.NovaExpression;
 import com.github.cybellereaper.wizpets.nova.ast.NovaProgram;
 import com.github.cybellereaper.wizpets.nova.ast.NumberLiteralExpression;
 import com.github.cybellereaper.wizpets.nova.ast.Parameter;
+import com.github.cybellereaper.wizpets.nova.ast.PipeExpression;
 import com.github.cybellereaper.wizpets.nova.ast.StringLiteralExpression;
 import com.github.cybellereaper.wizpets.nova.ast.TypeReference;
 import com.github.cybellereaper.wizpets.nova.type.FunctionType;
@@ -18,15 +25,19 @@ import com.github.cybellereaper.wizpets.nova.type.PrimitiveType;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
-import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class NovaRuntimeTest {
-  @Test
-  void loadsProgramAndEvaluatesDeclarations() {
+  @ParameterizedTest
+  @EnumSource(NovaExecutionMode.class)
+  void loadsProgramAndEvaluatesDeclarations(NovaExecutionMode mode) {
     FunctionDeclaration function =
         new FunctionDeclaration(
             "greet",
@@ -42,7 +53,7 @@ class NovaRuntimeTest {
     NovaProgram program =
         new NovaProgram(new ModuleDeclaration(List.of("sample")), List.of(function, letDeclaration));
 
-    try (NovaRuntime runtime = NovaRuntime.createDefault()) {
+    try (NovaRuntime runtime = NovaRuntime.createDefault(mode)) {
       runtime.load(program);
       NovaValue value = runtime.valueEnvironment().lookup("message").orElseThrow();
       NovaStringValue stringValue = assertInstanceOf(NovaStringValue.class, value);
@@ -50,9 +61,10 @@ class NovaRuntimeTest {
     }
   }
 
-  @Test
-  void awaitExpressionJoinsFuture() {
-    try (NovaRuntime runtime = NovaRuntime.createDefault()) {
+  @ParameterizedTest
+  @EnumSource(NovaExecutionMode.class)
+  void awaitExpressionJoinsFuture(NovaExecutionMode mode) {
+    try (NovaRuntime runtime = NovaRuntime.createDefault(mode)) {
       NovaValue value =
           runtime.evaluate(
               new AwaitExpression(
@@ -64,9 +76,10 @@ class NovaRuntimeTest {
     }
   }
 
-  @Test
-  void hostFunctionsCanBeRegisteredWithTypes() {
-    try (NovaRuntime runtime = NovaRuntime.createDefault()) {
+  @ParameterizedTest
+  @EnumSource(NovaExecutionMode.class)
+  void hostFunctionsCanBeRegisteredWithTypes(NovaExecutionMode mode) {
+    try (NovaRuntime runtime = NovaRuntime.createDefault(mode)) {
       runtime.registerHostFunction(
           "identity",
           args -> args.getFirst(),
@@ -81,4 +94,233 @@ class NovaRuntimeTest {
       assertTrue(runtime.typeEnvironment().lookupValue("identity").isPresent());
     }
   }
+
+  @ParameterizedTest
+  @EnumSource(NovaExecutionMode.class)
+  void pipesBindItForEachStage(NovaExecutionMode mode) {
+    try (NovaRuntime runtime = NovaRuntime.createDefault(mode)) {
+      registerConcat(runtime);
+      NovaValue result =
+          runtime.evaluate(
+              new PipeExpression(
+                  new StringLiteralExpression("a"),
+                  List.of(
+                      concat(new IdentifierExpression("it"), new StringLiteralExpression("b")),
+                      concat(new IdentifierExpression("it"), new StringLiteralExpression("c")))));
+      assertEquals(new NovaStringValue("abc"), result);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(NovaExecutionMode.class)
+  void matchDestructuresVariantFields(NovaExecutionMode mode) {
+    try (NovaRuntime runtime = NovaRuntime.createDefault(mode)) {
+      runtime
+          .valueEnvironment()
+          .define("shape", new NovaVariantValue("Circle", List.of(new NovaStringValue("round"))));
+      MatchExpression match =
+          new MatchExpression(
+              new IdentifierExpression("shape"),
+              List.of(
+                  new MatchArm("Square", Optional.empty(), new StringLiteralExpression("flat")),
+                  new MatchArm(
+                      "Circle",
+                      Optional.of(List.of(Parameter.untyped("kind"))),
+                      new IdentifierExpression("kind"))));
+      assertEquals(new NovaStringValue("round"), runtime.evaluate(match));
+
+      MatchExpression noArm =
+          new MatchExpression(
+              new StringLiteralExpression("Triangle"),
+              List.of(new MatchArm("Square", Optional.empty(), new StringLiteralExpression("x"))));
+      assertThrows(NovaEvaluationException.class, () -> runtime.evaluate(noArm));
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(NovaExecutionMode.class)
+  void lambdasCaptureTheirDefiningScope(NovaExecutionMode mode) {
+    FunctionDeclaration adder =
+        new FunctionDeclaration(
+            "prefixer",
+            List.of(Parameter.untyped("prefix")),
+            Optional.empty(),
+            new LambdaExpression(
+                List.of(Parameter.untyped("value")),
+                concat(new IdentifierExpression("prefix"), new IdentifierExpression("value"))));
+    LetDeclaration greeting =
+        new LetDeclaration(
+            "greeting",
+            Optional.empty(),
+            new CallExpression(
+                new CallExpression(
+                    new IdentifierExpression("prefixer"),
+                    List.of(new StringLiteralExpression("hello "))),
+                List.of(new StringLiteralExpression("nova"))));
+    try (NovaRuntime runtime = NovaRuntime.createDefault(mode)) {
+      registerConcat(runtime);
+      runtime.load(
+          new NovaProgram(new ModuleDeclaration(List.of("sample")), List.of(adder, greeting)));
+      assertEquals(
+          new NovaStringValue("hello nova"),
+          runtime.valueEnvironment().lookup("greeting").orElseThrow());
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(NovaExecutionMode.class)
+  void reportsEvaluationErrors(NovaExecutionMode mode) {
+    try (NovaRuntime runtime = NovaRuntime.createDefault(mode)) {
+      NovaEvaluationException error =
+          assertThrows(
+              NovaEvaluationException.class,
+              () ->
+                  runtime.evaluate(
+                      new IfExpression(
+                          new StringLiteralExpression("yes"),
+                          new BooleanLiteralExpression(true),
+                          Optional.empty())));
+      assertEquals("If condition must evaluate to a boolean", error.getMessage());
+      assertEquals(
+          NovaUnitValue.INSTANCE,
+          runtime.evaluate(
+              new IfExpression(
+                  new BooleanLiteralExpression(false),
+                  new BooleanLiteralExpression(true),
+                  Optional.empty())));
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(NovaExecutionMode.class)
+  void closuresKeepThePipeValueTheyCaptured(NovaExecutionMode mode) {
+    try (NovaRuntime runtime = NovaRuntime.createDefault(mode)) {
+      registerConcat(runtime);
+      // ("a" |> concat(it, "b") |> ((ignored) -> () -> concat(it, "!"))(it))()
+      LambdaExpression shout =
+          new LambdaExpression(
+              List.of(), concat(new IdentifierExpression("it"), new StringLiteralExpression("!")));
+      NovaValue captured =
+          runtime.evaluate(
+              new CallExpression(
+                  new PipeExpression(
+                      new StringLiteralExpression("a"),
+                      List.of(
+                          concat(new IdentifierExpression("it"), new StringLiteralExpression("b")),
+                          new CallExpression(
+                              new LambdaExpression(List.of(Parameter.untyped("ignored")), shout),
+                              List.of(new IdentifierExpression("it"))))),
+                  List.of()));
+      assertEquals(new NovaStringValue("ab!"), captured);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(NovaExecutionMode.class)
+  void nestedLambdasReadEnclosingParameters(NovaExecutionMode mode) {
+    // fun join3(a) = (b) -> (c) -> concat(a, concat(b, c))
+    FunctionDeclaration join3 =
+        new FunctionDeclaration(
+            "join3",
+            List.of(Parameter.untyped("a")),
+            Optional.empty(),
+            new LambdaExpression(
+                List.of(Parameter.untyped("b")),
+                new LambdaExpression(
+                    List.of(Parameter.untyped("c")),
+                    concat(
+                        new IdentifierExpression("a"),
+                        concat(new IdentifierExpression("b"), new IdentifierExpression("c"))))));
+    try (NovaRuntime runtime = NovaRuntime.createDefault(mode)) {
+      registerConcat(runtime);
+      runtime.load(new NovaProgram(new ModuleDeclaration(List.of("sample")), List.of(join3)));
+      NovaValue result =
+          runtime.evaluate(
+              new CallExpression(
+                  new CallExpression(
+                      new CallExpression(
+                          new IdentifierExpression("join3"),
+                          List.of(new StringLiteralExpression("x"))),
+                      List.of(new StringLiteralExpression("y"))),
+                  List.of(new StringLiteralExpression("z"))));
+      assertEquals(new NovaStringValue("xyz"), result);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(NovaExecutionMode.class)
+  void functionsSeeRedefinedGlobals(NovaExecutionMode mode) {
+    FunctionDeclaration greet =
+        new FunctionDeclaration(
+            "greet",
+            List.of(),
+            Optional.empty(),
+            concat(new IdentifierExpression("prefix"), new StringLiteralExpression("nova")));
+    try (NovaRuntime runtime = NovaRuntime.createDefault(mode)) {
+      registerConcat(runtime);
+      runtime.registerHostFunction("prefix", args -> null, PrimitiveType.STRING);
+      runtime.valueEnvironment().define("prefix", new NovaStringValue("hi "));
+      runtime.load(new NovaProgram(new ModuleDeclaration(List.of("sample")), List.of(greet)));
+      NovaCallable function =
+          (NovaCallable) runtime.valueEnvironment().lookup("greet").orElseThrow();
+      assertEquals(new NovaStringValue("hi nova"), function.invoke(List.of()));
+
+      runtime.valueEnvironment().define("prefix", new NovaStringValue("bye "));
+      assertEquals(new NovaStringValue("bye nova"), function.invoke(List.of()));
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(NovaExecutionMode.class)
+  void reloadingAModuleCancelsItsTasks(NovaExecutionMode mode) {
+    NovaProgram program =
+        new NovaProgram(
+            new ModuleDeclaration(List.of("sample")),
+            List.of(
+                new LetDeclaration(
+                    "pending",
+                    Optional.empty(),
+                    new AsyncExpression(
+                        new BlockExpression(
+                            List.of(
+                                new CallExpression(
+                                    new IdentifierExpression("sleep"), List.of())))))));
+    try (NovaRuntime runtime = NovaRuntime.createDefault(mode)) {
+      runtime.registerHostFunction(
+          "sleep",
+          args -> {
+            try {
+              Thread.sleep(60_000);
+            } catch (InterruptedException exception) {
+              Thread.currentThread().interrupt();
+            }
+            return NovaUnitValue.INSTANCE;
+          },
+          FunctionType.sync(List.of(), PrimitiveType.UNIT));
+      runtime.load(program);
+      NovaTaskScope first = runtime.taskScope("sample").orElseThrow();
+      NovaFutureValue pending =
+          (NovaFutureValue) runtime.valueEnvironment().lookup("pending").orElseThrow();
+
+      runtime.load(program);
+
+      assertTrue(first.isClosed());
+      assertTrue(pending.future().isCancelled());
+      assertFalse(runtime.taskScope("sample").orElseThrow().isClosed());
+    }
+  }
+
+  private static void registerConcat(NovaRuntime runtime) {
+    runtime.registerHostFunction(
+        "concat",
+        args ->
+            new NovaStringValue(
+                ((NovaStringValue) args.get(0)).value() + ((NovaStringValue) args.get(1)).value()),
+        FunctionType.sync(
+            List.of(PrimitiveType.STRING, PrimitiveType.STRING), PrimitiveType.STRING));
+  }
+
+  private static CallExpression concat(NovaExpression left, NovaExpression right) {
+    return new CallExpression(new IdentifierExpression("concat"), List.of(left, right));
+  }
 }
@@ -0,0 +1,126 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.cybellereaper.wizpets.nova.parser.NovaParser;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class NovaSandboxTest {
+  private static final String SCRIPT =
+      """
+      module sandbox
+      fun fib(n) = if (lt(n, 2)) n else add(fib(sub(n, 1)), fib(sub(n, 2)))
+      fun down(n) = down(add(n, 1))
+      fun tree(n) = if (lt(n, 1)) pause() else add(tree(sub(n, 1)), tree(sub(n, 1)))
+      fun stuck() = await never()
+      """;
+
+  @ParameterizedTest
+  @EnumSource(NovaExecutionMode.class)
+  void givesEachRunFreshFuel(NovaExecutionMode mode) {
+    try (NovaRuntime runtime = load(mode)) {
+      NovaSandbox sandbox =
+          new NovaSandbox(new NovaSandboxLimits(20, Duration.ofSeconds(5), 64));
+
+      assertEquals(NovaNumberValue.of(5), sandbox.run(() -> call(runtime, "fib", 5)));
+      assertEquals(NovaNumberValue.of(5), sandbox.run(() -> call(runtime, "fib", 5)));
+      NovaSandboxException exception =
+          assertThrows(
+              NovaSandboxException.class, () -> sandbox.run(() -> call(runtime, "fib", 8)));
+
+      assertEquals(NovaSandboxException.Limit.FUEL, exception.limit());
+      assertEquals(3, sandbox.runs());
+      assertEquals(1, sandbox.overruns());
+      assertFalse(sandbox.cpuTime().isNegative());
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(NovaExecutionMode.class)
+  void stopsUnboundedRecursion(NovaExecutionMode mode) {
+    try (NovaRuntime runtime = load(mode)) {
+      NovaSandbox sandbox =
+          new NovaSandbox(new NovaSandboxLimits(1_000_000, Duration.ofSeconds(5), 50));
+
+      NovaSandboxException exception =
+          assertThrows(
+              NovaSandboxException.class, () -> sandbox.run(() -> call(runtime, "down", 0)));
+
+      assertEquals(NovaSandboxException.Limit.STACK_DEPTH, exception.limit());
+      assertEquals(NovaNumberValue.of(13), call(runtime, "fib", 7));
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(NovaExecutionMode.class)
+  void stopsRunsPastTheirWallClock(NovaExecutionMode mode) {
+    try (NovaRuntime runtime = load(mode)) {
+      NovaSandbox sandbox =
+          new NovaSandbox(new NovaSandboxLimits(1_000_000, Duration.ofMillis(20), 64));
+
+      long start = System.nanoTime();
+      NovaSandboxException slow =
+          assertThrows(
+              NovaSandboxException.class, () -> sandbox.run(() -> call(runtime, "tree", 12)));
+      NovaSandboxException stuck =
+          assertThrows(NovaSandboxException.class, () -> sandbox.run(() -> call(runtime, "stuck")));
+
+      assertEquals(NovaSandboxException.Limit.WALL_CLOCK, slow.limit());
+      assertEquals(NovaSandboxException.Limit.WALL_CLOCK, stuck.limit());
+      assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+    }
+  }
+
+  private static NovaRuntime load(NovaExecutionMode mode) {
+    NovaRuntime runtime = NovaRuntime.createDefault(mode);
+    new NovaHostBinder(runtime).bindStatic(HostFunctions.class);
+    runtime.load(NovaParser.parse("sandbox.nova", SCRIPT));
+    return runtime;
+  }
+
+  private static NovaValue call(NovaRuntime runtime, String name, long... arguments) {
+    NovaCallable function = (NovaCallable) runtime.valueEnvironment().lookup(name).orElseThrow();
+    List<NovaValue> values = new ArrayList<>();
+    for (long argument : arguments) {
+      values.add(NovaNumberValue.of(argument));
+    }
+    return function.invoke(values);
+  }
+
+  public static final class HostFunctions {
+    @NovaExport
+    public static boolean lt(long left, long right) {
+      return left < right;
+    }
+
+    @NovaExport
+    public static long add(long left, long right) {
+      return left + right;
+    }
+
+    @NovaExport
+    public static long sub(long left, long right) {
+      return left - right;
+    }
+
+    @NovaExport
+    public static long pause() throws InterruptedException {
+      Thread.sleep(1);
+      return 0;
+    }
+
+    @NovaExport
+    public static CompletableFuture<Long> never() {
+      return new CompletableFuture<>();
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.cybellereaper.wizpets.nova.parser.NovaParser;
+import com.github.cybellereaper.wizpets.nova.type.FunctionType;
+import com.github.cybellereaper.wizpets.nova.type.FutureType;
+import com.github.cybellereaper.wizpets.nova.type.PrimitiveType;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class NovaSchedulerTest {
+  private final NovaRuntime runtime = NovaRuntime.createDefault(NovaExecutionMode.COMPILED);
+  private final Queue<CompletableFuture<NovaValue>> pending = new ArrayDeque<>();
+  private final Queue<Runnable> ticks = new ArrayDeque<>();
+  private final NovaScheduler scheduler = new NovaScheduler(ticks::add);
+  private final AtomicInteger recorded = new AtomicInteger();
+
+  NovaSchedulerTest() {
+    runtime.registerHostFunction(
+        "fetch",
+        args -> new NovaFutureValue(pending.remove()),
+        FunctionType.sync(List.of(), new FutureType(PrimitiveType.NUMBER)));
+    runtime.registerHostFunction(
+        "add",
+        args -> ((NovaNumberValue) args.get(0)).add((NovaNumberValue) args.get(1)),
+        FunctionType.sync(
+            List.of(PrimitiveType.NUMBER, PrimitiveType.NUMBER), PrimitiveType.NUMBER));
+    runtime.registerHostFunction(
+        "record",
+        args -> NovaNumberValue.of(recorded.incrementAndGet()),
+        FunctionType.sync(List.of(), PrimitiveType.NUMBER));
+    runtime.load(
+        NovaParser.parse(
+            "scheduler.nova",
+            """
+            module scheduler
+            fun total() = add(await fetch(), 1) |> add(it, await fetch())
+            fun tracked() = { await fetch(); record() }
+            """));
+  }
+
+  @AfterEach
+  void close() {
+    runtime.close();
+  }
+
+  @Test
+  void resumesEachAwaitOnALaterTick() {
+    CompletableFuture<NovaValue> first = new CompletableFuture<>();
+    CompletableFuture<NovaValue> second = new CompletableFuture<>();
+    pending.add(first);
+    pending.add(second);
+
+    CompletableFuture<NovaValue> result = scheduler.invoke(function("total"), List.of());
+    first.complete(NovaNumberValue.of(2));
+    assertFalse(result.isDone());
+    runTicks();
+    second.complete(NovaNumberValue.of(4));
+    assertFalse(result.isDone());
+    runTicks();
+
+    assertEquals(NovaNumberValue.of(7), result.join());
+  }
+
+  @Test
+  void finishesSynchronouslyWhenFuturesAreDone() {
+    pending.add(CompletableFuture.completedFuture(NovaNumberValue.of(2)));
+    pending.add(CompletableFuture.completedFuture(NovaNumberValue.of(4)));
+
+    CompletableFuture<NovaValue> result = scheduler.invoke(function("total"), List.of());
+
+    assertEquals(NovaNumberValue.of(7), result.getNow(null));
+    assertTrue(ticks.isEmpty());
+  }
+
+  @Test
+  void propagatesFailedAwaits() {
+    CompletableFuture<NovaValue> future = new CompletableFuture<>();
+    pending.add(future);
+
+    CompletableFuture<NovaValue> result = scheduler.invoke(function("tracked"), List.of());
+    future.completeExceptionally(new IllegalStateException("boom"));
+    runTicks();
+
+    CompletionException failure = assertThrows(CompletionException.class, result::join);
+    assertInstanceOf(NovaEvaluationException.class, failure.getCause());
+    assertEquals(0, recorded.get());
+  }
+
+  @Test
+  void cancellingTheResultDropsTheContinuation() {
+    CompletableFuture<NovaValue> future = new CompletableFuture<>();
+    pending.add(future);
+
+    CompletableFuture<NovaValue> result = scheduler.invoke(function("tracked"), List.of());
+    result.cancel(false);
+    future.complete(NovaNumberValue.of(1));
+    runTicks();
+
+    assertEquals(0, recorded.get());
+  }
+
+  @Test
+  void callsFromHostCodeStillBlock() {
+    pending.add(CompletableFuture.supplyAsync(() -> NovaNumberValue.of(5)));
+
+    NovaValue value = function("tracked").invoke(List.of());
+
+    assertEquals(NovaNumberValue.of(1), value);
+    assertTrue(ticks.isEmpty());
+  }
+
+  private NovaCallable function(String name) {
+    return (NovaCallable) runtime.valueEnvironment().lookup(name).orElseThrow();
+  }
+
+  private void runTicks() {
+    while (!ticks.isEmpty()) {
+      ticks.remove().run();
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.cybellereaper.wizpets.nova.ast.CallExpression;
+import com.github.cybellereaper.wizpets.nova.ast.IdentifierExpression;
+import com.github.cybellereaper.wizpets.nova.parser.NovaParseException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class NovaScriptLoaderTest {
+  @Test
+  void reloadsOnlyChangedScripts(@TempDir Path directory) throws IOException {
+    for (int i = 0; i < 100; i++) {
+      write(directory, i, "\"v1\"");
+    }
+    try (NovaRuntime runtime = NovaRuntime.createDefault()) {
+      NovaScriptLoader loader = new NovaScriptLoader(runtime);
+
+      NovaScriptLoader.Report first = loader.loadDirectory(directory);
+      write(directory, 7, "\"v2\"");
+      write(directory, 42, "\"v2\"");
+      NovaScriptLoader.Report second = loader.loadDirectory(directory);
+
+      assertEquals(100, first.loaded().size());
+      assertEquals(List.of("script007.nova", "script042.nova"), second.loaded());
+      assertEquals(98, second.unchanged().size());
+      assertEquals(new NovaStringValue("v2"), call(runtime, 42));
+      assertEquals(new NovaStringValue("v1"), call(runtime, 43));
+    }
+  }
+
+  @Test
+  void skipsSourcesItAlreadyLoaded() {
+    try (NovaRuntime runtime = NovaRuntime.createDefault()) {
+      NovaScriptLoader loader = new NovaScriptLoader(runtime);
+      String source = "module greeting\nlet greeting = \"hello\"";
+
+      assertTrue(loader.load("greeting.nova", source));
+      assertFalse(loader.load("greeting.nova", source));
+      assertTrue(loader.load("copy.nova", source));
+    }
+  }
+
+  @Test
+  void keepsABoundedHistoryOfParsedPrograms() {
+    try (NovaRuntime runtime = NovaRuntime.createDefault()) {
+      NovaScriptLoader loader = new NovaScriptLoader(runtime);
+      for (int i = 0; i < 100; i++) {
+        assertTrue(loader.load("counter.nova", "module counter\nlet count = " + i));
+      }
+      assertTrue(loader.load("counter.nova", "module counter\nlet count = 98"));
+
+      assertEquals(64, loader.cachedPrograms());
+      assertEquals(NovaNumberValue.of(98), runtime.valueEnvironment().lookup("count").orElseThrow());
+    }
+  }
+
+  @Test
+  void reportsFailuresWithoutStoppingOtherScripts(@TempDir Path directory) throws IOException {
+    write(directory, 1, "\"ok\"");
+    Files.writeString(directory.resolve("broken.nova"), "module broken\nfun f( = 1");
+    try (NovaRuntime runtime = NovaRuntime.createDefault()) {
+      NovaScriptLoader.Report report = new NovaScriptLoader(runtime).loadDirectory(directory);
+
+      assertEquals(List.of("script001.nova"), report.loaded());
+      NovaParseException failure =
+          assertInstanceOf(NovaParseException.class, report.failures().get("broken.nova"));
+      assertEquals(2, failure.line());
+    }
+  }
+
+  private static void write(Path directory, int index, String body) throws IOException {
+    String source = "module scripts.s%d\nfun value%d() = %s\n".formatted(index, index, body);
+    Files.writeString(directory.resolve("script%03d.nova".formatted(index)), source);
+  }
+
+  private static NovaValue call(NovaRuntime runtime, int index) {
+    return runtime.evaluate(
+        new CallExpression(new IdentifierExpression("value" + index), List.of()));
+  }
+}
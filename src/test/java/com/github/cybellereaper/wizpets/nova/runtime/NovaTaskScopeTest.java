@@ -0,0 +1,97 @@
+package com.github.cybellereaper.wizpets.nova.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class NovaTaskScopeTest {
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  @AfterEach
+  void shutDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void rejectsForksPastTheConcurrencyLimit() {
+    List<Runnable> queued = new ArrayList<>();
+    NovaTaskScope scope =
+        new NovaTaskScope(queued::add, new NovaTaskLimits(2, Duration.ofMinutes(1)));
+
+    scope.fork(() -> NovaUnitValue.INSTANCE);
+    scope.fork(() -> NovaUnitValue.INSTANCE);
+    NovaEvaluationException exception =
+        assertThrows(NovaEvaluationException.class, () -> scope.fork(() -> NovaUnitValue.INSTANCE));
+    queued.forEach(Runnable::run);
+    scope.fork(() -> NovaUnitValue.INSTANCE);
+
+    assertEquals("Script exceeded its limit of 2 concurrent tasks", exception.getMessage());
+    assertEquals(1, scope.inFlight());
+  }
+
+  @Test
+  void timesOutAndInterruptsSlowTasks() throws InterruptedException {
+    NovaTaskScope scope =
+        new NovaTaskScope(executor, new NovaTaskLimits(4, Duration.ofMillis(50)));
+    CountDownLatch interrupted = new CountDownLatch(1);
+
+    CompletableFuture<NovaValue> task = scope.fork(() -> blockUntilInterrupted(interrupted));
+
+    ExecutionException failure = assertThrows(ExecutionException.class, task::get);
+    assertInstanceOf(TimeoutException.class, failure.getCause());
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    assertEquals(0, scope.inFlight());
+  }
+
+  @Test
+  void closeCancelsTasksAndTheirChildren() throws InterruptedException {
+    NovaTaskScope scope = new NovaTaskScope(executor, NovaTaskLimits.DEFAULT);
+    CountDownLatch childStarted = new CountDownLatch(1);
+    CountDownLatch childInterrupted = new CountDownLatch(1);
+    AtomicReference<CompletableFuture<NovaValue>> child = new AtomicReference<>();
+
+    CompletableFuture<NovaValue> parent =
+        scope.fork(
+            () -> {
+              child.set(
+                  scope.fork(
+                      () -> {
+                        childStarted.countDown();
+                        return blockUntilInterrupted(childInterrupted);
+                      }));
+              return blockUntilInterrupted(new CountDownLatch(1));
+            });
+    assertTrue(childStarted.await(5, TimeUnit.SECONDS));
+    scope.close();
+
+    assertTrue(parent.isCancelled());
+    assertTrue(child.get().isCancelled());
+    assertTrue(childInterrupted.await(5, TimeUnit.SECONDS));
+    assertTrue(scope.isClosed());
+    assertThrows(NovaEvaluationException.class, () -> scope.fork(() -> NovaUnitValue.INSTANCE));
+  }
+
+  private static NovaValue blockUntilInterrupted(CountDownLatch interrupted) {
+    try {
+      new CountDownLatch(1).await();
+    } catch (InterruptedException exception) {
+      interrupted.countDown();
+    }
+    return NovaUnitValue.INSTANCE;
+  }
+}